@@ -0,0 +1,949 @@
+package com.hjq.shape.graphics;
+
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.DashPathEffect;
+import android.graphics.LinearGradient;
+import android.graphics.Outline;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.RadialGradient;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.graphics.SweepGradient;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.Gravity;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 图形 Drawable，支持矩形、椭圆、线条、圆环，以及渐变色、边框、虚线、阴影
+ *
+ *             绘制的时候不会创建任何对象：图形路径、画笔、着色器、虚线效果只在属性或者边界发生变化后的下一次绘制中重新计算
+ */
+public class ShapeDrawable extends Drawable {
+
+    /** 图形区域和路径需要重新计算（着色器依赖图形区域，也会一起重新创建） */
+    private static final int DIRTY_PATH = 1;
+    /** 填充画笔需要重新设置 */
+    private static final int DIRTY_SOLID = 1 << 1;
+    /** 边框画笔需要重新设置 */
+    private static final int DIRTY_STROKE = 1 << 2;
+    /** 阴影画笔需要重新设置 */
+    private static final int DIRTY_SHADOW = 1 << 3;
+    private static final int DIRTY_ALL = DIRTY_PATH | DIRTY_SOLID | DIRTY_STROKE | DIRTY_SHADOW;
+
+    private ShapeState mShapeState;
+    /** 是否已经拷贝了一份自己的属性 */
+    private boolean mMutated;
+
+    private final Paint mSolidPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
+    private final Paint mStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG);
+    private final Paint mShadowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /** 图形区域（边框以它的边缘为中心线） */
+    private final RectF mRect = new RectF();
+    /** 图形路径（带圆角的矩形、圆环） */
+    private final Path mPath = new Path();
+    /** 圆角数组（重复使用，避免每次计算路径都创建） */
+    private final float[] mRadii = new float[8];
+    /** 是否通过路径绘制图形 */
+    private boolean mUsePath;
+
+    /** 轮廓路径和区域（四个圆角不一样大的时候才会用到，用到的时候才创建） */
+    private Path mOutlinePath;
+    private RectF mOutlineRect;
+
+    /** 线条的起点和终点 */
+    private float mLineStartX;
+    private float mLineStartY;
+    private float mLineEndX;
+    private float mLineEndY;
+
+    /** 当前虚线效果对应的虚线长度和间隔 */
+    private DashPathEffect mDashPathEffect;
+    private int mDashPathEffectSize;
+    private int mDashPathEffectGap;
+
+    /** 当前阴影模糊效果对应的阴影大小 */
+    private int mShadowMaskFilterSize;
+
+    /** 是否需要绘制填充、边框、阴影 */
+    private boolean mSolidVisible;
+    private boolean mStrokeVisible;
+    private boolean mShadowVisible;
+
+    private int mAlpha = 0xFF;
+
+    /** 需要重新计算的内容 */
+    private int mDirtyFlags = DIRTY_ALL;
+
+    public ShapeDrawable() {
+        this(new ShapeState());
+    }
+
+    ShapeDrawable(@NonNull ShapeState state) {
+        mShapeState = state;
+        mSolidPaint.setStyle(Paint.Style.FILL);
+        mStrokePaint.setStyle(Paint.Style.STROKE);
+        mShadowPaint.setStyle(Paint.Style.FILL);
+    }
+
+    public ShapeDrawable setType(@ShapeTypeLimit int type) {
+        if (mShapeState.mType == type) {
+            return this;
+        }
+        mShapeState.mType = type;
+        markDirty(DIRTY_ALL);
+        return this;
+    }
+
+    @ShapeTypeLimit
+    public int getType() {
+        return mShapeState.mType;
+    }
+
+    public ShapeDrawable setWidth(int width) {
+        mShapeState.mWidth = width;
+        return this;
+    }
+
+    public int getWidth() {
+        return mShapeState.mWidth;
+    }
+
+    public ShapeDrawable setHeight(int height) {
+        mShapeState.mHeight = height;
+        return this;
+    }
+
+    public int getHeight() {
+        return mShapeState.mHeight;
+    }
+
+    public ShapeDrawable setRadius(float radius) {
+        return setRadius(radius, radius, radius, radius);
+    }
+
+    public ShapeDrawable setRadius(float topLeftRadius, float topRightRadius,
+                                   float bottomLeftRadius, float bottomRightRadius) {
+        ShapeState state = mShapeState;
+        if (state.mTopLeftRadius == topLeftRadius && state.mTopRightRadius == topRightRadius &&
+                state.mBottomLeftRadius == bottomLeftRadius && state.mBottomRightRadius == bottomRightRadius) {
+            return this;
+        }
+        state.mTopLeftRadius = topLeftRadius;
+        state.mTopRightRadius = topRightRadius;
+        state.mBottomLeftRadius = bottomLeftRadius;
+        state.mBottomRightRadius = bottomRightRadius;
+        markDirty(DIRTY_PATH);
+        return this;
+    }
+
+    public float getTopLeftRadius() {
+        return mShapeState.mTopLeftRadius;
+    }
+
+    public float getTopRightRadius() {
+        return mShapeState.mTopRightRadius;
+    }
+
+    public float getBottomLeftRadius() {
+        return mShapeState.mBottomLeftRadius;
+    }
+
+    public float getBottomRightRadius() {
+        return mShapeState.mBottomRightRadius;
+    }
+
+    public ShapeDrawable setSolidColor(int color) {
+        if (mShapeState.mSolidColors == null && mShapeState.mSolidColor == color) {
+            return this;
+        }
+        mShapeState.mSolidColor = color;
+        mShapeState.mSolidColors = null;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    /**
+     * 设置填充渐变色（数组会被拷贝一份，之后修改传入的数组不会影响到当前对象）
+     */
+    public ShapeDrawable setSolidColor(@Nullable int[] colors) {
+        if (Arrays.equals(mShapeState.mSolidColors, colors)) {
+            return this;
+        }
+        mShapeState.mSolidColors = colors != null ? colors.clone() : null;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    public int getSolidColor() {
+        return mShapeState.mSolidColor;
+    }
+
+    @Nullable
+    public int[] getSolidColors() {
+        return mShapeState.mSolidColors;
+    }
+
+    public ShapeDrawable setSolidGradientType(@ShapeGradientTypeLimit int type) {
+        if (mShapeState.mSolidGradientType == type) {
+            return this;
+        }
+        mShapeState.mSolidGradientType = type;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    @ShapeGradientTypeLimit
+    public int getSolidGradientType() {
+        return mShapeState.mSolidGradientType;
+    }
+
+    public ShapeDrawable setSolidGradientOrientation(@NonNull ShapeGradientOrientation orientation) {
+        if (mShapeState.mSolidGradientOrientation == orientation) {
+            return this;
+        }
+        mShapeState.mSolidGradientOrientation = orientation;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    @NonNull
+    public ShapeGradientOrientation getSolidGradientOrientation() {
+        return mShapeState.mSolidGradientOrientation;
+    }
+
+    /**
+     * 设置径向渐变的半径（小于等于 0 则使用图形宽高中较小值的一半）
+     */
+    public ShapeDrawable setSolidGradientRadius(float radius) {
+        if (mShapeState.mSolidGradientRadius == radius) {
+            return this;
+        }
+        mShapeState.mSolidGradientRadius = radius;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    public float getSolidGradientRadius() {
+        return mShapeState.mSolidGradientRadius;
+    }
+
+    /**
+     * 设置径向渐变和扫描渐变中心 X 点坐标的相对位置（0 ~ 1）
+     */
+    public ShapeDrawable setSolidGradientCenterX(float centerX) {
+        if (mShapeState.mSolidGradientCenterX == centerX) {
+            return this;
+        }
+        mShapeState.mSolidGradientCenterX = centerX;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    public float getSolidGradientCenterX() {
+        return mShapeState.mSolidGradientCenterX;
+    }
+
+    /**
+     * 设置径向渐变和扫描渐变中心 Y 点坐标的相对位置（0 ~ 1）
+     */
+    public ShapeDrawable setSolidGradientCenterY(float centerY) {
+        if (mShapeState.mSolidGradientCenterY == centerY) {
+            return this;
+        }
+        mShapeState.mSolidGradientCenterY = centerY;
+        markDirty(DIRTY_SOLID);
+        return this;
+    }
+
+    public float getSolidGradientCenterY() {
+        return mShapeState.mSolidGradientCenterY;
+    }
+
+    public ShapeDrawable setStrokeColor(int color) {
+        if (mShapeState.mStrokeColors == null && mShapeState.mStrokeColor == color) {
+            return this;
+        }
+        mShapeState.mStrokeColor = color;
+        mShapeState.mStrokeColors = null;
+        markDirty(DIRTY_STROKE);
+        return this;
+    }
+
+    /**
+     * 设置边框渐变色（数组会被拷贝一份，之后修改传入的数组不会影响到当前对象）
+     */
+    public ShapeDrawable setStrokeColor(@Nullable int[] colors) {
+        if (Arrays.equals(mShapeState.mStrokeColors, colors)) {
+            return this;
+        }
+        mShapeState.mStrokeColors = colors != null ? colors.clone() : null;
+        markDirty(DIRTY_STROKE);
+        return this;
+    }
+
+    public int getStrokeColor() {
+        return mShapeState.mStrokeColor;
+    }
+
+    @Nullable
+    public int[] getStrokeColors() {
+        return mShapeState.mStrokeColors;
+    }
+
+    public ShapeDrawable setStrokeGradientOrientation(@NonNull ShapeGradientOrientation orientation) {
+        if (mShapeState.mStrokeGradientOrientation == orientation) {
+            return this;
+        }
+        mShapeState.mStrokeGradientOrientation = orientation;
+        markDirty(DIRTY_STROKE);
+        return this;
+    }
+
+    @NonNull
+    public ShapeGradientOrientation getStrokeGradientOrientation() {
+        return mShapeState.mStrokeGradientOrientation;
+    }
+
+    public ShapeDrawable setStrokeSize(int size) {
+        if (mShapeState.mStrokeSize == size) {
+            return this;
+        }
+        mShapeState.mStrokeSize = size;
+        // 边框大小会影响图形区域
+        markDirty(DIRTY_PATH | DIRTY_STROKE);
+        return this;
+    }
+
+    public int getStrokeSize() {
+        return mShapeState.mStrokeSize;
+    }
+
+    public ShapeDrawable setStrokeDashSize(int size) {
+        if (mShapeState.mStrokeDashSize == size) {
+            return this;
+        }
+        mShapeState.mStrokeDashSize = size;
+        markDirty(DIRTY_STROKE);
+        return this;
+    }
+
+    public int getStrokeDashSize() {
+        return mShapeState.mStrokeDashSize;
+    }
+
+    public ShapeDrawable setStrokeDashGap(int gap) {
+        if (mShapeState.mStrokeDashGap == gap) {
+            return this;
+        }
+        mShapeState.mStrokeDashGap = gap;
+        markDirty(DIRTY_STROKE);
+        return this;
+    }
+
+    public int getStrokeDashGap() {
+        return mShapeState.mStrokeDashGap;
+    }
+
+    /**
+     * 设置阴影大小（阴影会占用四周的空间，需要软件渲染才能生效）
+     */
+    public ShapeDrawable setShadowSize(int size) {
+        if (mShapeState.mShadowSize == size) {
+            return this;
+        }
+        mShapeState.mShadowSize = size;
+        // 阴影大小会影响图形区域
+        markDirty(DIRTY_PATH | DIRTY_SHADOW);
+        return this;
+    }
+
+    public int getShadowSize() {
+        return mShapeState.mShadowSize;
+    }
+
+    public ShapeDrawable setShadowColor(int color) {
+        if (mShapeState.mShadowColor == color) {
+            return this;
+        }
+        mShapeState.mShadowColor = color;
+        markDirty(DIRTY_SHADOW);
+        return this;
+    }
+
+    public int getShadowColor() {
+        return mShapeState.mShadowColor;
+    }
+
+    public ShapeDrawable setShadowOffsetX(int offsetX) {
+        if (mShapeState.mShadowOffsetX == offsetX) {
+            return this;
+        }
+        mShapeState.mShadowOffsetX = offsetX;
+        invalidateSelf();
+        return this;
+    }
+
+    public int getShadowOffsetX() {
+        return mShapeState.mShadowOffsetX;
+    }
+
+    public ShapeDrawable setShadowOffsetY(int offsetY) {
+        if (mShapeState.mShadowOffsetY == offsetY) {
+            return this;
+        }
+        mShapeState.mShadowOffsetY = offsetY;
+        invalidateSelf();
+        return this;
+    }
+
+    public int getShadowOffsetY() {
+        return mShapeState.mShadowOffsetY;
+    }
+
+    /**
+     * 设置圆环内半径的比例（内半径 = 宽度 / 比例），会清除设置的内半径大小
+     */
+    public ShapeDrawable setRingInnerRadiusRatio(float ratio) {
+        if (mShapeState.mRingInnerRadiusRatio == ratio && mShapeState.mRingInnerRadiusSize == -1) {
+            return this;
+        }
+        mShapeState.mRingInnerRadiusRatio = ratio;
+        mShapeState.mRingInnerRadiusSize = -1;
+        markDirty(DIRTY_PATH);
+        return this;
+    }
+
+    public float getRingInnerRadiusRatio() {
+        return mShapeState.mRingInnerRadiusRatio;
+    }
+
+    /**
+     * 设置圆环内半径的大小（优先于比例）
+     */
+    public ShapeDrawable setRingInnerRadiusSize(int size) {
+        if (mShapeState.mRingInnerRadiusSize == size) {
+            return this;
+        }
+        mShapeState.mRingInnerRadiusSize = size;
+        markDirty(DIRTY_PATH);
+        return this;
+    }
+
+    public int getRingInnerRadiusSize() {
+        return mShapeState.mRingInnerRadiusSize;
+    }
+
+    /**
+     * 设置圆环厚度的比例（厚度 = 宽度 / 比例），会清除设置的厚度大小
+     */
+    public ShapeDrawable setRingThicknessRatio(float ratio) {
+        if (mShapeState.mRingThicknessRatio == ratio && mShapeState.mRingThicknessSize == -1) {
+            return this;
+        }
+        mShapeState.mRingThicknessRatio = ratio;
+        mShapeState.mRingThicknessSize = -1;
+        markDirty(DIRTY_PATH);
+        return this;
+    }
+
+    public float getRingThicknessRatio() {
+        return mShapeState.mRingThicknessRatio;
+    }
+
+    /**
+     * 设置圆环厚度的大小（优先于比例）
+     */
+    public ShapeDrawable setRingThicknessSize(int size) {
+        if (mShapeState.mRingThicknessSize == size) {
+            return this;
+        }
+        mShapeState.mRingThicknessSize = size;
+        markDirty(DIRTY_PATH);
+        return this;
+    }
+
+    public int getRingThicknessSize() {
+        return mShapeState.mRingThicknessSize;
+    }
+
+    /**
+     * 设置线条的重心（{@link Gravity#TOP}、{@link Gravity#BOTTOM} 为水平线条，
+     * {@link Gravity#LEFT}、{@link Gravity#RIGHT}、{@link Gravity#START}、{@link Gravity#END} 为垂直线条，其他为居中的水平线条）
+     */
+    public ShapeDrawable setLineGravity(int gravity) {
+        if (mShapeState.mLineGravity == gravity) {
+            return this;
+        }
+        mShapeState.mLineGravity = gravity;
+        markDirty(DIRTY_PATH);
+        return this;
+    }
+
+    public int getLineGravity() {
+        return mShapeState.mLineGravity;
+    }
+
+    private void markDirty(int flags) {
+        mDirtyFlags |= flags;
+        invalidateSelf();
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        mDirtyFlags |= DIRTY_PATH;
+    }
+
+    @Override
+    public boolean onLayoutDirectionChanged(int layoutDirection) {
+        // 相对方向的渐变和线条需要重新计算
+        mDirtyFlags |= DIRTY_PATH;
+        return true;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        ensureValid();
+        ShapeState state = mShapeState;
+
+        if (state.mType == ShapeType.LINE) {
+            if (mStrokeVisible) {
+                canvas.drawLine(mLineStartX, mLineStartY, mLineEndX, mLineEndY, mStrokePaint);
+            }
+            return;
+        }
+
+        if (mShadowVisible) {
+            int saveCount = canvas.save();
+            canvas.translate(state.mShadowOffsetX, state.mShadowOffsetY);
+            drawShape(canvas, mShadowPaint);
+            canvas.restoreToCount(saveCount);
+        }
+
+        if (mSolidVisible) {
+            drawShape(canvas, mSolidPaint);
+        }
+
+        if (mStrokeVisible) {
+            drawShape(canvas, mStrokePaint);
+        }
+    }
+
+    private void drawShape(Canvas canvas, Paint paint) {
+        if (mUsePath) {
+            canvas.drawPath(mPath, paint);
+        } else if (mShapeState.mType == ShapeType.OVAL) {
+            canvas.drawOval(mRect, paint);
+        } else {
+            canvas.drawRect(mRect, paint);
+        }
+    }
+
+    /**
+     * 重新计算发生了变化的内容（只有属性或者边界发生变化之后才会执行）
+     */
+    private void ensureValid() {
+        int dirtyFlags = mDirtyFlags;
+        if (dirtyFlags == 0) {
+            return;
+        }
+        mDirtyFlags = 0;
+
+        if ((dirtyFlags & DIRTY_PATH) != 0) {
+            buildPath();
+            dirtyFlags |= DIRTY_SOLID | DIRTY_STROKE;
+        }
+        if ((dirtyFlags & DIRTY_SOLID) != 0) {
+            updateSolidPaint();
+        }
+        if ((dirtyFlags & DIRTY_STROKE) != 0) {
+            updateStrokePaint();
+        }
+        if ((dirtyFlags & DIRTY_SHADOW) != 0) {
+            updateShadowPaint();
+        }
+    }
+
+    private void buildPath() {
+        ShapeState state = mShapeState;
+        Rect bounds = getBounds();
+        mPath.rewind();
+        mUsePath = false;
+
+        switch (state.mType) {
+            case ShapeType.RING:
+                buildRingPath(bounds);
+                mUsePath = true;
+                break;
+            case ShapeType.LINE:
+                buildLine(bounds);
+                break;
+            case ShapeType.OVAL:
+                insetRect(bounds);
+                break;
+            case ShapeType.RECTANGLE:
+            default:
+                insetRect(bounds);
+                if (state.mTopLeftRadius > 0 || state.mTopRightRadius > 0 ||
+                        state.mBottomLeftRadius > 0 || state.mBottomRightRadius > 0) {
+                    mRadii[0] = mRadii[1] = state.mTopLeftRadius;
+                    mRadii[2] = mRadii[3] = state.mTopRightRadius;
+                    mRadii[4] = mRadii[5] = state.mBottomRightRadius;
+                    mRadii[6] = mRadii[7] = state.mBottomLeftRadius;
+                    mPath.addRoundRect(mRect, mRadii, Path.Direction.CW);
+                    mUsePath = true;
+                }
+                break;
+        }
+    }
+
+    /**
+     * 图形区域：阴影占用四周的空间，边框以图形区域的边缘为中心线
+     */
+    private void insetRect(Rect bounds) {
+        ShapeState state = mShapeState;
+        float inset = state.mShadowSize + state.mStrokeSize / 2f;
+        mRect.set(bounds.left + inset, bounds.top + inset, bounds.right - inset, bounds.bottom - inset);
+    }
+
+    private void buildRingPath(Rect bounds) {
+        ShapeState state = mShapeState;
+        float width = bounds.width() - state.mShadowSize * 2;
+
+        float thicknessRatio = state.mRingThicknessRatio > 0 ?
+                state.mRingThicknessRatio : ShapeState.DEFAULT_RING_THICKNESS_RATIO;
+        float innerRadiusRatio = state.mRingInnerRadiusRatio > 0 ?
+                state.mRingInnerRadiusRatio : ShapeState.DEFAULT_RING_INNER_RADIUS_RATIO;
+        float thickness = state.mRingThicknessSize != -1 ? state.mRingThicknessSize : width / thicknessRatio;
+        float innerRadius = state.mRingInnerRadiusSize != -1 ? state.mRingInnerRadiusSize : width / innerRadiusRatio;
+        float outerRadius = innerRadius + thickness;
+
+        float centerX = (bounds.left + bounds.right) / 2f;
+        float centerY = (bounds.top + bounds.bottom) / 2f;
+        mRect.set(centerX - outerRadius, centerY - outerRadius, centerX + outerRadius, centerY + outerRadius);
+
+        // 外圆顺时针、内圆逆时针，中间的部分就会被镂空
+        mPath.addCircle(centerX, centerY, outerRadius, Path.Direction.CW);
+        if (innerRadius > 0) {
+            mPath.addCircle(centerX, centerY, innerRadius, Path.Direction.CCW);
+        }
+    }
+
+    private void buildLine(Rect bounds) {
+        ShapeState state = mShapeState;
+        float left = bounds.left + state.mShadowSize;
+        float top = bounds.top + state.mShadowSize;
+        float right = bounds.right - state.mShadowSize;
+        float bottom = bounds.bottom - state.mShadowSize;
+        float halfStrokeSize = state.mStrokeSize / 2f;
+        mRect.set(left, top, right, bottom);
+
+        int gravity = Gravity.getAbsoluteGravity(state.mLineGravity, getLayoutDirectionCompat());
+        int verticalGravity = gravity & Gravity.VERTICAL_GRAVITY_MASK;
+        int horizontalGravity = gravity & Gravity.HORIZONTAL_GRAVITY_MASK;
+
+        if (verticalGravity == Gravity.TOP || verticalGravity == Gravity.BOTTOM) {
+            float y = verticalGravity == Gravity.TOP ? top + halfStrokeSize : bottom - halfStrokeSize;
+            setLine(left, y, right, y);
+        } else if (horizontalGravity == Gravity.LEFT || horizontalGravity == Gravity.RIGHT) {
+            float x = horizontalGravity == Gravity.LEFT ? left + halfStrokeSize : right - halfStrokeSize;
+            setLine(x, top, x, bottom);
+        } else {
+            float y = (top + bottom) / 2f;
+            setLine(left, y, right, y);
+        }
+    }
+
+    private void setLine(float startX, float startY, float endX, float endY) {
+        mLineStartX = startX;
+        mLineStartY = startY;
+        mLineEndX = endX;
+        mLineEndY = endY;
+    }
+
+    private void updateSolidPaint() {
+        ShapeState state = mShapeState;
+        if (state.mSolidColors != null) {
+            mSolidPaint.setShader(createSolidShader());
+            mSolidPaint.setColor(Color.BLACK);
+            mSolidPaint.setAlpha(mAlpha);
+        } else {
+            mSolidPaint.setShader(null);
+            mSolidPaint.setColor(state.mSolidColor);
+            mSolidPaint.setAlpha(modulateAlpha(Color.alpha(state.mSolidColor)));
+        }
+        mSolidVisible = mSolidPaint.getShader() != null || mSolidPaint.getAlpha() != 0;
+    }
+
+    private void updateStrokePaint() {
+        ShapeState state = mShapeState;
+        mStrokePaint.setStrokeWidth(state.mStrokeSize);
+
+        if (state.mStrokeColors != null) {
+            ShapeGradientOrientation orientation = state.mStrokeGradientOrientation.resolve(isLayoutRtl());
+            mStrokePaint.setShader(createLinearGradient(state.mStrokeColors, orientation));
+            mStrokePaint.setColor(Color.BLACK);
+            mStrokePaint.setAlpha(mAlpha);
+        } else {
+            mStrokePaint.setShader(null);
+            mStrokePaint.setColor(state.mStrokeColor);
+            mStrokePaint.setAlpha(modulateAlpha(Color.alpha(state.mStrokeColor)));
+        }
+
+        if (state.mStrokeDashSize > 0 && state.mStrokeDashGap > 0) {
+            if (mDashPathEffect == null || mDashPathEffectSize != state.mStrokeDashSize ||
+                    mDashPathEffectGap != state.mStrokeDashGap) {
+                mDashPathEffect = new DashPathEffect(new float[]{state.mStrokeDashSize, state.mStrokeDashGap}, 0);
+                mDashPathEffectSize = state.mStrokeDashSize;
+                mDashPathEffectGap = state.mStrokeDashGap;
+            }
+            mStrokePaint.setPathEffect(mDashPathEffect);
+        } else {
+            mStrokePaint.setPathEffect(null);
+        }
+
+        mStrokeVisible = state.mStrokeSize > 0 &&
+                (mStrokePaint.getShader() != null || mStrokePaint.getAlpha() != 0);
+    }
+
+    private void updateShadowPaint() {
+        ShapeState state = mShapeState;
+        if (state.mShadowSize > 0) {
+            if (mShadowMaskFilterSize != state.mShadowSize) {
+                mShadowPaint.setMaskFilter(new BlurMaskFilter(state.mShadowSize, BlurMaskFilter.Blur.NORMAL));
+                mShadowMaskFilterSize = state.mShadowSize;
+            }
+        } else if (mShadowMaskFilterSize != 0) {
+            mShadowPaint.setMaskFilter(null);
+            mShadowMaskFilterSize = 0;
+        }
+        mShadowPaint.setColor(state.mShadowColor);
+        mShadowPaint.setAlpha(modulateAlpha(Color.alpha(state.mShadowColor)));
+        mShadowVisible = state.mShadowSize > 0 && mShadowPaint.getAlpha() != 0;
+    }
+
+    @Nullable
+    private Shader createSolidShader() {
+        ShapeState state = mShapeState;
+        switch (state.mSolidGradientType) {
+            case ShapeGradientType.RADIAL_GRADIENT: {
+                float radius = state.mSolidGradientRadius > 0 ?
+                        state.mSolidGradientRadius : Math.min(mRect.width(), mRect.height()) / 2f;
+                if (radius <= 0) {
+                    return null;
+                }
+                return new RadialGradient(getGradientCenterX(), getGradientCenterY(), radius,
+                        state.mSolidColors, null, Shader.TileMode.CLAMP);
+            }
+            case ShapeGradientType.SWEEP_GRADIENT:
+                return new SweepGradient(getGradientCenterX(), getGradientCenterY(), state.mSolidColors, null);
+            case ShapeGradientType.LINEAR_GRADIENT:
+            default:
+                return createLinearGradient(state.mSolidColors,
+                        state.mSolidGradientOrientation.resolve(isLayoutRtl()));
+        }
+    }
+
+    private float getGradientCenterX() {
+        return mRect.left + mRect.width() * mShapeState.mSolidGradientCenterX;
+    }
+
+    private float getGradientCenterY() {
+        return mRect.top + mRect.height() * mShapeState.mSolidGradientCenterY;
+    }
+
+    private Shader createLinearGradient(int[] colors, ShapeGradientOrientation orientation) {
+        RectF rect = mRect;
+        float x0;
+        float y0;
+        float x1;
+        float y1;
+        switch (orientation) {
+            case RIGHT_TO_LEFT:
+                x0 = rect.right;
+                y0 = rect.top;
+                x1 = rect.left;
+                y1 = rect.top;
+                break;
+            case BOTTOM_TO_TOP:
+                x0 = rect.left;
+                y0 = rect.bottom;
+                x1 = rect.left;
+                y1 = rect.top;
+                break;
+            case TOP_TO_BOTTOM:
+                x0 = rect.left;
+                y0 = rect.top;
+                x1 = rect.left;
+                y1 = rect.bottom;
+                break;
+            case TOP_LEFT_TO_BOTTOM_RIGHT:
+                x0 = rect.left;
+                y0 = rect.top;
+                x1 = rect.right;
+                y1 = rect.bottom;
+                break;
+            case BOTTOM_LEFT_TO_TOP_RIGHT:
+                x0 = rect.left;
+                y0 = rect.bottom;
+                x1 = rect.right;
+                y1 = rect.top;
+                break;
+            case TOP_RIGHT_TO_BOTTOM_LEFT:
+                x0 = rect.right;
+                y0 = rect.top;
+                x1 = rect.left;
+                y1 = rect.bottom;
+                break;
+            case BOTTOM_RIGHT_TO_TOP_LEFT:
+                x0 = rect.right;
+                y0 = rect.bottom;
+                x1 = rect.left;
+                y1 = rect.top;
+                break;
+            case LEFT_TO_RIGHT:
+            default:
+                x0 = rect.left;
+                y0 = rect.top;
+                x1 = rect.right;
+                y1 = rect.top;
+                break;
+        }
+        return new LinearGradient(x0, y0, x1, y1, colors, null, Shader.TileMode.CLAMP);
+    }
+
+    private int getLayoutDirectionCompat() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return getLayoutDirection();
+        }
+        return View.LAYOUT_DIRECTION_LTR;
+    }
+
+    private boolean isLayoutRtl() {
+        return getLayoutDirectionCompat() == View.LAYOUT_DIRECTION_RTL;
+    }
+
+    /**
+     * 将颜色的透明度和当前 Drawable 的透明度进行叠加
+     */
+    private int modulateAlpha(int alpha) {
+        return alpha * (mAlpha + (mAlpha >> 7)) >> 8;
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        if (mAlpha == alpha) {
+            return;
+        }
+        mAlpha = alpha;
+        markDirty(DIRTY_SOLID | DIRTY_STROKE | DIRTY_SHADOW);
+    }
+
+    @Override
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mSolidPaint.setColorFilter(colorFilter);
+        mStrokePaint.setColorFilter(colorFilter);
+        mShadowPaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return mShapeState.mWidth;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return mShapeState.mHeight;
+    }
+
+    @Override
+    public void getOutline(@NonNull Outline outline) {
+        ShapeState state = mShapeState;
+        if (state.mType != ShapeType.RECTANGLE && state.mType != ShapeType.OVAL) {
+            super.getOutline(outline);
+            return;
+        }
+        ensureValid();
+
+        // 轮廓为边框的外边缘（不包含阴影）
+        Rect bounds = getBounds();
+        int left = bounds.left + state.mShadowSize;
+        int top = bounds.top + state.mShadowSize;
+        int right = bounds.right - state.mShadowSize;
+        int bottom = bounds.bottom - state.mShadowSize;
+
+        if (state.mType == ShapeType.OVAL) {
+            outline.setOval(left, top, right, bottom);
+        } else if (state.mTopLeftRadius == state.mTopRightRadius &&
+                state.mTopLeftRadius == state.mBottomLeftRadius &&
+                state.mTopLeftRadius == state.mBottomRightRadius) {
+            outline.setRoundRect(left, top, right, bottom, state.mTopLeftRadius);
+        } else {
+            // 四个圆角不一样大的时候只能使用路径描述（这种轮廓不能用于裁剪），
+            // 绘制用的路径向内缩进了半个边框，这里要使用和其他情况一样的图形区域
+            outline.setConvexPath(buildOutlinePath(left, top, right, bottom));
+        }
+        outline.setAlpha(mAlpha / 255f);
+    }
+
+    /**
+     * 构建四个圆角不一样大时的轮廓路径
+     */
+    private Path buildOutlinePath(int left, int top, int right, int bottom) {
+        ShapeState state = mShapeState;
+        if (mOutlinePath == null) {
+            mOutlinePath = new Path();
+            mOutlineRect = new RectF();
+        }
+        mOutlineRect.set(left, top, right, bottom);
+        mRadii[0] = mRadii[1] = state.mTopLeftRadius;
+        mRadii[2] = mRadii[3] = state.mTopRightRadius;
+        mRadii[4] = mRadii[5] = state.mBottomRightRadius;
+        mRadii[6] = mRadii[7] = state.mBottomLeftRadius;
+        mOutlinePath.rewind();
+        mOutlinePath.addRoundRect(mOutlineRect, mRadii, Path.Direction.CW);
+        return mOutlinePath;
+    }
+
+    @Nullable
+    @Override
+    public ConstantState getConstantState() {
+        return mShapeState;
+    }
+
+    @NonNull
+    @Override
+    public Drawable mutate() {
+        if (!mMutated && super.mutate() == this) {
+            mShapeState = new ShapeState(mShapeState);
+            mMutated = true;
+        }
+        return this;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hjq.shape.graphics;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 渐变方向
+ */
+public enum ShapeGradientOrientation {
+
+    /** 从左到右 */
+    LEFT_TO_RIGHT,
+    /** 从开始到结束（从左到右，RTL 布局下从右到左） */
+    START_TO_END,
+
+    /** 从右到左 */
+    RIGHT_TO_LEFT,
+    /** 从结束到开始 */
+    END_TO_START,
+
+    /** 从下到上 */
+    BOTTOM_TO_TOP,
+
+    /** 从上到下 */
+    TOP_TO_BOTTOM,
+
+    /** 从左上到右下 */
+    TOP_LEFT_TO_BOTTOM_RIGHT,
+    /** 从上开始到下结束 */
+    TOP_START_TO_BOTTOM_END,
+
+    /** 从左下到右上 */
+    BOTTOM_LEFT_TO_TOP_RIGHT,
+    /** 从下开始到上结束 */
+    BOTTOM_START_TO_TOP_END,
+
+    /** 从右上到左下 */
+    TOP_RIGHT_TO_BOTTOM_LEFT,
+    /** 从上结束到下开始 */
+    TOP_END_TO_BOTTOM_START,
+
+    /** 从右下到左上 */
+    BOTTOM_RIGHT_TO_TOP_LEFT,
+    /** 从下结束到上开始 */
+    BOTTOM_END_TO_TOP_START;
+
+    /**
+     * 根据布局方向将相对方向转换成绝对方向
+     */
+    public ShapeGradientOrientation resolve(boolean rtl) {
+        switch (this) {
+            case START_TO_END:
+                return rtl ? RIGHT_TO_LEFT : LEFT_TO_RIGHT;
+            case END_TO_START:
+                return rtl ? LEFT_TO_RIGHT : RIGHT_TO_LEFT;
+            case TOP_START_TO_BOTTOM_END:
+                return rtl ? TOP_RIGHT_TO_BOTTOM_LEFT : TOP_LEFT_TO_BOTTOM_RIGHT;
+            case BOTTOM_START_TO_TOP_END:
+                return rtl ? BOTTOM_RIGHT_TO_TOP_LEFT : BOTTOM_LEFT_TO_TOP_RIGHT;
+            case TOP_END_TO_BOTTOM_START:
+                return rtl ? TOP_LEFT_TO_BOTTOM_RIGHT : TOP_RIGHT_TO_BOTTOM_LEFT;
+            case BOTTOM_END_TO_TOP_START:
+                return rtl ? BOTTOM_LEFT_TO_TOP_RIGHT : BOTTOM_RIGHT_TO_TOP_LEFT;
+            default:
+                return this;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.hjq.shape.graphics;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 渐变类型
+ */
+public final class ShapeGradientType {
+
+    /** 线性渐变 */
+    public static final int LINEAR_GRADIENT = 0;
+
+    /** 径向渐变 */
+    public static final int RADIAL_GRADIENT = 1;
+
+    /** 扫描渐变 */
+    public static final int SWEEP_GRADIENT = 2;
+
+    private ShapeGradientType() {}
+}
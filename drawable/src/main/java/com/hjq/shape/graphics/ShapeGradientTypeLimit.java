@@ -0,0 +1,16 @@
+package com.hjq.shape.graphics;
+
+import android.support.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 渐变类型限定
+ */
+@IntDef({ShapeGradientType.LINEAR_GRADIENT, ShapeGradientType.RADIAL_GRADIENT, ShapeGradientType.SWEEP_GRADIENT})
+@Retention(RetentionPolicy.SOURCE)
+public @interface ShapeGradientTypeLimit {}
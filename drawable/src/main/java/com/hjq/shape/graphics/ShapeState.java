@@ -0,0 +1,111 @@
+package com.hjq.shape.graphics;
+
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.view.Gravity;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 的属性（同一个 ConstantState 创建出来的 Drawable 共用，调用 mutate 之后才会拷贝一份）
+ */
+final class ShapeState extends Drawable.ConstantState {
+
+    /** 圆环内半径和厚度的默认比例（和 GradientDrawable 保持一致） */
+    static final float DEFAULT_RING_INNER_RADIUS_RATIO = 3.0f;
+    static final float DEFAULT_RING_THICKNESS_RATIO = 9.0f;
+
+    @ShapeTypeLimit
+    int mType = ShapeType.RECTANGLE;
+    int mWidth = -1;
+    int mHeight = -1;
+
+    float mTopLeftRadius;
+    float mTopRightRadius;
+    float mBottomLeftRadius;
+    float mBottomRightRadius;
+
+    int mSolidColor = Color.TRANSPARENT;
+    /** 填充渐变色，为空则使用纯色 */
+    int[] mSolidColors;
+    @ShapeGradientTypeLimit
+    int mSolidGradientType = ShapeGradientType.LINEAR_GRADIENT;
+    ShapeGradientOrientation mSolidGradientOrientation = ShapeGradientOrientation.LEFT_TO_RIGHT;
+    float mSolidGradientRadius = -1;
+    float mSolidGradientCenterX = 0.5f;
+    float mSolidGradientCenterY = 0.5f;
+
+    int mStrokeColor = Color.TRANSPARENT;
+    /** 边框渐变色，为空则使用纯色 */
+    int[] mStrokeColors;
+    ShapeGradientOrientation mStrokeGradientOrientation = ShapeGradientOrientation.LEFT_TO_RIGHT;
+    int mStrokeSize;
+    int mStrokeDashSize;
+    int mStrokeDashGap;
+
+    int mShadowSize;
+    int mShadowColor;
+    int mShadowOffsetX;
+    int mShadowOffsetY;
+
+    float mRingInnerRadiusRatio = DEFAULT_RING_INNER_RADIUS_RATIO;
+    int mRingInnerRadiusSize = -1;
+    float mRingThicknessRatio = DEFAULT_RING_THICKNESS_RATIO;
+    int mRingThicknessSize = -1;
+
+    int mLineGravity = Gravity.CENTER;
+
+    ShapeState() {}
+
+    ShapeState(@NonNull ShapeState state) {
+        mType = state.mType;
+        mWidth = state.mWidth;
+        mHeight = state.mHeight;
+
+        mTopLeftRadius = state.mTopLeftRadius;
+        mTopRightRadius = state.mTopRightRadius;
+        mBottomLeftRadius = state.mBottomLeftRadius;
+        mBottomRightRadius = state.mBottomRightRadius;
+
+        mSolidColor = state.mSolidColor;
+        // 渐变色数组在设置的时候就已经拷贝过了，并且之后不会再修改，这里可以直接共用
+        mSolidColors = state.mSolidColors;
+        mSolidGradientType = state.mSolidGradientType;
+        mSolidGradientOrientation = state.mSolidGradientOrientation;
+        mSolidGradientRadius = state.mSolidGradientRadius;
+        mSolidGradientCenterX = state.mSolidGradientCenterX;
+        mSolidGradientCenterY = state.mSolidGradientCenterY;
+
+        mStrokeColor = state.mStrokeColor;
+        mStrokeColors = state.mStrokeColors;
+        mStrokeGradientOrientation = state.mStrokeGradientOrientation;
+        mStrokeSize = state.mStrokeSize;
+        mStrokeDashSize = state.mStrokeDashSize;
+        mStrokeDashGap = state.mStrokeDashGap;
+
+        mShadowSize = state.mShadowSize;
+        mShadowColor = state.mShadowColor;
+        mShadowOffsetX = state.mShadowOffsetX;
+        mShadowOffsetY = state.mShadowOffsetY;
+
+        mRingInnerRadiusRatio = state.mRingInnerRadiusRatio;
+        mRingInnerRadiusSize = state.mRingInnerRadiusSize;
+        mRingThicknessRatio = state.mRingThicknessRatio;
+        mRingThicknessSize = state.mRingThicknessSize;
+
+        mLineGravity = state.mLineGravity;
+    }
+
+    @NonNull
+    @Override
+    public Drawable newDrawable() {
+        return new ShapeDrawable(this);
+    }
+
+    @Override
+    public int getChangingConfigurations() {
+        return 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.hjq.shape.graphics;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 图形类型
+ */
+public final class ShapeType {
+
+    /** 矩形 */
+    public static final int RECTANGLE = 0;
+
+    /** 椭圆形 */
+    public static final int OVAL = 1;
+
+    /** 线条 */
+    public static final int LINE = 2;
+
+    /** 圆环 */
+    public static final int RING = 3;
+
+    private ShapeType() {}
+}
@@ -0,0 +1,16 @@
+package com.hjq.shape.graphics;
+
+import android.support.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 图形类型限定
+ */
+@IntDef({ShapeType.RECTANGLE, ShapeType.OVAL, ShapeType.LINE, ShapeType.RING})
+@Retention(RetentionPolicy.SOURCE)
+public @interface ShapeTypeLimit {}
@@ -0,0 +1,113 @@
+package com.hjq.shape.graphics;
+
+import android.view.Gravity;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.NoOpCanvas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 内存分配测试用例，每种图形类型在属性和边界没有变化时重复绘制都不能再分配内存
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeDrawableAllocationTest {
+
+    private static final int DRAW_COUNT = 10000;
+
+    /** 每次绘制允许分配的字节数（给 Robolectric 影子类的少量分配留出余量） */
+    private static final long MAX_BYTES_PER_DRAW = 16;
+
+    private NoOpCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mCanvas = new NoOpCanvas();
+    }
+
+    private static ShapeDrawable createDrawable(@ShapeTypeLimit int type) {
+        ShapeDrawable drawable = new ShapeDrawable()
+                .setType(type)
+                .setSolidColor(0xFFFFFFFF)
+                .setStrokeColor(0xFF000000)
+                .setStrokeSize(4);
+        drawable.setBounds(0, 0, 300, 300);
+        return drawable;
+    }
+
+    @Test
+    public void rectangle() {
+        assertDrawDoesNotAllocate("RECTANGLE", createDrawable(ShapeType.RECTANGLE));
+    }
+
+    @Test
+    public void roundRectangleWithShadow() {
+        assertDrawDoesNotAllocate("RECTANGLE (radius, shadow)", createDrawable(ShapeType.RECTANGLE)
+                .setRadius(10, 20, 30, 40)
+                .setShadowColor(0x33000000)
+                .setShadowSize(12)
+                .setShadowOffsetY(4));
+    }
+
+    @Test
+    public void gradientRectangleWithDash() {
+        assertDrawDoesNotAllocate("RECTANGLE (gradient, dash)", createDrawable(ShapeType.RECTANGLE)
+                .setRadius(20)
+                .setSolidColor(new int[]{0xFFFF0000, 0xFF0000FF})
+                .setStrokeColor(new int[]{0xFF00FF00, 0xFF000000})
+                .setStrokeDashSize(10)
+                .setStrokeDashGap(6));
+    }
+
+    @Test
+    public void oval() {
+        assertDrawDoesNotAllocate("OVAL", createDrawable(ShapeType.OVAL));
+    }
+
+    @Test
+    public void ring() {
+        assertDrawDoesNotAllocate("RING", createDrawable(ShapeType.RING));
+    }
+
+    @Test
+    public void line() {
+        assertDrawDoesNotAllocate("LINE", createDrawable(ShapeType.LINE)
+                .setLineGravity(Gravity.BOTTOM));
+    }
+
+    private void assertDrawDoesNotAllocate(String name, ShapeDrawable drawable) {
+        // 预热：构建路径、着色器和画笔效果，并让类加载和 Robolectric 的字节码处理不计入统计
+        for (int i = 0; i < 100; i++) {
+            drawable.draw(mCanvas);
+        }
+        mCanvas.resetDrawCount();
+
+        long startBytes = AllocationMeter.getAllocatedBytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            drawable.draw(mCanvas);
+        }
+        long time = System.nanoTime() - startTime;
+        long bytes = AllocationMeter.getAllocatedBytes() - startBytes;
+
+        assertTrue(mCanvas.getDrawCount() >= DRAW_COUNT);
+        assertEquals(0, mCanvas.getDrawCount() % DRAW_COUNT);
+
+        String result = (time / DRAW_COUNT) + " ns per draw";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + bytes + " bytes in " + DRAW_COUNT + " draws";
+            assertTrue(name + " allocated " + bytes + " bytes in " + DRAW_COUNT + " draws",
+                    bytes <= MAX_BYTES_PER_DRAW * DRAW_COUNT);
+        }
+        AllocationMeter.report("ShapeDrawable.draw " + name, result);
+    }
+}
@@ -0,0 +1,176 @@
+package com.hjq.shape.graphics;
+
+import android.graphics.Canvas;
+import android.graphics.Outline;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.GradientDrawable;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 和系统 GradientDrawable 的一致性测试用例，相同的属性绘制出来的填充和边框区域、轮廓要保持一致
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeDrawableParityTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 180;
+    private static final int STROKE_SIZE = 6;
+
+    @Test
+    public void rectangle() {
+        assertSameGeometry(createShapeDrawable(ShapeType.RECTANGLE, 0),
+                createGradientDrawable(GradientDrawable.RECTANGLE, 0));
+    }
+
+    @Test
+    public void roundRectangle() {
+        assertSameGeometry(createShapeDrawable(ShapeType.RECTANGLE, 24),
+                createGradientDrawable(GradientDrawable.RECTANGLE, 24));
+    }
+
+    @Test
+    public void oval() {
+        assertSameGeometry(createShapeDrawable(ShapeType.OVAL, 0),
+                createGradientDrawable(GradientDrawable.OVAL, 0));
+    }
+
+    @Test
+    public void ring() {
+        ShapeDrawable shapeDrawable = new ShapeDrawable()
+                .setType(ShapeType.RING)
+                .setSolidColor(0xFFFFFFFF);
+        shapeDrawable.setBounds(0, 0, WIDTH, WIDTH);
+
+        GradientDrawable gradientDrawable = new GradientDrawable();
+        gradientDrawable.setShape(GradientDrawable.RING);
+        gradientDrawable.setUseLevel(false);
+        gradientDrawable.setColor(0xFFFFFFFF);
+        gradientDrawable.setBounds(0, 0, WIDTH, WIDTH);
+
+        assertSameGeometry(shapeDrawable, gradientDrawable);
+    }
+
+    @Test
+    public void roundRectangleOutline() {
+        ShapeDrawable shapeDrawable = createShapeDrawable(ShapeType.RECTANGLE, 24);
+        GradientDrawable gradientDrawable = createGradientDrawable(GradientDrawable.RECTANGLE, 24);
+
+        Outline shapeOutline = new Outline();
+        shapeDrawable.getOutline(shapeOutline);
+        Outline gradientOutline = new Outline();
+        gradientDrawable.getOutline(gradientOutline);
+
+        Rect shapeRect = new Rect();
+        Rect gradientRect = new Rect();
+        assertTrue(shapeOutline.getRect(shapeRect));
+        assertTrue(gradientOutline.getRect(gradientRect));
+        assertEquals(gradientRect, shapeRect);
+        assertEquals(gradientOutline.getRadius(), shapeOutline.getRadius(), 0.01f);
+    }
+
+    /**
+     * 四个圆角不一样大的时候，轮廓路径也要覆盖整个图形区域（不能使用向内缩进了半个边框的绘制路径）
+     */
+    @Test
+    public void nonUniformRadiusOutlineUsesShapeBounds() throws Exception {
+        int shadowSize = 10;
+        ShapeDrawable shapeDrawable = createShapeDrawable(ShapeType.RECTANGLE, 0)
+                .setRadius(10, 20, 30, 40)
+                .setShadowColor(0x33000000)
+                .setShadowSize(shadowSize);
+
+        Outline outline = new Outline();
+        shapeDrawable.getOutline(outline);
+
+        Field pathField = Outline.class.getDeclaredField("mPath");
+        pathField.setAccessible(true);
+        RectF pathBounds = new RectF();
+        ((Path) pathField.get(outline)).computeBounds(pathBounds, true);
+
+        assertEquals(new RectF(shadowSize, shadowSize, WIDTH - shadowSize, HEIGHT - shadowSize), pathBounds);
+    }
+
+    private static ShapeDrawable createShapeDrawable(@ShapeTypeLimit int type, float radius) {
+        ShapeDrawable drawable = new ShapeDrawable()
+                .setType(type)
+                .setRadius(radius)
+                .setSolidColor(0xFFFFFFFF)
+                .setStrokeColor(0xFF000000)
+                .setStrokeSize(STROKE_SIZE);
+        drawable.setBounds(0, 0, WIDTH, HEIGHT);
+        return drawable;
+    }
+
+    private static GradientDrawable createGradientDrawable(int shape, float radius) {
+        GradientDrawable drawable = new GradientDrawable();
+        drawable.setShape(shape);
+        drawable.setCornerRadius(radius);
+        drawable.setColor(0xFFFFFFFF);
+        drawable.setStroke(STROKE_SIZE, 0xFF000000);
+        drawable.setBounds(0, 0, WIDTH, HEIGHT);
+        return drawable;
+    }
+
+    private static void assertSameGeometry(ShapeDrawable shapeDrawable, GradientDrawable gradientDrawable) {
+        GeometryCanvas shapeCanvas = new GeometryCanvas();
+        shapeDrawable.draw(shapeCanvas);
+        GeometryCanvas gradientCanvas = new GeometryCanvas();
+        gradientDrawable.draw(gradientCanvas);
+
+        assertEquals("fill", gradientCanvas.mFillBounds, shapeCanvas.mFillBounds);
+        assertEquals("stroke", gradientCanvas.mStrokeBounds, shapeCanvas.mStrokeBounds);
+    }
+
+    /**
+     * 只记录填充和边框绘制区域的画布
+     */
+    private static final class GeometryCanvas extends Canvas {
+
+        private RectF mFillBounds;
+        private RectF mStrokeBounds;
+
+        @Override
+        public void drawRect(RectF rect, Paint paint) {
+            record(new RectF(rect), paint);
+        }
+
+        @Override
+        public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+            record(new RectF(rect), paint);
+        }
+
+        @Override
+        public void drawOval(RectF oval, Paint paint) {
+            record(new RectF(oval), paint);
+        }
+
+        @Override
+        public void drawPath(Path path, Paint paint) {
+            RectF bounds = new RectF();
+            path.computeBounds(bounds, true);
+            record(bounds, paint);
+        }
+
+        private void record(RectF bounds, Paint paint) {
+            if (paint.getStyle() == Paint.Style.STROKE) {
+                mStrokeBounds = bounds;
+            } else {
+                mFillBounds = bounds;
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.hjq.shape.graphics;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.view.Gravity;
+
+import com.hjq.shape.AllocationMeter;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 和原来依赖的 ShapeDrawable 3.2（com.hjq.shape.drawable 包）的像素一致性测试用例，
+ *             相同的属性绘制到位图上之后，除了抗锯齿的边缘以外，每个像素都要保持一致
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public final class ShapeDrawableUpstreamParityTest {
+
+    private static final int WIDTH = 300;
+    private static final int HEIGHT = 180;
+    private static final int STROKE_SIZE = 6;
+
+    /** 每个颜色通道允许的误差 */
+    private static final int CHANNEL_TOLERANCE = 24;
+
+    /** 允许超出误差的像素比例（抗锯齿的边缘在不同的绘制方式下会有少量差异） */
+    private static final float MAX_DIFFERENT_PIXEL_RATIO = 0.02f;
+
+    @Test
+    public void rectangle() {
+        assertSamePixels("RECTANGLE",
+                createDrawable(ShapeType.RECTANGLE, 0),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RECTANGLE, 0));
+    }
+
+    @Test
+    public void roundRectangle() {
+        assertSamePixels("RECTANGLE (radius)",
+                createDrawable(ShapeType.RECTANGLE, 24),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RECTANGLE, 24));
+    }
+
+    @Test
+    public void nonUniformRadius() {
+        assertSamePixels("RECTANGLE (non-uniform radius)",
+                createDrawable(ShapeType.RECTANGLE, 0)
+                        .setRadius(10, 20, 30, 40),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RECTANGLE, 0)
+                        .setRadius(10, 20, 30, 40));
+    }
+
+    @Test
+    public void oval() {
+        assertSamePixels("OVAL",
+                createDrawable(ShapeType.OVAL, 0),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.OVAL, 0));
+    }
+
+    @Test
+    public void ring() {
+        assertSamePixels("RING",
+                createDrawable(ShapeType.RING, 0)
+                        .setRingInnerRadiusRatio(3)
+                        .setRingThicknessRatio(9),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RING, 0)
+                        .setRingInnerRadiusRatio(3)
+                        .setRingThicknessRatio(9));
+    }
+
+    @Test
+    public void line() {
+        assertSamePixels("LINE",
+                createDrawable(ShapeType.LINE, 0)
+                        .setLineGravity(Gravity.CENTER),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.LINE, 0)
+                        .setLineGravity(Gravity.CENTER));
+    }
+
+    @Test
+    public void gradient() {
+        int[] solidColors = {Color.RED, Color.BLUE};
+        int[] strokeColors = {Color.GREEN, Color.BLACK};
+        assertSamePixels("RECTANGLE (gradient)",
+                createDrawable(ShapeType.RECTANGLE, 24)
+                        .setSolidColor(solidColors)
+                        .setStrokeColor(strokeColors),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RECTANGLE, 24)
+                        .setSolidColor(solidColors)
+                        .setStrokeColor(strokeColors));
+    }
+
+    @Test
+    public void dashStroke() {
+        assertSamePixels("RECTANGLE (dash)",
+                createDrawable(ShapeType.RECTANGLE, 24)
+                        .setStrokeDashSize(10)
+                        .setStrokeDashGap(6),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RECTANGLE, 24)
+                        .setStrokeDashSize(10)
+                        .setStrokeDashGap(6));
+    }
+
+    @Test
+    public void shadow() {
+        assertSamePixels("RECTANGLE (shadow)",
+                createDrawable(ShapeType.RECTANGLE, 24)
+                        .setShadowColor(0x66000000)
+                        .setShadowSize(12)
+                        .setShadowOffsetY(4),
+                createUpstreamDrawable(com.hjq.shape.drawable.ShapeType.RECTANGLE, 24)
+                        .setShadowColor(0x66000000)
+                        .setShadowSize(12)
+                        .setShadowOffsetY(4));
+    }
+
+    private static ShapeDrawable createDrawable(@ShapeTypeLimit int type, float radius) {
+        ShapeDrawable drawable = new ShapeDrawable()
+                .setType(type)
+                .setRadius(radius, radius, radius, radius)
+                .setSolidColor(Color.WHITE)
+                .setStrokeColor(Color.BLACK)
+                .setStrokeSize(STROKE_SIZE);
+        drawable.setBounds(0, 0, WIDTH, HEIGHT);
+        return drawable;
+    }
+
+    private static com.hjq.shape.drawable.ShapeDrawable createUpstreamDrawable(int type, float radius) {
+        com.hjq.shape.drawable.ShapeDrawable drawable = new com.hjq.shape.drawable.ShapeDrawable()
+                .setType(type)
+                .setRadius(radius, radius, radius, radius)
+                .setSolidColor(Color.WHITE)
+                .setStrokeColor(Color.BLACK)
+                .setStrokeSize(STROKE_SIZE);
+        drawable.setBounds(0, 0, WIDTH, HEIGHT);
+        return drawable;
+    }
+
+    private static void assertSamePixels(String name, Drawable drawable, Drawable upstreamDrawable) {
+        int[] pixels = drawPixels(drawable);
+        int[] upstreamPixels = drawPixels(upstreamDrawable);
+
+        int differentCount = 0;
+        int maxChannelDiff = 0;
+        for (int i = 0; i < pixels.length; i++) {
+            int channelDiff = getMaxChannelDiff(pixels[i], upstreamPixels[i]);
+            maxChannelDiff = Math.max(maxChannelDiff, channelDiff);
+            if (channelDiff > CHANNEL_TOLERANCE) {
+                differentCount++;
+            }
+        }
+
+        float differentRatio = (float) differentCount / pixels.length;
+        AllocationMeter.report(name, differentCount + " different pixels of " + pixels.length
+                + ", max channel diff " + maxChannelDiff);
+        assertTrue(name + " has " + differentCount + " different pixels of " + pixels.length,
+                differentRatio <= MAX_DIFFERENT_PIXEL_RATIO);
+    }
+
+    private static int[] drawPixels(Drawable drawable) {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        drawable.draw(new Canvas(bitmap));
+        int[] pixels = new int[WIDTH * HEIGHT];
+        bitmap.getPixels(pixels, 0, WIDTH, 0, 0, WIDTH, HEIGHT);
+        bitmap.recycle();
+        return pixels;
+    }
+
+    private static int getMaxChannelDiff(int color1, int color2) {
+        int alphaDiff = Math.abs(Color.alpha(color1) - Color.alpha(color2));
+        int redDiff = Math.abs(Color.red(color1) - Color.red(color2));
+        int greenDiff = Math.abs(Color.green(color1) - Color.green(color2));
+        int blueDiff = Math.abs(Color.blue(color1) - Color.blue(color2));
+        return Math.max(Math.max(alphaDiff, redDiff), Math.max(greenDiff, blueDiff));
+    }
+}
@@ -1,13 +1,17 @@
 package com.hjq.shape.builder;
 
+import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.StateListDrawable;
+import android.os.Looper;
+import android.support.v4.content.ContextCompat;
 import android.support.v4.widget.CompoundButtonCompat;
 import android.widget.CompoundButton;
 
 import com.hjq.shape.R;
 import com.hjq.shape.config.ICompoundButtonStyleable;
+import com.hjq.shape.other.ButtonDrawableTemplateCache;
+import com.hjq.shape.other.ExtendStateListDrawable;
 
 /**
  *    author : Android 轮子哥
@@ -26,14 +30,42 @@ public final class ButtonDrawableBuilder {
     private Drawable mButtonFocusedDrawable;
     private Drawable mButtonSelectedDrawable;
 
+    /** 按钮图片的资源 id（0 表示没有设置或者不是从资源中加载的） */
+    private int mButtonDrawableResId;
+    private int mButtonPressedDrawableResId;
+    private int mButtonCheckedDrawableResId;
+    private int mButtonDisabledDrawableResId;
+    private int mButtonFocusedDrawableResId;
+    private int mButtonSelectedDrawableResId;
+
+    /**
+     * 按钮图片是否已经加载（全部来自资源文件时会延迟加载，
+     * 直接使用 {@link ButtonDrawableTemplateCache} 中相同资源组合的模板，避免重复解析资源）
+     */
+    private boolean mButtonDrawableResolved;
+    /** 最近一次从模板创建的按钮图片 */
+    private Drawable mButtonTemplateDrawable;
+    /** 是否正在将按钮图片设置到 View 上（View 重写的 setButtonDrawable 会回调到当前类） */
+    private boolean mButtonDrawableApplying;
+    /** 按钮图片是否还没有应用到 View 上（在子线程中创建 View 时会推迟到附加到窗口时再应用） */
+    private boolean mButtonDrawablePending;
+
     public ButtonDrawableBuilder(CompoundButton compoundButton, TypedArray typedArray, ICompoundButtonStyleable styleable) {
         mCompoundButton = compoundButton;
 
+        // 不是从资源文件中加载的图片（例如占位图、颜色值）不能使用模板，需要马上加载
+        boolean resolveNow = false;
+
         if (typedArray.hasValue(styleable.getButtonDrawableStyleable())) {
-            if (typedArray.getResourceId(styleable.getButtonDrawableStyleable(), 0) != R.drawable.shape_view_placeholder) {
+            int resId = typedArray.getResourceId(styleable.getButtonDrawableStyleable(), 0);
+            if (resId == R.drawable.shape_view_placeholder) {
+                mButtonDrawable = CompoundButtonCompat.getButtonDrawable(mCompoundButton);
+                resolveNow = true;
+            } else if (resId == 0) {
                 mButtonDrawable = typedArray.getDrawable(styleable.getButtonDrawableStyleable());
+                resolveNow = true;
             } else {
-                mButtonDrawable = CompoundButtonCompat.getButtonDrawable(mCompoundButton);
+                mButtonDrawableResId = resId;
             }
         } else {
             mButtonDrawable = null;
@@ -41,27 +73,80 @@ public final class ButtonDrawableBuilder {
         }
 
         if (typedArray.hasValue(styleable.getButtonPressedDrawableStyleable())) {
-            mButtonPressedDrawable = typedArray.getDrawable(styleable.getButtonPressedDrawableStyleable());
+            mButtonPressedDrawableResId = typedArray.getResourceId(styleable.getButtonPressedDrawableStyleable(), 0);
+            if (mButtonPressedDrawableResId == 0) {
+                mButtonPressedDrawable = typedArray.getDrawable(styleable.getButtonPressedDrawableStyleable());
+                resolveNow = true;
+            }
         }
 
         if (typedArray.hasValue(styleable.getButtonCheckedDrawableStyleable())) {
-            mButtonCheckedDrawable = typedArray.getDrawable(styleable.getButtonCheckedDrawableStyleable());
+            mButtonCheckedDrawableResId = typedArray.getResourceId(styleable.getButtonCheckedDrawableStyleable(), 0);
+            if (mButtonCheckedDrawableResId == 0) {
+                mButtonCheckedDrawable = typedArray.getDrawable(styleable.getButtonCheckedDrawableStyleable());
+                resolveNow = true;
+            }
         }
 
         if (typedArray.hasValue(styleable.getButtonDisabledDrawableStyleable())) {
-            mButtonDisabledDrawable = typedArray.getDrawable(styleable.getButtonDisabledDrawableStyleable());
+            mButtonDisabledDrawableResId = typedArray.getResourceId(styleable.getButtonDisabledDrawableStyleable(), 0);
+            if (mButtonDisabledDrawableResId == 0) {
+                mButtonDisabledDrawable = typedArray.getDrawable(styleable.getButtonDisabledDrawableStyleable());
+                resolveNow = true;
+            }
         }
 
         if (typedArray.hasValue(styleable.getButtonFocusedDrawableStyleable())) {
-            mButtonFocusedDrawable = typedArray.getDrawable(styleable.getButtonFocusedDrawableStyleable());
+            mButtonFocusedDrawableResId = typedArray.getResourceId(styleable.getButtonFocusedDrawableStyleable(), 0);
+            if (mButtonFocusedDrawableResId == 0) {
+                mButtonFocusedDrawable = typedArray.getDrawable(styleable.getButtonFocusedDrawableStyleable());
+                resolveNow = true;
+            }
         }
 
         if (typedArray.hasValue(styleable.getButtonSelectedDrawableStyleable())) {
-            mButtonSelectedDrawable = typedArray.getDrawable(styleable.getButtonSelectedDrawableStyleable());
+            mButtonSelectedDrawableResId = typedArray.getResourceId(styleable.getButtonSelectedDrawableStyleable(), 0);
+            if (mButtonSelectedDrawableResId == 0) {
+                mButtonSelectedDrawable = typedArray.getDrawable(styleable.getButtonSelectedDrawableStyleable());
+                resolveNow = true;
+            }
         }
+
+        if (resolveNow) {
+            resolveButtonDrawables();
+        }
+    }
+
+    /**
+     * 加载还没有加载的按钮图片（调用之后不再使用模板，获取到的图片和显示的图片是同一个对象）
+     */
+    private void resolveButtonDrawables() {
+        if (mButtonDrawableResolved) {
+            return;
+        }
+        mButtonDrawableResolved = true;
+        Context context = mCompoundButton.getContext();
+        mButtonDrawable = resolveButtonDrawable(context, mButtonDrawable, mButtonDrawableResId);
+        mButtonPressedDrawable = resolveButtonDrawable(context, mButtonPressedDrawable, mButtonPressedDrawableResId);
+        mButtonCheckedDrawable = resolveButtonDrawable(context, mButtonCheckedDrawable, mButtonCheckedDrawableResId);
+        mButtonDisabledDrawable = resolveButtonDrawable(context, mButtonDisabledDrawable, mButtonDisabledDrawableResId);
+        mButtonFocusedDrawable = resolveButtonDrawable(context, mButtonFocusedDrawable, mButtonFocusedDrawableResId);
+        mButtonSelectedDrawable = resolveButtonDrawable(context, mButtonSelectedDrawable, mButtonSelectedDrawableResId);
+    }
+
+    private static Drawable resolveButtonDrawable(Context context, Drawable drawable, int resId) {
+        if (drawable != null || resId == 0) {
+            return drawable;
+        }
+        return ContextCompat.getDrawable(context, resId);
     }
 
     public ButtonDrawableBuilder setButtonDrawable(Drawable drawable) {
+        if (mButtonDrawableApplying) {
+            // 当前类构建出来的图片，不能作为默认状态的图片
+            return this;
+        }
+        resolveButtonDrawables();
         if (mButtonPressedDrawable == mButtonDrawable) {
             mButtonPressedDrawable = drawable;
         }
@@ -82,57 +167,112 @@ public final class ButtonDrawableBuilder {
     }
 
     public Drawable getButtonDrawable() {
+        resolveButtonDrawables();
         return mButtonDrawable;
     }
 
     public ButtonDrawableBuilder setButtonPressedDrawable(Drawable drawable) {
+        resolveButtonDrawables();
         mButtonPressedDrawable = drawable;
         return this;
     }
 
     public Drawable getButtonPressedDrawable() {
+        resolveButtonDrawables();
         return mButtonPressedDrawable;
     }
 
     public ButtonDrawableBuilder setButtonCheckedDrawable(Drawable drawable) {
+        resolveButtonDrawables();
         mButtonCheckedDrawable = drawable;
         return this;
     }
 
     public Drawable getButtonCheckedDrawable() {
+        resolveButtonDrawables();
         return mButtonCheckedDrawable;
     }
 
     public ButtonDrawableBuilder setButtonDisabledDrawable(Drawable drawable) {
+        resolveButtonDrawables();
         mButtonDisabledDrawable = drawable;
         return this;
     }
 
     public Drawable getButtonDisabledDrawable() {
+        resolveButtonDrawables();
         return mButtonDisabledDrawable;
     }
 
     public ButtonDrawableBuilder setButtonFocusedDrawable(Drawable drawable) {
+        resolveButtonDrawables();
         mButtonFocusedDrawable = drawable;
         return this;
     }
 
     public Drawable getButtonFocusedDrawable() {
+        resolveButtonDrawables();
         return mButtonFocusedDrawable;
     }
 
     public ButtonDrawableBuilder setButtonSelectedDrawable(Drawable drawable) {
+        resolveButtonDrawables();
         mButtonSelectedDrawable = drawable;
         return this;
     }
 
     public Drawable getButtonSelectedDrawable() {
+        resolveButtonDrawables();
         return mButtonSelectedDrawable;
     }
 
     public void intoButtonDrawable() {
+        applyButtonDrawable();
+    }
+
+    /**
+     * View 附加到窗口时回调，应用在子线程中推迟的按钮图片
+     */
+    public void onAttachedToWindow() {
+        if (mButtonDrawablePending) {
+            intoButtonDrawable();
+        }
+    }
+
+    /**
+     * 当前是否在主线程（在子线程中创建 View 时，构建结果会推迟到 View 附加到窗口时再应用）
+     */
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 将按钮图片应用到 View 上，图片对象没有变化时不会重新设置
+     *
+     * @return          还需要调用者处理的操作（{@link ShapeTransaction#APPLY_INVALIDATE}、{@link ShapeTransaction#APPLY_LAYOUT}）
+     */
+    int applyButtonDrawable() {
+        if (!isMainThread()) {
+            // 在子线程中创建的 View（例如异步布局加载），等到附加到窗口时再设置按钮图片
+            mButtonDrawablePending = true;
+            return 0;
+        }
+        mButtonDrawablePending = false;
+        mButtonDrawableApplying = true;
+        try {
+            return applyButtonDrawableInternal();
+        } finally {
+            mButtonDrawableApplying = false;
+        }
+    }
+
+    private int applyButtonDrawableInternal() {
+        if (!mButtonDrawableResolved) {
+            return applyButtonTemplate();
+        }
+
         if (mButtonDrawable == null) {
-            return;
+            return 0;
         }
 
         if (mButtonPressedDrawable == null &&
@@ -140,27 +280,48 @@ public final class ButtonDrawableBuilder {
                 mButtonDisabledDrawable == null &&
                 mButtonFocusedDrawable == null &&
                 mButtonSelectedDrawable == null) {
-            mCompoundButton.setButtonDrawable(mButtonDrawable);
-            return;
+            if (mButtonDrawable != CompoundButtonCompat.getButtonDrawable(mCompoundButton)) {
+                mCompoundButton.setButtonDrawable(mButtonDrawable);
+            }
+            return 0;
         }
 
-        StateListDrawable drawable = new StateListDrawable();
+        ExtendStateListDrawable drawable = new ExtendStateListDrawable();
         if (mButtonPressedDrawable != null) {
-            drawable.addState(new int[]{android.R.attr.state_pressed}, mButtonPressedDrawable);
+            drawable.setPressedDrawable(mButtonPressedDrawable);
         }
         if (mButtonCheckedDrawable != null) {
-            drawable.addState(new int[]{android.R.attr.state_checked}, mButtonCheckedDrawable);
+            drawable.setCheckDrawable(mButtonCheckedDrawable);
         }
         if (mButtonDisabledDrawable != null) {
-            drawable.addState(new int[]{-android.R.attr.state_enabled}, mButtonDisabledDrawable);
+            drawable.setDisabledDrawable(mButtonDisabledDrawable);
         }
         if (mButtonFocusedDrawable != null) {
-            drawable.addState(new int[]{android.R.attr.state_focused}, mButtonFocusedDrawable);
+            drawable.setFocusedDrawable(mButtonFocusedDrawable);
         }
         if (mButtonSelectedDrawable != null) {
-            drawable.addState(new int[]{android.R.attr.state_selected}, mButtonSelectedDrawable);
+            drawable.setSelectDrawable(mButtonSelectedDrawable);
         }
-        drawable.addState(new int[]{}, mButtonDrawable);
+        drawable.setDefaultDrawable(mButtonDrawable);
         mCompoundButton.setButtonDrawable(drawable);
+        return 0;
+    }
+
+    /**
+     * 使用相同资源组合的模板设置按钮图片
+     */
+    private int applyButtonTemplate() {
+        if (mButtonDrawableResId == 0) {
+            return 0;
+        }
+        if (mButtonTemplateDrawable != null &&
+                mButtonTemplateDrawable == CompoundButtonCompat.getButtonDrawable(mCompoundButton)) {
+            return 0;
+        }
+        mButtonTemplateDrawable = ButtonDrawableTemplateCache.obtain(mCompoundButton.getContext(),
+                mButtonDrawableResId, mButtonPressedDrawableResId, mButtonCheckedDrawableResId,
+                mButtonDisabledDrawableResId, mButtonFocusedDrawableResId, mButtonSelectedDrawableResId);
+        mCompoundButton.setButtonDrawable(mButtonTemplateDrawable);
+        return 0;
     }
 }
\ No newline at end of file
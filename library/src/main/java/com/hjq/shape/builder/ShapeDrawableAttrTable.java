@@ -0,0 +1,185 @@
+package com.hjq.shape.builder;
+
+import android.support.annotation.NonNull;
+
+import com.hjq.shape.config.IShapeDrawableStyleable;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 属性索引表（属性下标 -> 属性类型），用于单次遍历 TypedArray
+ */
+final class ShapeDrawableAttrTable {
+
+    static final int ATTR_NONE = 0;
+
+    static final int ATTR_TYPE = 1;
+    static final int ATTR_WIDTH = 2;
+    static final int ATTR_HEIGHT = 3;
+
+    static final int ATTR_RADIUS = 4;
+    static final int ATTR_RADIUS_TOP_LEFT = 5;
+    static final int ATTR_RADIUS_TOP_START = 6;
+    static final int ATTR_RADIUS_TOP_RIGHT = 7;
+    static final int ATTR_RADIUS_TOP_END = 8;
+    static final int ATTR_RADIUS_BOTTOM_LEFT = 9;
+    static final int ATTR_RADIUS_BOTTOM_START = 10;
+    static final int ATTR_RADIUS_BOTTOM_RIGHT = 11;
+    static final int ATTR_RADIUS_BOTTOM_END = 12;
+
+    static final int ATTR_SOLID_COLOR = 13;
+    static final int ATTR_SOLID_PRESSED_COLOR = 14;
+    static final int ATTR_SOLID_CHECKED_COLOR = 15;
+    static final int ATTR_SOLID_DISABLED_COLOR = 16;
+    static final int ATTR_SOLID_FOCUSED_COLOR = 17;
+    static final int ATTR_SOLID_SELECTED_COLOR = 18;
+
+    static final int ATTR_SOLID_GRADIENT_START_COLOR = 19;
+    static final int ATTR_SOLID_GRADIENT_CENTER_COLOR = 20;
+    static final int ATTR_SOLID_GRADIENT_END_COLOR = 21;
+    static final int ATTR_SOLID_GRADIENT_ORIENTATION = 22;
+    static final int ATTR_SOLID_GRADIENT_TYPE = 23;
+    static final int ATTR_SOLID_GRADIENT_CENTER_X = 24;
+    static final int ATTR_SOLID_GRADIENT_CENTER_Y = 25;
+    static final int ATTR_SOLID_GRADIENT_RADIUS = 26;
+
+    static final int ATTR_STROKE_COLOR = 27;
+    static final int ATTR_STROKE_PRESSED_COLOR = 28;
+    static final int ATTR_STROKE_CHECKED_COLOR = 29;
+    static final int ATTR_STROKE_DISABLED_COLOR = 30;
+    static final int ATTR_STROKE_FOCUSED_COLOR = 31;
+    static final int ATTR_STROKE_SELECTED_COLOR = 32;
+
+    static final int ATTR_STROKE_GRADIENT_START_COLOR = 33;
+    static final int ATTR_STROKE_GRADIENT_CENTER_COLOR = 34;
+    static final int ATTR_STROKE_GRADIENT_END_COLOR = 35;
+    static final int ATTR_STROKE_GRADIENT_ORIENTATION = 36;
+
+    static final int ATTR_STROKE_SIZE = 37;
+    static final int ATTR_STROKE_DASH_SIZE = 38;
+    static final int ATTR_STROKE_DASH_GAP = 39;
+
+    static final int ATTR_SHADOW_SIZE = 40;
+    static final int ATTR_SHADOW_COLOR = 41;
+    static final int ATTR_SHADOW_OFFSET_X = 42;
+    static final int ATTR_SHADOW_OFFSET_Y = 43;
+
+    static final int ATTR_RING_INNER_RADIUS_SIZE = 44;
+    static final int ATTR_RING_INNER_RADIUS_RATIO = 45;
+    static final int ATTR_RING_THICKNESS_SIZE = 46;
+    static final int ATTR_RING_THICKNESS_RATIO = 47;
+
+    static final int ATTR_LINE_GRAVITY = 48;
+
+    static final int ATTR_CLIP_TO_SHAPE = 49;
+
+    private static final int ATTR_COUNT = 50;
+
+    /** 每种 View 的属性索引表只需要创建一次（弱引用持有属性对象，调用者临时创建的属性对象被回收之后会自动移除） */
+    private static final Map<IShapeDrawableStyleable, int[]> TABLE_CACHE = new WeakHashMap<>();
+
+    private ShapeDrawableAttrTable() {}
+
+    /**
+     * 获取属性索引表，数组下标为 TypedArray 中的属性下标，数组的值为属性类型
+     */
+    @NonNull
+    static int[] obtain(@NonNull IShapeDrawableStyleable styleable) {
+        synchronized (TABLE_CACHE) {
+            int[] table = TABLE_CACHE.get(styleable);
+            if (table == null) {
+                table = create(styleable);
+                TABLE_CACHE.put(styleable, table);
+            }
+            return table;
+        }
+    }
+
+    @NonNull
+    private static int[] create(@NonNull IShapeDrawableStyleable styleable) {
+        int[] indexes = new int[ATTR_COUNT];
+
+        indexes[ATTR_TYPE] = styleable.getShapeTypeStyleable();
+        indexes[ATTR_WIDTH] = styleable.getShapeWidthStyleable();
+        indexes[ATTR_HEIGHT] = styleable.getShapeHeightStyleable();
+
+        indexes[ATTR_RADIUS] = styleable.getRadiusStyleable();
+        indexes[ATTR_RADIUS_TOP_LEFT] = styleable.getRadiusInTopLeftStyleable();
+        indexes[ATTR_RADIUS_TOP_START] = styleable.getRadiusInTopStartStyleable();
+        indexes[ATTR_RADIUS_TOP_RIGHT] = styleable.getRadiusInTopRightStyleable();
+        indexes[ATTR_RADIUS_TOP_END] = styleable.getRadiusInTopEndStyleable();
+        indexes[ATTR_RADIUS_BOTTOM_LEFT] = styleable.getRadiusInBottomLeftStyleable();
+        indexes[ATTR_RADIUS_BOTTOM_START] = styleable.getRadiusInBottomStartStyleable();
+        indexes[ATTR_RADIUS_BOTTOM_RIGHT] = styleable.getRadiusInBottomRightStyleable();
+        indexes[ATTR_RADIUS_BOTTOM_END] = styleable.getRadiusInBottomEndStyleable();
+
+        indexes[ATTR_SOLID_COLOR] = styleable.getSolidColorStyleable();
+        indexes[ATTR_SOLID_PRESSED_COLOR] = styleable.getSolidPressedColorStyleable();
+        indexes[ATTR_SOLID_CHECKED_COLOR] = styleable.getSolidCheckedColorStyleable();
+        indexes[ATTR_SOLID_DISABLED_COLOR] = styleable.getSolidDisabledColorStyleable();
+        indexes[ATTR_SOLID_FOCUSED_COLOR] = styleable.getSolidFocusedColorStyleable();
+        indexes[ATTR_SOLID_SELECTED_COLOR] = styleable.getSolidSelectedColorStyleable();
+
+        indexes[ATTR_SOLID_GRADIENT_START_COLOR] = styleable.getSolidGradientStartColorStyleable();
+        indexes[ATTR_SOLID_GRADIENT_CENTER_COLOR] = styleable.getSolidGradientCenterColorStyleable();
+        indexes[ATTR_SOLID_GRADIENT_END_COLOR] = styleable.getSolidGradientEndColorStyleable();
+        indexes[ATTR_SOLID_GRADIENT_ORIENTATION] = styleable.getSolidGradientOrientationStyleable();
+        indexes[ATTR_SOLID_GRADIENT_TYPE] = styleable.getSolidGradientTypeStyleable();
+        indexes[ATTR_SOLID_GRADIENT_CENTER_X] = styleable.getSolidGradientCenterXStyleable();
+        indexes[ATTR_SOLID_GRADIENT_CENTER_Y] = styleable.getSolidGradientCenterYStyleable();
+        indexes[ATTR_SOLID_GRADIENT_RADIUS] = styleable.getSolidGradientRadiusStyleable();
+
+        indexes[ATTR_STROKE_COLOR] = styleable.getStrokeColorStyleable();
+        indexes[ATTR_STROKE_PRESSED_COLOR] = styleable.getStrokePressedColorStyleable();
+        indexes[ATTR_STROKE_CHECKED_COLOR] = styleable.getStrokeCheckedColorStyleable();
+        indexes[ATTR_STROKE_DISABLED_COLOR] = styleable.getStrokeDisabledColorStyleable();
+        indexes[ATTR_STROKE_FOCUSED_COLOR] = styleable.getStrokeFocusedColorStyleable();
+        indexes[ATTR_STROKE_SELECTED_COLOR] = styleable.getStrokeSelectedColorStyleable();
+
+        indexes[ATTR_STROKE_GRADIENT_START_COLOR] = styleable.getStrokeGradientStartColorStyleable();
+        indexes[ATTR_STROKE_GRADIENT_CENTER_COLOR] = styleable.getStrokeGradientCenterColorStyleable();
+        indexes[ATTR_STROKE_GRADIENT_END_COLOR] = styleable.getStrokeGradientEndColorStyleable();
+        indexes[ATTR_STROKE_GRADIENT_ORIENTATION] = styleable.getStrokeGradientOrientationStyleable();
+
+        indexes[ATTR_STROKE_SIZE] = styleable.getStrokeSizeStyleable();
+        indexes[ATTR_STROKE_DASH_SIZE] = styleable.getStrokeDashSizeStyleable();
+        indexes[ATTR_STROKE_DASH_GAP] = styleable.getStrokeDashGapStyleable();
+
+        indexes[ATTR_SHADOW_SIZE] = styleable.getShadowSizeStyleable();
+        indexes[ATTR_SHADOW_COLOR] = styleable.getShadowColorStyleable();
+        indexes[ATTR_SHADOW_OFFSET_X] = styleable.getShadowOffsetXStyleable();
+        indexes[ATTR_SHADOW_OFFSET_Y] = styleable.getShadowOffsetYStyleable();
+
+        indexes[ATTR_RING_INNER_RADIUS_SIZE] = styleable.getRingInnerRadiusSizeStyleable();
+        indexes[ATTR_RING_INNER_RADIUS_RATIO] = styleable.getRingInnerRadiusRatioStyleable();
+        indexes[ATTR_RING_THICKNESS_SIZE] = styleable.getRingThicknessSizeStyleable();
+        indexes[ATTR_RING_THICKNESS_RATIO] = styleable.getRingThicknessRatioStyleable();
+
+        indexes[ATTR_LINE_GRAVITY] = styleable.getLineGravityStyleable();
+
+        indexes[ATTR_CLIP_TO_SHAPE] = styleable.getClipToShapeStyleable();
+
+        int maxIndex = -1;
+        for (int attr = ATTR_NONE + 1; attr < ATTR_COUNT; attr++) {
+            maxIndex = Math.max(maxIndex, indexes[attr]);
+        }
+
+        int[] table = new int[maxIndex + 1];
+        for (int attr = ATTR_NONE + 1; attr < ATTR_COUNT; attr++) {
+            int index = indexes[attr];
+            if (index < 0) {
+                continue;
+            }
+            // 选中状态的属性不是所有 View 都有，没有的时候返回的是 0，这里需要跳过
+            if (index == 0 && (attr == ATTR_SOLID_CHECKED_COLOR || attr == ATTR_STROKE_CHECKED_COLOR)) {
+                continue;
+            }
+            table[index] = attr;
+        }
+        return table;
+    }
+}
@@ -2,19 +2,38 @@ package com.hjq.shape.builder;
 
 import android.content.res.TypedArray;
 import android.graphics.Color;
+import android.graphics.Path;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
 import android.view.Gravity;
 import android.view.View;
+import android.view.ViewOutlineProvider;
+import android.widget.Checkable;
 import com.hjq.shape.config.IShapeDrawableStyleable;
-import com.hjq.shape.drawable.ShapeDrawable;
-import com.hjq.shape.drawable.ShapeGradientOrientation;
-import com.hjq.shape.drawable.ShapeGradientType;
-import com.hjq.shape.drawable.ShapeGradientTypeLimit;
-import com.hjq.shape.drawable.ShapeType;
-import com.hjq.shape.drawable.ShapeTypeLimit;
+import com.hjq.shape.graphics.ShapeDrawable;
+import com.hjq.shape.graphics.ShapeGradientOrientation;
+import com.hjq.shape.graphics.ShapeGradientType;
+import com.hjq.shape.graphics.ShapeGradientTypeLimit;
+import com.hjq.shape.graphics.ShapeType;
+import com.hjq.shape.graphics.ShapeTypeLimit;
 import com.hjq.shape.other.ExtendStateListDrawable;
+import com.hjq.shape.other.ShapeDrawableSpec;
+import com.hjq.shape.other.ShapeDrawableSpecCache;
+import com.hjq.shape.other.ShapeHardwareDrawable;
+import com.hjq.shape.other.ShapeOutlineProvider;
+import com.hjq.shape.other.ShapeRenderMode;
+import com.hjq.shape.other.ShapeShadowCache;
+import com.hjq.shape.other.ShapeSkinManager;
+import com.hjq.shape.other.ShapeSnapshotDrawable;
+import com.hjq.shape.other.ShapeSnapshotRecorder;
+import com.hjq.shape.other.ShapeStateTransitionDrawable;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *    author : Android 轮子哥
@@ -26,6 +45,46 @@ public final class ShapeDrawableBuilder {
 
     private static final int NO_COLOR = Color.TRANSPARENT;
 
+    /** 没有状态（默认状态） */
+    private static final int STATE_NONE = -1;
+    /** 和 ExtendStateListDrawable 的状态类型保持一致，可以直接作为它的状态使用 */
+    private static final int STATE_PRESSED = ExtendStateListDrawable.STATE_PRESSED;
+    private static final int STATE_CHECKED = ExtendStateListDrawable.STATE_CHECKED;
+    private static final int STATE_DISABLED = ExtendStateListDrawable.STATE_DISABLED;
+    private static final int STATE_FOCUSED = ExtendStateListDrawable.STATE_FOCUSED;
+    private static final int STATE_SELECTED = ExtendStateListDrawable.STATE_SELECTED;
+    private static final int STATE_COUNT = 5;
+
+    /** 渐变色属性的设置标记 */
+    private static final int GRADIENT_START = 1;
+    private static final int GRADIENT_CENTER = 1 << 1;
+    private static final int GRADIENT_END = 1 << 2;
+
+    /** 属性变化标记，用于只刷新发生变化的部分 */
+    private static final int DIRTY_SHAPE = 1;
+    private static final int DIRTY_SIZE = 1 << 1;
+    private static final int DIRTY_SOLID = 1 << 2;
+    private static final int DIRTY_STROKE = 1 << 3;
+    private static final int DIRTY_SHADOW = 1 << 4;
+    private static final int DIRTY_RENDER = 1 << 5;
+    private static final int DIRTY_ALL = DIRTY_SHAPE | DIRTY_SIZE | DIRTY_SOLID |
+            DIRTY_STROKE | DIRTY_SHADOW | DIRTY_RENDER;
+
+    /** 没有设置相对方向的圆角 */
+    private static final float NO_RADIUS = -1;
+
+    /** 全局默认的渲染模式 */
+    private static volatile int sDefaultRenderMode = ShapeRenderMode.SOFTWARE;
+
+    /** 全局默认是否延迟创建背景 */
+    private static volatile boolean sDefaultLazyBackgroundEnabled;
+
+    /** 全局默认是否开启背景快照缓存 */
+    private static volatile boolean sDefaultSnapshotCacheEnabled;
+
+    /** 创建背景的次数（用于统计延迟创建背景的效果） */
+    private static final AtomicInteger sBackgroundCreateCount = new AtomicInteger();
+
     private final View mView;
 
     @ShapeTypeLimit
@@ -34,11 +93,9 @@ public final class ShapeDrawableBuilder {
     private int mHeight;
 
     private int mSolidColor;
-    private Integer mSolidPressedColor;
-    private Integer mSolidCheckedColor;
-    private Integer mSolidDisabledColor;
-    private Integer mSolidFocusedColor;
-    private Integer mSolidSelectedColor;
+    /** 填充色状态颜色（下标为状态类型，是否设置了颜色以 mSolidStateFlags 为准） */
+    private final int[] mSolidStateColors = new int[STATE_COUNT];
+    private int mSolidStateFlags;
 
     private float mTopLeftRadius;
     private float mTopRightRadius;
@@ -54,11 +111,9 @@ public final class ShapeDrawableBuilder {
     private int mSolidGradientRadius;
 
     private int mStrokeColor;
-    private Integer mStrokePressedColor;
-    private Integer mStrokeCheckedColor;
-    private Integer mStrokeDisabledColor;
-    private Integer mStrokeFocusedColor;
-    private Integer mStrokeSelectedColor;
+    /** 边框色状态颜色（下标为状态类型，是否设置了颜色以 mStrokeStateFlags 为准） */
+    private final int[] mStrokeStateColors = new int[STATE_COUNT];
+    private int mStrokeStateFlags;
 
     private int[] mStrokeGradientColors;
     private ShapeGradientOrientation mStrokeGradientOrientation;
@@ -79,158 +134,368 @@ public final class ShapeDrawableBuilder {
 
     private int mLineGravity;
 
-    public ShapeDrawableBuilder(View view, TypedArray typedArray, IShapeDrawableStyleable styleable) {
-        mView = view;
-        mType = typedArray.getInt(styleable.getShapeTypeStyleable(), ShapeType.RECTANGLE);
-        mWidth = typedArray.getDimensionPixelSize(styleable.getShapeWidthStyleable(), -1);
-        mHeight = typedArray.getDimensionPixelSize(styleable.getShapeHeightStyleable(), -1);
+    /** xml 中设置的相对方向圆角（需要等布局方向确定之后再转换成绝对方向的圆角） */
+    private float mRadius;
+    private float mTopStartRadius = NO_RADIUS;
+    private float mTopEndRadius = NO_RADIUS;
+    private float mBottomStartRadius = NO_RADIUS;
+    private float mBottomEndRadius = NO_RADIUS;
+    /** xml 中设置的绝对方向圆角（优先级比相对方向的高） */
+    private boolean mTopLeftRadiusFixed;
+    private boolean mTopRightRadiusFixed;
+    private boolean mBottomLeftRadiusFixed;
+    private boolean mBottomRightRadiusFixed;
+    /** 当前圆角对应的布局方向 */
+    private int mRadiusLayoutDirection = View.LAYOUT_DIRECTION_LTR;
+
+    /** 从规格缓存中取出的背景（和其他 View 共享状态，不能直接修改） */
+    private Drawable mSharedBackground;
+
+    /** 阴影和虚线边框的渲染模式 */
+    private int mRenderMode = sDefaultRenderMode;
+    /** 是否延迟到 View 附加到窗口时再创建背景 */
+    private boolean mLazyBackgroundEnabled = sDefaultLazyBackgroundEnabled;
+    /** 是否将背景录制成快照，之后直接回放（只在 Android 10 及以上的硬件加速画布上生效） */
+    private boolean mSnapshotCacheEnabled = sDefaultSnapshotCacheEnabled;
+
+    /** 是否由当前对象关闭了 View 的硬件加速 */
+    private boolean mSoftwareLayerEnabled;
+
+    /** 状态切换的过渡时长（毫秒），0 表示直接切换 */
+    private int mStateTransitionDuration;
+
+    /** 是否将子 View 裁剪成当前的图形 */
+    private boolean mClipToShapeEnabled;
+    /** 不能通过轮廓裁剪时使用的裁剪路径（尺寸或者图形发生变化时才会重新计算） */
+    private Path mClipPath;
+    private final RectF mClipRect = new RectF();
+    private float[] mClipRadii;
+    private boolean mClipPathDirty = true;
+    private int mClipPathWidth;
+    private int mClipPathHeight;
+
+    /** 上次构建之后发生变化的属性 */
+    private int mDirtyFlags = DIRTY_ALL;
+    /** 上次构建之后发生变化的状态颜色（按状态类型标记） */
+    private int mStateDirtyFlags;
+
+    /** 上次构建出来的背景 */
+    private Drawable mBackgroundDrawable;
+    /** 上次构建时设置了颜色的状态 */
+    private int mBuiltStateFlags;
+    /** 上次构建时是否使用了硬件渲染 */
+    private boolean mBuiltHardwareRender;
+    /** 上次构建时阴影是否从阴影位图缓存中绘制 */
+    private boolean mBuiltShadowBitmap;
+
+    /** 背景是否还没有应用到 View 上（在子线程中创建 View 或者开启了延迟创建时会推迟到附加到窗口时再应用） */
+    private boolean mBackgroundPending;
+
+    /** 填充色和边框色绑定的颜色标识（数组下标为 ExtendStateListDrawable 的状态类型），没有绑定则为空 */
+    private String[] mSolidColorTokens;
+    private String[] mStrokeColorTokens;
+    /** 上次更新绑定颜色时的皮肤版本 */
+    private int mSkinVersion;
 
-        mSolidColor = typedArray.getColor(styleable.getSolidColorStyleable(), NO_COLOR);
-        if (typedArray.hasValue(styleable.getSolidPressedColorStyleable())) {
-            mSolidPressedColor = typedArray.getColor(styleable.getSolidPressedColorStyleable(), NO_COLOR);
-        }
-        if (styleable.getSolidCheckedColorStyleable() > 0 && typedArray.hasValue(styleable.getSolidCheckedColorStyleable())) {
-            mSolidCheckedColor = typedArray.getColor(styleable.getSolidCheckedColorStyleable(), NO_COLOR);
-        }
-        if (typedArray.hasValue(styleable.getSolidDisabledColorStyleable())) {
-            mSolidDisabledColor = typedArray.getColor(styleable.getSolidDisabledColorStyleable(), NO_COLOR);
-        }
-        if (typedArray.hasValue(styleable.getSolidFocusedColorStyleable())) {
-            mSolidFocusedColor = typedArray.getColor(styleable.getSolidFocusedColorStyleable(), NO_COLOR);
-        }
-        if (typedArray.hasValue(styleable.getSolidSelectedColorStyleable())) {
-            mSolidSelectedColor = typedArray.getColor(styleable.getSolidSelectedColorStyleable(), NO_COLOR);
-        }
+    /**
+     * 设置全局默认的渲染模式（需要在 View 创建之前设置，例如在 Application 中）
+     */
+    public static void setDefaultRenderMode(int renderMode) {
+        sDefaultRenderMode = renderMode;
+    }
+
+    public static int getDefaultRenderMode() {
+        return sDefaultRenderMode;
+    }
+
+    /**
+     * 设置全局默认是否延迟创建背景（需要在 View 创建之前设置，例如在 Application 中）
+     *
+     * 开启后背景会等到 View 第一次附加到窗口时才创建，还没有添加到界面上的 View（例如 ViewPager 中还没有切换到的页面、
+     * RecyclerView 预先创建但还没有显示的条目）不会创建背景，注意 GONE 的 View 仍然是附加在窗口上的，背景还是会创建
+     */
+    public static void setDefaultLazyBackgroundEnabled(boolean enabled) {
+        sDefaultLazyBackgroundEnabled = enabled;
+    }
+
+    public static boolean isDefaultLazyBackgroundEnabled() {
+        return sDefaultLazyBackgroundEnabled;
+    }
+
+    /**
+     * 设置全局默认是否开启背景快照缓存（需要在 View 创建之前设置，例如在 Application 中）
+     *
+     * 开启后背景会通过 RenderNode 录制成快照，View 重绘时直接回放，图形、边界、状态发生变化时才会重新录制，
+     * 适合多段渐变色、渐变边框、圆环、阴影这些绘制比较耗时的背景，Android 10 以下的系统版本还是直接绘制
+     */
+    public static void setDefaultSnapshotCacheEnabled(boolean enabled) {
+        sDefaultSnapshotCacheEnabled = enabled;
+    }
+
+    public static boolean isDefaultSnapshotCacheEnabled() {
+        return sDefaultSnapshotCacheEnabled;
+    }
+
+    /**
+     * 获取创建背景的次数（从规格缓存中取出或者在原有背景上刷新的不算）
+     *
+     * 这是整个进程的累计值，统计某个界面之前需要先调用 {@link #resetBackgroundCreateCount()}，
+     * 并且统计期间不能有其他线程在创建 Shape View，只适合在测试和调试中使用
+     */
+    public static int getBackgroundCreateCount() {
+        return sBackgroundCreateCount.get();
+    }
 
-        int layoutDirection = view.getLayoutDirection();
+    public static void resetBackgroundCreateCount() {
+        sBackgroundCreateCount.set(0);
+    }
 
-        int radius = typedArray.getDimensionPixelSize(styleable.getRadiusStyleable(), 0);
-        mTopLeftRadius = mTopRightRadius = mBottomLeftRadius = mBottomRightRadius = radius;
+    public ShapeDrawableBuilder(View view, TypedArray typedArray, IShapeDrawableStyleable styleable) {
+        mView = view;
 
-        if (typedArray.hasValue(styleable.getRadiusInTopStartStyleable())) {
-            switch (layoutDirection) {
-                case View.LAYOUT_DIRECTION_RTL:
-                    mTopRightRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInTopStartStyleable(), radius);
+        mType = ShapeType.RECTANGLE;
+        mWidth = -1;
+        mHeight = -1;
+
+        mSolidColor = NO_COLOR;
+        mSolidGradientOrientation = ShapeGradientOrientation.LEFT_TO_RIGHT;
+        mSolidGradientType = ShapeGradientType.LINEAR_GRADIENT;
+        mSolidGradientCenterX = 0.5f;
+        mSolidGradientCenterY = 0.5f;
+
+        mStrokeColor = NO_COLOR;
+        mStrokeGradientOrientation = ShapeGradientOrientation.LEFT_TO_RIGHT;
+
+        mShadowColor = 0x10000000;
+
+        mRingInnerRadiusSize = -1;
+        mRingInnerRadiusRatio = 3.0f;
+        mRingThicknessSize = -1;
+        mRingThicknessRatio = 9.0f;
+
+        mLineGravity = Gravity.CENTER;
+
+        float topLeftRadius = NO_RADIUS;
+        float topRightRadius = NO_RADIUS;
+        float bottomLeftRadius = NO_RADIUS;
+        float bottomRightRadius = NO_RADIUS;
+
+        int solidGradientRadius = -1;
+
+        // 渐变色需要同时设置了开始色和结束色才能生效，所以先记录下来，遍历完再处理
+        int solidGradientStartColor = NO_COLOR;
+        int solidGradientCenterColor = NO_COLOR;
+        int solidGradientEndColor = NO_COLOR;
+        int strokeGradientStartColor = NO_COLOR;
+        int strokeGradientCenterColor = NO_COLOR;
+        int strokeGradientEndColor = NO_COLOR;
+        int solidGradientFlags = 0;
+        int strokeGradientFlags = 0;
+
+        // 只遍历 xml 中有设置的属性，避免对每个属性都调用一次 hasValue 方法
+        int[] attrTable = ShapeDrawableAttrTable.obtain(styleable);
+        int indexCount = typedArray.getIndexCount();
+        for (int i = 0; i < indexCount; i++) {
+            int index = typedArray.getIndex(i);
+            if (index < 0 || index >= attrTable.length) {
+                continue;
+            }
+            switch (attrTable[index]) {
+                case ShapeDrawableAttrTable.ATTR_TYPE:
+                    mType = typedArray.getInt(index, ShapeType.RECTANGLE);
                     break;
-                case View.LAYOUT_DIRECTION_LTR:
-                default:
-                    mTopLeftRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInTopStartStyleable(), radius);
+                case ShapeDrawableAttrTable.ATTR_WIDTH:
+                    mWidth = typedArray.getDimensionPixelSize(index, -1);
                     break;
-            }
-        }
-        if (typedArray.hasValue(styleable.getRadiusInTopEndStyleable())) {
-            switch (layoutDirection) {
-                case View.LAYOUT_DIRECTION_RTL:
-                    mTopLeftRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInTopEndStyleable(), radius);
+                case ShapeDrawableAttrTable.ATTR_HEIGHT:
+                    mHeight = typedArray.getDimensionPixelSize(index, -1);
                     break;
-                case View.LAYOUT_DIRECTION_LTR:
-                default:
-                    mTopRightRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInTopEndStyleable(), radius);
+                case ShapeDrawableAttrTable.ATTR_RADIUS:
+                    mRadius = typedArray.getDimensionPixelSize(index, 0);
                     break;
-            }
-        }
-        if (typedArray.hasValue(styleable.getRadiusInBottomStartStyleable())) {
-            switch (layoutDirection) {
-                case View.LAYOUT_DIRECTION_RTL:
-                    mBottomRightRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInBottomStartStyleable(), radius);
+                case ShapeDrawableAttrTable.ATTR_RADIUS_TOP_LEFT:
+                    topLeftRadius = typedArray.getDimensionPixelSize(index, 0);
                     break;
-                case View.LAYOUT_DIRECTION_LTR:
-                default:
-                    mBottomLeftRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInBottomStartStyleable(), radius);
+                case ShapeDrawableAttrTable.ATTR_RADIUS_TOP_START:
+                    mTopStartRadius = typedArray.getDimensionPixelSize(index, 0);
                     break;
-            }
-        }
-        if (typedArray.hasValue(styleable.getRadiusInBottomEndStyleable())) {
-            switch (layoutDirection) {
-                case View.LAYOUT_DIRECTION_RTL:
-                    mBottomLeftRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInBottomEndStyleable(), radius);
+                case ShapeDrawableAttrTable.ATTR_RADIUS_TOP_RIGHT:
+                    topRightRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RADIUS_TOP_END:
+                    mTopEndRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RADIUS_BOTTOM_LEFT:
+                    bottomLeftRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RADIUS_BOTTOM_START:
+                    mBottomStartRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RADIUS_BOTTOM_RIGHT:
+                    bottomRightRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RADIUS_BOTTOM_END:
+                    mBottomEndRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_COLOR:
+                    mSolidColor = typedArray.getColor(index, NO_COLOR);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_PRESSED_COLOR:
+                    putSolidStateColor(STATE_PRESSED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_CHECKED_COLOR:
+                    putSolidStateColor(STATE_CHECKED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_DISABLED_COLOR:
+                    putSolidStateColor(STATE_DISABLED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_FOCUSED_COLOR:
+                    putSolidStateColor(STATE_FOCUSED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_SELECTED_COLOR:
+                    putSolidStateColor(STATE_SELECTED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_START_COLOR:
+                    solidGradientStartColor = typedArray.getColor(index, NO_COLOR);
+                    solidGradientFlags |= GRADIENT_START;
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_CENTER_COLOR:
+                    solidGradientCenterColor = typedArray.getColor(index, NO_COLOR);
+                    solidGradientFlags |= GRADIENT_CENTER;
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_END_COLOR:
+                    solidGradientEndColor = typedArray.getColor(index, NO_COLOR);
+                    solidGradientFlags |= GRADIENT_END;
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_ORIENTATION:
+                    mSolidGradientOrientation = transformGradientOrientation(typedArray.getInt(index, 0));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_TYPE:
+                    mSolidGradientType = typedArray.getInt(index, ShapeGradientType.LINEAR_GRADIENT);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_CENTER_X:
+                    mSolidGradientCenterX = typedArray.getFloat(index, 0.5f);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_CENTER_Y:
+                    mSolidGradientCenterY = typedArray.getFloat(index, 0.5f);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SOLID_GRADIENT_RADIUS:
+                    solidGradientRadius = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_COLOR:
+                    mStrokeColor = typedArray.getColor(index, NO_COLOR);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_PRESSED_COLOR:
+                    putStrokeStateColor(STATE_PRESSED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_CHECKED_COLOR:
+                    putStrokeStateColor(STATE_CHECKED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_DISABLED_COLOR:
+                    putStrokeStateColor(STATE_DISABLED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_FOCUSED_COLOR:
+                    putStrokeStateColor(STATE_FOCUSED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_SELECTED_COLOR:
+                    putStrokeStateColor(STATE_SELECTED, typedArray.getColor(index, NO_COLOR));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_GRADIENT_START_COLOR:
+                    strokeGradientStartColor = typedArray.getColor(index, NO_COLOR);
+                    strokeGradientFlags |= GRADIENT_START;
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_GRADIENT_CENTER_COLOR:
+                    strokeGradientCenterColor = typedArray.getColor(index, NO_COLOR);
+                    strokeGradientFlags |= GRADIENT_CENTER;
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_GRADIENT_END_COLOR:
+                    strokeGradientEndColor = typedArray.getColor(index, NO_COLOR);
+                    strokeGradientFlags |= GRADIENT_END;
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_GRADIENT_ORIENTATION:
+                    mStrokeGradientOrientation = transformGradientOrientation(typedArray.getInt(index, 0));
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_SIZE:
+                    mStrokeSize = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_DASH_SIZE:
+                    mStrokeDashSize = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_STROKE_DASH_GAP:
+                    mStrokeDashGap = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SHADOW_SIZE:
+                    mShadowSize = typedArray.getDimensionPixelSize(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SHADOW_COLOR:
+                    mShadowColor = typedArray.getColor(index, 0x10000000);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SHADOW_OFFSET_X:
+                    mShadowOffsetX = typedArray.getDimensionPixelOffset(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_SHADOW_OFFSET_Y:
+                    mShadowOffsetY = typedArray.getDimensionPixelOffset(index, 0);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RING_INNER_RADIUS_SIZE:
+                    mRingInnerRadiusSize = typedArray.getDimensionPixelOffset(index, -1);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RING_INNER_RADIUS_RATIO:
+                    mRingInnerRadiusRatio = typedArray.getFloat(index, 3.0f);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RING_THICKNESS_SIZE:
+                    mRingThicknessSize = typedArray.getDimensionPixelOffset(index, -1);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_RING_THICKNESS_RATIO:
+                    mRingThicknessRatio = typedArray.getFloat(index, 9.0f);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_LINE_GRAVITY:
+                    mLineGravity = typedArray.getInt(index, Gravity.CENTER);
+                    break;
+                case ShapeDrawableAttrTable.ATTR_CLIP_TO_SHAPE:
+                    mClipToShapeEnabled = typedArray.getBoolean(index, false);
                     break;
-                case View.LAYOUT_DIRECTION_LTR:
                 default:
-                    mBottomRightRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInBottomEndStyleable(), radius);
                     break;
             }
         }
 
-        if (typedArray.hasValue(styleable.getRadiusInTopLeftStyleable())) {
-            mTopLeftRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInTopLeftStyleable(), radius);
-        }
-        if (typedArray.hasValue(styleable.getRadiusInTopRightStyleable())) {
-            mTopRightRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInTopRightStyleable(), radius);
-        }
-        if (typedArray.hasValue(styleable.getRadiusInBottomLeftStyleable())) {
-            mBottomLeftRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInBottomLeftStyleable(), radius);
-        }
-        if (typedArray.hasValue(styleable.getRadiusInBottomRightStyleable())) {
-            mBottomRightRadius = typedArray.getDimensionPixelSize(styleable.getRadiusInBottomRightStyleable(), radius);
-        }
-
-        if (typedArray.hasValue(styleable.getSolidGradientStartColorStyleable()) && typedArray.hasValue(styleable.getSolidGradientEndColorStyleable())) {
-            if (typedArray.hasValue(styleable.getSolidGradientCenterColorStyleable())) {
-                mSolidGradientColors = new int[] {typedArray.getColor(styleable.getSolidGradientStartColorStyleable(), NO_COLOR),
-                        typedArray.getColor(styleable.getSolidGradientCenterColorStyleable(), NO_COLOR),
-                        typedArray.getColor(styleable.getSolidGradientEndColorStyleable(), NO_COLOR)};
+        if ((solidGradientFlags & GRADIENT_START) != 0 && (solidGradientFlags & GRADIENT_END) != 0) {
+            if ((solidGradientFlags & GRADIENT_CENTER) != 0) {
+                mSolidGradientColors = new int[] {solidGradientStartColor, solidGradientCenterColor, solidGradientEndColor};
             } else {
-                mSolidGradientColors = new int[] {typedArray.getColor(styleable.getSolidGradientStartColorStyleable(), NO_COLOR),
-                        typedArray.getColor(styleable.getSolidGradientEndColorStyleable(), NO_COLOR)};
+                mSolidGradientColors = new int[] {solidGradientStartColor, solidGradientEndColor};
             }
         }
 
-        mSolidGradientOrientation = transformGradientOrientation(typedArray.getInt(styleable.getSolidGradientOrientationStyleable(), 0));
-        mSolidGradientType = typedArray.getInt(styleable.getSolidGradientTypeStyleable(), ShapeGradientType.LINEAR_GRADIENT);
-        mSolidGradientCenterX = typedArray.getFloat(styleable.getSolidGradientCenterXStyleable(), 0.5f);
-        mSolidGradientCenterY = typedArray.getFloat(styleable.getSolidGradientCenterYStyleable(), 0.5f);
-        mSolidGradientRadius = typedArray.getDimensionPixelSize(styleable.getSolidGradientRadiusStyleable(), radius);
-
-        mStrokeColor = typedArray.getColor(styleable.getStrokeColorStyleable(), NO_COLOR);
-        if (typedArray.hasValue(styleable.getStrokePressedColorStyleable())) {
-            mStrokePressedColor = typedArray.getColor(styleable.getStrokePressedColorStyleable(), NO_COLOR);
-        }
-        if (styleable.getStrokeCheckedColorStyleable() > 0 && typedArray.hasValue(styleable.getStrokeCheckedColorStyleable())) {
-            mStrokeCheckedColor = typedArray.getColor(styleable.getStrokeCheckedColorStyleable(), NO_COLOR);
-        }
-        if (typedArray.hasValue(styleable.getStrokeDisabledColorStyleable())) {
-            mStrokeDisabledColor = typedArray.getColor(styleable.getStrokeDisabledColorStyleable(), NO_COLOR);
-        }
-        if (typedArray.hasValue(styleable.getStrokeFocusedColorStyleable())) {
-            mStrokeFocusedColor = typedArray.getColor(styleable.getStrokeFocusedColorStyleable(), NO_COLOR);
-        }
-        if (typedArray.hasValue(styleable.getStrokeSelectedColorStyleable())) {
-            mStrokeSelectedColor = typedArray.getColor(styleable.getStrokeSelectedColorStyleable(), NO_COLOR);
-        }
-
-        if (typedArray.hasValue(styleable.getStrokeGradientStartColorStyleable()) && typedArray.hasValue(styleable.getStrokeGradientEndColorStyleable())) {
-            if (typedArray.hasValue(styleable.getStrokeGradientCenterColorStyleable())) {
-                mStrokeGradientColors = new int[] {typedArray.getColor(styleable.getStrokeGradientStartColorStyleable(), NO_COLOR),
-                        typedArray.getColor(styleable.getStrokeGradientCenterColorStyleable(), NO_COLOR),
-                        typedArray.getColor(styleable.getStrokeGradientEndColorStyleable(), NO_COLOR)};
+        if ((strokeGradientFlags & GRADIENT_START) != 0 && (strokeGradientFlags & GRADIENT_END) != 0) {
+            if ((strokeGradientFlags & GRADIENT_CENTER) != 0) {
+                mStrokeGradientColors = new int[] {strokeGradientStartColor, strokeGradientCenterColor, strokeGradientEndColor};
             } else {
-                mStrokeGradientColors = new int[] {typedArray.getColor(styleable.getStrokeGradientStartColorStyleable(), NO_COLOR),
-                        typedArray.getColor(styleable.getStrokeGradientEndColorStyleable(), NO_COLOR)};
+                mStrokeGradientColors = new int[] {strokeGradientStartColor, strokeGradientEndColor};
             }
         }
 
-        mStrokeGradientOrientation = transformGradientOrientation(typedArray.getInt(styleable.getStrokeGradientOrientationStyleable(), 0));
-
-        mStrokeSize = typedArray.getDimensionPixelSize(styleable.getStrokeSizeStyleable(), 0);
-        mStrokeDashSize = typedArray.getDimensionPixelSize(styleable.getStrokeDashSizeStyleable(), 0);
-        mStrokeDashGap = typedArray.getDimensionPixelSize(styleable.getStrokeDashGapStyleable(), 0);
+        mSolidGradientRadius = solidGradientRadius != -1 ? solidGradientRadius : (int) mRadius;
 
-        mShadowSize = typedArray.getDimensionPixelSize(styleable.getShadowSizeStyleable(), 0);
-        mShadowColor = typedArray.getColor(styleable.getShadowColorStyleable(), 0x10000000);
-        mShadowOffsetX = typedArray.getDimensionPixelOffset(styleable.getShadowOffsetXStyleable(), 0);
-        mShadowOffsetY = typedArray.getDimensionPixelOffset(styleable.getShadowOffsetYStyleable(), 0);
+        mTopLeftRadiusFixed = topLeftRadius != NO_RADIUS;
+        mTopRightRadiusFixed = topRightRadius != NO_RADIUS;
+        mBottomLeftRadiusFixed = bottomLeftRadius != NO_RADIUS;
+        mBottomRightRadiusFixed = bottomRightRadius != NO_RADIUS;
 
-        mRingInnerRadiusSize = typedArray.getDimensionPixelOffset(styleable.getRingInnerRadiusSizeStyleable(), -1);
-        mRingInnerRadiusRatio = typedArray.getFloat(styleable.getRingInnerRadiusRatioStyleable(), 3.0f);
-        mRingThicknessSize = typedArray.getDimensionPixelOffset(styleable.getRingThicknessSizeStyleable(), -1);
-        mRingThicknessRatio = typedArray.getFloat(styleable.getRingThicknessRatioStyleable(), 9.0f);
+        mTopLeftRadius = mTopLeftRadiusFixed ? topLeftRadius : mRadius;
+        mTopRightRadius = mTopRightRadiusFixed ? topRightRadius : mRadius;
+        mBottomLeftRadius = mBottomLeftRadiusFixed ? bottomLeftRadius : mRadius;
+        mBottomRightRadius = mBottomRightRadiusFixed ? bottomRightRadius : mRadius;
 
-        mLineGravity = typedArray.getInt(styleable.getLineGravityStyleable(), Gravity.CENTER);
+        // 这个时候布局方向还没有确定，先按照从左到右的方向处理，等到 onRtlPropertiesChanged 回调的时候再进行修正
+        if (isRelativeRadiusEnable()) {
+            applyRelativeRadius(false);
+        }
     }
 
     public ShapeDrawableBuilder setType(@ShapeTypeLimit int type) {
         mType = type;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -241,6 +506,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setWidth(int width) {
         mWidth = width;
+        mDirtyFlags |= DIRTY_SIZE;
         return this;
     }
 
@@ -250,6 +516,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setHeight(int height) {
         mHeight = height;
+        mDirtyFlags |= DIRTY_SIZE;
         return this;
     }
 
@@ -263,15 +530,18 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setRadius(float topLeftRadius, float topRightRadius,
                                           float bottomLeftRadius, float bottomRightRadius) {
+        clearRelativeRadius();
         mTopLeftRadius = topLeftRadius;
         mTopRightRadius = topRightRadius;
         mBottomLeftRadius = bottomLeftRadius;
         mBottomRightRadius = bottomRightRadius;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
     public ShapeDrawableBuilder setRadiusRelative(float topStartRadius, float topEndRadius,
                                                     float bottomStartRadius, float bottomEndRadius) {
+        clearRelativeRadius();
         int layoutDirection = mView.getLayoutDirection();
         switch (layoutDirection) {
             case View.LAYOUT_DIRECTION_RTL:
@@ -288,11 +558,82 @@ public final class ShapeDrawableBuilder {
                 mBottomRightRadius = bottomEndRadius;
                 break;
         }
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
+    /**
+     * 布局方向发生变化（需要在 View 的 onRtlPropertiesChanged 方法中调用）
+     */
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        if (!resolveRelativeRadius(layoutDirection)) {
+            return;
+        }
+        // 圆角发生了变化，并且之前已经设置过背景，需要重新设置一下
+        if (mView.getBackground() != null) {
+            intoBackground();
+        }
+    }
+
+    /**
+     * 根据布局方向将 xml 中设置的相对方向圆角转换成绝对方向的圆角
+     *
+     * @return          圆角是否发生了变化
+     */
+    private boolean resolveRelativeRadius(int layoutDirection) {
+        if (!isRelativeRadiusEnable()) {
+            return false;
+        }
+        if (layoutDirection != View.LAYOUT_DIRECTION_RTL) {
+            layoutDirection = View.LAYOUT_DIRECTION_LTR;
+        }
+        if (mRadiusLayoutDirection == layoutDirection) {
+            return false;
+        }
+        mRadiusLayoutDirection = layoutDirection;
+        applyRelativeRadius(layoutDirection == View.LAYOUT_DIRECTION_RTL);
+        return true;
+    }
+
+    private boolean isRelativeRadiusEnable() {
+        return mTopStartRadius != NO_RADIUS || mTopEndRadius != NO_RADIUS ||
+                mBottomStartRadius != NO_RADIUS || mBottomEndRadius != NO_RADIUS;
+    }
+
+    private void applyRelativeRadius(boolean rtl) {
+        if (!mTopLeftRadiusFixed) {
+            mTopLeftRadius = selectRelativeRadius(rtl ? mTopEndRadius : mTopStartRadius);
+        }
+        if (!mTopRightRadiusFixed) {
+            mTopRightRadius = selectRelativeRadius(rtl ? mTopStartRadius : mTopEndRadius);
+        }
+        if (!mBottomLeftRadiusFixed) {
+            mBottomLeftRadius = selectRelativeRadius(rtl ? mBottomEndRadius : mBottomStartRadius);
+        }
+        if (!mBottomRightRadiusFixed) {
+            mBottomRightRadius = selectRelativeRadius(rtl ? mBottomStartRadius : mBottomEndRadius);
+        }
+        mDirtyFlags |= DIRTY_SHAPE;
+    }
+
+    private float selectRelativeRadius(float relativeRadius) {
+        return relativeRadius != NO_RADIUS ? relativeRadius : mRadius;
+    }
+
+    /**
+     * 清除 xml 中设置的相对方向圆角（代码中修改了圆角之后就以代码设置的为准）
+     */
+    private void clearRelativeRadius() {
+        mTopStartRadius = NO_RADIUS;
+        mTopEndRadius = NO_RADIUS;
+        mBottomStartRadius = NO_RADIUS;
+        mBottomEndRadius = NO_RADIUS;
+    }
+
     public ShapeDrawableBuilder setTopLeftRadius(float radius) {
+        clearRelativeRadius();
         mTopLeftRadius = radius;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -301,7 +642,9 @@ public final class ShapeDrawableBuilder {
     }
 
     public ShapeDrawableBuilder setTopRightRadius(float radius) {
+        clearRelativeRadius();
         mTopRightRadius = radius;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -310,7 +653,9 @@ public final class ShapeDrawableBuilder {
     }
 
     public ShapeDrawableBuilder setBottomLeftRadius(float radius) {
+        clearRelativeRadius();
         mBottomLeftRadius = radius;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -319,7 +664,9 @@ public final class ShapeDrawableBuilder {
     }
 
     public ShapeDrawableBuilder setBottomRightRadius(float radius) {
+        clearRelativeRadius();
         mBottomRightRadius = radius;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -330,6 +677,7 @@ public final class ShapeDrawableBuilder {
     public ShapeDrawableBuilder setSolidColor(int color) {
         mSolidColor = color;
         clearSolidGradientColors();
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -338,53 +686,67 @@ public final class ShapeDrawableBuilder {
     }
 
     public ShapeDrawableBuilder setSolidPressedColor(Integer color) {
-        mSolidPressedColor = color;
+        setSolidStateColor(STATE_PRESSED, color);
         return this;
     }
 
     @Nullable
     public Integer getSolidPressedColor() {
-        return mSolidPressedColor;
+        return getSolidStateColor(STATE_PRESSED);
     }
 
     public ShapeDrawableBuilder setSolidCheckedColor(Integer color) {
-        mSolidCheckedColor = color;
+        setSolidStateColor(STATE_CHECKED, color);
         return this;
     }
 
     @Nullable
     public Integer getSolidCheckedColor() {
-        return mSolidCheckedColor;
+        return getSolidStateColor(STATE_CHECKED);
     }
 
     public ShapeDrawableBuilder setSolidDisabledColor(Integer color) {
-        mSolidDisabledColor = color;
+        setSolidStateColor(STATE_DISABLED, color);
         return this;
     }
 
     @Nullable
     public Integer getSolidDisabledColor() {
-        return mSolidDisabledColor;
+        return getSolidStateColor(STATE_DISABLED);
     }
 
     public ShapeDrawableBuilder setSolidFocusedColor(Integer color) {
-        mSolidFocusedColor = color;
+        setSolidStateColor(STATE_FOCUSED, color);
         return this;
     }
 
     @Nullable
     public Integer getSolidFocusedColor() {
-        return mSolidFocusedColor;
+        return getSolidStateColor(STATE_FOCUSED);
     }
 
     public ShapeDrawableBuilder setSolidSelectedColor(Integer color) {
-        mSolidSelectedColor = color;
+        setSolidStateColor(STATE_SELECTED, color);
         return this;
     }
 
     @Nullable
     public Integer getSolidSelectedColor() {
-        return mSolidSelectedColor;
+        return getSolidStateColor(STATE_SELECTED);
+    }
+
+    /**
+     * 获取设置了填充色的状态（按位存储，第 n 位对应 {@link ExtendStateListDrawable} 的第 n 种状态类型）
+     */
+    public int getSolidStateFlags() {
+        return mSolidStateFlags;
+    }
+
+    /**
+     * 获取某种状态的填充色（不会装箱，是否设置了颜色以 {@link #getSolidStateFlags()} 为准）
+     */
+    public int getSolidStateColorValue(int state) {
+        return mSolidStateColors[state];
     }
 
     public ShapeDrawableBuilder setSolidGradientColors(int startColor, int endColor) {
@@ -397,6 +759,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setSolidGradientColors(int[] colors) {
         mSolidGradientColors = colors;
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -412,10 +775,12 @@ public final class ShapeDrawableBuilder {
 
     public void clearSolidGradientColors() {
         mSolidGradientColors = null;
+        mDirtyFlags |= DIRTY_SOLID;
     }
 
     public ShapeDrawableBuilder setSolidGradientOrientation(ShapeGradientOrientation orientation) {
         mSolidGradientOrientation = orientation;
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -425,6 +790,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setSolidGradientType(@ShapeGradientTypeLimit int type) {
         mSolidGradientType = type;
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -435,6 +801,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setSolidGradientCenterX(float centerX) {
         mSolidGradientCenterX = centerX;
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -444,6 +811,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setSolidGradientCenterY(float centerY) {
         mSolidGradientCenterY = centerY;
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -453,6 +821,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setSolidGradientRadius(int radius) {
         mSolidGradientRadius = radius;
+        mDirtyFlags |= DIRTY_SOLID;
         return this;
     }
 
@@ -463,6 +832,7 @@ public final class ShapeDrawableBuilder {
     public ShapeDrawableBuilder setStrokeColor(int color) {
         mStrokeColor = color;
         clearStrokeGradientColors();
+        mDirtyFlags |= DIRTY_STROKE;
         return this;
     }
 
@@ -470,54 +840,99 @@ public final class ShapeDrawableBuilder {
         return mStrokeColor;
     }
 
+    /**
+     * 获取 View 当前状态下的边框颜色（状态的优先级和背景的 ExtendStateListDrawable 保持一致）
+     */
+    public int getCurrentStrokeColor() {
+        int stateFlags = mSolidStateFlags | mStrokeStateFlags;
+        for (int state = 0; state < STATE_COUNT; state++) {
+            if ((stateFlags & (1 << state)) == 0 || !isViewInState(state)) {
+                continue;
+            }
+            return (mStrokeStateFlags & (1 << state)) != 0 ? mStrokeStateColors[state] : mStrokeColor;
+        }
+        return mStrokeColor;
+    }
+
+    private boolean isViewInState(int state) {
+        switch (state) {
+            case STATE_PRESSED:
+                return mView.isPressed();
+            case STATE_CHECKED:
+                return mView instanceof Checkable && ((Checkable) mView).isChecked();
+            case STATE_DISABLED:
+                return !mView.isEnabled();
+            case STATE_FOCUSED:
+                return mView.isFocused();
+            case STATE_SELECTED:
+                return mView.isSelected();
+            default:
+                return false;
+        }
+    }
+
     public ShapeDrawableBuilder setStrokePressedColor(Integer color) {
-        mStrokePressedColor = color;
+        setStrokeStateColor(STATE_PRESSED, color);
         return this;
     }
 
     @Nullable
     public Integer getStrokePressedColor() {
-        return mStrokePressedColor;
+        return getStrokeStateColor(STATE_PRESSED);
     }
 
     public ShapeDrawableBuilder setStrokeCheckedColor(Integer color) {
-        mStrokeCheckedColor = color;
+        setStrokeStateColor(STATE_CHECKED, color);
         return this;
     }
 
     @Nullable
     public Integer getStrokeCheckedColor() {
-        return mStrokeCheckedColor;
+        return getStrokeStateColor(STATE_CHECKED);
     }
 
     public ShapeDrawableBuilder setStrokeDisabledColor(Integer color) {
-        mStrokeDisabledColor = color;
+        setStrokeStateColor(STATE_DISABLED, color);
         return this;
     }
 
     @Nullable
     public Integer getStrokeDisabledColor() {
-        return mStrokeDisabledColor;
+        return getStrokeStateColor(STATE_DISABLED);
     }
 
     public ShapeDrawableBuilder setStrokeFocusedColor(Integer color) {
-        mStrokeFocusedColor = color;
+        setStrokeStateColor(STATE_FOCUSED, color);
         return this;
     }
 
     @Nullable
     public Integer getStrokeFocusedColor() {
-        return mStrokeFocusedColor;
+        return getStrokeStateColor(STATE_FOCUSED);
     }
 
     public ShapeDrawableBuilder setStrokeSelectedColor(Integer color) {
-        mStrokeSelectedColor = color;
+        setStrokeStateColor(STATE_SELECTED, color);
         return this;
     }
 
     @Nullable
     public Integer getStrokeSelectedColor() {
-        return mStrokeSelectedColor;
+        return getStrokeStateColor(STATE_SELECTED);
+    }
+
+    /**
+     * 获取设置了边框色的状态（按位存储，第 n 位对应 {@link ExtendStateListDrawable} 的第 n 种状态类型）
+     */
+    public int getStrokeStateFlags() {
+        return mStrokeStateFlags;
+    }
+
+    /**
+     * 获取某种状态的边框色（不会装箱，是否设置了颜色以 {@link #getStrokeStateFlags()} 为准）
+     */
+    public int getStrokeStateColorValue(int state) {
+        return mStrokeStateColors[state];
     }
 
     public ShapeDrawableBuilder setStrokeGradientColors(int startColor, int endColor) {
@@ -530,6 +945,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setStrokeGradientColors(int[] colors) {
         mStrokeGradientColors = colors;
+        mDirtyFlags |= DIRTY_STROKE;
         return this;
     }
 
@@ -545,10 +961,12 @@ public final class ShapeDrawableBuilder {
 
     public void clearStrokeGradientColors() {
         mStrokeGradientColors = null;
+        mDirtyFlags |= DIRTY_STROKE;
     }
 
     public ShapeDrawableBuilder setStrokeGradientOrientation(ShapeGradientOrientation orientation) {
         mStrokeGradientOrientation = orientation;
+        mDirtyFlags |= DIRTY_STROKE;
         return this;
     }
 
@@ -558,6 +976,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setStrokeSize(int size) {
         mStrokeSize = size;
+        mDirtyFlags |= DIRTY_STROKE;
         return this;
     }
 
@@ -567,6 +986,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setStrokeDashSize(int size) {
         mStrokeDashSize = size;
+        mDirtyFlags |= DIRTY_STROKE;
         return this;
     }
 
@@ -576,6 +996,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setStrokeDashGap(int gap) {
         mStrokeDashGap = gap;
+        mDirtyFlags |= DIRTY_STROKE;
         return this;
     }
 
@@ -589,6 +1010,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setRingInnerRadiusSize(int size) {
         mRingInnerRadiusSize = size;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -598,6 +1020,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setRingInnerRadiusRatio(float ratio) {
         mRingInnerRadiusRatio = ratio;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -607,6 +1030,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setRingThicknessSize(int size) {
         mRingThicknessSize = size;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -616,6 +1040,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setRingThicknessRatio(float ratio) {
         mRingThicknessRatio = ratio;
+        mDirtyFlags |= DIRTY_SHAPE;
         return this;
     }
 
@@ -627,8 +1052,18 @@ public final class ShapeDrawableBuilder {
         return mShadowSize > 0;
     }
 
+    /**
+     * 阴影是否从 {@link ShapeShadowCache} 共享的阴影位图中绘制（只支持矩形，软件渲染和硬件渲染模式都会使用），
+     * 不需要每次绘制都进行模糊运算，也不需要为了阴影关闭 View 的硬件加速
+     */
+    public boolean isShadowBitmapEnable() {
+        // 状态过渡动画直接绘制 ShapeDrawable，阴影还是由 ShapeDrawable 自己绘制
+        return isShadowEnable() && mType == ShapeType.RECTANGLE && !isStateTransitionEnable();
+    }
+
     public ShapeDrawableBuilder setShadowSize(int size) {
         mShadowSize = size;
+        mDirtyFlags |= DIRTY_SHADOW;
         return this;
     }
 
@@ -638,6 +1073,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setShadowColor(int color) {
         mShadowColor = color;
+        mDirtyFlags |= DIRTY_SHADOW;
         return this;
     }
 
@@ -647,6 +1083,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setShadowOffsetX(int offsetX) {
         mShadowOffsetX = offsetX;
+        mDirtyFlags |= DIRTY_SHADOW;
         return this;
     }
 
@@ -656,6 +1093,7 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setShadowOffsetY(int offsetY) {
         mShadowOffsetY = offsetY;
+        mDirtyFlags |= DIRTY_SHADOW;
         return this;
     }
 
@@ -669,132 +1107,683 @@ public final class ShapeDrawableBuilder {
 
     public ShapeDrawableBuilder setLineGravity(int gravity) {
         mLineGravity = gravity;
+        mDirtyFlags |= DIRTY_SHAPE;
+        return this;
+    }
+
+    public ShapeDrawableBuilder setRenderMode(int renderMode) {
+        mRenderMode = renderMode;
+        mDirtyFlags |= DIRTY_RENDER;
+        return this;
+    }
+
+    public int getRenderMode() {
+        return mRenderMode;
+    }
+
+    /**
+     * 设置是否延迟到 View 附加到窗口时再创建背景，需要马上读取背景的 View 可以通过这个方法关闭（关闭时会马上应用推迟的背景）
+     */
+    public ShapeDrawableBuilder setLazyBackgroundEnabled(boolean enabled) {
+        mLazyBackgroundEnabled = enabled;
+        if (!enabled && mBackgroundPending) {
+            intoBackground();
+        }
+        return this;
+    }
+
+    public boolean isLazyBackgroundEnabled() {
+        return mLazyBackgroundEnabled;
+    }
+
+    /**
+     * 设置是否开启背景快照缓存（参考 {@link #setDefaultSnapshotCacheEnabled(boolean)}）
+     */
+    public ShapeDrawableBuilder setSnapshotCacheEnabled(boolean enabled) {
+        if (mSnapshotCacheEnabled != enabled) {
+            mSnapshotCacheEnabled = enabled;
+            mDirtyFlags |= DIRTY_RENDER;
+        }
+        return this;
+    }
+
+    public boolean isSnapshotCacheEnabled() {
+        return mSnapshotCacheEnabled;
+    }
+
+    /**
+     * 设置是否将内容裁剪成当前的图形
+     *
+     * 矩形、四个圆角一样大的圆角矩形、圆形会通过硬件加速的轮廓进行裁剪，
+     * 布局类中其他的图形回退到缓存的路径进行裁剪（需要在 dispatchDraw 中配合 {@link #getClipPath()} 使用）
+     *
+     * ShapeImageView 还会通过 BitmapShader 按照图形绘制图片，四个圆角不一样大的时候也能生效
+     */
+    public ShapeDrawableBuilder setClipToShapeEnabled(boolean enabled) {
+        mClipToShapeEnabled = enabled;
+        mClipPathDirty = true;
+        return this;
+    }
+
+    public boolean isClipToShapeEnabled() {
+        return mClipToShapeEnabled;
+    }
+
+    /**
+     * 获取子 View 的裁剪路径，为空则表示不需要通过路径裁剪（没有开启裁剪或者已经通过轮廓进行裁剪）
+     */
+    @Nullable
+    public Path getClipPath() {
+        if (!mClipToShapeEnabled || (mType != ShapeType.RECTANGLE && mType != ShapeType.OVAL)) {
+            return null;
+        }
+        int width = mView.getWidth();
+        int height = mView.getHeight();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP &&
+                ShapeOutlineProvider.canClip(this, width, height)) {
+            return null;
+        }
+        if (mClipPath == null) {
+            mClipPath = new Path();
+        }
+        if (!mClipPathDirty && mClipPathWidth == width && mClipPathHeight == height) {
+            return mClipPath;
+        }
+        mClipPathDirty = false;
+        mClipPathWidth = width;
+        mClipPathHeight = height;
+
+        // 和背景的图形区域保持一致：阴影占用四周的空间
+        mClipRect.set(mShadowSize, mShadowSize, width - mShadowSize, height - mShadowSize);
+        mClipPath.rewind();
+        if (mType == ShapeType.OVAL) {
+            mClipPath.addOval(mClipRect, Path.Direction.CW);
+        } else {
+            if (mClipRadii == null) {
+                mClipRadii = new float[8];
+            }
+            mClipRadii[0] = mClipRadii[1] = mTopLeftRadius;
+            mClipRadii[2] = mClipRadii[3] = mTopRightRadius;
+            mClipRadii[4] = mClipRadii[5] = mBottomRightRadius;
+            mClipRadii[6] = mClipRadii[7] = mBottomLeftRadius;
+            mClipPath.addRoundRect(mClipRect, mClipRadii, Path.Direction.CW);
+        }
+        return mClipPath;
+    }
+
+    /**
+     * 将裁剪设置应用到 View 上（图形发生变化时需要重新计算轮廓和裁剪路径）
+     */
+    private void applyClipToShape() {
+        mClipPathDirty = true;
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+            if (mClipToShapeEnabled) {
+                mView.invalidate();
+            }
+            return;
+        }
+        if (mClipToShapeEnabled) {
+            if (!(mView.getOutlineProvider() instanceof ShapeOutlineProvider)) {
+                mView.setOutlineProvider(new ShapeOutlineProvider(this));
+            }
+            // 只有能用于裁剪的轮廓才开启轮廓裁剪，其他的图形（例如四个圆角不一样大）交给路径裁剪，
+            // View 大小发生变化之后由 ShapeOutlineProvider 在重新计算轮廓时同步
+            mView.setClipToOutline(ShapeOutlineProvider.canClip(this, mView.getWidth(), mView.getHeight()));
+            mView.invalidateOutline();
+        } else if (mView.getOutlineProvider() instanceof ShapeOutlineProvider) {
+            mView.setClipToOutline(false);
+            mView.setOutlineProvider(ViewOutlineProvider.BACKGROUND);
+        }
+    }
+
+    /**
+     * 将填充色绑定到颜色标识上，切换皮肤时只更新颜色相关的属性（颜色通过 {@link ShapeSkinManager} 设置）
+     *
+     * @param state         状态类型（{@link ExtendStateListDrawable#STATE_DEFAULT} 等）
+     * @param token         颜色标识，为空则解除绑定
+     */
+    public ShapeDrawableBuilder setSolidColorToken(int state, @Nullable String token) {
+        mSolidColorTokens = putColorToken(mSolidColorTokens, state, token);
+        ShapeSkinManager.register(mView);
+        updateSkinColors();
+        return this;
+    }
+
+    /**
+     * 将边框色绑定到颜色标识上，切换皮肤时只更新颜色相关的属性（颜色通过 {@link ShapeSkinManager} 设置）
+     *
+     * @param state         状态类型（{@link ExtendStateListDrawable#STATE_DEFAULT} 等）
+     * @param token         颜色标识，为空则解除绑定
+     */
+    public ShapeDrawableBuilder setStrokeColorToken(int state, @Nullable String token) {
+        mStrokeColorTokens = putColorToken(mStrokeColorTokens, state, token);
+        ShapeSkinManager.register(mView);
+        updateSkinColors();
         return this;
     }
 
+    @Nullable
+    public String getSolidColorToken(int state) {
+        return mSolidColorTokens != null ? mSolidColorTokens[state] : null;
+    }
+
+    @Nullable
+    public String getStrokeColorToken(int state) {
+        return mStrokeColorTokens != null ? mStrokeColorTokens[state] : null;
+    }
+
+    private static String[] putColorToken(String[] tokens, int state, String token) {
+        if (tokens == null) {
+            if (token == null) {
+                return null;
+            }
+            tokens = new String[ExtendStateListDrawable.STATE_DEFAULT + 1];
+        }
+        tokens[state] = token;
+        return tokens;
+    }
+
+    /**
+     * 绑定的颜色是否需要更新（切换皮肤之后还没有更新过）
+     */
+    public boolean isSkinOutdated() {
+        return (mSolidColorTokens != null || mStrokeColorTokens != null) &&
+                mSkinVersion != ShapeSkinManager.getSkinVersion();
+    }
+
+    /**
+     * 将颜色标识当前对应的颜色更新到构建参数中（还需要调用 {@link #intoBackground()} 才会应用到 View 上）
+     *
+     * @return          是否有颜色发生了变化
+     */
+    public boolean updateSkinColors() {
+        mSkinVersion = ShapeSkinManager.getSkinVersion();
+        boolean changed = false;
+        if (mSolidColorTokens != null) {
+            for (int state = 0; state < mSolidColorTokens.length; state++) {
+                Integer color = getTokenColor(mSolidColorTokens[state]);
+                if (color == null) {
+                    continue;
+                }
+                if (state == ExtendStateListDrawable.STATE_DEFAULT) {
+                    if (mSolidColor != color || isSolidGradientColorsEnable()) {
+                        setSolidColor(color);
+                        changed = true;
+                    }
+                } else if (!color.equals(getSolidStateColor(state))) {
+                    putSolidStateColor(state, color);
+                    changed = true;
+                }
+            }
+        }
+        if (mStrokeColorTokens != null) {
+            for (int state = 0; state < mStrokeColorTokens.length; state++) {
+                Integer color = getTokenColor(mStrokeColorTokens[state]);
+                if (color == null) {
+                    continue;
+                }
+                if (state == ExtendStateListDrawable.STATE_DEFAULT) {
+                    if (mStrokeColor != color || isStrokeGradientColorsEnable()) {
+                        setStrokeColor(color);
+                        changed = true;
+                    }
+                } else if (!color.equals(getStrokeStateColor(state))) {
+                    putStrokeStateColor(state, color);
+                    changed = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    @Nullable
+    private static Integer getTokenColor(@Nullable String token) {
+        return token != null ? ShapeSkinManager.getColor(token) : null;
+    }
+
+    /**
+     * 设置状态切换的过渡时长（毫秒），在同一个 Drawable 中对填充色、边框色、边框大小进行插值，不会重复绘制
+     */
+    public ShapeDrawableBuilder setStateTransitionDuration(int duration) {
+        mStateTransitionDuration = duration;
+        mDirtyFlags |= DIRTY_RENDER;
+        return this;
+    }
+
+    public int getStateTransitionDuration() {
+        return mStateTransitionDuration;
+    }
+
+    /**
+     * 当前是否能使用状态过渡动画（渐变色不能插值，硬件渲染需要包装成其他的 Drawable，这些情况下直接切换）
+     */
+    public boolean isStateTransitionEnable() {
+        if (mStateTransitionDuration <= 0) {
+            return false;
+        }
+        if (mSolidStateFlags == 0 && mStrokeStateFlags == 0) {
+            return false;
+        }
+        return !isSolidGradientColorsEnable() && !isStrokeGradientColorsEnable() && !isHardwareRenderEnable();
+    }
+
+    /**
+     * 当前的阴影和虚线边框是否能使用硬件渲染（不支持的图形会回退到软件渲染）
+     */
+    public boolean isHardwareRenderEnable() {
+        if (mRenderMode != ShapeRenderMode.HARDWARE) {
+            return false;
+        }
+        boolean strokeDashLineEnable = isStrokeDashLineEnable();
+        boolean shadowEnable = isShadowEnable();
+        if (!strokeDashLineEnable && !shadowEnable) {
+            return false;
+        }
+        // 阴影位图只支持矩形
+        if (shadowEnable && mType != ShapeType.RECTANGLE) {
+            return false;
+        }
+        // 分段绘制的虚线只支持矩形和椭圆，并且不支持渐变色
+        if (strokeDashLineEnable && ((mType != ShapeType.RECTANGLE && mType != ShapeType.OVAL) ||
+                mStrokeDashSize <= 0 || mStrokeSize <= 0 || isStrokeGradientColorsEnable())) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 是否需要关闭 View 的硬件加速（虚线边框和不是从阴影位图中绘制的阴影，在某些手机上开启硬件加速时无法生效）
+     */
+    private boolean isSoftwareLayerRequired() {
+        if (isHardwareRenderEnable()) {
+            return false;
+        }
+        return isStrokeDashLineEnable() || (isShadowEnable() && !isShadowBitmapEnable());
+    }
+
+    /**
+     * 构建一个新的背景（不会修改 View 当前的背景，也不会影响 {@link #intoBackground()} 的增量刷新），
+     * 开启了 {@link ShapeDrawableSpecCache} 时也会返回已经 {@link Drawable#mutate()} 过的对象，修改它不会影响到其他 View
+     */
     public Drawable buildBackgroundDrawable() {
-        boolean hasSolidColorState = mSolidPressedColor != null || mSolidCheckedColor != null ||
-                mSolidDisabledColor != null || mSolidFocusedColor != null || mSolidSelectedColor != null;
+        if (!isBackgroundEnable()) {
+            return null;
+        }
 
-        boolean hasStrokeColorState = mStrokePressedColor != null || mStrokeCheckedColor != null ||
-                mStrokeDisabledColor != null || mStrokeFocusedColor != null || mStrokeSelectedColor != null;
+        ShapeDrawableSpec spec = null;
+        Drawable drawable = null;
+        if (ShapeDrawableSpecCache.isEnabled() && !isStateTransitionEnable()) {
+            spec = new ShapeDrawableSpec(this);
+            drawable = ShapeDrawableSpecCache.obtain(spec);
+        }
+        if (drawable == null) {
+            sBackgroundCreateCount.incrementAndGet();
+            drawable = createBackgroundDrawable(spec, false);
+        }
+        // 缓存命中或者刚放入缓存的对象都和缓存共享状态，只有设置给 View 的背景才可以共享
+        return drawable.mutate();
+    }
+
+    /**
+     * 是否设置了需要绘制的颜色
+     */
+    private boolean isBackgroundEnable() {
+        return isSolidGradientColorsEnable() || isStrokeGradientColorsEnable() ||
+                mSolidColor != NO_COLOR || mSolidStateFlags != 0 || mStrokeColor != NO_COLOR || mStrokeStateFlags != 0;
+    }
 
-        if (!isSolidGradientColorsEnable() && !isStrokeGradientColorsEnable() &&
-                mSolidColor == NO_COLOR && !hasSolidColorState && mStrokeColor == NO_COLOR && !hasStrokeColorState) {
+    /**
+     * 获取要设置给 View 的背景（能复用 View 当前的背景时会在原来的对象上只刷新发生变化的部分）
+     */
+    private Drawable obtainBackgroundDrawable() {
+        if (!isBackgroundEnable()) {
             // 啥都没有设置，直接 return
             return null;
         }
 
+        Drawable drawable = null;
+
+        ShapeDrawableSpec spec = null;
+        // 过渡动画的状态属于每个 View 自己，不能共享
+        if (ShapeDrawableSpecCache.isEnabled() && !isStateTransitionEnable()) {
+            spec = new ShapeDrawableSpec(this);
+            drawable = ShapeDrawableSpecCache.obtain(spec);
+            if (drawable != null) {
+                mSharedBackground = drawable;
+            }
+        }
+
+        if (drawable == null) {
+            drawable = updateBackgroundDrawable();
+        }
+
+        if (drawable == null) {
+            drawable = createBackgroundDrawable(spec, true);
+            sBackgroundCreateCount.incrementAndGet();
+        }
+
+        mBackgroundDrawable = drawable;
+        mBuiltStateFlags = mSolidStateFlags | mStrokeStateFlags;
+        mBuiltHardwareRender = isHardwareRenderEnable();
+        mBuiltShadowBitmap = isShadowBitmapEnable();
+        mDirtyFlags = 0;
+        mStateDirtyFlags = 0;
+        return drawable;
+    }
+
+    /**
+     * 在当前背景的基础上只刷新发生变化的部分（不能复用则返回 null）
+     */
+    @Nullable
+    private Drawable updateBackgroundDrawable() {
+        Drawable viewBackground = getViewBackground();
+        if (viewBackground == null || viewBackground != mBackgroundDrawable || viewBackground == mSharedBackground) {
+            return null;
+        }
+
+        // 渲染方式或者状态的组合发生了变化，需要重新创建
+        if ((mDirtyFlags & DIRTY_RENDER) != 0 || mBuiltHardwareRender || isHardwareRenderEnable() ||
+                viewBackground instanceof ShapeStateTransitionDrawable) {
+            return null;
+        }
+        int stateFlags = mSolidStateFlags | mStrokeStateFlags;
+        if (stateFlags != mBuiltStateFlags) {
+            return null;
+        }
+        // 阴影从 ShapeDrawable 绘制改为从阴影位图绘制（或者反过来），需要重新创建
+        boolean shadowBitmap = isShadowBitmapEnable();
+        if (shadowBitmap != mBuiltShadowBitmap) {
+            return null;
+        }
+
+        if (stateFlags == 0) {
+            if (!refreshRenderDrawable(viewBackground, STATE_NONE, mDirtyFlags, shadowBitmap)) {
+                return null;
+            }
+            return viewBackground;
+        }
+
+        if (!(viewBackground instanceof ExtendStateListDrawable)) {
+            return null;
+        }
+        ExtendStateListDrawable stateListDrawable = (ExtendStateListDrawable) viewBackground;
+
+        if (!refreshRenderDrawable(stateListDrawable.getDefaultDrawable(), STATE_NONE, mDirtyFlags, shadowBitmap)) {
+            return null;
+        }
+
+        for (int state = 0; state < STATE_COUNT; state++) {
+            int stateFlag = 1 << state;
+            if ((stateFlags & stateFlag) == 0) {
+                continue;
+            }
+            int dirtyFlags = mDirtyFlags;
+            if ((mStateDirtyFlags & stateFlag) != 0) {
+                dirtyFlags |= DIRTY_SOLID | DIRTY_STROKE;
+            }
+            if (dirtyFlags == 0) {
+                continue;
+            }
+            if (!refreshRenderDrawable(stateListDrawable.getStateDrawable(state), state, dirtyFlags, shadowBitmap)) {
+                return null;
+            }
+        }
+        return stateListDrawable;
+    }
+
+    /**
+     * 在原来的 Drawable 上刷新发生了变化的属性（阴影从阴影位图绘制时，原来的 Drawable 是包装了 ShapeDrawable 的 ShapeHardwareDrawable）
+     *
+     * @return          Drawable 的类型是否和当前的设置匹配，不匹配则需要重新创建
+     */
+    private boolean refreshRenderDrawable(Drawable drawable, int state, int dirtyFlags, boolean shadowBitmap) {
+        if (!shadowBitmap) {
+            if (!(drawable instanceof ShapeDrawable)) {
+                return false;
+            }
+            if (dirtyFlags != 0) {
+                refreshShapeDrawable((ShapeDrawable) drawable, state, dirtyFlags);
+            }
+            return true;
+        }
+        if (!(drawable instanceof ShapeHardwareDrawable)) {
+            return false;
+        }
+        if (dirtyFlags == 0) {
+            return true;
+        }
+        ShapeHardwareDrawable hardwareDrawable = (ShapeHardwareDrawable) drawable;
+        ShapeDrawable shapeDrawable = hardwareDrawable.getShapeDrawable();
+        refreshShapeDrawable(shapeDrawable, state, dirtyFlags);
+        // 阴影由 ShapeHardwareDrawable 从阴影位图中绘制，ShapeDrawable 不能再绘制一次
+        shapeDrawable.setShadowSize(0);
+        hardwareDrawable.setType(mType)
+                .setRadius(mTopLeftRadius, mTopRightRadius, mBottomLeftRadius, mBottomRightRadius)
+                .setStrokeSize(mStrokeSize)
+                .setShadowSize(mShadowSize)
+                .setShadowColor(mShadowColor)
+                .setShadowOffsetX(mShadowOffsetX)
+                .setShadowOffsetY(mShadowOffsetY)
+                .invalidateSelf();
+        return true;
+    }
+
+    /**
+     * 创建背景
+     *
+     * @param applyToView       创建的背景是否会设置给 View（会设置给 View 的时候才会复用 View 当前背景中的 ShapeDrawable）
+     */
+    private Drawable createBackgroundDrawable(@Nullable ShapeDrawableSpec spec, boolean applyToView) {
         ShapeDrawable defaultDrawable;
 
-        Drawable viewBackground = mView.getBackground();
+        Drawable viewBackground = applyToView ? getViewBackground() : null;
+        if (viewBackground != null && viewBackground == mSharedBackground) {
+            // 共享状态的背景不能直接修改，否则会影响到其他 View，这里需要重新创建
+            viewBackground = null;
+        }
         if (viewBackground instanceof ExtendStateListDrawable) {
             defaultDrawable = convertShapeDrawable(((ExtendStateListDrawable) viewBackground).getDefaultDrawable());
         } else {
             defaultDrawable = convertShapeDrawable(viewBackground);
         }
 
-        refreshShapeDrawable(defaultDrawable, null, null);
+        refreshShapeDrawable(defaultDrawable, STATE_NONE);
+
+        boolean hardwareRender = isHardwareRenderEnable();
 
-        if (!hasSolidColorState && !hasStrokeColorState) {
-            return defaultDrawable;
+        if (mSolidStateFlags == 0 && mStrokeStateFlags == 0) {
+            return putSpecCache(spec, wrapRenderDrawable(defaultDrawable, STATE_NONE, hardwareRender), applyToView);
         }
 
+        if (isStateTransitionEnable()) {
+            return putSpecCache(spec, createStateTransitionDrawable(defaultDrawable), applyToView);
+        }
+
+        int stateFlags = mSolidStateFlags | mStrokeStateFlags;
         ExtendStateListDrawable stateListDrawable = new ExtendStateListDrawable();
-        if (mSolidPressedColor != null || mStrokePressedColor != null) {
-            ShapeDrawable drawable = convertShapeDrawable(stateListDrawable.getPressedDrawable());
-            refreshShapeDrawable(drawable, mSolidPressedColor, mStrokePressedColor);
-            stateListDrawable.setPressedDrawable(drawable);
+        for (int state = 0; state < STATE_COUNT; state++) {
+            if ((stateFlags & (1 << state)) == 0) {
+                continue;
+            }
+            ShapeDrawable shapeDrawable = new ShapeDrawable();
+            refreshShapeDrawable(shapeDrawable, state);
+            stateListDrawable.setStateDrawable(state, wrapRenderDrawable(shapeDrawable, state, hardwareRender));
         }
 
-        if (mSolidCheckedColor != null || mStrokeCheckedColor != null) {
-            ShapeDrawable drawable = convertShapeDrawable(stateListDrawable.getCheckDrawable());
-            refreshShapeDrawable(drawable, mSolidCheckedColor, mStrokeCheckedColor);
-            stateListDrawable.setCheckDrawable(drawable);
+        stateListDrawable.setDefaultDrawable(wrapRenderDrawable(defaultDrawable, STATE_NONE, hardwareRender));
+        return putSpecCache(spec, stateListDrawable, applyToView);
+    }
+
+    /**
+     * 创建支持状态过渡动画的 Drawable（所有状态共用同一个 ShapeDrawable）
+     */
+    private Drawable createStateTransitionDrawable(ShapeDrawable defaultDrawable) {
+        ShapeStateTransitionDrawable drawable = new ShapeStateTransitionDrawable(defaultDrawable)
+                .setDuration(mStateTransitionDuration)
+                .setDefaultState(mSolidColor, mStrokeColor, mStrokeSize);
+        for (int state = 0; state < STATE_COUNT; state++) {
+            if ((mSolidStateFlags & (1 << state)) != 0) {
+                drawable.setStateSolidColor(state, mSolidStateColors[state]);
+            }
+            if ((mStrokeStateFlags & (1 << state)) != 0) {
+                drawable.setStateStrokeColor(state, mStrokeStateColors[state]);
+            }
         }
+        drawable.setState(mView.getDrawableState());
+        return drawable;
+    }
 
-        if (mSolidDisabledColor != null || mStrokeDisabledColor != null) {
-            ShapeDrawable drawable = convertShapeDrawable(stateListDrawable.getDisabledDrawable());
-            refreshShapeDrawable(drawable, mSolidDisabledColor, mStrokeDisabledColor);
-            stateListDrawable.setDisabledDrawable(drawable);
+    /**
+     * 矩形的阴影交给 ShapeHardwareDrawable 从阴影位图中绘制，硬件渲染模式下虚线边框也交给 ShapeHardwareDrawable 绘制
+     */
+    private Drawable wrapRenderDrawable(ShapeDrawable drawable, int state, boolean hardwareRender) {
+        boolean shadowBitmap = isShadowBitmapEnable();
+        if (!hardwareRender && !shadowBitmap) {
+            return drawable;
         }
 
-        if (mSolidFocusedColor != null || mStrokeFocusedColor != null) {
-            ShapeDrawable drawable = convertShapeDrawable(stateListDrawable.getFocusedDrawable());
-            refreshShapeDrawable(drawable, mSolidFocusedColor, mStrokeFocusedColor);
-            stateListDrawable.setFocusedDrawable(drawable);
+        ShapeHardwareDrawable hardwareDrawable = new ShapeHardwareDrawable(drawable)
+                .setType(mType)
+                .setRadius(mTopLeftRadius, mTopRightRadius, mBottomLeftRadius, mBottomRightRadius)
+                .setStrokeSize(mStrokeSize);
+
+        if (shadowBitmap) {
+            // 阴影改为从共享的阴影位图缓存中绘制
+            ShapeShadowCache.register(mView.getContext());
+            drawable.setShadowSize(0);
+            hardwareDrawable.setShadowSize(mShadowSize)
+                    .setShadowColor(mShadowColor)
+                    .setShadowOffsetX(mShadowOffsetX)
+                    .setShadowOffsetY(mShadowOffsetY);
         }
 
-        if (mSolidSelectedColor != null || mStrokeSelectedColor != null) {
-            ShapeDrawable drawable = convertShapeDrawable(stateListDrawable.getSelectDrawable());
-            refreshShapeDrawable(drawable, mSolidSelectedColor, mStrokeSelectedColor);
-            stateListDrawable.setSelectDrawable(drawable);
+        if (hardwareRender && isStrokeDashLineEnable()) {
+            drawable.setStrokeSize(0)
+                    .setStrokeDashSize(0)
+                    .setStrokeDashGap(0);
+            int strokeColor = mStrokeColor;
+            if (state != STATE_NONE && (mStrokeStateFlags & (1 << state)) != 0) {
+                strokeColor = mStrokeStateColors[state];
+            }
+            hardwareDrawable.setStrokeColor(strokeColor)
+                    .setStrokeDashSize(mStrokeDashSize)
+                    .setStrokeDashGap(mStrokeDashGap);
         }
+        return hardwareDrawable;
+    }
 
-        stateListDrawable.setDefaultDrawable(defaultDrawable);
-        return stateListDrawable;
+    /**
+     * 将构建好的 Drawable 放入规格缓存中
+     */
+    private Drawable putSpecCache(@Nullable ShapeDrawableSpec spec, @NonNull Drawable drawable, boolean applyToView) {
+        boolean shared = spec != null && ShapeDrawableSpecCache.put(spec, drawable);
+        if (applyToView) {
+            // 放入缓存之后，这个 Drawable 的状态会被其他 View 共享
+            mSharedBackground = shared ? drawable : null;
+        }
+        return drawable;
     }
 
     public void refreshShapeDrawable(ShapeDrawable drawable,
                                      @Nullable Integer solidStateColor,
                                      @Nullable Integer strokeStateColor) {
-        drawable.setType(mType)
-                .setWidth(mWidth)
-                .setHeight(mHeight)
-                .setRadius(mTopLeftRadius, mTopRightRadius,
-                        mBottomLeftRadius, mBottomRightRadius);
-
-        drawable.setSolidGradientType(mSolidGradientType)
-                .setSolidGradientOrientation(mSolidGradientOrientation)
-                .setSolidGradientRadius(mSolidGradientRadius)
-                .setSolidGradientCenterX(mSolidGradientCenterX)
-                .setSolidGradientCenterY(mSolidGradientCenterY);
-
-        drawable.setStrokeGradientOrientation(mStrokeGradientOrientation)
-                .setStrokeSize(mStrokeSize)
-                .setStrokeDashSize(mStrokeDashSize)
-                .setStrokeDashGap(mStrokeDashGap);
+        refreshShapeDrawable(drawable, DIRTY_ALL,
+                solidStateColor != null, solidStateColor != null ? solidStateColor : NO_COLOR,
+                strokeStateColor != null, strokeStateColor != null ? strokeStateColor : NO_COLOR);
+    }
 
-        drawable.setShadowSize(mShadowSize)
-                .setShadowColor(mShadowColor)
-                .setShadowOffsetX(mShadowOffsetX)
-                .setShadowOffsetY(mShadowOffsetY);
+    /**
+     * 根据状态类型刷新 ShapeDrawable（避免状态颜色的装箱操作）
+     */
+    private void refreshShapeDrawable(ShapeDrawable drawable, int state) {
+        refreshShapeDrawable(drawable, state, DIRTY_ALL);
+    }
 
-        if (mRingInnerRadiusRatio > 0) {
-            drawable.setRingInnerRadiusRatio(mRingInnerRadiusRatio);
-        } else if (mRingInnerRadiusSize > -1) {
-            drawable.setRingInnerRadiusSize(mRingInnerRadiusSize);
+    private void refreshShapeDrawable(ShapeDrawable drawable, int state, int dirtyFlags) {
+        if (state == STATE_NONE) {
+            refreshShapeDrawable(drawable, dirtyFlags, false, NO_COLOR, false, NO_COLOR);
+            return;
         }
+        int stateFlag = 1 << state;
+        refreshShapeDrawable(drawable, dirtyFlags,
+                (mSolidStateFlags & stateFlag) != 0, mSolidStateColors[state],
+                (mStrokeStateFlags & stateFlag) != 0, mStrokeStateColors[state]);
+    }
 
-        if (mRingThicknessRatio > 0) {
-            drawable.setRingThicknessRatio(mRingThicknessRatio);
-        } else if (mRingThicknessSize > -1) {
-            drawable.setRingThicknessSize(mRingThicknessSize);
+    /**
+     * 刷新 ShapeDrawable 中发生了变化的属性
+     */
+    private void refreshShapeDrawable(ShapeDrawable drawable, int dirtyFlags,
+                                      boolean hasSolidStateColor, int solidStateColor,
+                                      boolean hasStrokeStateColor, int strokeStateColor) {
+        if ((dirtyFlags & (DIRTY_SHAPE | DIRTY_SIZE)) != 0) {
+            drawable.setType(mType)
+                    .setWidth(mWidth)
+                    .setHeight(mHeight)
+                    .setRadius(mTopLeftRadius, mTopRightRadius,
+                            mBottomLeftRadius, mBottomRightRadius);
+
+            if (mRingInnerRadiusRatio > 0) {
+                drawable.setRingInnerRadiusRatio(mRingInnerRadiusRatio);
+            } else if (mRingInnerRadiusSize > -1) {
+                drawable.setRingInnerRadiusSize(mRingInnerRadiusSize);
+            }
+
+            if (mRingThicknessRatio > 0) {
+                drawable.setRingThicknessRatio(mRingThicknessRatio);
+            } else if (mRingThicknessSize > -1) {
+                drawable.setRingThicknessSize(mRingThicknessSize);
+            }
+
+            drawable.setLineGravity(mLineGravity);
         }
 
-        drawable.setLineGravity(mLineGravity);
+        if ((dirtyFlags & DIRTY_SOLID) != 0) {
+            drawable.setSolidGradientType(mSolidGradientType)
+                    .setSolidGradientOrientation(mSolidGradientOrientation)
+                    .setSolidGradientRadius(mSolidGradientRadius)
+                    .setSolidGradientCenterX(mSolidGradientCenterX)
+                    .setSolidGradientCenterY(mSolidGradientCenterY);
+
+            // 填充色设置
+            if (hasSolidStateColor) {
+                drawable.setSolidColor(solidStateColor);
+            } else if (isSolidGradientColorsEnable()){
+                drawable.setSolidColor(mSolidGradientColors);
+            } else {
+                drawable.setSolidColor(mSolidColor);
+            }
+        }
 
-        // 填充色设置
-        if (solidStateColor != null) {
-            drawable.setSolidColor(solidStateColor);
-        } else if (isSolidGradientColorsEnable()){
-            drawable.setSolidColor(mSolidGradientColors);
-        } else {
-            drawable.setSolidColor(mSolidColor);
+        if ((dirtyFlags & DIRTY_STROKE) != 0) {
+            drawable.setStrokeGradientOrientation(mStrokeGradientOrientation)
+                    .setStrokeSize(mStrokeSize)
+                    .setStrokeDashSize(mStrokeDashSize)
+                    .setStrokeDashGap(mStrokeDashGap);
+
+            // 边框色设置
+            if (hasStrokeStateColor) {
+                drawable.setStrokeColor(strokeStateColor);
+            } else if (isStrokeGradientColorsEnable()) {
+                drawable.setStrokeColor(mStrokeGradientColors);
+            } else {
+                drawable.setStrokeColor(mStrokeColor);
+            }
         }
 
-        // 边框色设置
-        if (strokeStateColor != null) {
-            drawable.setStrokeColor(strokeStateColor);
-        } else if (isStrokeGradientColorsEnable()) {
-            drawable.setStrokeColor(mStrokeGradientColors);
-        } else {
-            drawable.setStrokeColor(mStrokeColor);
+        if ((dirtyFlags & DIRTY_SHADOW) != 0) {
+            drawable.setShadowSize(mShadowSize)
+                    .setShadowColor(mShadowColor)
+                    .setShadowOffsetX(mShadowOffsetX)
+                    .setShadowOffsetY(mShadowOffsetY);
         }
     }
 
     @NonNull
     public ShapeDrawable convertShapeDrawable(Drawable drawable) {
+        if (drawable instanceof ShapeHardwareDrawable) {
+            return ((ShapeHardwareDrawable) drawable).getShapeDrawable();
+        }
         if (drawable instanceof ShapeDrawable) {
             return (ShapeDrawable) drawable;
         }
@@ -802,14 +1791,152 @@ public final class ShapeDrawableBuilder {
     }
 
     public void intoBackground() {
+        int applyFlags = applyBackground();
+        if ((applyFlags & ShapeTransaction.APPLY_LAYOUT) != 0) {
+            mView.requestLayout();
+        }
+        if ((applyFlags & ShapeTransaction.APPLY_INVALIDATE) != 0) {
+            mView.invalidate();
+        }
+    }
+
+    /**
+     * View 附加到窗口时回调，应用推迟的背景和皮肤颜色
+     */
+    public void onAttachedToWindow() {
+        // 没有附加到窗口时切换了皮肤，需要在这里更新绑定的颜色
+        boolean skinChanged = isSkinOutdated() && updateSkinColors();
+        if (mBackgroundPending || skinChanged) {
+            intoBackground();
+        }
+    }
+
+    /**
+     * 当前是否在主线程（在子线程中创建 View 时，构建结果会推迟到 View 附加到窗口时再应用）
+     */
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 将背景应用到 View 上，背景对象没有变化时不会重新设置，而是将重绘和重新布局交给调用者处理
+     *
+     * @return          还需要调用者处理的操作（{@link ShapeTransaction#APPLY_INVALIDATE}、{@link ShapeTransaction#APPLY_LAYOUT}）
+     */
+    int applyBackground() {
+        if (!isMainThread()) {
+            // 在子线程中创建的 View（例如异步布局加载），等到附加到窗口时再设置背景
+            mBackgroundPending = true;
+            return 0;
+        }
+        if (mLazyBackgroundEnabled && !ViewCompat.isAttachedToWindow(mView)) {
+            // 还没有显示出来的 View 先记录下来，等到附加到窗口时再创建背景
+            mBackgroundPending = true;
+            return 0;
+        }
+        mBackgroundPending = false;
+        boolean sizeChanged = (mDirtyFlags & DIRTY_SIZE) != 0;
         // 获取到的 Drawable 有可能为空
-        Drawable drawable = buildBackgroundDrawable();
-        if (isStrokeDashLineEnable() || isShadowEnable()) {
+        Drawable drawable = obtainBackgroundDrawable();
+        if (isSoftwareLayerRequired()) {
             // 需要关闭硬件加速，否则虚线或者阴影在某些手机上面无法生效
             // https://developer.android.com/guide/topics/graphics/hardware-accel?hl=zh-cn
-            mView.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
+            if (mView.getLayerType() != View.LAYER_TYPE_SOFTWARE) {
+                mView.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
+                // 只记录当前类开启的软件渲染，外部自己设置的软件渲染不能在后面被恢复掉
+                mSoftwareLayerEnabled = true;
+            }
+        } else if (mSoftwareLayerEnabled) {
+            // 不再需要软件渲染，恢复之前关闭的硬件加速
+            mView.setLayerType(View.LAYER_TYPE_NONE, null);
+            mSoftwareLayerEnabled = false;
+        }
+        applyClipToShape();
+        Drawable viewBackground = mView.getBackground();
+        if (drawable != null && drawable == getViewBackground()) {
+            if (viewBackground instanceof ShapeSnapshotDrawable) {
+                // 背景在原来的基础上刷新了，之前录制的快照已经不能用了
+                ((ShapeSnapshotDrawable) viewBackground).invalidateSnapshot();
+            }
+            // 背景对象没有变化，只需要重绘，不需要重新设置背景（避免重新布局）
+            return sizeChanged ? ShapeTransaction.APPLY_INVALIDATE | ShapeTransaction.APPLY_LAYOUT :
+                    ShapeTransaction.APPLY_INVALIDATE;
+        }
+        mView.setBackground(wrapSnapshotDrawable(drawable));
+        return 0;
+    }
+
+    /**
+     * 获取 View 当前的背景（去掉背景快照的包装）
+     */
+    @Nullable
+    private Drawable getViewBackground() {
+        Drawable background = mView.getBackground();
+        if (background instanceof ShapeSnapshotDrawable) {
+            return ((ShapeSnapshotDrawable) background).getDrawable();
+        }
+        return background;
+    }
+
+    /**
+     * 开启了背景快照缓存并且系统支持时，将背景包装成 ShapeSnapshotDrawable
+     */
+    @Nullable
+    private Drawable wrapSnapshotDrawable(@Nullable Drawable drawable) {
+        if (drawable == null || !mSnapshotCacheEnabled) {
+            return drawable;
+        }
+        ShapeSnapshotRecorder recorder = ShapeSnapshotDrawable.createRecorder();
+        if (recorder == null) {
+            return drawable;
+        }
+        return new ShapeSnapshotDrawable(drawable, recorder);
+    }
+
+    private void putSolidStateColor(int state, int color) {
+        mSolidStateColors[state] = color;
+        mSolidStateFlags |= 1 << state;
+        mStateDirtyFlags |= 1 << state;
+    }
+
+    private void setSolidStateColor(int state, @Nullable Integer color) {
+        if (color == null) {
+            mSolidStateFlags &= ~(1 << state);
+            mStateDirtyFlags |= 1 << state;
+            return;
+        }
+        putSolidStateColor(state, color);
+    }
+
+    @Nullable
+    private Integer getSolidStateColor(int state) {
+        if ((mSolidStateFlags & (1 << state)) == 0) {
+            return null;
+        }
+        return mSolidStateColors[state];
+    }
+
+    private void putStrokeStateColor(int state, int color) {
+        mStrokeStateColors[state] = color;
+        mStrokeStateFlags |= 1 << state;
+        mStateDirtyFlags |= 1 << state;
+    }
+
+    private void setStrokeStateColor(int state, @Nullable Integer color) {
+        if (color == null) {
+            mStrokeStateFlags &= ~(1 << state);
+            mStateDirtyFlags |= 1 << state;
+            return;
+        }
+        putStrokeStateColor(state, color);
+    }
+
+    @Nullable
+    private Integer getStrokeStateColor(int state) {
+        if ((mStrokeStateFlags & (1 << state)) == 0) {
+            return null;
         }
-        mView.setBackground(drawable);
+        return mStrokeStateColors[state];
     }
 
     /**
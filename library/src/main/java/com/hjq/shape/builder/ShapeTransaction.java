@@ -0,0 +1,105 @@
+package com.hjq.shape.builder;
+
+import android.support.annotation.NonNull;
+import android.view.View;
+
+import com.hjq.shape.config.IGetButtonDrawableBuilder;
+import com.hjq.shape.config.IGetShapeDrawableBuilder;
+import com.hjq.shape.config.IGetTextColorBuilder;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 批量修改构建类的事务，提交的时候统一应用背景、文本颜色、按钮图片，重绘和重新布局最多只会触发一次
+ */
+public final class ShapeTransaction {
+
+    /** 需要重绘 */
+    static final int APPLY_INVALIDATE = 1;
+    /** 需要重新布局 */
+    static final int APPLY_LAYOUT = 1 << 1;
+
+    private final View mView;
+
+    private boolean mShapeDrawableChanged;
+    private boolean mTextColorChanged;
+    private boolean mButtonDrawableChanged;
+
+    private boolean mCommitted;
+
+    /**
+     * 开启一个事务
+     */
+    public static ShapeTransaction begin(@NonNull View view) {
+        return new ShapeTransaction(view);
+    }
+
+    private ShapeTransaction(View view) {
+        mView = view;
+    }
+
+    /**
+     * 获取背景构建类（获取之后会在提交的时候应用背景）
+     */
+    @NonNull
+    public ShapeDrawableBuilder getShapeDrawableBuilder() {
+        if (!(mView instanceof IGetShapeDrawableBuilder)) {
+            throw new IllegalArgumentException("The view does not implement IGetShapeDrawableBuilder");
+        }
+        mShapeDrawableChanged = true;
+        return ((IGetShapeDrawableBuilder) mView).getShapeDrawableBuilder();
+    }
+
+    /**
+     * 获取文本颜色构建类（获取之后会在提交的时候应用文本颜色）
+     */
+    @NonNull
+    public TextColorBuilder getTextColorBuilder() {
+        if (!(mView instanceof IGetTextColorBuilder)) {
+            throw new IllegalArgumentException("The view does not implement IGetTextColorBuilder");
+        }
+        mTextColorChanged = true;
+        return ((IGetTextColorBuilder) mView).getTextColorBuilder();
+    }
+
+    /**
+     * 获取按钮图片构建类（获取之后会在提交的时候应用按钮图片）
+     */
+    @NonNull
+    public ButtonDrawableBuilder getButtonDrawableBuilder() {
+        if (!(mView instanceof IGetButtonDrawableBuilder)) {
+            throw new IllegalArgumentException("The view does not implement IGetButtonDrawableBuilder");
+        }
+        mButtonDrawableChanged = true;
+        return ((IGetButtonDrawableBuilder) mView).getButtonDrawableBuilder();
+    }
+
+    /**
+     * 提交事务
+     */
+    public void commit() {
+        if (mCommitted) {
+            throw new IllegalStateException("The transaction has already been committed");
+        }
+        mCommitted = true;
+
+        int applyFlags = 0;
+        if (mShapeDrawableChanged) {
+            applyFlags |= ((IGetShapeDrawableBuilder) mView).getShapeDrawableBuilder().applyBackground();
+        }
+        if (mButtonDrawableChanged) {
+            applyFlags |= ((IGetButtonDrawableBuilder) mView).getButtonDrawableBuilder().applyButtonDrawable();
+        }
+        if (mTextColorChanged) {
+            applyFlags |= ((IGetTextColorBuilder) mView).getTextColorBuilder().applyTextColor();
+        }
+
+        if ((applyFlags & APPLY_LAYOUT) != 0) {
+            mView.requestLayout();
+        }
+        if ((applyFlags & APPLY_INVALIDATE) != 0) {
+            mView.invalidate();
+        }
+    }
+}
@@ -3,13 +3,21 @@ package com.hjq.shape.builder;
 import android.content.res.ColorStateList;
 import android.content.res.TypedArray;
 import android.graphics.Color;
+import android.os.Looper;
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
 import android.text.SpannableString;
 import android.text.Spanned;
 import android.widget.TextView;
 
+import com.hjq.shape.config.IGetTextColorBuilder;
 import com.hjq.shape.config.ITextColorStyleable;
+import com.hjq.shape.other.ExtendStateListDrawable;
+import com.hjq.shape.other.ShapeSkinManager;
+import com.hjq.shape.other.TextColorStateCache;
 import com.hjq.shape.span.LinearGradientFontSpan;
+import com.hjq.shape.span.LinearGradientTextSpan;
 import com.hjq.shape.span.MultiFontSpan;
 import com.hjq.shape.span.StrokeFontSpan;
 
@@ -32,9 +40,27 @@ public final class TextColorBuilder {
 
     private int[] mTextGradientColors;
     private int mTextGradientOrientation;
+    /** 是否使用支持多行文本的渐变模式（通过着色器实现，文本可以正常换行） */
+    private boolean mTextGradientMultiLineEnabled;
 
     private int mTextStrokeColor;
     private int mTextStrokeSize;
+    /** 是否缓存描边文字的轮廓路径 */
+    private boolean mTextStrokePathCacheEnabled;
+
+    /** 最近一次构建的文本 Span（只修改了颜色的时候直接更新，不需要重新创建 SpannableString） */
+    private Object mTextSpan;
+    private LinearGradientFontSpan mLinearGradientFontSpan;
+    private LinearGradientTextSpan mLinearGradientTextSpan;
+    private StrokeFontSpan mStrokeFontSpan;
+
+    /** 文本颜色是否还没有应用到 View 上（在子线程中创建 View 时会推迟到附加到窗口时再应用） */
+    private boolean mTextColorPending;
+
+    /** 文本颜色绑定的颜色标识（数组下标为 ExtendStateListDrawable 的状态类型），没有绑定则为空 */
+    private String[] mTextColorTokens;
+    /** 上次更新绑定颜色时的皮肤版本 */
+    private int mSkinVersion;
 
     public TextColorBuilder(TextView textView, TypedArray typedArray, ITextColorStyleable styleable) {
         mTextView = textView;
@@ -137,6 +163,101 @@ public final class TextColorBuilder {
         return mTextSelectedColor;
     }
 
+    /**
+     * 将文本颜色绑定到颜色标识上，切换皮肤时只更新文本颜色（颜色通过 {@link ShapeSkinManager} 设置）
+     *
+     * @param state         状态类型（{@link ExtendStateListDrawable#STATE_DEFAULT} 等）
+     * @param token         颜色标识，为空则解除绑定
+     */
+    public TextColorBuilder setTextColorToken(int state, @Nullable String token) {
+        if (mTextColorTokens == null) {
+            if (token == null) {
+                return this;
+            }
+            mTextColorTokens = new String[ExtendStateListDrawable.STATE_DEFAULT + 1];
+        }
+        mTextColorTokens[state] = token;
+        ShapeSkinManager.register(mTextView);
+        updateSkinColors();
+        return this;
+    }
+
+    @Nullable
+    public String getTextColorToken(int state) {
+        return mTextColorTokens != null ? mTextColorTokens[state] : null;
+    }
+
+    /**
+     * 绑定的颜色是否需要更新（切换皮肤之后还没有更新过）
+     */
+    public boolean isSkinOutdated() {
+        return mTextColorTokens != null && mSkinVersion != ShapeSkinManager.getSkinVersion();
+    }
+
+    /**
+     * 将颜色标识当前对应的颜色更新到构建参数中（还需要调用 {@link #intoTextColor()} 才会应用到 View 上）
+     *
+     * @return          是否有颜色发生了变化
+     */
+    public boolean updateSkinColors() {
+        mSkinVersion = ShapeSkinManager.getSkinVersion();
+        if (mTextColorTokens == null) {
+            return false;
+        }
+        boolean changed = false;
+        for (int state = 0; state < mTextColorTokens.length; state++) {
+            String token = mTextColorTokens[state];
+            Integer color = token != null ? ShapeSkinManager.getColor(token) : null;
+            if (color == null || color.equals(getTextStateColor(state))) {
+                continue;
+            }
+            setTextStateColor(state, color);
+            changed = true;
+        }
+        return changed;
+    }
+
+    @Nullable
+    private Integer getTextStateColor(int state) {
+        switch (state) {
+            case ExtendStateListDrawable.STATE_PRESSED:
+                return mTextPressedColor;
+            case ExtendStateListDrawable.STATE_CHECKED:
+                return mTextCheckedColor;
+            case ExtendStateListDrawable.STATE_DISABLED:
+                return mTextDisabledColor;
+            case ExtendStateListDrawable.STATE_FOCUSED:
+                return mTextFocusedColor;
+            case ExtendStateListDrawable.STATE_SELECTED:
+                return mTextSelectedColor;
+            default:
+                return mTextColor;
+        }
+    }
+
+    private void setTextStateColor(int state, @NonNull Integer color) {
+        switch (state) {
+            case ExtendStateListDrawable.STATE_PRESSED:
+                mTextPressedColor = color;
+                break;
+            case ExtendStateListDrawable.STATE_CHECKED:
+                mTextCheckedColor = color;
+                break;
+            case ExtendStateListDrawable.STATE_DISABLED:
+                mTextDisabledColor = color;
+                break;
+            case ExtendStateListDrawable.STATE_FOCUSED:
+                mTextFocusedColor = color;
+                break;
+            case ExtendStateListDrawable.STATE_SELECTED:
+                mTextSelectedColor = color;
+                break;
+            default:
+                mTextColor = color;
+                break;
+        }
+    }
+
     public TextColorBuilder setTextGradientColors(int startColor, int endColor) {
         return setTextGradientColors(new int[]{startColor, endColor});
     }
@@ -168,6 +289,25 @@ public final class TextColorBuilder {
         return mTextGradientOrientation;
     }
 
+    /**
+     * 设置是否使用支持多行文本的渐变模式（开启了文本描边则不生效，描边需要替换文本的绘制）
+     */
+    public TextColorBuilder setTextGradientMultiLineEnabled(boolean enabled) {
+        mTextGradientMultiLineEnabled = enabled;
+        return this;
+    }
+
+    public boolean isTextGradientMultiLineEnabled() {
+        return mTextGradientMultiLineEnabled;
+    }
+
+    /**
+     * 渐变色是否通过 {@link LinearGradientTextSpan} 实现
+     */
+    private boolean isTextGradientShaderEnable() {
+        return mTextGradientMultiLineEnabled && isTextGradientColorsEnable() && !isTextStrokeColorEnable();
+    }
+
     public TextColorBuilder setTextStrokeColor(int color) {
         mTextStrokeColor = color;
         return this;
@@ -186,6 +326,18 @@ public final class TextColorBuilder {
         return mTextStrokeSize;
     }
 
+    /**
+     * 设置是否缓存描边文字的轮廓路径（适合内容不变的长文本）
+     */
+    public TextColorBuilder setTextStrokePathCacheEnabled(boolean enabled) {
+        mTextStrokePathCacheEnabled = enabled;
+        return this;
+    }
+
+    public boolean isTextStrokePathCacheEnabled() {
+        return mTextStrokePathCacheEnabled;
+    }
+
     public boolean isTextStrokeColorEnable() {
         return mTextStrokeColor != Color.TRANSPARENT && mTextStrokeSize > 0;
     }
@@ -200,12 +352,40 @@ public final class TextColorBuilder {
     }
 
     public SpannableString buildTextSpannable(CharSequence text) {
+        return buildTextSpannable(text, true);
+    }
+
+    /**
+     * 构建文本样式，但不记录构建出来的 Span（可以在子线程中调用，调用期间不要修改文本样式）
+     */
+    @WorkerThread
+    public SpannableString prepareTextSpannable(CharSequence text) {
+        return buildTextSpannable(text, false);
+    }
+
+    /**
+     * 构建文本样式
+     *
+     * @param record            是否记录构建出来的 Span（用于后续直接更新 Span 属性）
+     */
+    private SpannableString buildTextSpannable(CharSequence text, boolean record) {
         SpannableString builder = new SpannableString(text);
+        // 移除之前构建的文本 Span，避免重复叠加
+        removeTextSpans(builder, MultiFontSpan.class);
+        removeTextSpans(builder, LinearGradientFontSpan.class);
+        removeTextSpans(builder, LinearGradientTextSpan.class);
+        removeTextSpans(builder, StrokeFontSpan.class);
 
         LinearGradientFontSpan linearGradientFontSpan = null;
+        LinearGradientTextSpan linearGradientTextSpan = null;
         StrokeFontSpan strokeFontSpan = null;
 
-        if (isTextGradientColorsEnable()) {
+        if (isTextGradientShaderEnable()) {
+            linearGradientTextSpan = new LinearGradientTextSpan(mTextView)
+                    .setTextGradientColor(mTextGradientColors)
+                    .setTextGradientOrientation(mTextGradientOrientation)
+                    .setTextGradientPositions(null);
+        } else if (isTextGradientColorsEnable()) {
             linearGradientFontSpan = new LinearGradientFontSpan()
                     .setTextGradientColor(mTextGradientColors)
                     .setTextGradientOrientation(mTextGradientOrientation)
@@ -214,83 +394,141 @@ public final class TextColorBuilder {
         if (isTextStrokeColorEnable()) {
             strokeFontSpan = new StrokeFontSpan()
                     .setTextStrokeColor(mTextStrokeColor)
-                    .setTextStrokeSize(mTextStrokeSize);
+                    .setTextStrokeSize(mTextStrokeSize)
+                    .setTextPathCacheEnabled(mTextStrokePathCacheEnabled);
         }
 
+        Object textSpan = null;
         if (linearGradientFontSpan != null && strokeFontSpan != null) {
-            MultiFontSpan multiFontSpan = new MultiFontSpan(strokeFontSpan, linearGradientFontSpan);
-            builder.setSpan(multiFontSpan, 0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            textSpan = new MultiFontSpan(strokeFontSpan, linearGradientFontSpan);
         } else if (linearGradientFontSpan != null) {
-            builder.setSpan(linearGradientFontSpan, 0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            textSpan = linearGradientFontSpan;
         } else if (strokeFontSpan != null) {
-            builder.setSpan(strokeFontSpan, 0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            textSpan = strokeFontSpan;
+        } else if (linearGradientTextSpan != null) {
+            textSpan = linearGradientTextSpan;
+        }
+        if (textSpan != null) {
+            builder.setSpan(textSpan, 0, builder.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+
+        if (record) {
+            mTextSpan = textSpan;
+            mLinearGradientFontSpan = linearGradientFontSpan;
+            mLinearGradientTextSpan = linearGradientTextSpan;
+            mStrokeFontSpan = strokeFontSpan;
         }
         return builder;
     }
 
-    public ColorStateList buildColorState() {
-        if (mTextPressedColor == null &&
-                mTextCheckedColor == null &&
-                mTextDisabledColor == null &&
-                mTextFocusedColor == null &&
-                mTextSelectedColor == null) {
-            return ColorStateList.valueOf(mTextColor);
-        }
-
-        int maxSize = 6;
-        int arraySize = 0;
-        int[][] statesTemp = new int[maxSize][];
-        int[] colorsTemp = new int[maxSize];
-
-        if (mTextPressedColor != null) {
-            statesTemp[arraySize] = new int[]{android.R.attr.state_pressed};
-            colorsTemp[arraySize] = mTextPressedColor;
-            arraySize++;
-        }
-        if (mTextCheckedColor != null) {
-            statesTemp[arraySize] = new int[]{android.R.attr.state_checked};
-            colorsTemp[arraySize] = mTextCheckedColor;
-            arraySize++;
-        }
-        if (mTextDisabledColor != null) {
-            statesTemp[arraySize] = new int[]{-android.R.attr.state_enabled};
-            colorsTemp[arraySize] = mTextDisabledColor;
-            arraySize++;
-        }
-        if (mTextFocusedColor != null) {
-            statesTemp[arraySize] = new int[]{android.R.attr.state_focused};
-            colorsTemp[arraySize] = mTextFocusedColor;
-            arraySize++;
-        }
-        if (mTextSelectedColor != null) {
-            statesTemp[arraySize] = new int[]{android.R.attr.state_selected};
-            colorsTemp[arraySize] = mTextSelectedColor;
-            arraySize++;
-        }
-
-        statesTemp[arraySize] = new int[]{};
-        colorsTemp[arraySize] = mTextColor;
-        arraySize++;
-
-        int[][] states;
-        int[] colors;
-        if (arraySize == maxSize) {
-            states = statesTemp;
-            colors = colorsTemp;
-        } else {
-            states = new int[arraySize][];
-            colors = new int[arraySize];
-            // 对数组进行拷贝
-            System.arraycopy(statesTemp, 0, states, 0, arraySize);
-            System.arraycopy(colorsTemp, 0, colors, 0, arraySize);
+    /**
+     * 移除覆盖了整段文本的 Span（这类 Span 是由当前类构建的）
+     */
+    private static void removeTextSpans(SpannableString spannable, Class<?> spanClass) {
+        Object[] spans = spannable.getSpans(0, spannable.length(), spanClass);
+        for (Object span : spans) {
+            if (spannable.getSpanStart(span) == 0 && spannable.getSpanEnd(span) == spannable.length()) {
+                spannable.removeSpan(span);
+            }
         }
-        return new ColorStateList(states, colors);
+    }
+
+    /**
+     * 直接更新当前文本上的 Span 属性
+     *
+     * @return          是否更新成功（Span 的组合发生了变化则需要重新构建）
+     */
+    private boolean updateTextSpannable() {
+        if (mTextSpan == null) {
+            return false;
+        }
+        CharSequence text = mTextView.getText();
+        if (!(text instanceof Spanned)) {
+            return false;
+        }
+        Spanned spanned = (Spanned) text;
+        if (spanned.getSpanStart(mTextSpan) != 0 || spanned.getSpanEnd(mTextSpan) != spanned.length()) {
+            return false;
+        }
+        boolean textGradientShaderEnable = isTextGradientShaderEnable();
+        if ((mLinearGradientTextSpan != null) != textGradientShaderEnable ||
+                (mLinearGradientFontSpan != null) != (isTextGradientColorsEnable() && !textGradientShaderEnable) ||
+                (mStrokeFontSpan != null) != isTextStrokeColorEnable()) {
+            return false;
+        }
+        if (mLinearGradientFontSpan != null) {
+            mLinearGradientFontSpan.setTextGradientColor(mTextGradientColors)
+                    .setTextGradientOrientation(mTextGradientOrientation);
+        }
+        if (mLinearGradientTextSpan != null) {
+            mLinearGradientTextSpan.setTextGradientColor(mTextGradientColors)
+                    .setTextGradientOrientation(mTextGradientOrientation);
+        }
+        if (mStrokeFontSpan != null) {
+            // 描边不参与文本宽度的测量，所以描边大小也可以直接修改
+            mStrokeFontSpan.setTextStrokeColor(mTextStrokeColor)
+                    .setTextStrokeSize(mTextStrokeSize)
+                    .setTextPathCacheEnabled(mTextStrokePathCacheEnabled);
+        }
+        return true;
+    }
+
+    public ColorStateList buildColorState() {
+        // 相同颜色配置的 View 共用同一个 ColorStateList 对象
+        return TextColorStateCache.obtain(mTextColor, mTextPressedColor, mTextCheckedColor,
+                mTextDisabledColor, mTextFocusedColor, mTextSelectedColor);
     }
 
     public void intoTextColor() {
+        if ((applyTextColor() & ShapeTransaction.APPLY_INVALIDATE) != 0) {
+            mTextView.invalidate();
+        }
+    }
+
+    /**
+     * View 附加到窗口时回调，应用在子线程中推迟的文本颜色和皮肤颜色
+     */
+    public void onAttachedToWindow() {
+        // 没有附加到窗口时切换了皮肤，需要在这里更新绑定的颜色
+        boolean skinChanged = isSkinOutdated() && updateSkinColors();
+        if (mTextColorPending || skinChanged) {
+            intoTextColor();
+        }
+    }
+
+    /**
+     * 当前是否在主线程（在子线程中创建 View 时，构建结果会推迟到 View 附加到窗口时再应用）
+     */
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 将文本颜色应用到 View 上，只修改了 Span 颜色时不会重新设置文本
+     *
+     * @return          还需要调用者处理的操作（{@link ShapeTransaction#APPLY_INVALIDATE}、{@link ShapeTransaction#APPLY_LAYOUT}）
+     */
+    int applyTextColor() {
+        if (!isMainThread()) {
+            // 在子线程中创建的 View（例如异步布局加载），等到附加到窗口时再设置文本颜色
+            mTextColorPending = true;
+            return 0;
+        }
+        mTextColorPending = false;
         mTextView.setTextColor(buildColorState());
-        if (isTextGradientColorsEnable() || isTextStrokeColorEnable()) {
-            mTextView.setText(buildTextSpannable(mTextView.getText()));
+        if (!isTextGradientColorsEnable() && !isTextStrokeColorEnable()) {
+            return 0;
+        }
+        if (updateTextSpannable()) {
+            return ShapeTransaction.APPLY_INVALIDATE;
+        }
+        CharSequence text = mTextView.getText();
+        if (mTextView instanceof IGetTextColorBuilder) {
+            // Shape 系列的 View 在 setText 的时候会自动构建 Spannable，这里不需要重复构建
+            mTextView.setText(text);
+        } else {
+            mTextView.setText(buildTextSpannable(text));
         }
+        return 0;
     }
 }
\ No newline at end of file
@@ -107,4 +107,8 @@ public interface IShapeDrawableStyleable {
     int getRingThicknessRatioStyleable();
 
     int getLineGravityStyleable();
+
+    default int getClipToShapeStyleable() {
+        return -1;
+    }
 }
\ No newline at end of file
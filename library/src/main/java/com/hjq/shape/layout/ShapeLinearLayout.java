@@ -2,13 +2,16 @@ package com.hjq.shape.layout;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Path;
 import android.util.AttributeSet;
 import android.widget.LinearLayout;
 
 import com.hjq.shape.R;
 import com.hjq.shape.builder.ShapeDrawableBuilder;
 import com.hjq.shape.config.IGetShapeDrawableBuilder;
-import com.hjq.shape.styleable.ShapeLinearLayoutStyleable;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
 
 /**
  *    author : Android 轮子哥
@@ -18,7 +21,7 @@ import com.hjq.shape.styleable.ShapeLinearLayoutStyleable;
  */
 public class ShapeLinearLayout extends LinearLayout implements IGetShapeDrawableBuilder {
 
-    private static final ShapeLinearLayoutStyleable STYLEABLE = new ShapeLinearLayoutStyleable();
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_LINEAR_LAYOUT);
 
     private final ShapeDrawableBuilder mShapeDrawableBuilder;
 
@@ -40,6 +43,35 @@ public class ShapeLinearLayout extends LinearLayout implements IGetShapeDrawable
         mShapeDrawableBuilder.intoBackground();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mShapeDrawableBuilder.onAttachedToWindow();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        Path clipPath = mShapeDrawableBuilder.getClipPath();
+        if (clipPath == null) {
+            super.dispatchDraw(canvas);
+            return;
+        }
+        // 不能通过轮廓裁剪的图形，使用路径裁剪子 View
+        int saveCount = canvas.save();
+        canvas.clipPath(clipPath);
+        super.dispatchDraw(canvas);
+        canvas.restoreToCount(saveCount);
+    }
+
+    @Override
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        super.onRtlPropertiesChanged(layoutDirection);
+        if (mShapeDrawableBuilder == null) {
+            return;
+        }
+        mShapeDrawableBuilder.onRtlPropertiesChanged(layoutDirection);
+    }
+
     @Override
     public ShapeDrawableBuilder getShapeDrawableBuilder() {
         return mShapeDrawableBuilder;
@@ -0,0 +1,186 @@
+package com.hjq.shape.other;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.content.ContextCompat;
+import android.util.LruCache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 按钮图片模板缓存，相同资源组合的 CompoundButton 共享同一个 Drawable.ConstantState
+ */
+public final class ButtonDrawableTemplateCache {
+
+    /** 默认最大缓存个数 */
+    private static final int DEFAULT_MAX_SIZE = 32;
+
+    private static LruCache<TemplateKey, Drawable.ConstantState> sCache = new LruCache<>(DEFAULT_MAX_SIZE);
+
+    /** 每个主题对象对应的编号（弱引用主题对象，编号不会重复使用，所以不同的主题不会对应到同一个缓存） */
+    private static final Map<Resources.Theme, Integer> THEME_IDS = new WeakHashMap<>();
+    private static int sNextThemeId;
+
+    private ButtonDrawableTemplateCache() {}
+
+    /**
+     * 获取主题对象的编号，第一次获取时分配一个新的编号
+     */
+    private static synchronized int getThemeId(@NonNull Resources.Theme theme) {
+        Integer themeId = THEME_IDS.get(theme);
+        if (themeId == null) {
+            themeId = ++sNextThemeId;
+            THEME_IDS.put(theme, themeId);
+        }
+        return themeId;
+    }
+
+    /**
+     * 设置最大缓存个数（会清空当前缓存的内容）
+     */
+    public static synchronized void setMaxSize(int maxSize) {
+        sCache = new LruCache<>(maxSize);
+    }
+
+    /**
+     * 根据资源 id 组合获取按钮图片，没有缓存则加载资源并创建一个新的模板（没有设置的状态传 0）
+     */
+    @Nullable
+    public static Drawable obtain(@NonNull Context context, int defaultResId, int pressedResId, int checkedResId,
+                                  int disabledResId, int focusedResId, int selectedResId) {
+        Configuration configuration = context.getResources().getConfiguration();
+        // 资源可能引用了主题属性或者区分了夜间模式，所以主题和配置也需要作为 Key 的一部分
+        TemplateKey key = new TemplateKey(new int[]{defaultResId, pressedResId, checkedResId,
+                disabledResId, focusedResId, selectedResId, configuration.densityDpi,
+                configuration.uiMode, getThemeId(context.getTheme())});
+
+        Drawable.ConstantState constantState;
+        synchronized (ButtonDrawableTemplateCache.class) {
+            constantState = sCache.get(key);
+        }
+        if (constantState != null) {
+            return constantState.newDrawable(context.getResources());
+        }
+
+        Drawable drawable = create(context, defaultResId, pressedResId, checkedResId,
+                disabledResId, focusedResId, selectedResId);
+        if (drawable == null) {
+            return null;
+        }
+        constantState = drawable.getConstantState();
+        if (constantState != null) {
+            synchronized (ButtonDrawableTemplateCache.class) {
+                sCache.put(key, constantState);
+            }
+        }
+        return drawable;
+    }
+
+    @Nullable
+    private static Drawable create(Context context, int defaultResId, int pressedResId, int checkedResId,
+                                   int disabledResId, int focusedResId, int selectedResId) {
+        Drawable defaultDrawable = getDrawable(context, defaultResId);
+        if (pressedResId == 0 && checkedResId == 0 && disabledResId == 0 &&
+                focusedResId == 0 && selectedResId == 0) {
+            return defaultDrawable;
+        }
+
+        ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+        if (pressedResId != 0) {
+            drawable.setPressedDrawable(getDrawable(context, pressedResId));
+        }
+        if (checkedResId != 0) {
+            drawable.setCheckDrawable(getDrawable(context, checkedResId));
+        }
+        if (disabledResId != 0) {
+            drawable.setDisabledDrawable(getDrawable(context, disabledResId));
+        }
+        if (focusedResId != 0) {
+            drawable.setFocusedDrawable(getDrawable(context, focusedResId));
+        }
+        if (selectedResId != 0) {
+            drawable.setSelectDrawable(getDrawable(context, selectedResId));
+        }
+        drawable.setDefaultDrawable(defaultDrawable);
+        return drawable;
+    }
+
+    @Nullable
+    private static Drawable getDrawable(Context context, int resId) {
+        if (resId == 0) {
+            return null;
+        }
+        return ContextCompat.getDrawable(context, resId);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static synchronized void clear() {
+        sCache.evictAll();
+    }
+
+    /**
+     * 获取缓存命中次数
+     */
+    public static synchronized int getHitCount() {
+        return sCache.hitCount();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     */
+    public static synchronized int getMissCount() {
+        return sCache.missCount();
+    }
+
+    /**
+     * 获取缓存被淘汰的次数
+     */
+    public static synchronized int getEvictionCount() {
+        return sCache.evictionCount();
+    }
+
+    /**
+     * 获取当前缓存的个数
+     */
+    public static synchronized int getSize() {
+        return sCache.size();
+    }
+
+    private static final class TemplateKey {
+
+        private final int[] mValues;
+        private final int mHashCode;
+
+        TemplateKey(int[] values) {
+            mValues = values;
+            mHashCode = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TemplateKey)) {
+                return false;
+            }
+            return Arrays.equals(mValues, ((TemplateKey) o).mValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+    }
+}
@@ -1,81 +1,692 @@
 package com.hjq.shape.other;
 
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Outline;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.StateListDrawable;
-
-import java.util.HashMap;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RequiresApi;
 
 /**
  *    author : Android 轮子哥
  *    github : https://github.com/getActivity/ShapeView
  *    time   : 2022/04/23
- *    desc   : 基于 StateListDrawable 类进行扩展
+ *    desc   : 基于 StateListDrawable 类进行扩展（内置状态每种只有一个槽位，可以原地替换图片，不需要重新创建对象）
  */
 public class ExtendStateListDrawable extends StateListDrawable {
 
-   private static final int[] STATE_DEFAULT = new int[]{};
-   private static final int[] STATE_PRESSED = new int[]{android.R.attr.state_pressed};
-   private static final int[] STATE_CHECKED = new int[]{android.R.attr.state_checked};
-   private static final int[] STATE_DISABLED = new int[]{-android.R.attr.state_enabled};
-   private static final int[] STATE_FOCUSED = new int[]{android.R.attr.state_focused};
-   private static final int[] STATE_SELECTED = new int[]{android.R.attr.state_selected};
+   /** 状态类型（也是图片数组的下标，同时也是匹配的优先级） */
+   public static final int STATE_PRESSED = 0;
+   public static final int STATE_CHECKED = 1;
+   public static final int STATE_DISABLED = 2;
+   public static final int STATE_FOCUSED = 3;
+   public static final int STATE_SELECTED = 4;
+   public static final int STATE_DEFAULT = 5;
+   private static final int STATE_COUNT = 6;
+
+   /** 当前显示的是通过 {@link #addState(int[], Drawable)} 添加的其他状态的图片 */
+   private static final int STATE_CUSTOM = -2;
+
+   /** 每种状态对应的状态集合（数组下标为状态类型） */
+   private static final int[][] STATE_SETS = new int[][]{
+         new int[]{android.R.attr.state_pressed},
+         new int[]{android.R.attr.state_checked},
+         new int[]{-android.R.attr.state_enabled},
+         new int[]{android.R.attr.state_focused},
+         new int[]{android.R.attr.state_selected},
+         new int[]{}};
+
+   /** 每种状态对应的图片（数组下标为状态类型） */
+   private final Drawable[] mStateDrawables = new Drawable[STATE_COUNT];
+
+   /** 当前显示的状态类型，没有匹配的图片则为 -1 */
+   private int mCurrentState = -1;
+
+   /** 其他状态的状态集合和图片（交给 StateListDrawable 处理，这里只是为了复制常量状态），没有添加过则为空 */
+   @Nullable
+   private int[][] mCustomStateSets;
+   @Nullable
+   private Drawable[] mCustomDrawables;
+   private int mCustomStateCount;
 
-   private final HashMap<int[], Drawable> mDrawableMap = new HashMap<>();
+   /** 外部设置的透明度和颜色过滤，没有设置过则不会覆盖子图片自己的设置 */
+   private int mAlpha = 0xFF;
+   private boolean mHasAlpha;
+   @Nullable
+   private ColorFilter mColorFilter;
+   private boolean mHasColorFilter;
+   @Nullable
+   private ColorStateList mTintList;
+   @Nullable
+   private PorterDuff.Mode mTintMode;
 
+   private boolean mMutated;
+
+   @Nullable
+   private StateListState mConstantState;
+
+   /**
+    * 添加某种状态的图片
+    *
+    * 当前类定义的状态集合（按下、选中、禁用、焦点、选择和默认状态）会放到对应的槽位上，
+    * 其他的状态集合交给 StateListDrawable 处理，匹配的优先级在内置状态之后、默认状态之前
+    */
    @Override
    public void addState(int[] stateSet, Drawable drawable) {
-      super.addState(stateSet, drawable);
+      int state = getStateType(stateSet);
+      if (state != -1) {
+         // 和 StateListDrawable 保持一致：同一种状态匹配的是第一次添加的图片
+         if (mStateDrawables[state] == null) {
+            setStateDrawable(state, drawable);
+         }
+         return;
+      }
       if (drawable == null) {
          return;
       }
-      mDrawableMap.put(stateSet, drawable);
+      super.addState(stateSet, drawable);
+      if (mCustomStateSets == null || mCustomDrawables == null) {
+         mCustomStateSets = new int[2][];
+         mCustomDrawables = new Drawable[2];
+      } else if (mCustomStateCount == mCustomStateSets.length) {
+         int[][] stateSets = new int[mCustomStateCount * 2][];
+         Drawable[] drawables = new Drawable[mCustomStateCount * 2];
+         System.arraycopy(mCustomStateSets, 0, stateSets, 0, mCustomStateCount);
+         System.arraycopy(mCustomDrawables, 0, drawables, 0, mCustomStateCount);
+         mCustomStateSets = stateSets;
+         mCustomDrawables = drawables;
+      }
+      mCustomStateSets[mCustomStateCount] = stateSet;
+      mCustomDrawables[mCustomStateCount] = drawable;
+      mCustomStateCount++;
+      mConstantState = null;
+      selectState(getState());
+   }
+
+   /**
+    * 根据状态集合获取状态类型，不是当前类定义的状态集合则返回 -1
+    */
+   private static int getStateType(int[] stateSet) {
+      for (int state = 0; state < STATE_COUNT; state++) {
+         int[] stateSetItem = STATE_SETS[state];
+         if (stateSetItem == stateSet) {
+            return state;
+         }
+         if (stateSet != null && stateSet.length == stateSetItem.length &&
+               (stateSet.length == 0 || stateSet[0] == stateSetItem[0])) {
+            return state;
+         }
+      }
+      return -1;
+   }
+
+   /**
+    * 设置某种状态的图片，已经设置过的状态会直接替换成新的图片（原地替换，不需要重新创建对象）
+    *
+    * @param drawable  为空则移除这种状态的图片
+    * @return          是否设置成功（始终返回 true，保留返回值是为了兼容之前的调用方式）
+    */
+   public boolean setStateDrawable(int state, @Nullable Drawable drawable) {
+      Drawable oldDrawable = mStateDrawables[state];
+      if (oldDrawable == drawable) {
+         return true;
+      }
+      if (oldDrawable != null) {
+         oldDrawable.setVisible(false, false);
+         oldDrawable.setCallback(null);
+      }
+      mStateDrawables[state] = drawable;
+      mConstantState = null;
+      if (drawable != null) {
+         attachDrawable(drawable, state);
+      }
+      // 替换的可能是当前显示的图片，也可能让其他状态的图片变成了匹配的图片
+      if (!selectState(getState()) && state == mCurrentState) {
+         invalidateSelf();
+      }
+      return true;
+   }
+
+   /**
+    * 让新添加的图片和当前的状态、边界、透明度等属性保持一致
+    */
+   private void attachDrawable(Drawable drawable, int state) {
+      if (mMutated) {
+         drawable.mutate();
+      }
+      drawable.setCallback(this);
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+         drawable.setLayoutDirection(getLayoutDirection());
+      }
+      if (mHasAlpha) {
+         drawable.setAlpha(mAlpha);
+      }
+      if (mHasColorFilter) {
+         drawable.setColorFilter(mColorFilter);
+      }
+      if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+         if (mTintList != null) {
+            drawable.setTintList(mTintList);
+         }
+         if (mTintMode != null) {
+            drawable.setTintMode(mTintMode);
+         }
+      }
+      drawable.setBounds(getBounds());
+      drawable.setState(getState());
+      drawable.setLevel(getLevel());
+      drawable.setVisible(isVisible() && state == mCurrentState, true);
+   }
+
+   @Nullable
+   public Drawable getStateDrawable(int state) {
+      return mStateDrawables[state];
    }
 
    public void setDefaultDrawable(Drawable drawable) {
-      addState(STATE_DEFAULT, drawable);
+      setStateDrawable(STATE_DEFAULT, drawable);
    }
 
    public Drawable getDefaultDrawable() {
-      return mDrawableMap.get(STATE_DEFAULT);
+      return mStateDrawables[STATE_DEFAULT];
    }
 
    public void setPressedDrawable(Drawable drawable) {
-      addState(STATE_PRESSED, drawable);
+      setStateDrawable(STATE_PRESSED, drawable);
    }
 
    public Drawable getPressedDrawable() {
-      return mDrawableMap.get(STATE_PRESSED);
+      return mStateDrawables[STATE_PRESSED];
    }
 
    public void setCheckDrawable(Drawable drawable) {
-      addState(STATE_CHECKED, drawable);
+      setStateDrawable(STATE_CHECKED, drawable);
    }
 
    public Drawable getCheckDrawable() {
-      return mDrawableMap.get(STATE_CHECKED);
+      return mStateDrawables[STATE_CHECKED];
    }
 
    public void setDisabledDrawable(Drawable drawable) {
-      addState(STATE_DISABLED, drawable);
+      setStateDrawable(STATE_DISABLED, drawable);
    }
 
    public Drawable getDisabledDrawable() {
-      return mDrawableMap.get(STATE_DISABLED);
+      return mStateDrawables[STATE_DISABLED];
    }
 
    public void setFocusedDrawable(Drawable drawable) {
-      addState(STATE_FOCUSED, drawable);
+      setStateDrawable(STATE_FOCUSED, drawable);
    }
 
    public Drawable getFocusedDrawable() {
-      return mDrawableMap.get(STATE_FOCUSED);
+      return mStateDrawables[STATE_FOCUSED];
    }
 
    public void setSelectDrawable(Drawable drawable) {
-      addState(STATE_SELECTED, drawable);
+      setStateDrawable(STATE_SELECTED, drawable);
    }
 
    public Drawable getSelectDrawable() {
-      return mDrawableMap.get(STATE_SELECTED);
+      return mStateDrawables[STATE_SELECTED];
+   }
+
+   /**
+    * 获取当前显示的图片
+    */
+   @Nullable
+   public Drawable getCurrentDrawable() {
+      if (mCurrentState == STATE_CUSTOM) {
+         return super.getCurrent();
+      }
+      return getSlotDrawable();
+   }
+
+   /**
+    * 获取当前显示的槽位图片，显示的是其他状态的图片或者没有匹配的图片则返回空
+    */
+   @Nullable
+   private Drawable getSlotDrawable() {
+      return mCurrentState < 0 ? null : mStateDrawables[mCurrentState];
+   }
+
+   /**
+    * 根据状态集合匹配状态类型（内置状态 -> 其他状态 -> 默认状态）
+    */
+   private int matchState(int[] stateSet) {
+      int state = matchSlotState(stateSet);
+      if (state != -1) {
+         return state;
+      }
+      // 让 StateListDrawable 匹配其他状态的图片，没有匹配上的话才使用默认状态的图片
+      if (mCustomStateCount > 0) {
+         super.onStateChange(stateSet);
+         if (super.getCurrent() != null) {
+            return STATE_CUSTOM;
+         }
+      }
+      if (mStateDrawables[STATE_DEFAULT] != null) {
+         return STATE_DEFAULT;
+      }
+      return -1;
+   }
+
+   /**
+    * 根据状态集合匹配内置状态的类型（匹配顺序和状态类型的顺序保持一致，没有设置图片的状态会被跳过）
+    */
+   private int matchSlotState(int[] stateSet) {
+      boolean pressed = false;
+      boolean checked = false;
+      boolean enabled = false;
+      boolean focused = false;
+      boolean selected = false;
+      if (stateSet != null) {
+         for (int state : stateSet) {
+            if (state == android.R.attr.state_pressed) {
+               pressed = true;
+            } else if (state == android.R.attr.state_checked) {
+               checked = true;
+            } else if (state == android.R.attr.state_enabled) {
+               enabled = true;
+            } else if (state == android.R.attr.state_focused) {
+               focused = true;
+            } else if (state == android.R.attr.state_selected) {
+               selected = true;
+            }
+         }
+      }
+      if (pressed && mStateDrawables[STATE_PRESSED] != null) {
+         return STATE_PRESSED;
+      }
+      if (checked && mStateDrawables[STATE_CHECKED] != null) {
+         return STATE_CHECKED;
+      }
+      if (!enabled && mStateDrawables[STATE_DISABLED] != null) {
+         return STATE_DISABLED;
+      }
+      if (focused && mStateDrawables[STATE_FOCUSED] != null) {
+         return STATE_FOCUSED;
+      }
+      if (selected && mStateDrawables[STATE_SELECTED] != null) {
+         return STATE_SELECTED;
+      }
+      return -1;
+   }
+
+   /**
+    * 切换到状态集合匹配的图片
+    *
+    * @return          当前显示的图片是否发生了变化
+    */
+   private boolean selectState(int[] stateSet) {
+      int state = matchState(stateSet);
+      if (state != STATE_CUSTOM && mCustomStateCount > 0) {
+         // 显示的不是其他状态的图片，需要隐藏 StateListDrawable 选中的图片
+         super.selectDrawable(-1);
+      }
+      if (state == mCurrentState) {
+         return false;
+      }
+      Drawable oldDrawable = getSlotDrawable();
+      if (oldDrawable != null) {
+         oldDrawable.setVisible(false, false);
+      }
+      mCurrentState = state;
+      Drawable newDrawable = getSlotDrawable();
+      if (newDrawable != null) {
+         newDrawable.setVisible(isVisible(), true);
+      }
+      invalidateSelf();
+      return true;
+   }
+
+   @Override
+   public void draw(@NonNull Canvas canvas) {
+      if (mCurrentState == STATE_CUSTOM) {
+         super.draw(canvas);
+         return;
+      }
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null) {
+         drawable.draw(canvas);
+      }
+   }
+
+   @Override
+   public boolean isStateful() {
+      return true;
+   }
+
+   @Override
+   protected boolean onStateChange(int[] state) {
+      //noinspection ConstantConditions
+      if (mStateDrawables == null) {
+         // StateListDrawable 的构造函数会回调这个方法，这个时候当前类的字段还没有初始化
+         return super.onStateChange(state);
+      }
+      boolean changed = selectState(state);
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null && drawable.setState(state)) {
+         changed = true;
+      }
+      return changed;
+   }
+
+   @Override
+   protected void onBoundsChange(Rect bounds) {
+      super.onBoundsChange(bounds);
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            drawable.setBounds(bounds);
+         }
+      }
+   }
+
+   @Override
+   protected boolean onLevelChange(int level) {
+      if (mCurrentState == STATE_CUSTOM) {
+         return super.onLevelChange(level);
+      }
+      Drawable drawable = getSlotDrawable();
+      return drawable != null && drawable.setLevel(level);
+   }
+
+   @Override
+   public boolean setVisible(boolean visible, boolean restart) {
+      boolean changed = super.setVisible(visible, restart);
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null) {
+         drawable.setVisible(visible, restart);
+      }
+      return changed;
+   }
+
+   @Override
+   public void jumpToCurrentState() {
+      super.jumpToCurrentState();
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null) {
+         drawable.jumpToCurrentState();
+      }
+   }
+
+   @Override
+   public void setAlpha(int alpha) {
+      if (mHasAlpha && mAlpha == alpha) {
+         return;
+      }
+      mHasAlpha = true;
+      mAlpha = alpha;
+      super.setAlpha(alpha);
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            drawable.setAlpha(alpha);
+         }
+      }
+   }
+
+   @Override
+   public int getAlpha() {
+      return mAlpha;
+   }
+
+   @Override
+   public void setColorFilter(@Nullable ColorFilter colorFilter) {
+      mHasColorFilter = true;
+      mColorFilter = colorFilter;
+      super.setColorFilter(colorFilter);
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            drawable.setColorFilter(colorFilter);
+         }
+      }
+   }
+
+   @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+   @Override
+   public void setTintList(@Nullable ColorStateList tint) {
+      mTintList = tint;
+      super.setTintList(tint);
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            drawable.setTintList(tint);
+         }
+      }
+   }
+
+   @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+   @Override
+   public void setTintMode(@Nullable PorterDuff.Mode tintMode) {
+      mTintMode = tintMode;
+      super.setTintMode(tintMode);
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            drawable.setTintMode(tintMode);
+         }
+      }
+   }
+
+   @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+   @Override
+   public void setHotspot(float x, float y) {
+      super.setHotspot(x, y);
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null) {
+         drawable.setHotspot(x, y);
+      }
+   }
+
+   @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+   @Override
+   public void setHotspotBounds(int left, int top, int right, int bottom) {
+      super.setHotspotBounds(left, top, right, bottom);
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            drawable.setHotspotBounds(left, top, right, bottom);
+         }
+      }
+   }
+
+   @RequiresApi(api = Build.VERSION_CODES.M)
+   @Override
+   public boolean onLayoutDirectionChanged(int layoutDirection) {
+      boolean changed = super.onLayoutDirectionChanged(layoutDirection);
+      for (int state = 0; state < STATE_COUNT; state++) {
+         Drawable drawable = mStateDrawables[state];
+         if (drawable != null && drawable.setLayoutDirection(layoutDirection) && state == mCurrentState) {
+            changed = true;
+         }
+      }
+      return changed;
+   }
+
+   @Override
+   public int getOpacity() {
+      Drawable drawable = getSlotDrawable();
+      if (drawable == null || !isVisible()) {
+         return super.getOpacity();
+      }
+      return drawable.getOpacity();
+   }
+
+   @Override
+   public int getIntrinsicWidth() {
+      Drawable drawable = getSlotDrawable();
+      return drawable != null ? drawable.getIntrinsicWidth() : super.getIntrinsicWidth();
+   }
+
+   @Override
+   public int getIntrinsicHeight() {
+      Drawable drawable = getSlotDrawable();
+      return drawable != null ? drawable.getIntrinsicHeight() : super.getIntrinsicHeight();
+   }
+
+   @Override
+   public boolean getPadding(@NonNull Rect padding) {
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null) {
+         return drawable.getPadding(padding);
+      }
+      return super.getPadding(padding);
+   }
+
+   @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+   @Override
+   public void getOutline(@NonNull Outline outline) {
+      Drawable drawable = getSlotDrawable();
+      if (drawable != null) {
+         drawable.getOutline(outline);
+         return;
+      }
+      super.getOutline(outline);
+   }
+
+   @Override
+   public Drawable getCurrent() {
+      Drawable drawable = getSlotDrawable();
+      return drawable != null ? drawable : super.getCurrent();
+   }
+
+   @Override
+   public int getChangingConfigurations() {
+      int configurations = super.getChangingConfigurations();
+      for (Drawable drawable : mStateDrawables) {
+         if (drawable != null) {
+            configurations |= drawable.getChangingConfigurations();
+         }
+      }
+      return configurations;
+   }
+
+   @NonNull
+   @Override
+   public Drawable mutate() {
+      if (!mMutated && super.mutate() == this) {
+         for (Drawable drawable : mStateDrawables) {
+            if (drawable != null) {
+               drawable.mutate();
+            }
+         }
+         mConstantState = null;
+         mMutated = true;
+      }
+      return this;
+   }
+
+   /**
+    * 获取常量状态，所有状态的图片都支持常量状态时才能复制，否则返回空
+    */
+   @Nullable
+   @Override
+   public ConstantState getConstantState() {
+      if (mConstantState != null) {
+         return mConstantState;
+      }
+      ConstantState[] states = new ConstantState[STATE_COUNT];
+      for (int state = 0; state < STATE_COUNT; state++) {
+         Drawable drawable = mStateDrawables[state];
+         if (drawable == null) {
+            continue;
+         }
+         states[state] = drawable.getConstantState();
+         if (states[state] == null) {
+            return null;
+         }
+      }
+      ConstantState[] customStates = null;
+      if (mCustomStateCount > 0 && mCustomDrawables != null) {
+         customStates = new ConstantState[mCustomStateCount];
+         for (int i = 0; i < mCustomStateCount; i++) {
+            customStates[i] = mCustomDrawables[i].getConstantState();
+            if (customStates[i] == null) {
+               return null;
+            }
+         }
+      }
+      mConstantState = new StateListState(states, mCustomStateSets, customStates, getChangingConfigurations());
+      return mConstantState;
+   }
+
+   @Override
+   public void invalidateDrawable(@NonNull Drawable who) {
+      if (who == getSlotDrawable()) {
+         invalidateSelf();
+         return;
+      }
+      super.invalidateDrawable(who);
+   }
+
+   @Override
+   public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+      if (who == getSlotDrawable()) {
+         scheduleSelf(what, when);
+         return;
+      }
+      super.scheduleDrawable(who, what, when);
+   }
+
+   @Override
+   public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+      unscheduleSelf(what);
+   }
+
+   /**
+    * 状态图片的常量状态，复制出来的对象类型仍然是 {@link ExtendStateListDrawable}
+    */
+   private static final class StateListState extends ConstantState {
+
+      private final ConstantState[] mStates;
+      @Nullable
+      private final int[][] mCustomStateSets;
+      @Nullable
+      private final ConstantState[] mCustomStates;
+      private final int mChangingConfigurations;
+
+      private StateListState(ConstantState[] states, @Nullable int[][] customStateSets,
+                             @Nullable ConstantState[] customStates, int changingConfigurations) {
+         mStates = states;
+         mCustomStateSets = customStateSets;
+         mCustomStates = customStates;
+         mChangingConfigurations = changingConfigurations;
+      }
+
+      @NonNull
+      @Override
+      public Drawable newDrawable() {
+         return newDrawable(null);
+      }
+
+      @NonNull
+      @Override
+      public Drawable newDrawable(@Nullable Resources res) {
+         ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+         for (int state = 0; state < STATE_COUNT; state++) {
+            ConstantState constantState = mStates[state];
+            if (constantState == null) {
+               continue;
+            }
+            drawable.setStateDrawable(state, res != null ?
+                  constantState.newDrawable(res) : constantState.newDrawable());
+         }
+         if (mCustomStateSets != null && mCustomStates != null) {
+            for (int i = 0; i < mCustomStates.length; i++) {
+               drawable.addState(mCustomStateSets[i], res != null ?
+                     mCustomStates[i].newDrawable(res) : mCustomStates[i].newDrawable());
+            }
+         }
+         return drawable;
+      }
+
+      @Override
+      public int getChangingConfigurations() {
+         return mChangingConfigurations;
+      }
    }
-}
\ No newline at end of file
+}
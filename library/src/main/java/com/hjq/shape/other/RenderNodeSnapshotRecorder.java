@@ -0,0 +1,53 @@
+package com.hjq.shape.other;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 使用 RenderNode 录制背景快照，回放时只需要绘制录制好的显示列表
+ */
+@RequiresApi(api = Build.VERSION_CODES.Q)
+public final class RenderNodeSnapshotRecorder implements ShapeSnapshotRecorder {
+
+    private static final String NODE_NAME = "ShapeSnapshot";
+
+    private final RenderNode mRenderNode = new RenderNode(NODE_NAME);
+
+    @Override
+    public boolean canReplay(@NonNull Canvas canvas) {
+        return canvas.isHardwareAccelerated();
+    }
+
+    @NonNull
+    @Override
+    public Canvas beginRecording(@NonNull Rect bounds) {
+        mRenderNode.setPosition(bounds);
+        RecordingCanvas canvas = mRenderNode.beginRecording(bounds.width(), bounds.height());
+        // RenderNode 的坐标原点在边界的左上角，这里转换成 Drawable 的坐标
+        canvas.translate(-bounds.left, -bounds.top);
+        return canvas;
+    }
+
+    @Override
+    public void endRecording() {
+        mRenderNode.endRecording();
+    }
+
+    @Override
+    public void replay(@NonNull Canvas canvas) {
+        canvas.drawRenderNode(mRenderNode);
+    }
+
+    @Override
+    public void discard() {
+        mRenderNode.discardDisplayList();
+    }
+}
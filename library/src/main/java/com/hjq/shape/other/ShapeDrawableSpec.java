@@ -0,0 +1,239 @@
+package com.hjq.shape.other;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+import com.hjq.shape.graphics.ShapeGradientOrientation;
+
+import java.util.Arrays;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 规格（不可变对象，可作为缓存的 key 使用）
+ */
+public final class ShapeDrawableSpec {
+
+    /** 可以单独设置颜色的状态类型个数（和 ExtendStateListDrawable 的状态类型保持一致，不包含默认状态） */
+    private static final int STATE_COUNT = ExtendStateListDrawable.STATE_DEFAULT;
+
+    private final int mType;
+    private final int mWidth;
+    private final int mHeight;
+
+    private final float mTopLeftRadius;
+    private final float mTopRightRadius;
+    private final float mBottomLeftRadius;
+    private final float mBottomRightRadius;
+
+    private final int mSolidColor;
+    /** 设置了颜色的状态（按位存储）和每种状态的颜色（没有设置颜色的状态为 0） */
+    private final int mSolidStateFlags;
+    private final int[] mSolidStateColors;
+
+    private final int[] mSolidGradientColors;
+    private final ShapeGradientOrientation mSolidGradientOrientation;
+    private final int mSolidGradientType;
+    private final float mSolidGradientCenterX;
+    private final float mSolidGradientCenterY;
+    private final int mSolidGradientRadius;
+
+    private final int mStrokeColor;
+    /** 设置了颜色的状态（按位存储）和每种状态的颜色（没有设置颜色的状态为 0） */
+    private final int mStrokeStateFlags;
+    private final int[] mStrokeStateColors;
+
+    private final int[] mStrokeGradientColors;
+    private final ShapeGradientOrientation mStrokeGradientOrientation;
+
+    private final int mStrokeSize;
+    private final int mStrokeDashSize;
+    private final int mStrokeDashGap;
+
+    private final int mShadowSize;
+    private final int mShadowColor;
+    private final int mShadowOffsetX;
+    private final int mShadowOffsetY;
+
+    private final int mRingInnerRadiusSize;
+    private final float mRingInnerRadiusRatio;
+    private final int mRingThicknessSize;
+    private final float mRingThicknessRatio;
+
+    private final int mLineGravity;
+
+    /** 是否使用硬件渲染阴影和虚线边框 */
+    private final boolean mHardwareRender;
+
+    /** 哈希值（对象不可变，所以只需要计算一次） */
+    private final int mHashCode;
+
+    public ShapeDrawableSpec(@NonNull ShapeDrawableBuilder builder) {
+        mType = builder.getType();
+        mWidth = builder.getWidth();
+        mHeight = builder.getHeight();
+
+        mTopLeftRadius = builder.getTopLeftRadius();
+        mTopRightRadius = builder.getTopRightRadius();
+        mBottomLeftRadius = builder.getBottomLeftRadius();
+        mBottomRightRadius = builder.getBottomRightRadius();
+
+        mSolidColor = builder.getSolidColor();
+        mSolidStateFlags = builder.getSolidStateFlags();
+        mSolidStateColors = copyStateColors(builder, mSolidStateFlags, true);
+
+        mSolidGradientColors = copyColors(builder.getSolidGradientColors());
+        mSolidGradientOrientation = builder.getSolidGradientOrientation();
+        mSolidGradientType = builder.getSolidGradientType();
+        mSolidGradientCenterX = builder.getSolidGradientCenterX();
+        mSolidGradientCenterY = builder.getSolidGradientCenterY();
+        mSolidGradientRadius = builder.getSolidGradientRadius();
+
+        mStrokeColor = builder.getStrokeColor();
+        mStrokeStateFlags = builder.getStrokeStateFlags();
+        mStrokeStateColors = copyStateColors(builder, mStrokeStateFlags, false);
+
+        mStrokeGradientColors = copyColors(builder.getStrokeGradientColors());
+        mStrokeGradientOrientation = builder.getStrokeGradientOrientation();
+
+        mStrokeSize = builder.getStrokeSize();
+        mStrokeDashSize = builder.getStrokeDashSize();
+        mStrokeDashGap = builder.getStrokeDashGap();
+
+        mShadowSize = builder.getShadowSize();
+        mShadowColor = builder.getShadowColor();
+        mShadowOffsetX = builder.getShadowOffsetX();
+        mShadowOffsetY = builder.getShadowOffsetY();
+
+        mRingInnerRadiusSize = builder.getRingInnerRadiusSize();
+        mRingInnerRadiusRatio = builder.getRingInnerRadiusRatio();
+        mRingThicknessSize = builder.getRingThicknessSize();
+        mRingThicknessRatio = builder.getRingThicknessRatio();
+
+        mLineGravity = builder.getLineGravity();
+
+        mHardwareRender = builder.isHardwareRenderEnable();
+
+        mHashCode = computeHashCode();
+    }
+
+    private int computeHashCode() {
+        int result = mType;
+        result = 31 * result + mWidth;
+        result = 31 * result + mHeight;
+        result = 31 * result + Float.floatToIntBits(mTopLeftRadius);
+        result = 31 * result + Float.floatToIntBits(mTopRightRadius);
+        result = 31 * result + Float.floatToIntBits(mBottomLeftRadius);
+        result = 31 * result + Float.floatToIntBits(mBottomRightRadius);
+        result = 31 * result + mSolidColor;
+        result = 31 * result + mSolidStateFlags;
+        result = 31 * result + Arrays.hashCode(mSolidStateColors);
+        result = 31 * result + Arrays.hashCode(mSolidGradientColors);
+        result = 31 * result + (mSolidGradientOrientation != null ? mSolidGradientOrientation.hashCode() : 0);
+        result = 31 * result + mSolidGradientType;
+        result = 31 * result + Float.floatToIntBits(mSolidGradientCenterX);
+        result = 31 * result + Float.floatToIntBits(mSolidGradientCenterY);
+        result = 31 * result + mSolidGradientRadius;
+        result = 31 * result + mStrokeColor;
+        result = 31 * result + mStrokeStateFlags;
+        result = 31 * result + Arrays.hashCode(mStrokeStateColors);
+        result = 31 * result + Arrays.hashCode(mStrokeGradientColors);
+        result = 31 * result + (mStrokeGradientOrientation != null ? mStrokeGradientOrientation.hashCode() : 0);
+        result = 31 * result + mStrokeSize;
+        result = 31 * result + mStrokeDashSize;
+        result = 31 * result + mStrokeDashGap;
+        result = 31 * result + mShadowSize;
+        result = 31 * result + mShadowColor;
+        result = 31 * result + mShadowOffsetX;
+        result = 31 * result + mShadowOffsetY;
+        result = 31 * result + mRingInnerRadiusSize;
+        result = 31 * result + Float.floatToIntBits(mRingInnerRadiusRatio);
+        result = 31 * result + mRingThicknessSize;
+        result = 31 * result + Float.floatToIntBits(mRingThicknessRatio);
+        result = 31 * result + mLineGravity;
+        result = 31 * result + (mHardwareRender ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public int hashCode() {
+        return mHashCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShapeDrawableSpec)) {
+            return false;
+        }
+        ShapeDrawableSpec spec = (ShapeDrawableSpec) o;
+        return mHashCode == spec.mHashCode &&
+                mType == spec.mType &&
+                mWidth == spec.mWidth &&
+                mHeight == spec.mHeight &&
+                Float.compare(mTopLeftRadius, spec.mTopLeftRadius) == 0 &&
+                Float.compare(mTopRightRadius, spec.mTopRightRadius) == 0 &&
+                Float.compare(mBottomLeftRadius, spec.mBottomLeftRadius) == 0 &&
+                Float.compare(mBottomRightRadius, spec.mBottomRightRadius) == 0 &&
+                mSolidColor == spec.mSolidColor &&
+                mSolidStateFlags == spec.mSolidStateFlags &&
+                Arrays.equals(mSolidStateColors, spec.mSolidStateColors) &&
+                Arrays.equals(mSolidGradientColors, spec.mSolidGradientColors) &&
+                mSolidGradientOrientation == spec.mSolidGradientOrientation &&
+                mSolidGradientType == spec.mSolidGradientType &&
+                Float.compare(mSolidGradientCenterX, spec.mSolidGradientCenterX) == 0 &&
+                Float.compare(mSolidGradientCenterY, spec.mSolidGradientCenterY) == 0 &&
+                mSolidGradientRadius == spec.mSolidGradientRadius &&
+                mStrokeColor == spec.mStrokeColor &&
+                mStrokeStateFlags == spec.mStrokeStateFlags &&
+                Arrays.equals(mStrokeStateColors, spec.mStrokeStateColors) &&
+                Arrays.equals(mStrokeGradientColors, spec.mStrokeGradientColors) &&
+                mStrokeGradientOrientation == spec.mStrokeGradientOrientation &&
+                mStrokeSize == spec.mStrokeSize &&
+                mStrokeDashSize == spec.mStrokeDashSize &&
+                mStrokeDashGap == spec.mStrokeDashGap &&
+                mShadowSize == spec.mShadowSize &&
+                mShadowColor == spec.mShadowColor &&
+                mShadowOffsetX == spec.mShadowOffsetX &&
+                mShadowOffsetY == spec.mShadowOffsetY &&
+                mRingInnerRadiusSize == spec.mRingInnerRadiusSize &&
+                Float.compare(mRingInnerRadiusRatio, spec.mRingInnerRadiusRatio) == 0 &&
+                mRingThicknessSize == spec.mRingThicknessSize &&
+                Float.compare(mRingThicknessRatio, spec.mRingThicknessRatio) == 0 &&
+                mLineGravity == spec.mLineGravity &&
+                mHardwareRender == spec.mHardwareRender;
+    }
+
+    /**
+     * 拷贝一份颜色数组，避免外部修改数组内容之后影响到缓存的 key
+     */
+    @Nullable
+    private static int[] copyColors(@Nullable int[] colors) {
+        if (colors == null || colors.length == 0) {
+            return null;
+        }
+        return colors.clone();
+    }
+
+    /**
+     * 拷贝每种状态的颜色（直接读取基本类型的颜色，不会装箱），没有设置颜色的状态为 0，保证相同的状态组合生成的数组相同
+     */
+    @Nullable
+    private static int[] copyStateColors(ShapeDrawableBuilder builder, int stateFlags, boolean solid) {
+        if (stateFlags == 0) {
+            return null;
+        }
+        int[] colors = new int[STATE_COUNT];
+        for (int state = 0; state < STATE_COUNT; state++) {
+            if ((stateFlags & (1 << state)) == 0) {
+                continue;
+            }
+            colors[state] = solid ? builder.getSolidStateColorValue(state) : builder.getStrokeStateColorValue(state);
+        }
+        return colors;
+    }
+}
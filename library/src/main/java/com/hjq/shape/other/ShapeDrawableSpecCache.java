@@ -0,0 +1,112 @@
+package com.hjq.shape.other;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawable 规格缓存，相同规格的 View 共享同一个 Drawable.ConstantState
+ */
+public final class ShapeDrawableSpecCache {
+
+    /** 默认最大缓存个数 */
+    private static final int DEFAULT_MAX_SIZE = 100;
+
+    /** 是否开启缓存（默认关闭） */
+    private static volatile boolean sEnabled;
+
+    private static LruCache<ShapeDrawableSpec, Drawable.ConstantState> sCache = new LruCache<>(DEFAULT_MAX_SIZE);
+
+    private ShapeDrawableSpecCache() {}
+
+    /**
+     * 设置是否开启缓存
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * 设置最大缓存个数（会清空当前缓存的内容）
+     */
+    public static synchronized void setMaxSize(int maxSize) {
+        sCache = new LruCache<>(maxSize);
+    }
+
+    /**
+     * 根据规格获取一个共享状态的 Drawable 对象，没有缓存则返回 null
+     */
+    @Nullable
+    public static Drawable obtain(@NonNull ShapeDrawableSpec spec) {
+        Drawable.ConstantState constantState;
+        synchronized (ShapeDrawableSpecCache.class) {
+            constantState = sCache.get(spec);
+        }
+        if (constantState == null) {
+            return null;
+        }
+        return constantState.newDrawable();
+    }
+
+    /**
+     * 将 Drawable 的 ConstantState 放入缓存中（Drawable 不支持 ConstantState 则不缓存）
+     *
+     * @return          是否放入成功
+     */
+    public static boolean put(@NonNull ShapeDrawableSpec spec, @NonNull Drawable drawable) {
+        Drawable.ConstantState constantState = drawable.getConstantState();
+        if (constantState == null) {
+            return false;
+        }
+        synchronized (ShapeDrawableSpecCache.class) {
+            sCache.put(spec, constantState);
+        }
+        return true;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static synchronized void clear() {
+        sCache.evictAll();
+    }
+
+    /**
+     * 获取缓存命中次数
+     */
+    public static synchronized int getHitCount() {
+        return sCache.hitCount();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     */
+    public static synchronized int getMissCount() {
+        return sCache.missCount();
+    }
+
+    /**
+     * 获取缓存被淘汰的次数
+     */
+    public static synchronized int getEvictionCount() {
+        return sCache.evictionCount();
+    }
+
+    /**
+     * 获取当前缓存的个数
+     */
+    public static synchronized int getSize() {
+        return sCache.size();
+    }
+}
@@ -0,0 +1,360 @@
+package com.hjq.shape.other;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.hjq.shape.graphics.ShapeDrawable;
+import com.hjq.shape.graphics.ShapeType;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 支持硬件加速的 ShapeDrawable 包装类，负责绘制阴影和虚线边框
+ */
+public class ShapeHardwareDrawable extends Drawable {
+
+    /** 被包装的 ShapeDrawable（不包含阴影和虚线边框） */
+    private final ShapeDrawable mShapeDrawable;
+
+    private int mType = ShapeType.RECTANGLE;
+
+    private float mTopLeftRadius;
+    private float mTopRightRadius;
+    private float mBottomLeftRadius;
+    private float mBottomRightRadius;
+
+    private int mShadowSize;
+    private int mShadowColor;
+    private int mShadowOffsetX;
+    private int mShadowOffsetY;
+
+    private int mStrokeColor;
+    private int mStrokeSize;
+    private int mStrokeDashSize;
+    private int mStrokeDashGap;
+
+    private int mAlpha = 0xFF;
+
+    private final Paint mShadowPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Paint mStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /** 填充区域 */
+    private final RectF mFillRect = new RectF();
+    /** 阴影区域（填充区域加上阴影的偏移） */
+    private final RectF mShadowRect = new RectF();
+    private final Rect mContentBounds = new Rect();
+
+    /** 分段之后的虚线路径 */
+    private final Path mDashPath = new Path();
+    private boolean mDashPathDirty = true;
+
+    /** 设置了影响绘制区域的属性（在原来的对象上刷新属性时，边界不会发生变化，需要在绘制之前重新计算） */
+    private boolean mBoundsDirty;
+
+    @Nullable
+    private ShapeShadowBitmap mShadowBitmap;
+
+    public ShapeHardwareDrawable(@NonNull ShapeDrawable drawable) {
+        mShapeDrawable = drawable;
+        mStrokePaint.setStyle(Paint.Style.STROKE);
+    }
+
+    @NonNull
+    public ShapeDrawable getShapeDrawable() {
+        return mShapeDrawable;
+    }
+
+    public ShapeHardwareDrawable setType(int type) {
+        mType = type;
+        mBoundsDirty = true;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setRadius(float topLeftRadius, float topRightRadius,
+                                           float bottomLeftRadius, float bottomRightRadius) {
+        mTopLeftRadius = topLeftRadius;
+        mTopRightRadius = topRightRadius;
+        mBottomLeftRadius = bottomLeftRadius;
+        mBottomRightRadius = bottomRightRadius;
+        mShadowBitmap = null;
+        mBoundsDirty = true;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setShadowSize(int size) {
+        mShadowSize = size;
+        mShadowBitmap = null;
+        mBoundsDirty = true;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setShadowColor(int color) {
+        mShadowColor = color;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setShadowOffsetX(int offsetX) {
+        mShadowOffsetX = offsetX;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setShadowOffsetY(int offsetY) {
+        mShadowOffsetY = offsetY;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setStrokeColor(int color) {
+        mStrokeColor = color;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setStrokeSize(int size) {
+        mStrokeSize = size;
+        mBoundsDirty = true;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setStrokeDashSize(int size) {
+        mStrokeDashSize = size;
+        mBoundsDirty = true;
+        return this;
+    }
+
+    public ShapeHardwareDrawable setStrokeDashGap(int gap) {
+        mStrokeDashGap = gap;
+        mBoundsDirty = true;
+        return this;
+    }
+
+    /**
+     * 虚线边框是否由当前类绘制
+     */
+    private boolean isStrokeDashLineEnable() {
+        return mStrokeSize > 0 && mStrokeDashSize > 0 && mStrokeDashGap > 0;
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        updateBounds(bounds);
+    }
+
+    /**
+     * 根据边界计算填充区域和被包装的 ShapeDrawable 的边界
+     */
+    private void updateBounds(Rect bounds) {
+        mBoundsDirty = false;
+        // 和 ShapeDrawable 保持一致：阴影占用四周的空间，边框以填充区域的边缘为中心线
+        float strokeInset = mStrokeSize / 2f;
+        mFillRect.set(bounds.left + mShadowSize + strokeInset, bounds.top + mShadowSize + strokeInset,
+                bounds.right - mShadowSize - strokeInset, bounds.bottom - mShadowSize - strokeInset);
+
+        if (isStrokeDashLineEnable()) {
+            // 虚线边框由当前类绘制，被包装的 ShapeDrawable 只需要绘制填充区域
+            mContentBounds.set(Math.round(mFillRect.left), Math.round(mFillRect.top),
+                    Math.round(mFillRect.right), Math.round(mFillRect.bottom));
+        } else {
+            mContentBounds.set(bounds.left + mShadowSize, bounds.top + mShadowSize,
+                    bounds.right - mShadowSize, bounds.bottom - mShadowSize);
+        }
+        mShapeDrawable.setBounds(mContentBounds);
+        mDashPathDirty = true;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        if (mBoundsDirty) {
+            updateBounds(getBounds());
+        }
+
+        if (mShadowSize > 0) {
+            drawShadow(canvas);
+        }
+
+        mShapeDrawable.draw(canvas);
+
+        if (isStrokeDashLineEnable()) {
+            drawStrokeDashLine(canvas);
+        }
+    }
+
+    private void drawShadow(Canvas canvas) {
+        if (mShadowBitmap == null) {
+            mShadowBitmap = ShapeShadowCache.obtain(mTopLeftRadius, mTopRightRadius,
+                    mBottomLeftRadius, mBottomRightRadius, mShadowSize);
+        }
+        mShadowPaint.setColor(mShadowColor);
+        mShadowPaint.setAlpha(Color.alpha(mShadowColor) * mAlpha / 0xFF);
+        mShadowRect.set(mFillRect);
+        mShadowRect.offset(mShadowOffsetX, mShadowOffsetY);
+        mShadowBitmap.draw(canvas, mShadowRect, mShadowPaint);
+    }
+
+    private void drawStrokeDashLine(Canvas canvas) {
+        if (mDashPathDirty) {
+            mDashPathDirty = false;
+            buildDashPath();
+        }
+        mStrokePaint.setColor(mStrokeColor);
+        mStrokePaint.setAlpha(Color.alpha(mStrokeColor) * mAlpha / 0xFF);
+        mStrokePaint.setStrokeWidth(mStrokeSize);
+        canvas.drawPath(mDashPath, mStrokePaint);
+    }
+
+    /**
+     * 将边框路径按照虚线的长度和间隔进行分段，避免使用硬件加速不支持的 PathEffect
+     */
+    private void buildDashPath() {
+        mDashPath.reset();
+        if (mFillRect.isEmpty()) {
+            return;
+        }
+
+        Path outlinePath = new Path();
+        if (mType == ShapeType.OVAL) {
+            outlinePath.addOval(mFillRect, Path.Direction.CW);
+        } else {
+            outlinePath.addRoundRect(mFillRect, new float[]{
+                    mTopLeftRadius, mTopLeftRadius, mTopRightRadius, mTopRightRadius,
+                    mBottomRightRadius, mBottomRightRadius, mBottomLeftRadius, mBottomLeftRadius}, Path.Direction.CW);
+        }
+
+        PathMeasure pathMeasure = new PathMeasure(outlinePath, false);
+        do {
+            float length = pathMeasure.getLength();
+            float distance = 0;
+            while (distance < length) {
+                pathMeasure.getSegment(distance, Math.min(distance + mStrokeDashSize, length), mDashPath, true);
+                distance += mStrokeDashSize + mStrokeDashGap;
+            }
+        } while (pathMeasure.nextContour());
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        mShapeDrawable.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mShapeDrawable.setColorFilter(colorFilter);
+        mShadowPaint.setColorFilter(colorFilter);
+        mStrokePaint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @NonNull
+    @Override
+    public Drawable mutate() {
+        mShapeDrawable.mutate();
+        return this;
+    }
+
+    /**
+     * 获取常量状态（包含被包装的 ShapeDrawable 的状态和当前的阴影、虚线边框参数），
+     * 被包装的 ShapeDrawable 不支持常量状态时返回空
+     */
+    @Nullable
+    @Override
+    public ConstantState getConstantState() {
+        ConstantState shapeState = mShapeDrawable.getConstantState();
+        if (shapeState == null) {
+            return null;
+        }
+        return new HardwareState(shapeState, this);
+    }
+
+    /**
+     * 硬件渲染包装类的常量状态，复制出来的对象类型仍然是 {@link ShapeHardwareDrawable}
+     */
+    private static final class HardwareState extends ConstantState {
+
+        private final ConstantState mShapeState;
+
+        private final int mType;
+
+        private final float mTopLeftRadius;
+        private final float mTopRightRadius;
+        private final float mBottomLeftRadius;
+        private final float mBottomRightRadius;
+
+        private final int mShadowSize;
+        private final int mShadowColor;
+        private final int mShadowOffsetX;
+        private final int mShadowOffsetY;
+
+        private final int mStrokeColor;
+        private final int mStrokeSize;
+        private final int mStrokeDashSize;
+        private final int mStrokeDashGap;
+
+        private HardwareState(ConstantState shapeState, ShapeHardwareDrawable drawable) {
+            mShapeState = shapeState;
+            mType = drawable.mType;
+            mTopLeftRadius = drawable.mTopLeftRadius;
+            mTopRightRadius = drawable.mTopRightRadius;
+            mBottomLeftRadius = drawable.mBottomLeftRadius;
+            mBottomRightRadius = drawable.mBottomRightRadius;
+            mShadowSize = drawable.mShadowSize;
+            mShadowColor = drawable.mShadowColor;
+            mShadowOffsetX = drawable.mShadowOffsetX;
+            mShadowOffsetY = drawable.mShadowOffsetY;
+            mStrokeColor = drawable.mStrokeColor;
+            mStrokeSize = drawable.mStrokeSize;
+            mStrokeDashSize = drawable.mStrokeDashSize;
+            mStrokeDashGap = drawable.mStrokeDashGap;
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable() {
+            return newDrawable(null);
+        }
+
+        @NonNull
+        @Override
+        public Drawable newDrawable(@Nullable Resources res) {
+            Drawable shapeDrawable = res != null ? mShapeState.newDrawable(res) : mShapeState.newDrawable();
+            return new ShapeHardwareDrawable((ShapeDrawable) shapeDrawable)
+                    .setType(mType)
+                    .setRadius(mTopLeftRadius, mTopRightRadius, mBottomLeftRadius, mBottomRightRadius)
+                    .setShadowSize(mShadowSize)
+                    .setShadowColor(mShadowColor)
+                    .setShadowOffsetX(mShadowOffsetX)
+                    .setShadowOffsetY(mShadowOffsetY)
+                    .setStrokeColor(mStrokeColor)
+                    .setStrokeSize(mStrokeSize)
+                    .setStrokeDashSize(mStrokeDashSize)
+                    .setStrokeDashGap(mStrokeDashGap);
+        }
+
+        @Override
+        public int getChangingConfigurations() {
+            return mShapeState.getChangingConfigurations();
+        }
+    }
+}
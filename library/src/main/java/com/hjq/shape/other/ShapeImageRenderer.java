@@ -0,0 +1,312 @@
+package com.hjq.shape.other;
+
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.DashPathEffect;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.v4.widget.ImageViewCompat;
+import android.widget.ImageView;
+
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+import com.hjq.shape.graphics.ShapeType;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 按照 Shape 的图形绘制 ImageView 的图片（BitmapShader 直接引用原图，不会创建新的位图）
+ */
+public final class ShapeImageRenderer {
+
+    private final Paint mBitmapPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+    private final Paint mStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+    /** 当前图片对应的着色器，图片发生变化时才会重新创建 */
+    private BitmapShader mBitmapShader;
+    private Bitmap mBitmap;
+
+    private final Matrix mShaderMatrix = new Matrix();
+    /** 着色器矩阵是否需要重新计算 */
+    private boolean mMatrixDirty = true;
+    /** 计算着色器矩阵时的图片边界和 View 尺寸 */
+    private final Rect mDrawableBounds = new Rect();
+    private int mViewWidth;
+    private int mViewHeight;
+
+    /** 图片在 View 中显示的区域 */
+    private final RectF mImageRect = new RectF();
+    /** 图片的绘制区域（图形区域和图片显示区域的交集） */
+    private final RectF mContentRect = new RectF();
+    /** 边框的绘制区域 */
+    private final RectF mStrokeRect = new RectF();
+
+    /** 四个圆角不一样大时使用的路径（图形发生变化时才会重新计算） */
+    private final Path mContentPath = new Path();
+    private final Path mStrokePath = new Path();
+    private final float[] mRadii = new float[8];
+    private boolean mPathDirty = true;
+
+    /** 计算绘制区域时的图形参数 */
+    private int mType = -1;
+    private float mTopLeftRadius;
+    private float mTopRightRadius;
+    private float mBottomLeftRadius;
+    private float mBottomRightRadius;
+    private int mShadowSize;
+    private int mStrokeSize;
+    private boolean mStrokeOnTop;
+
+    /** 当前的虚线效果，虚线参数发生变化时才会重新创建 */
+    private DashPathEffect mDashPathEffect;
+    private int mStrokeDashSize;
+    private int mStrokeDashGap;
+
+    /** 当前的着色颜色过滤，着色颜色和模式发生变化时才会重新创建 */
+    private PorterDuffColorFilter mTintFilter;
+    private int mTintColor;
+    private PorterDuff.Mode mTintMode;
+
+    public ShapeImageRenderer() {
+        mStrokePaint.setStyle(Paint.Style.STROKE);
+    }
+
+    /**
+     * 标记着色器矩阵需要重新计算（缩放类型、图片矩阵、内间距发生变化时调用）
+     */
+    public void invalidateMatrix() {
+        mMatrixDirty = true;
+    }
+
+    /**
+     * 按照图形绘制 ImageView 的图片
+     *
+     * @return              不支持的情况（例如不是位图或者不是矩形和椭圆）返回 false，由 ImageView 自己绘制
+     */
+    public boolean draw(@NonNull Canvas canvas, @NonNull ImageView view, @NonNull ShapeDrawableBuilder builder) {
+        int type = builder.getType();
+        if (type != ShapeType.RECTANGLE && type != ShapeType.OVAL) {
+            return false;
+        }
+
+        Drawable drawable = view.getDrawable();
+        if (!(drawable instanceof BitmapDrawable)) {
+            return false;
+        }
+        BitmapDrawable bitmapDrawable = (BitmapDrawable) drawable;
+        Bitmap bitmap = bitmapDrawable.getBitmap();
+        if (bitmap == null || bitmap.isRecycled() || bitmap.getWidth() <= 0 || bitmap.getHeight() <= 0) {
+            return false;
+        }
+
+        if (bitmap != mBitmap) {
+            mBitmap = bitmap;
+            mBitmapShader = new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+            mBitmapPaint.setShader(mBitmapShader);
+            mMatrixDirty = true;
+        }
+
+        if (mMatrixDirty || !mDrawableBounds.equals(drawable.getBounds()) ||
+                mViewWidth != view.getWidth() || mViewHeight != view.getHeight()) {
+            updateShaderMatrix(view, drawable, bitmap);
+            mPathDirty = true;
+        }
+
+        if (isShapeChanged(builder)) {
+            mPathDirty = true;
+        }
+        if (mPathDirty) {
+            mPathDirty = false;
+            updateContentRect(view, builder);
+        }
+
+        if (mContentRect.isEmpty()) {
+            return true;
+        }
+
+        // 透明度和颜色过滤跟随图片本身的设置，没有设置颜色过滤时使用 ImageView 的着色（和 BitmapDrawable 的优先级保持一致）
+        Paint drawablePaint = bitmapDrawable.getPaint();
+        ColorFilter colorFilter = drawablePaint.getColorFilter();
+        if (colorFilter == null) {
+            colorFilter = getTintFilter(view);
+        }
+        mBitmapPaint.setAlpha(drawablePaint.getAlpha());
+        mBitmapPaint.setColorFilter(colorFilter);
+        mBitmapPaint.setFilterBitmap(drawablePaint.isFilterBitmap());
+
+        drawShape(canvas, mContentRect, mContentPath, 0, mBitmapPaint);
+
+        if (mStrokeOnTop) {
+            int strokeColor = builder.getCurrentStrokeColor();
+            if ((strokeColor >>> 24) != 0) {
+                mStrokePaint.setColor(strokeColor);
+                mStrokePaint.setStrokeWidth(mStrokeSize);
+                mStrokePaint.setPathEffect(getDashPathEffect(builder));
+                drawShape(canvas, mStrokeRect, mStrokePath, mStrokeSize / 2f, mStrokePaint);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 计算着色器矩阵：位图 -> 图片边界 -> ImageView 的图片矩阵 -> 内间距（和 ImageView 绘制图片时保持一致）
+     */
+    private void updateShaderMatrix(ImageView view, Drawable drawable, Bitmap bitmap) {
+        mMatrixDirty = false;
+        Rect bounds = drawable.getBounds();
+        mDrawableBounds.set(bounds);
+        mViewWidth = view.getWidth();
+        mViewHeight = view.getHeight();
+
+        mShaderMatrix.setScale(bounds.width() / (float) bitmap.getWidth(),
+                bounds.height() / (float) bitmap.getHeight());
+        mShaderMatrix.postTranslate(bounds.left, bounds.top);
+        mShaderMatrix.postConcat(view.getImageMatrix());
+        mShaderMatrix.postTranslate(view.getPaddingLeft(), view.getPaddingTop());
+        mBitmapShader.setLocalMatrix(mShaderMatrix);
+
+        mImageRect.set(0, 0, bitmap.getWidth(), bitmap.getHeight());
+        mShaderMatrix.mapRect(mImageRect);
+    }
+
+    /**
+     * 图形参数是否发生了变化
+     */
+    private boolean isShapeChanged(ShapeDrawableBuilder builder) {
+        boolean strokeOnTop = builder.getStrokeSize() > 0 && builder.getStrokeGradientColors() == null;
+        if (mType == builder.getType() &&
+                mTopLeftRadius == builder.getTopLeftRadius() &&
+                mTopRightRadius == builder.getTopRightRadius() &&
+                mBottomLeftRadius == builder.getBottomLeftRadius() &&
+                mBottomRightRadius == builder.getBottomRightRadius() &&
+                mShadowSize == builder.getShadowSize() &&
+                mStrokeSize == builder.getStrokeSize() &&
+                mStrokeOnTop == strokeOnTop) {
+            return false;
+        }
+        mType = builder.getType();
+        mTopLeftRadius = builder.getTopLeftRadius();
+        mTopRightRadius = builder.getTopRightRadius();
+        mBottomLeftRadius = builder.getBottomLeftRadius();
+        mBottomRightRadius = builder.getBottomRightRadius();
+        mShadowSize = builder.getShadowSize();
+        mStrokeSize = builder.getStrokeSize();
+        mStrokeOnTop = strokeOnTop;
+        return true;
+    }
+
+    /**
+     * 计算图片和边框的绘制区域
+     */
+    private void updateContentRect(ImageView view, ShapeDrawableBuilder builder) {
+        // 和背景的图形区域保持一致：阴影占用四周的空间
+        mContentRect.set(mShadowSize, mShadowSize, view.getWidth() - mShadowSize, view.getHeight() - mShadowSize);
+        if (mStrokeSize > 0 && !mStrokeOnTop) {
+            // 渐变边框不在图片上面重新绘制，图片缩小到边框里面，露出背景中的边框
+            mContentRect.inset(mStrokeSize, mStrokeSize);
+        }
+        mStrokeRect.set(mContentRect);
+        if (!mContentRect.intersect(mImageRect)) {
+            mContentRect.setEmpty();
+            return;
+        }
+        if (mStrokeOnTop) {
+            // 边框跟随图片的显示区域
+            mStrokeRect.set(mContentRect);
+            mStrokeRect.inset(mStrokeSize / 2f, mStrokeSize / 2f);
+        }
+
+        if (mType != ShapeType.RECTANGLE || isUniformRadius()) {
+            return;
+        }
+        float inset = mStrokeOnTop ? 0 : mStrokeSize;
+        updateRoundRectPath(mContentPath, mContentRect, inset);
+        if (mStrokeOnTop) {
+            updateRoundRectPath(mStrokePath, mStrokeRect, mStrokeSize / 2f);
+        }
+    }
+
+    private void updateRoundRectPath(Path path, RectF rect, float inset) {
+        mRadii[0] = mRadii[1] = Math.max(0, mTopLeftRadius - inset);
+        mRadii[2] = mRadii[3] = Math.max(0, mTopRightRadius - inset);
+        mRadii[4] = mRadii[5] = Math.max(0, mBottomRightRadius - inset);
+        mRadii[6] = mRadii[7] = Math.max(0, mBottomLeftRadius - inset);
+        path.rewind();
+        path.addRoundRect(rect, mRadii, Path.Direction.CW);
+    }
+
+    private boolean isUniformRadius() {
+        return mTopRightRadius == mTopLeftRadius &&
+                mBottomLeftRadius == mTopLeftRadius &&
+                mBottomRightRadius == mTopLeftRadius;
+    }
+
+    /**
+     * 绘制图形，圆形和四个圆角一样大的圆角矩形直接绘制，不需要用到路径
+     *
+     * @param inset         相对于图形区域的缩进距离（用于计算圆角半径）
+     */
+    private void drawShape(Canvas canvas, RectF rect, Path path, float inset, Paint paint) {
+        if (mType == ShapeType.OVAL) {
+            canvas.drawOval(rect, paint);
+        } else if (isUniformRadius()) {
+            float radius = mTopLeftRadius - inset - (mStrokeOnTop ? 0 : mStrokeSize);
+            if (radius > 0) {
+                canvas.drawRoundRect(rect, radius, radius, paint);
+            } else {
+                canvas.drawRect(rect, paint);
+            }
+        } else {
+            canvas.drawPath(path, paint);
+        }
+    }
+
+    /**
+     * 获取 ImageView 着色（android:tint、app:tint、setImageTintList）对应的颜色过滤，没有设置着色则返回 null
+     *
+     * 图片是通过着色器直接绘制的，不会经过 BitmapDrawable 的绘制方法，所以需要在这里应用着色
+     */
+    private ColorFilter getTintFilter(ImageView view) {
+        ColorStateList tintList = ImageViewCompat.getImageTintList(view);
+        if (tintList == null) {
+            return null;
+        }
+        PorterDuff.Mode tintMode = ImageViewCompat.getImageTintMode(view);
+        if (tintMode == null) {
+            tintMode = PorterDuff.Mode.SRC_IN;
+        }
+        int tintColor = tintList.getColorForState(view.getDrawableState(), tintList.getDefaultColor());
+        if (mTintFilter == null || mTintColor != tintColor || mTintMode != tintMode) {
+            mTintColor = tintColor;
+            mTintMode = tintMode;
+            mTintFilter = new PorterDuffColorFilter(tintColor, tintMode);
+        }
+        return mTintFilter;
+    }
+
+    private DashPathEffect getDashPathEffect(ShapeDrawableBuilder builder) {
+        int dashSize = builder.getStrokeDashSize();
+        int dashGap = builder.getStrokeDashGap();
+        if (dashSize <= 0 || dashGap <= 0) {
+            return null;
+        }
+        if (mDashPathEffect == null || mStrokeDashSize != dashSize || mStrokeDashGap != dashGap) {
+            mStrokeDashSize = dashSize;
+            mStrokeDashGap = dashGap;
+            mDashPathEffect = new DashPathEffect(new float[]{dashSize, dashGap}, 0);
+        }
+        return mDashPathEffect;
+    }
+}
@@ -0,0 +1,533 @@
+package com.hjq.shape.other;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 在 RecyclerView 中统一绘制条目的卡片背景，一次绘制完所有条目的阴影、填充和边框
+ *
+ *             同一个分组中相邻的条目合并成一个卡片绘制，只有分组的第一个条目有顶部圆角，最后一个条目有底部圆角，
+ *             条目本身不需要再设置背景，所有条目共用同一套画笔和路径
+ *
+ *             分组只在纵向的 LinearLayoutManager 中生效（支持 reverseLayout，反向布局时分组的第一个条目在下面），
+ *             网格、瀑布流、横向列表不合并分组，除了 ROLE_NONE 之外的条目都按照 ROLE_SINGLE 单独绘制成卡片
+ */
+public class ShapeItemDecoration extends RecyclerView.ItemDecoration {
+
+    /** 不绘制背景 */
+    public static final int ROLE_NONE = 0;
+    /** 单独的卡片（四个角都有圆角） */
+    public static final int ROLE_SINGLE = 1;
+    /** 分组的第一个条目（只有顶部圆角） */
+    public static final int ROLE_FIRST = 2;
+    /** 分组的中间条目（没有圆角） */
+    public static final int ROLE_MIDDLE = 3;
+    /** 分组的最后一个条目（只有底部圆角） */
+    public static final int ROLE_LAST = 4;
+
+    /**
+     * 条目的背景类型提供者（可以直接由 Adapter 实现，根据数据返回即可，不需要创建额外的对象）
+     */
+    public interface RoleProvider {
+
+        /**
+         * 获取条目的背景类型（{@link #ROLE_NONE}、{@link #ROLE_SINGLE}、{@link #ROLE_FIRST}、{@link #ROLE_MIDDLE}、{@link #ROLE_LAST}）
+         */
+        int getItemShapeRole(int position);
+    }
+
+    /** 圆角组合的数量：顶部圆角（有/无）x 底部圆角（有/无） */
+    private static final int CORNER_COUNT = 4;
+    private static final int CORNER_TOP = 1;
+    private static final int CORNER_BOTTOM = 1 << 1;
+
+    @Nullable
+    private RoleProvider mRoleProvider;
+
+    private int mSolidColor = Color.TRANSPARENT;
+    private int mStrokeColor = Color.TRANSPARENT;
+    private int mStrokeSize;
+
+    private float mTopLeftRadius;
+    private float mTopRightRadius;
+    private float mBottomLeftRadius;
+    private float mBottomRightRadius;
+
+    private int mShadowSize;
+    private int mShadowColor;
+    private int mShadowOffsetX;
+    private int mShadowOffsetY;
+
+    private final Paint mSolidPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mShadowPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    private final Path mPath = new Path();
+    /** 当前分组的区域 */
+    private final RectF mGroupRect = new RectF();
+    /** 绘制时使用的区域 */
+    private final RectF mDrawRect = new RectF();
+
+    /** 每种圆角组合对应的圆角半径（路径绘制时使用） */
+    private final float[][] mCornerRadii = new float[CORNER_COUNT][8];
+    /** 边框缩进之后的圆角半径 */
+    private final float[] mInsetRadii = new float[8];
+    /** 每种圆角组合对应的阴影位图（参数发生变化时清空） */
+    private final ShapeShadowBitmap[] mShadowBitmaps = new ShapeShadowBitmap[CORNER_COUNT];
+    /** 参数是否发生了变化 */
+    private boolean mConfigDirty = true;
+
+    /** 按照适配器位置排序之后的子 View 和它们的位置（重复使用，子 View 变多时才会扩容） */
+    private View[] mChildren = new View[0];
+    private int[] mPositions = new int[0];
+
+    public ShapeItemDecoration(@NonNull Context context) {
+        mStrokePaint.setStyle(Paint.Style.STROKE);
+        // 阴影位图的缓存需要在内存紧张时释放（重复注册只会注册一次）
+        ShapeShadowCache.register(context);
+    }
+
+    /**
+     * 使用 ShapeDrawableBuilder 中的填充色、边框、圆角和阴影参数（渐变色和状态颜色不支持）
+     */
+    public ShapeItemDecoration(@NonNull Context context, @NonNull ShapeDrawableBuilder builder) {
+        this(context);
+        setSolidColor(builder.getSolidColor())
+                .setStrokeColor(builder.getStrokeColor())
+                .setStrokeSize(builder.getStrokeSize())
+                .setRadius(builder.getTopLeftRadius(), builder.getTopRightRadius(),
+                        builder.getBottomLeftRadius(), builder.getBottomRightRadius())
+                .setShadowSize(builder.getShadowSize())
+                .setShadowColor(builder.getShadowColor())
+                .setShadowOffsetX(builder.getShadowOffsetX())
+                .setShadowOffsetY(builder.getShadowOffsetY());
+    }
+
+    /**
+     * 设置条目的背景类型提供者，为空则所有条目都是单独的卡片（Adapter 实现了 {@link RoleProvider} 则不需要设置）
+     */
+    public ShapeItemDecoration setRoleProvider(@Nullable RoleProvider provider) {
+        mRoleProvider = provider;
+        return this;
+    }
+
+    public ShapeItemDecoration setSolidColor(int color) {
+        mSolidColor = color;
+        return this;
+    }
+
+    public int getSolidColor() {
+        return mSolidColor;
+    }
+
+    public ShapeItemDecoration setStrokeColor(int color) {
+        mStrokeColor = color;
+        return this;
+    }
+
+    public int getStrokeColor() {
+        return mStrokeColor;
+    }
+
+    public ShapeItemDecoration setStrokeSize(int size) {
+        mStrokeSize = size;
+        return this;
+    }
+
+    public int getStrokeSize() {
+        return mStrokeSize;
+    }
+
+    public ShapeItemDecoration setRadius(float radius) {
+        return setRadius(radius, radius, radius, radius);
+    }
+
+    public ShapeItemDecoration setRadius(float topLeftRadius, float topRightRadius,
+                                         float bottomLeftRadius, float bottomRightRadius) {
+        mTopLeftRadius = topLeftRadius;
+        mTopRightRadius = topRightRadius;
+        mBottomLeftRadius = bottomLeftRadius;
+        mBottomRightRadius = bottomRightRadius;
+        mConfigDirty = true;
+        return this;
+    }
+
+    public float getTopLeftRadius() {
+        return mTopLeftRadius;
+    }
+
+    public float getTopRightRadius() {
+        return mTopRightRadius;
+    }
+
+    public float getBottomLeftRadius() {
+        return mBottomLeftRadius;
+    }
+
+    public float getBottomRightRadius() {
+        return mBottomRightRadius;
+    }
+
+    public ShapeItemDecoration setShadowSize(int size) {
+        mShadowSize = size;
+        mConfigDirty = true;
+        return this;
+    }
+
+    public int getShadowSize() {
+        return mShadowSize;
+    }
+
+    public ShapeItemDecoration setShadowColor(int color) {
+        mShadowColor = color;
+        return this;
+    }
+
+    public int getShadowColor() {
+        return mShadowColor;
+    }
+
+    public ShapeItemDecoration setShadowOffsetX(int offsetX) {
+        mShadowOffsetX = offsetX;
+        return this;
+    }
+
+    public int getShadowOffsetX() {
+        return mShadowOffsetX;
+    }
+
+    public ShapeItemDecoration setShadowOffsetY(int offsetY) {
+        mShadowOffsetY = offsetY;
+        return this;
+    }
+
+    public int getShadowOffsetY() {
+        return mShadowOffsetY;
+    }
+
+    /**
+     * 给阴影留出空间：卡片四周都要留出阴影大小的间距，分组中间的条目上下不需要留
+     */
+    @Override
+    public void getItemOffsets(@NonNull Rect outRect, @NonNull View view, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        outRect.setEmpty();
+        if (mShadowSize <= 0) {
+            return;
+        }
+        int position = parent.getChildAdapterPosition(view);
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int role = getItemRole(getRoleProvider(parent), position);
+        if (role == ROLE_NONE) {
+            return;
+        }
+
+        boolean roundTop = true;
+        boolean roundBottom = true;
+        if (isGroupEnabled(parent)) {
+            boolean roundStart = role == ROLE_SINGLE || role == ROLE_FIRST;
+            boolean roundEnd = role == ROLE_SINGLE || role == ROLE_LAST;
+            boolean reverseLayout = ((LinearLayoutManager) parent.getLayoutManager()).getReverseLayout();
+            roundTop = reverseLayout ? roundEnd : roundStart;
+            roundBottom = reverseLayout ? roundStart : roundEnd;
+        }
+
+        // 阴影偏移之后，偏移方向上需要更多的空间
+        outRect.left = Math.max(0, mShadowSize - mShadowOffsetX);
+        outRect.right = Math.max(0, mShadowSize + mShadowOffsetX);
+        outRect.top = roundTop ? Math.max(0, mShadowSize - mShadowOffsetY) : 0;
+        outRect.bottom = roundBottom ? Math.max(0, mShadowSize + mShadowOffsetY) : 0;
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        if (mConfigDirty) {
+            mConfigDirty = false;
+            updateCorners();
+        }
+
+        RoleProvider roleProvider = getRoleProvider(parent);
+        // 子 View 的顺序和适配器位置不一定一致（例如反向布局、条目动画），先按照适配器位置排序
+        int childCount = collectChildren(parent);
+
+        if (!isGroupEnabled(parent)) {
+            for (int i = 0; i < childCount; i++) {
+                if (getItemRole(roleProvider, mPositions[i]) == ROLE_NONE) {
+                    continue;
+                }
+                setChildRect(mGroupRect, mChildren[i]);
+                drawCard(canvas, mGroupRect, true, true);
+            }
+            clearChildren(childCount);
+            return;
+        }
+
+        boolean reverseLayout = ((LinearLayoutManager) parent.getLayoutManager()).getReverseLayout();
+        // 当前是否有还没有绘制的分组，以及这个分组的第一个条目是否在屏幕内
+        boolean groupOpen = false;
+        boolean groupRoundStart = false;
+        int lastPosition = RecyclerView.NO_POSITION;
+
+        for (int i = 0; i < childCount; i++) {
+            View child = mChildren[i];
+            int position = mPositions[i];
+            if (groupOpen && position != lastPosition + 1) {
+                // 中间有条目不在屏幕上（例如正在执行移除动画），分组在这里断开
+                drawGroup(canvas, groupRoundStart, false, reverseLayout);
+                groupOpen = false;
+            }
+            lastPosition = position;
+
+            int role = getItemRole(roleProvider, position);
+            switch (role) {
+                case ROLE_SINGLE:
+                    if (groupOpen) {
+                        drawGroup(canvas, groupRoundStart, false, reverseLayout);
+                        groupOpen = false;
+                    }
+                    setChildRect(mGroupRect, child);
+                    drawGroup(canvas, true, true, reverseLayout);
+                    break;
+                case ROLE_FIRST:
+                    if (groupOpen) {
+                        drawGroup(canvas, groupRoundStart, false, reverseLayout);
+                    }
+                    setChildRect(mGroupRect, child);
+                    groupOpen = true;
+                    groupRoundStart = true;
+                    break;
+                case ROLE_MIDDLE:
+                case ROLE_LAST:
+                    if (groupOpen) {
+                        unionChildRect(mGroupRect, child);
+                    } else {
+                        // 分组的第一个条目已经滑出屏幕
+                        setChildRect(mGroupRect, child);
+                        groupOpen = true;
+                        groupRoundStart = false;
+                    }
+                    if (role == ROLE_LAST) {
+                        drawGroup(canvas, groupRoundStart, true, reverseLayout);
+                        groupOpen = false;
+                    }
+                    break;
+                default:
+                    if (groupOpen) {
+                        drawGroup(canvas, groupRoundStart, false, reverseLayout);
+                        groupOpen = false;
+                    }
+                    break;
+            }
+        }
+
+        if (groupOpen) {
+            // 分组的最后一个条目还没有滑进屏幕
+            drawGroup(canvas, groupRoundStart, false, reverseLayout);
+        }
+        clearChildren(childCount);
+    }
+
+    /**
+     * 是否合并分组（只有纵向的线性列表才会合并，网格也是 LinearLayoutManager 的子类，需要排除）
+     */
+    private static boolean isGroupEnabled(RecyclerView parent) {
+        RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
+        return layoutManager instanceof LinearLayoutManager &&
+                !(layoutManager instanceof GridLayoutManager) &&
+                ((LinearLayoutManager) layoutManager).getOrientation() == LinearLayoutManager.VERTICAL;
+    }
+
+    private static int getItemRole(@Nullable RoleProvider roleProvider, int position) {
+        return roleProvider != null ? roleProvider.getItemShapeRole(position) : ROLE_SINGLE;
+    }
+
+    /**
+     * 收集有适配器位置的子 View，并按照适配器位置从小到大排序
+     *
+     * @return          收集到的子 View 数量
+     */
+    private int collectChildren(RecyclerView parent) {
+        int childCount = parent.getChildCount();
+        if (mChildren.length < childCount) {
+            mChildren = new View[childCount];
+            mPositions = new int[childCount];
+        }
+        int count = 0;
+        for (int i = 0; i < childCount; i++) {
+            View child = parent.getChildAt(i);
+            int position = parent.getChildAdapterPosition(child);
+            if (position == RecyclerView.NO_POSITION) {
+                continue;
+            }
+            // 插入排序：子 View 通常已经是有序的（或者完全反序），只需要很少的移动
+            int index = count;
+            while (index > 0 && mPositions[index - 1] > position) {
+                mChildren[index] = mChildren[index - 1];
+                mPositions[index] = mPositions[index - 1];
+                index--;
+            }
+            mChildren[index] = child;
+            mPositions[index] = position;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 释放对子 View 的引用
+     */
+    private void clearChildren(int count) {
+        for (int i = 0; i < count; i++) {
+            mChildren[i] = null;
+        }
+    }
+
+    private static void setChildRect(RectF rect, View child) {
+        rect.set(child.getLeft() + child.getTranslationX(), child.getTop() + child.getTranslationY(),
+                child.getRight() + child.getTranslationX(), child.getBottom() + child.getTranslationY());
+    }
+
+    private static void unionChildRect(RectF rect, View child) {
+        rect.union(child.getLeft() + child.getTranslationX(), child.getTop() + child.getTranslationY(),
+                child.getRight() + child.getTranslationX(), child.getBottom() + child.getTranslationY());
+    }
+
+    /**
+     * 绘制当前分组，反向布局时分组的第一个条目在下面
+     *
+     * @param roundStart        分组的第一个条目是否在屏幕内
+     * @param roundEnd          分组的最后一个条目是否在屏幕内
+     */
+    private void drawGroup(Canvas canvas, boolean roundStart, boolean roundEnd, boolean reverseLayout) {
+        if (reverseLayout) {
+            drawCard(canvas, mGroupRect, roundEnd, roundStart);
+        } else {
+            drawCard(canvas, mGroupRect, roundStart, roundEnd);
+        }
+    }
+
+    @Nullable
+    private RoleProvider getRoleProvider(RecyclerView parent) {
+        if (mRoleProvider != null) {
+            return mRoleProvider;
+        }
+        RecyclerView.Adapter<?> adapter = parent.getAdapter();
+        if (adapter instanceof RoleProvider) {
+            return (RoleProvider) adapter;
+        }
+        return null;
+    }
+
+    /**
+     * 计算每种圆角组合的圆角半径，并清空之前的阴影位图
+     */
+    private void updateCorners() {
+        for (int corners = 0; corners < CORNER_COUNT; corners++) {
+            float topLeft = (corners & CORNER_TOP) != 0 ? mTopLeftRadius : 0;
+            float topRight = (corners & CORNER_TOP) != 0 ? mTopRightRadius : 0;
+            float bottomLeft = (corners & CORNER_BOTTOM) != 0 ? mBottomLeftRadius : 0;
+            float bottomRight = (corners & CORNER_BOTTOM) != 0 ? mBottomRightRadius : 0;
+            float[] radii = mCornerRadii[corners];
+            radii[0] = radii[1] = topLeft;
+            radii[2] = radii[3] = topRight;
+            radii[4] = radii[5] = bottomRight;
+            radii[6] = radii[7] = bottomLeft;
+            mShadowBitmaps[corners] = null;
+        }
+    }
+
+    /**
+     * 绘制一个卡片（阴影 -> 填充 -> 边框）
+     *
+     * @param roundTop          顶部是否有圆角，没有则说明分组的顶部在屏幕外，需要向外延伸
+     * @param roundBottom       底部是否有圆角，没有则说明分组的底部在屏幕外，需要向外延伸
+     */
+    private void drawCard(Canvas canvas, RectF rect, boolean roundTop, boolean roundBottom) {
+        int corners = (roundTop ? CORNER_TOP : 0) | (roundBottom ? CORNER_BOTTOM : 0);
+        float[] radii = mCornerRadii[corners];
+
+        // 在屏幕外的那一边向外延伸，避免在可见区域内露出阴影和边框的边缘
+        float extend = mShadowSize + Math.abs(mShadowOffsetY) + mStrokeSize;
+        mDrawRect.set(rect);
+        if (!roundTop) {
+            mDrawRect.top -= extend;
+        }
+        if (!roundBottom) {
+            mDrawRect.bottom += extend;
+        }
+        if (mDrawRect.isEmpty()) {
+            return;
+        }
+
+        if (mShadowSize > 0 && Color.alpha(mShadowColor) != 0) {
+            ShapeShadowBitmap shadowBitmap = mShadowBitmaps[corners];
+            if (shadowBitmap == null) {
+                shadowBitmap = ShapeShadowCache.obtain(radii[0], radii[2], radii[6], radii[4], mShadowSize);
+                mShadowBitmaps[corners] = shadowBitmap;
+            }
+            mShadowPaint.setColor(mShadowColor);
+            mDrawRect.offset(mShadowOffsetX, mShadowOffsetY);
+            shadowBitmap.draw(canvas, mDrawRect, mShadowPaint);
+            mDrawRect.offset(-mShadowOffsetX, -mShadowOffsetY);
+        }
+
+        if (Color.alpha(mSolidColor) != 0) {
+            mSolidPaint.setColor(mSolidColor);
+            drawRoundRect(canvas, mDrawRect, radii, 0, mSolidPaint);
+        }
+
+        if (mStrokeSize > 0 && Color.alpha(mStrokeColor) != 0) {
+            // 边框以卡片的边缘向内缩进半个边框宽度为中心线
+            float strokeInset = mStrokeSize / 2f;
+            mDrawRect.inset(strokeInset, strokeInset);
+            mStrokePaint.setColor(mStrokeColor);
+            mStrokePaint.setStrokeWidth(mStrokeSize);
+            drawRoundRect(canvas, mDrawRect, radii, strokeInset, mStrokePaint);
+        }
+    }
+
+    /**
+     * 绘制圆角矩形，四个圆角一样大时直接绘制，否则使用共用的路径绘制
+     *
+     * @param inset             相对于卡片边缘的缩进距离（圆角半径需要减去这个距离）
+     */
+    private void drawRoundRect(Canvas canvas, RectF rect, float[] radii, float inset, Paint paint) {
+        float radius = radii[0];
+        if (radii[2] == radius && radii[4] == radius && radii[6] == radius) {
+            radius = Math.max(0, radius - inset);
+            if (radius > 0) {
+                canvas.drawRoundRect(rect, radius, radius, paint);
+            } else {
+                canvas.drawRect(rect, paint);
+            }
+            return;
+        }
+
+        if (inset > 0) {
+            for (int i = 0; i < radii.length; i++) {
+                mInsetRadii[i] = Math.max(0, radii[i] - inset);
+            }
+            radii = mInsetRadii;
+        }
+        mPath.rewind();
+        mPath.addRoundRect(rect, radii, Path.Direction.CW);
+        canvas.drawPath(mPath, paint);
+    }
+}
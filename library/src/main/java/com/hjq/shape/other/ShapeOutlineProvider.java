@@ -0,0 +1,90 @@
+package com.hjq.shape.other;
+
+import android.graphics.Outline;
+import android.graphics.Path;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.RequiresApi;
+import android.view.View;
+import android.view.ViewOutlineProvider;
+
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+import com.hjq.shape.graphics.ShapeType;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 根据 ShapeDrawableBuilder 的图形生成 View 的轮廓，用于硬件加速的轮廓裁剪
+ */
+@RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+public class ShapeOutlineProvider extends ViewOutlineProvider {
+
+    private final ShapeDrawableBuilder mShapeDrawableBuilder;
+
+    public ShapeOutlineProvider(@NonNull ShapeDrawableBuilder builder) {
+        mShapeDrawableBuilder = builder;
+    }
+
+    /**
+     * 当前的图形能否通过轮廓进行裁剪（轮廓只支持矩形、四个圆角一样大的圆角矩形、圆形，并且不能有阴影）
+     */
+    public static boolean canClip(@NonNull ShapeDrawableBuilder builder, int width, int height) {
+        if (builder.getShadowSize() > 0) {
+            // 轮廓裁剪会连同背景一起裁剪，有阴影的时候只能裁剪子 View
+            return false;
+        }
+        switch (builder.getType()) {
+            case ShapeType.RECTANGLE:
+                float radius = builder.getTopLeftRadius();
+                return builder.getTopRightRadius() == radius &&
+                        builder.getBottomLeftRadius() == radius &&
+                        builder.getBottomRightRadius() == radius;
+            case ShapeType.OVAL:
+                return width == height;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void getOutline(View view, Outline outline) {
+        int type = mShapeDrawableBuilder.getType();
+        if (type != ShapeType.RECTANGLE && type != ShapeType.OVAL) {
+            // 其他的图形不支持裁剪，保持和背景一样的轮廓
+            BACKGROUND.getOutline(view, outline);
+            return;
+        }
+
+        boolean canClip = canClip(mShapeDrawableBuilder, view.getWidth(), view.getHeight());
+        // 轮廓会在 View 大小和图形发生变化时重新计算，在这里同步是否需要轮廓裁剪（例如圆形的宽高不再相等）
+        if (view.getClipToOutline() != canClip) {
+            view.setClipToOutline(canClip);
+        }
+
+        if (!canClip) {
+            // 不能用于裁剪的图形使用路径作为轮廓，只用于绘制阴影，不会开启轮廓裁剪，子 View 会改用路径裁剪
+            // （Android 13 开始路径轮廓也支持裁剪，开启的话会和路径裁剪重复，有阴影时还会把背景一起裁剪掉）
+            Path path = mShapeDrawableBuilder.getClipPath();
+            if (path != null && path.isConvex()) {
+                outline.setConvexPath(path);
+            } else {
+                BACKGROUND.getOutline(view, outline);
+            }
+            return;
+        }
+
+        // 和背景的图形区域保持一致：阴影占用四周的空间
+        int inset = mShapeDrawableBuilder.getShadowSize();
+        int left = inset;
+        int top = inset;
+        int right = view.getWidth() - inset;
+        int bottom = view.getHeight() - inset;
+
+        if (type == ShapeType.OVAL) {
+            outline.setOval(left, top, right, bottom);
+        } else {
+            outline.setRoundRect(left, top, right, bottom, mShapeDrawableBuilder.getTopLeftRadius());
+        }
+    }
+}
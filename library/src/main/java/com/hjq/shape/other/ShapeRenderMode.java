@@ -0,0 +1,18 @@
+package com.hjq.shape.other;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 阴影和虚线边框的渲染模式
+ */
+public final class ShapeRenderMode {
+
+    /** 软件渲染：虚线边框和矩形以外的阴影需要关闭 View 的硬件加速，矩形的阴影使用缓存的模糊位图绘制（默认） */
+    public static final int SOFTWARE = 0;
+
+    /** 硬件渲染：阴影使用缓存的模糊位图绘制（只支持矩形），虚线使用路径分段绘制，不支持的情况会自动回退到软件渲染 */
+    public static final int HARDWARE = 1;
+
+    private ShapeRenderMode() {}
+}
@@ -0,0 +1,138 @@
+package com.hjq.shape.other;
+
+import android.graphics.Bitmap;
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.support.annotation.NonNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 预先渲染好的模糊阴影位图，按照九宫格的方式拉伸绘制到任意尺寸上
+ */
+final class ShapeShadowBitmap {
+
+    /** 九宫格中间可拉伸区域的大小 */
+    private static final int STRETCH_SIZE = 2;
+
+    /** 阴影遮罩（只有透明度，颜色由画笔决定） */
+    private final Bitmap mBitmap;
+
+    /** 阴影向图形外扩散的距离 */
+    private final int mPadding;
+
+    /** 九宫格四周不可拉伸区域的大小 */
+    private final int mSliceLeft;
+    private final int mSliceTop;
+    private final int mSliceRight;
+    private final int mSliceBottom;
+
+    private final Rect mSrcRect = new Rect();
+    private final RectF mDstRect = new RectF();
+
+    private ShapeShadowBitmap(Bitmap bitmap, int padding,
+                              int sliceLeft, int sliceTop, int sliceRight, int sliceBottom) {
+        mBitmap = bitmap;
+        mPadding = padding;
+        mSliceLeft = sliceLeft;
+        mSliceTop = sliceTop;
+        mSliceRight = sliceRight;
+        mSliceBottom = sliceBottom;
+    }
+
+    /**
+     * 渲染一个圆角矩形的阴影位图
+     */
+    @NonNull
+    static ShapeShadowBitmap create(float topLeftRadius, float topRightRadius,
+                                    float bottomLeftRadius, float bottomRightRadius, int shadowSize) {
+        int padding = shadowSize;
+        // 圆角以及模糊向图形内部渐变的区域都不能被拉伸
+        int sliceLeft = padding + (int) Math.ceil(Math.max(topLeftRadius, bottomLeftRadius)) + shadowSize;
+        int sliceTop = padding + (int) Math.ceil(Math.max(topLeftRadius, topRightRadius)) + shadowSize;
+        int sliceRight = padding + (int) Math.ceil(Math.max(topRightRadius, bottomRightRadius)) + shadowSize;
+        int sliceBottom = padding + (int) Math.ceil(Math.max(bottomLeftRadius, bottomRightRadius)) + shadowSize;
+
+        int width = sliceLeft + STRETCH_SIZE + sliceRight;
+        int height = sliceTop + STRETCH_SIZE + sliceBottom;
+
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+        Canvas canvas = new Canvas(bitmap);
+
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(Color.BLACK);
+        paint.setMaskFilter(new BlurMaskFilter(shadowSize, BlurMaskFilter.Blur.NORMAL));
+
+        Path path = new Path();
+        path.addRoundRect(new RectF(padding, padding, width - padding, height - padding), new float[]{
+                topLeftRadius, topLeftRadius, topRightRadius, topRightRadius,
+                bottomRightRadius, bottomRightRadius, bottomLeftRadius, bottomLeftRadius}, Path.Direction.CW);
+        canvas.drawPath(path, paint);
+
+        return new ShapeShadowBitmap(bitmap, padding, sliceLeft, sliceTop, sliceRight, sliceBottom);
+    }
+
+    /**
+     * 将阴影绘制到图形的四周（只能在主线程中调用）
+     *
+     * @param shapeRect         图形所在的区域（已经包含阴影的偏移）
+     * @param paint             绘制阴影的画笔（画笔的颜色即为阴影的颜色）
+     */
+    void draw(@NonNull Canvas canvas, @NonNull RectF shapeRect, @NonNull Paint paint) {
+        float left = shapeRect.left - mPadding;
+        float top = shapeRect.top - mPadding;
+        float right = shapeRect.right + mPadding;
+        float bottom = shapeRect.bottom + mPadding;
+
+        // 区域比九宫格四周还要小的时候，按比例缩小四周的区域
+        float scaleX = Math.min(1f, (right - left) / (mSliceLeft + mSliceRight));
+        float scaleY = Math.min(1f, (bottom - top) / (mSliceTop + mSliceBottom));
+
+        float x1 = left + mSliceLeft * scaleX;
+        float x2 = right - mSliceRight * scaleX;
+        float y1 = top + mSliceTop * scaleY;
+        float y2 = bottom - mSliceBottom * scaleY;
+
+        int srcX1 = mSliceLeft;
+        int srcX2 = mBitmap.getWidth() - mSliceRight;
+        int srcY1 = mSliceTop;
+        int srcY2 = mBitmap.getHeight() - mSliceBottom;
+
+        // 上面三块
+        drawSlice(canvas, paint, 0, 0, srcX1, srcY1, left, top, x1, y1);
+        drawSlice(canvas, paint, srcX1, 0, srcX2, srcY1, x1, top, x2, y1);
+        drawSlice(canvas, paint, srcX2, 0, mBitmap.getWidth(), srcY1, x2, top, right, y1);
+        // 中间三块
+        drawSlice(canvas, paint, 0, srcY1, srcX1, srcY2, left, y1, x1, y2);
+        drawSlice(canvas, paint, srcX1, srcY1, srcX2, srcY2, x1, y1, x2, y2);
+        drawSlice(canvas, paint, srcX2, srcY1, mBitmap.getWidth(), srcY2, x2, y1, right, y2);
+        // 下面三块
+        drawSlice(canvas, paint, 0, srcY2, srcX1, mBitmap.getHeight(), left, y2, x1, bottom);
+        drawSlice(canvas, paint, srcX1, srcY2, srcX2, mBitmap.getHeight(), x1, y2, x2, bottom);
+        drawSlice(canvas, paint, srcX2, srcY2, mBitmap.getWidth(), mBitmap.getHeight(), x2, y2, right, bottom);
+    }
+
+    private void drawSlice(Canvas canvas, Paint paint,
+                           int srcLeft, int srcTop, int srcRight, int srcBottom,
+                           float dstLeft, float dstTop, float dstRight, float dstBottom) {
+        if (dstRight <= dstLeft || dstBottom <= dstTop) {
+            return;
+        }
+        mSrcRect.set(srcLeft, srcTop, srcRight, srcBottom);
+        mDstRect.set(dstLeft, dstTop, dstRight, dstBottom);
+        canvas.drawBitmap(mBitmap, mSrcRect, mDstRect, paint);
+    }
+
+    /**
+     * 获取阴影位图占用的字节数
+     */
+    int getByteCount() {
+        return mBitmap.getByteCount();
+    }
+}
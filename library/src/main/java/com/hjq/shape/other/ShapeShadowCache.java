@@ -0,0 +1,187 @@
+package com.hjq.shape.other;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.support.annotation.NonNull;
+import android.util.LruCache;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 阴影位图缓存，相同圆角和阴影大小的图形共用同一张阴影位图
+ *             （软件渲染和硬件渲染模式下都会使用，但是只支持矩形，参考 {@link ShapeRenderMode}）
+ */
+public final class ShapeShadowCache {
+
+    /** 默认最大缓存字节数 */
+    private static final int DEFAULT_MAX_BYTES = 1024 * 1024;
+
+    private static int sMaxBytes = DEFAULT_MAX_BYTES;
+
+    private static LruCache<ShadowKey, ShapeShadowBitmap> sCache = createCache(DEFAULT_MAX_BYTES);
+
+    /** 是否已经注册了内存回调 */
+    private static boolean sRegistered;
+
+    private ShapeShadowCache() {}
+
+    private static LruCache<ShadowKey, ShapeShadowBitmap> createCache(int maxBytes) {
+        return new LruCache<ShadowKey, ShapeShadowBitmap>(maxBytes) {
+
+            @Override
+            protected int sizeOf(ShadowKey key, ShapeShadowBitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * 注册系统内存回调，内存紧张的时候自动释放阴影位图（重复调用只会注册一次）
+     */
+    public static void register(@NonNull Context context) {
+        synchronized (ShapeShadowCache.class) {
+            if (sRegistered) {
+                return;
+            }
+            sRegistered = true;
+        }
+        context.getApplicationContext().registerComponentCallbacks(new ComponentCallbacks2() {
+
+            @Override
+            public void onTrimMemory(int level) {
+                trimMemory(level);
+            }
+
+            @Override
+            public void onConfigurationChanged(Configuration newConfig) {}
+
+            @Override
+            public void onLowMemory() {
+                clear();
+            }
+        });
+    }
+
+    /**
+     * 设置最大缓存字节数（会清空当前缓存的内容）
+     */
+    public static synchronized void setMaxBytes(int maxBytes) {
+        sMaxBytes = maxBytes;
+        sCache = createCache(maxBytes);
+    }
+
+    public static synchronized int getMaxBytes() {
+        return sMaxBytes;
+    }
+
+    /**
+     * 获取阴影位图，没有缓存则渲染一张新的（阴影颜色和偏移在绘制时处理，不影响位图内容）
+     */
+    @NonNull
+    static ShapeShadowBitmap obtain(float topLeftRadius, float topRightRadius,
+                                    float bottomLeftRadius, float bottomRightRadius, int shadowSize) {
+        ShadowKey key = new ShadowKey(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, shadowSize);
+        synchronized (ShapeShadowCache.class) {
+            ShapeShadowBitmap shadowBitmap = sCache.get(key);
+            if (shadowBitmap == null) {
+                shadowBitmap = ShapeShadowBitmap.create(topLeftRadius, topRightRadius,
+                        bottomLeftRadius, bottomRightRadius, shadowSize);
+                sCache.put(key, shadowBitmap);
+            }
+            return shadowBitmap;
+        }
+    }
+
+    /**
+     * 根据内存紧张程度释放缓存（正在使用的阴影位图由 Drawable 持有，不会受到影响）
+     */
+    public static synchronized void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND ||
+                level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            sCache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            sCache.trimToSize(sMaxBytes / 2);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static synchronized void clear() {
+        sCache.evictAll();
+    }
+
+    /**
+     * 获取缓存命中次数
+     */
+    public static synchronized int getHitCount() {
+        return sCache.hitCount();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     */
+    public static synchronized int getMissCount() {
+        return sCache.missCount();
+    }
+
+    /**
+     * 获取缓存被淘汰的次数
+     */
+    public static synchronized int getEvictionCount() {
+        return sCache.evictionCount();
+    }
+
+    /**
+     * 获取当前缓存占用的字节数
+     */
+    public static synchronized int getSize() {
+        return sCache.size();
+    }
+
+    private static final class ShadowKey {
+
+        private final float mTopLeftRadius;
+        private final float mTopRightRadius;
+        private final float mBottomLeftRadius;
+        private final float mBottomRightRadius;
+        private final int mShadowSize;
+
+        private ShadowKey(float topLeftRadius, float topRightRadius,
+                          float bottomLeftRadius, float bottomRightRadius, int shadowSize) {
+            mTopLeftRadius = topLeftRadius;
+            mTopRightRadius = topRightRadius;
+            mBottomLeftRadius = bottomLeftRadius;
+            mBottomRightRadius = bottomRightRadius;
+            mShadowSize = shadowSize;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.floatToIntBits(mTopLeftRadius);
+            result = 31 * result + Float.floatToIntBits(mTopRightRadius);
+            result = 31 * result + Float.floatToIntBits(mBottomLeftRadius);
+            result = 31 * result + Float.floatToIntBits(mBottomRightRadius);
+            result = 31 * result + mShadowSize;
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ShadowKey)) {
+                return false;
+            }
+            ShadowKey key = (ShadowKey) o;
+            return Float.compare(mTopLeftRadius, key.mTopLeftRadius) == 0 &&
+                    Float.compare(mTopRightRadius, key.mTopRightRadius) == 0 &&
+                    Float.compare(mBottomLeftRadius, key.mBottomLeftRadius) == 0 &&
+                    Float.compare(mBottomRightRadius, key.mBottomRightRadius) == 0 &&
+                    mShadowSize == key.mShadowSize;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.hjq.shape.other;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.v4.view.ViewCompat;
+import android.view.Choreographer;
+import android.view.View;
+
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+import com.hjq.shape.builder.ShapeTransaction;
+import com.hjq.shape.builder.TextColorBuilder;
+import com.hjq.shape.config.IGetShapeDrawableBuilder;
+import com.hjq.shape.config.IGetTextColorBuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 换肤管理类，管理颜色标识对应的颜色，切换皮肤时统一更新绑定了颜色标识的 View
+ */
+public final class ShapeSkinManager {
+
+    /** 默认每帧更新的 View 数量 */
+    private static final int DEFAULT_BATCH_SIZE = 100;
+
+    /** 颜色标识对应的颜色 */
+    private static final HashMap<String, Integer> sColors = new HashMap<>();
+
+    /** 绑定了颜色标识的 View（弱引用，View 被回收后自动移除） */
+    private static final Set<View> sViews = Collections.newSetFromMap(new WeakHashMap<>());
+
+    /** 皮肤版本，每切换一次皮肤加一 */
+    private static volatile int sSkinVersion;
+
+    /** 等待分批更新的 View（只在主线程中访问） */
+    private static final ArrayList<WeakReference<View>> sPendingViews = new ArrayList<>();
+    /** 下一个需要更新的 View 的位置 */
+    private static int sPendingIndex;
+    /** 是否已经注册了帧回调 */
+    private static boolean sFrameCallbackPosted;
+
+    /** 每帧更新的 View 数量 */
+    private static int sBatchSize = DEFAULT_BATCH_SIZE;
+
+    private static final Choreographer.FrameCallback FRAME_CALLBACK = frameTimeNanos -> {
+        sFrameCallbackPosted = false;
+        applyPendingBatch();
+    };
+
+    private ShapeSkinManager() {}
+
+    /**
+     * 设置每帧更新的 View 数量（只对不可见的 View 生效，可见的 View 在切换皮肤时会马上更新）
+     */
+    public static void setBatchSize(int batchSize) {
+        sBatchSize = Math.max(1, batchSize);
+    }
+
+    public static int getBatchSize() {
+        return sBatchSize;
+    }
+
+    /**
+     * 获取颜色标识对应的颜色，没有设置则返回 null
+     */
+    @Nullable
+    public static synchronized Integer getColor(@NonNull String token) {
+        return sColors.get(token);
+    }
+
+    public static int getSkinVersion() {
+        return sSkinVersion;
+    }
+
+    /**
+     * 获取当前绑定了颜色标识的 View 数量
+     */
+    public static synchronized int getViewCount() {
+        return sViews.size();
+    }
+
+    /**
+     * 注册绑定了颜色标识的 View（由构建类在绑定颜色标识时调用，重复注册只会记录一次）
+     */
+    public static synchronized void register(@NonNull View view) {
+        sViews.add(view);
+    }
+
+    /**
+     * 修改一个颜色标识对应的颜色并切换皮肤
+     */
+    @MainThread
+    public static void setColor(@NonNull String token, int color) {
+        synchronized (ShapeSkinManager.class) {
+            sColors.put(token, color);
+        }
+        notifySkinChanged();
+    }
+
+    /**
+     * 替换所有颜色标识对应的颜色并切换皮肤
+     */
+    @MainThread
+    public static void applySkin(@NonNull Map<String, Integer> colors) {
+        synchronized (ShapeSkinManager.class) {
+            sColors.clear();
+            sColors.putAll(colors);
+        }
+        notifySkinChanged();
+    }
+
+    /**
+     * 通知皮肤发生了变化
+     *
+     * 正在显示的 View 在当前帧马上更新（避免同一个界面中出现新旧两种皮肤），
+     * 附加到窗口但是不可见的 View 分批在之后的帧中更新，没有附加到窗口的 View 等到附加时再更新
+     */
+    @MainThread
+    public static void notifySkinChanged() {
+        ArrayList<View> views;
+        synchronized (ShapeSkinManager.class) {
+            sSkinVersion++;
+            views = new ArrayList<>(sViews);
+        }
+
+        sPendingViews.clear();
+        sPendingIndex = 0;
+        for (View view : views) {
+            if (view.isShown()) {
+                applySkin(view);
+            } else if (ViewCompat.isAttachedToWindow(view)) {
+                sPendingViews.add(new WeakReference<>(view));
+            }
+        }
+
+        if (!sPendingViews.isEmpty() && !sFrameCallbackPosted) {
+            sFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(FRAME_CALLBACK);
+        }
+    }
+
+    /**
+     * 更新一批等待更新的 View
+     */
+    private static void applyPendingBatch() {
+        int end = Math.min(sPendingIndex + sBatchSize, sPendingViews.size());
+        for (int i = sPendingIndex; i < end; i++) {
+            View view = sPendingViews.get(i).get();
+            if (view != null) {
+                applySkin(view);
+            }
+        }
+        sPendingIndex = end;
+
+        if (sPendingIndex < sPendingViews.size()) {
+            sFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(FRAME_CALLBACK);
+            return;
+        }
+        sPendingViews.clear();
+        sPendingIndex = 0;
+    }
+
+    /**
+     * 更新 View 绑定的颜色，只修改颜色相关的属性，背景和文本颜色最多只会触发一次重绘
+     */
+    private static void applySkin(View view) {
+        ShapeTransaction transaction = ShapeTransaction.begin(view);
+        if (view instanceof IGetShapeDrawableBuilder) {
+            ShapeDrawableBuilder builder = ((IGetShapeDrawableBuilder) view).getShapeDrawableBuilder();
+            if (builder != null && builder.isSkinOutdated() && builder.updateSkinColors()) {
+                transaction.getShapeDrawableBuilder();
+            }
+        }
+        if (view instanceof IGetTextColorBuilder) {
+            TextColorBuilder builder = ((IGetTextColorBuilder) view).getTextColorBuilder();
+            if (builder != null && builder.isSkinOutdated() && builder.updateSkinColors()) {
+                transaction.getTextColorBuilder();
+            }
+        }
+        transaction.commit();
+    }
+}
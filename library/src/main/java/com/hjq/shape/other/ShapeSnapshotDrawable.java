@@ -0,0 +1,213 @@
+package com.hjq.shape.other;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Outline;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RequiresApi;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 背景快照包装类，将背景录制成快照之后直接回放，图形、边界、状态发生变化时才会重新录制
+ */
+public class ShapeSnapshotDrawable extends Drawable implements Drawable.Callback {
+
+    /** 被包装的背景 */
+    private final Drawable mDrawable;
+
+    /** 快照录制器，为空则直接绘制背景 */
+    @Nullable
+    private final ShapeSnapshotRecorder mRecorder;
+
+    /** 录制好的快照是否还能使用 */
+    private boolean mSnapshotValid;
+
+    /** 录制快照的次数 */
+    private int mRecordCount;
+
+    private int mAlpha = 0xFF;
+
+    public ShapeSnapshotDrawable(@NonNull Drawable drawable, @Nullable ShapeSnapshotRecorder recorder) {
+        mDrawable = drawable;
+        mRecorder = recorder;
+        mDrawable.setCallback(this);
+    }
+
+    /**
+     * 根据当前的系统版本创建录制器，不支持 RenderNode 的系统版本返回空（直接绘制背景）
+     */
+    @Nullable
+    public static ShapeSnapshotRecorder createRecorder() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return null;
+        }
+        return new RenderNodeSnapshotRecorder();
+    }
+
+    @NonNull
+    public Drawable getDrawable() {
+        return mDrawable;
+    }
+
+    /**
+     * 让录制好的快照失效，下次绘制时重新录制（背景的属性发生变化时调用）
+     */
+    public void invalidateSnapshot() {
+        if (!mSnapshotValid) {
+            return;
+        }
+        mSnapshotValid = false;
+        if (mRecorder != null) {
+            mRecorder.discard();
+        }
+    }
+
+    public boolean isSnapshotValid() {
+        return mSnapshotValid;
+    }
+
+    public int getRecordCount() {
+        return mRecordCount;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        Rect bounds = getBounds();
+        if (mRecorder == null || bounds.isEmpty() || !mRecorder.canReplay(canvas)) {
+            mDrawable.draw(canvas);
+            return;
+        }
+        if (!mSnapshotValid) {
+            Canvas recordingCanvas = mRecorder.beginRecording(bounds);
+            try {
+                mDrawable.draw(recordingCanvas);
+            } finally {
+                mRecorder.endRecording();
+            }
+            mSnapshotValid = true;
+            mRecordCount++;
+        }
+        mRecorder.replay(canvas);
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        mDrawable.setBounds(bounds);
+        invalidateSnapshot();
+    }
+
+    @Override
+    public boolean isStateful() {
+        return mDrawable.isStateful();
+    }
+
+    @Override
+    protected boolean onStateChange(int[] state) {
+        // 状态没有影响到背景的绘制（例如没有设置对应状态的颜色）时继续使用之前的快照
+        boolean changed = mDrawable.setState(state);
+        if (changed) {
+            invalidateSnapshot();
+        }
+        return changed;
+    }
+
+    @Override
+    protected boolean onLevelChange(int level) {
+        boolean changed = mDrawable.setLevel(level);
+        if (changed) {
+            invalidateSnapshot();
+        }
+        return changed;
+    }
+
+    @Override
+    public void jumpToCurrentState() {
+        mDrawable.jumpToCurrentState();
+        invalidateSnapshot();
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        mDrawable.setVisible(visible, restart);
+        return super.setVisible(visible, restart);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mAlpha = alpha;
+        mDrawable.setAlpha(alpha);
+        invalidateSnapshot();
+        invalidateSelf();
+    }
+
+    @Override
+    public int getAlpha() {
+        return mAlpha;
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mDrawable.setColorFilter(colorFilter);
+        invalidateSnapshot();
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return mDrawable.getOpacity();
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return mDrawable.getIntrinsicWidth();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return mDrawable.getIntrinsicHeight();
+    }
+
+    @Override
+    public boolean getPadding(@NonNull Rect padding) {
+        return mDrawable.getPadding(padding);
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void getOutline(@NonNull Outline outline) {
+        mDrawable.getOutline(outline);
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.M)
+    @Override
+    public boolean onLayoutDirectionChanged(int layoutDirection) {
+        boolean changed = mDrawable.setLayoutDirection(layoutDirection);
+        if (changed) {
+            invalidateSnapshot();
+        }
+        return changed;
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull Drawable who) {
+        // 背景自己发起了重绘（例如属性发生变化、状态过渡动画），之前的快照已经不能用了
+        invalidateSnapshot();
+        invalidateSelf();
+    }
+
+    @Override
+    public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+        scheduleSelf(what, when);
+    }
+
+    @Override
+    public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+        unscheduleSelf(what);
+    }
+}
@@ -0,0 +1,42 @@
+package com.hjq.shape.other;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 背景快照的录制器，将背景的绘制指令录制下来，之后直接回放（不依赖具体的实现，单元测试中可以替换）
+ */
+public interface ShapeSnapshotRecorder {
+
+    /**
+     * 当前的画布能否回放快照（例如 RenderNode 只能在硬件加速的画布上面回放）
+     */
+    boolean canReplay(@NonNull Canvas canvas);
+
+    /**
+     * 开始录制，返回的画布坐标和 Drawable 的坐标一致
+     *
+     * @param bounds            Drawable 的边界
+     */
+    @NonNull
+    Canvas beginRecording(@NonNull Rect bounds);
+
+    /**
+     * 结束录制
+     */
+    void endRecording();
+
+    /**
+     * 回放录制好的快照
+     */
+    void replay(@NonNull Canvas canvas);
+
+    /**
+     * 丢弃录制好的快照，释放占用的资源
+     */
+    void discard();
+}
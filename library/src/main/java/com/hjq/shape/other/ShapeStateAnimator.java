@@ -0,0 +1,103 @@
+package com.hjq.shape.other;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 状态过渡动画驱动器，所有正在执行过渡动画的 Drawable 共用同一个帧回调
+ *             （只持有 Drawable 的弱引用，View 被销毁之后 Drawable 和 View 都可以被正常回收）
+ */
+final class ShapeStateAnimator implements Choreographer.FrameCallback {
+
+    private static final ShapeStateAnimator INSTANCE = new ShapeStateAnimator();
+
+    /** 正在执行过渡动画的 Drawable（Drawable 通过回调持有 View，这里不能强引用） */
+    private final ArrayList<WeakReference<ShapeStateTransitionDrawable>> mDrawables = new ArrayList<>();
+
+    /** 是否已经注册了帧回调 */
+    private boolean mFrameCallbackPosted;
+
+    private ShapeStateAnimator() {}
+
+    /**
+     * 当前线程是否可以执行过渡动画（只支持在主线程中执行）
+     */
+    static boolean isAnimationThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 开始执行过渡动画（需要在主线程中调用）
+     */
+    static void start(@NonNull ShapeStateTransitionDrawable drawable) {
+        INSTANCE.add(drawable);
+    }
+
+    /**
+     * 停止执行过渡动画（需要在主线程中调用）
+     */
+    static void cancel(@NonNull ShapeStateTransitionDrawable drawable) {
+        INSTANCE.remove(drawable);
+    }
+
+    /**
+     * 获取正在执行过渡动画的 Drawable 个数（包括已经被回收但是还没有清理的）
+     */
+    static int getRunningCount() {
+        return INSTANCE.mDrawables.size();
+    }
+
+    private int indexOf(ShapeStateTransitionDrawable drawable) {
+        for (int i = 0; i < mDrawables.size(); i++) {
+            if (mDrawables.get(i).get() == drawable) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void remove(ShapeStateTransitionDrawable drawable) {
+        int index = indexOf(drawable);
+        if (index != -1) {
+            mDrawables.remove(index);
+        }
+    }
+
+    private void add(ShapeStateTransitionDrawable drawable) {
+        if (indexOf(drawable) == -1) {
+            mDrawables.add(new WeakReference<>(drawable));
+        }
+        if (!mFrameCallbackPosted) {
+            mFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameCallbackPosted = false;
+        // 倒序遍历，执行完成的动画可以直接移除
+        for (int i = mDrawables.size() - 1; i >= 0; i--) {
+            if (i >= mDrawables.size()) {
+                // 执行动画帧的时候移除了其他的 Drawable
+                continue;
+            }
+            WeakReference<ShapeStateTransitionDrawable> reference = mDrawables.get(i);
+            ShapeStateTransitionDrawable drawable = reference.get();
+            if (drawable == null || !drawable.doAnimationFrame(frameTimeNanos)) {
+                mDrawables.remove(reference);
+            }
+        }
+        if (!mDrawables.isEmpty()) {
+            mFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.hjq.shape.other;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.hjq.shape.graphics.ShapeDrawable;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 支持状态过渡动画的 ShapeDrawable 包装类，切换状态时在同一个 Drawable 中对颜色和边框大小进行插值
+ */
+public class ShapeStateTransitionDrawable extends Drawable implements Drawable.Callback {
+
+    /** 状态类型的个数（和 ExtendStateListDrawable 的状态类型保持一致） */
+    private static final int STATE_COUNT = ExtendStateListDrawable.STATE_DEFAULT + 1;
+
+    /** 状态属性的设置标记 */
+    private static final int FLAG_SOLID_COLOR = 1;
+    private static final int FLAG_STROKE_COLOR = 1 << 1;
+    private static final int FLAG_STROKE_SIZE = 1 << 2;
+
+    /** 默认过渡时长 */
+    private static final int DEFAULT_DURATION = 150;
+
+    /** 被包装的 ShapeDrawable */
+    private final ShapeDrawable mShapeDrawable;
+
+    /** 每种状态的属性（数组下标为 ExtendStateListDrawable 的状态类型） */
+    private final int[] mSolidColors = new int[STATE_COUNT];
+    private final int[] mStrokeColors = new int[STATE_COUNT];
+    private final int[] mStrokeSizes = new int[STATE_COUNT];
+    private final int[] mStateFlags = new int[STATE_COUNT];
+
+    /** 过渡时长（毫秒） */
+    private int mDuration = DEFAULT_DURATION;
+
+    /** 当前状态类型 */
+    private int mState = ExtendStateListDrawable.STATE_DEFAULT;
+    /** 是否已经应用过状态（第一次应用状态不需要过渡） */
+    private boolean mStateApplied;
+
+    /** 过渡开始时的属性 */
+    private int mStartSolidColor;
+    private int mStartStrokeColor;
+    private int mStartStrokeSize;
+
+    /** 当前显示的属性 */
+    private int mSolidColor;
+    private int mStrokeColor;
+    private int mStrokeSize;
+
+    /** 过渡开始的时间（纳秒），-1 表示等待第一帧 */
+    private long mStartTimeNanos = -1;
+    /** 是否正在执行过渡动画 */
+    private boolean mRunning;
+
+    public ShapeStateTransitionDrawable(@NonNull ShapeDrawable drawable) {
+        mShapeDrawable = drawable;
+        mShapeDrawable.setCallback(this);
+    }
+
+    @NonNull
+    public ShapeDrawable getShapeDrawable() {
+        return mShapeDrawable;
+    }
+
+    public ShapeStateTransitionDrawable setDuration(int duration) {
+        mDuration = duration;
+        return this;
+    }
+
+    public int getDuration() {
+        return mDuration;
+    }
+
+    /**
+     * 设置默认状态的属性（其他状态没有设置的属性也会使用默认状态的，被包装的 ShapeDrawable 需要已经应用了这些属性）
+     */
+    public ShapeStateTransitionDrawable setDefaultState(int solidColor, int strokeColor, int strokeSize) {
+        int state = ExtendStateListDrawable.STATE_DEFAULT;
+        mSolidColors[state] = solidColor;
+        mStrokeColors[state] = strokeColor;
+        mStrokeSizes[state] = strokeSize;
+        mStateFlags[state] = FLAG_SOLID_COLOR | FLAG_STROKE_COLOR | FLAG_STROKE_SIZE;
+        // 被包装的 ShapeDrawable 一开始显示的是默认状态的属性
+        mSolidColor = solidColor;
+        mStrokeColor = strokeColor;
+        mStrokeSize = strokeSize;
+        return this;
+    }
+
+    /**
+     * 设置某种状态的填充色
+     *
+     * @param state         状态类型（{@link ExtendStateListDrawable#STATE_PRESSED} 等）
+     */
+    public ShapeStateTransitionDrawable setStateSolidColor(int state, int color) {
+        mSolidColors[state] = color;
+        mStateFlags[state] |= FLAG_SOLID_COLOR;
+        return this;
+    }
+
+    public ShapeStateTransitionDrawable setStateStrokeColor(int state, int color) {
+        mStrokeColors[state] = color;
+        mStateFlags[state] |= FLAG_STROKE_COLOR;
+        return this;
+    }
+
+    public ShapeStateTransitionDrawable setStateStrokeSize(int state, int size) {
+        mStrokeSizes[state] = size;
+        mStateFlags[state] |= FLAG_STROKE_SIZE;
+        return this;
+    }
+
+    @Override
+    public boolean isStateful() {
+        return true;
+    }
+
+    @Override
+    protected boolean onStateChange(int[] stateSet) {
+        int state = getStateType(stateSet);
+        if (mStateApplied && state == mState) {
+            return false;
+        }
+        mState = state;
+
+        if (!mStateApplied || mDuration <= 0 || !isVisible() || getCallback() == null ||
+                !ShapeStateAnimator.isAnimationThread()) {
+            mStateApplied = true;
+            jumpToState();
+            return true;
+        }
+
+        // 从当前显示的属性开始过渡（上一个过渡还没有结束也能平滑衔接）
+        mStartSolidColor = mSolidColor;
+        mStartStrokeColor = mStrokeColor;
+        mStartStrokeSize = mStrokeSize;
+        mStartTimeNanos = -1;
+        if (!mRunning) {
+            mRunning = true;
+            ShapeStateAnimator.start(this);
+        }
+        return false;
+    }
+
+    /**
+     * 根据状态集合获取状态类型（匹配顺序和 ExtendStateListDrawable 添加状态的顺序保持一致）
+     */
+    private int getStateType(int[] stateSet) {
+        boolean enabled = false;
+        boolean pressed = false;
+        boolean checked = false;
+        boolean focused = false;
+        boolean selected = false;
+        if (stateSet != null) {
+            for (int state : stateSet) {
+                if (state == android.R.attr.state_enabled) {
+                    enabled = true;
+                } else if (state == android.R.attr.state_pressed) {
+                    pressed = true;
+                } else if (state == android.R.attr.state_checked) {
+                    checked = true;
+                } else if (state == android.R.attr.state_focused) {
+                    focused = true;
+                } else if (state == android.R.attr.state_selected) {
+                    selected = true;
+                }
+            }
+        }
+        if (pressed && mStateFlags[ExtendStateListDrawable.STATE_PRESSED] != 0) {
+            return ExtendStateListDrawable.STATE_PRESSED;
+        }
+        if (checked && mStateFlags[ExtendStateListDrawable.STATE_CHECKED] != 0) {
+            return ExtendStateListDrawable.STATE_CHECKED;
+        }
+        if (!enabled && mStateFlags[ExtendStateListDrawable.STATE_DISABLED] != 0) {
+            return ExtendStateListDrawable.STATE_DISABLED;
+        }
+        if (focused && mStateFlags[ExtendStateListDrawable.STATE_FOCUSED] != 0) {
+            return ExtendStateListDrawable.STATE_FOCUSED;
+        }
+        if (selected && mStateFlags[ExtendStateListDrawable.STATE_SELECTED] != 0) {
+            return ExtendStateListDrawable.STATE_SELECTED;
+        }
+        return ExtendStateListDrawable.STATE_DEFAULT;
+    }
+
+    private int getTargetSolidColor() {
+        return (mStateFlags[mState] & FLAG_SOLID_COLOR) != 0 ?
+                mSolidColors[mState] : mSolidColors[ExtendStateListDrawable.STATE_DEFAULT];
+    }
+
+    private int getTargetStrokeColor() {
+        return (mStateFlags[mState] & FLAG_STROKE_COLOR) != 0 ?
+                mStrokeColors[mState] : mStrokeColors[ExtendStateListDrawable.STATE_DEFAULT];
+    }
+
+    private int getTargetStrokeSize() {
+        return (mStateFlags[mState] & FLAG_STROKE_SIZE) != 0 ?
+                mStrokeSizes[mState] : mStrokeSizes[ExtendStateListDrawable.STATE_DEFAULT];
+    }
+
+    /**
+     * 执行一帧过渡动画
+     *
+     * @return          过渡动画是否还需要继续执行
+     */
+    boolean doAnimationFrame(long frameTimeNanos) {
+        if (!mRunning) {
+            return false;
+        }
+        if (mStartTimeNanos == -1) {
+            mStartTimeNanos = frameTimeNanos;
+        }
+        float fraction = (frameTimeNanos - mStartTimeNanos) / (mDuration * 1000000f);
+        // 不可见或者已经从 View 上移除了（View 被销毁之后不会再调用 setVisible(false)），直接结束过渡
+        if (fraction >= 1 || !isVisible() || getCallback() == null) {
+            mRunning = false;
+            applyProperties(getTargetSolidColor(), getTargetStrokeColor(), getTargetStrokeSize());
+            return false;
+        }
+
+        // 先加速后减速
+        fraction = fraction * fraction * (3 - 2 * fraction);
+        applyProperties(evaluateColor(fraction, mStartSolidColor, getTargetSolidColor()),
+                evaluateColor(fraction, mStartStrokeColor, getTargetStrokeColor()),
+                Math.round(mStartStrokeSize + (getTargetStrokeSize() - mStartStrokeSize) * fraction));
+        return true;
+    }
+
+    @Override
+    public void jumpToCurrentState() {
+        super.jumpToCurrentState();
+        if (mRunning) {
+            ShapeStateAnimator.cancel(this);
+        }
+        jumpToState();
+    }
+
+    /**
+     * 直接切换到当前状态的属性
+     */
+    private void jumpToState() {
+        mRunning = false;
+        applyProperties(getTargetSolidColor(), getTargetStrokeColor(), getTargetStrokeSize());
+    }
+
+    private void applyProperties(int solidColor, int strokeColor, int strokeSize) {
+        if (mSolidColor == solidColor && mStrokeColor == strokeColor && mStrokeSize == strokeSize) {
+            return;
+        }
+        mSolidColor = solidColor;
+        mStrokeColor = strokeColor;
+        mStrokeSize = strokeSize;
+        mShapeDrawable.setSolidColor(solidColor)
+                .setStrokeColor(strokeColor)
+                .setStrokeSize(strokeSize);
+        invalidateSelf();
+    }
+
+    /**
+     * 对两个颜色进行插值（按照 ARGB 通道分别计算）
+     */
+    private static int evaluateColor(float fraction, int startColor, int endColor) {
+        if (startColor == endColor) {
+            return startColor;
+        }
+        return Color.argb(
+                Math.round(Color.alpha(startColor) + (Color.alpha(endColor) - Color.alpha(startColor)) * fraction),
+                Math.round(Color.red(startColor) + (Color.red(endColor) - Color.red(startColor)) * fraction),
+                Math.round(Color.green(startColor) + (Color.green(endColor) - Color.green(startColor)) * fraction),
+                Math.round(Color.blue(startColor) + (Color.blue(endColor) - Color.blue(startColor)) * fraction));
+    }
+
+    @Override
+    public boolean setVisible(boolean visible, boolean restart) {
+        boolean changed = super.setVisible(visible, restart);
+        mShapeDrawable.setVisible(visible, restart);
+        if (!visible) {
+            cancelTransition();
+        }
+        return changed;
+    }
+
+    /**
+     * 停止正在执行的过渡动画，并直接切换到当前状态的属性（View 从窗口上移除的时候调用）
+     */
+    public void cancelTransition() {
+        if (!mRunning) {
+            return;
+        }
+        ShapeStateAnimator.cancel(this);
+        jumpToState();
+    }
+
+    /**
+     * 是否正在执行过渡动画
+     */
+    public boolean isTransitionRunning() {
+        return mRunning;
+    }
+
+    @Override
+    protected void onBoundsChange(Rect bounds) {
+        super.onBoundsChange(bounds);
+        mShapeDrawable.setBounds(bounds);
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas) {
+        mShapeDrawable.draw(canvas);
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        mShapeDrawable.setAlpha(alpha);
+    }
+
+    @Override
+    public int getAlpha() {
+        return mShapeDrawable.getAlpha();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        mShapeDrawable.setColorFilter(colorFilter);
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+
+    @Override
+    public boolean getPadding(@NonNull Rect padding) {
+        return mShapeDrawable.getPadding(padding);
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return mShapeDrawable.getIntrinsicWidth();
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return mShapeDrawable.getIntrinsicHeight();
+    }
+
+    @Override
+    public void invalidateDrawable(@NonNull Drawable who) {
+        invalidateSelf();
+    }
+
+    @Override
+    public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+        scheduleSelf(what, when);
+    }
+
+    @Override
+    public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+        unscheduleSelf(what);
+    }
+}
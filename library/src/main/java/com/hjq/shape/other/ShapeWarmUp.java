@@ -0,0 +1,147 @@
+package com.hjq.shape.other;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StyleRes;
+import android.support.annotation.WorkerThread;
+import android.widget.TextView;
+
+import com.hjq.shape.R;
+import com.hjq.shape.builder.ButtonDrawableBuilder;
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+import com.hjq.shape.builder.TextColorBuilder;
+import com.hjq.shape.graphics.ShapeDrawable;
+import com.hjq.shape.layout.ShapeFrameLayout;
+import com.hjq.shape.layout.ShapeLinearLayout;
+import com.hjq.shape.layout.ShapeRelativeLayout;
+import com.hjq.shape.span.LinearGradientFontSpan;
+import com.hjq.shape.span.LinearGradientTextSpan;
+import com.hjq.shape.span.MultiFontSpan;
+import com.hjq.shape.span.StrokeFontSpan;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
+import com.hjq.shape.view.ShapeButton;
+import com.hjq.shape.view.ShapeImageView;
+import com.hjq.shape.view.ShapeTextView;
+import com.hjq.shape.view.ShapeView;
+
+import java.util.concurrent.Executor;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : Shape 预热，在 Application 启动时于子线程中提前加载类和解析常用的样式
+ */
+public final class ShapeWarmUp {
+
+    /** 预热线程的名称 */
+    private static final String THREAD_NAME = "ShapeWarmUp";
+
+    /** 解析样式用到的属性对象（和 ShapeTextView 的属性对象等价，预热生成的属性索引表可以直接给 View 使用） */
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_TEXT_VIEW);
+
+    /** 需要提前加载的类（首次创建 Shape 系列 View 时需要用到的） */
+    private static final Class<?>[] PRELOAD_CLASSES = {
+            ShapeDrawableBuilder.class,
+            TextColorBuilder.class,
+            ButtonDrawableBuilder.class,
+            ShapeStyleable.class,
+            ShapeStyleableTable.class,
+            LinearGradientFontSpan.class,
+            LinearGradientTextSpan.class,
+            StrokeFontSpan.class,
+            MultiFontSpan.class,
+            ExtendStateListDrawable.class,
+            ShapeDrawableSpec.class,
+            ShapeDrawableSpecCache.class,
+            TextColorStateCache.class,
+            ButtonDrawableTemplateCache.class,
+            ShapeDrawable.class,
+            ShapeView.class,
+            ShapeTextView.class,
+            ShapeButton.class,
+            ShapeImageView.class,
+            ShapeLinearLayout.class,
+            ShapeFrameLayout.class,
+            ShapeRelativeLayout.class,
+    };
+
+    private ShapeWarmUp() {}
+
+    /**
+     * 在新的子线程中执行预热
+     *
+     * @param styleIds          需要提前解析的样式（包含 Shape 属性的 style 资源）
+     */
+    public static void start(@NonNull Context context, @StyleRes int... styleIds) {
+        start(null, context, styleIds);
+    }
+
+    /**
+     * 在指定的线程池中执行预热，为空则创建一个新的子线程
+     *
+     * @param styleIds          需要提前解析的样式（包含 Shape 属性的 style 资源）
+     */
+    public static void start(@Nullable Executor executor, @NonNull Context context, @StyleRes int... styleIds) {
+        Context applicationContext = context.getApplicationContext();
+        Runnable runnable = () -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            warmUp(applicationContext, styleIds);
+        };
+        if (executor != null) {
+            executor.execute(runnable);
+            return;
+        }
+        Thread thread = new Thread(runnable, THREAD_NAME);
+        thread.start();
+    }
+
+    /**
+     * 执行预热（会阻塞当前线程，不要在主线程中调用）
+     */
+    @WorkerThread
+    public static void warmUp(@NonNull Context context, @StyleRes int... styleIds) {
+        preloadClasses();
+        if (styleIds == null) {
+            return;
+        }
+        for (int styleId : styleIds) {
+            try {
+                preloadStyle(context, styleId);
+            } catch (RuntimeException ignored) {
+                // 预热失败不影响正常使用，到时候在主线程中再解析一次即可
+            }
+        }
+    }
+
+    private static void preloadClasses() {
+        ClassLoader classLoader = ShapeWarmUp.class.getClassLoader();
+        for (Class<?> clazz : PRELOAD_CLASSES) {
+            try {
+                // 类字面量只会加载类，这里还需要执行类的初始化
+                Class.forName(clazz.getName(), true, classLoader);
+            } catch (ClassNotFoundException | LinkageError ignored) {
+                // 预热失败不影响正常使用
+            }
+        }
+    }
+
+    /**
+     * 解析样式中的 Shape 属性，并将构建结果放入缓存中（背景需要开启 {@link ShapeDrawableSpecCache} 才会缓存）
+     */
+    private static void preloadStyle(Context context, @StyleRes int styleId) {
+        // ShapeTextView 的属性包含了背景和文本颜色的属性
+        TypedArray typedArray = context.obtainStyledAttributes(styleId, R.styleable.ShapeTextView);
+        TextView textView = new TextView(context);
+        ShapeDrawableBuilder shapeDrawableBuilder = new ShapeDrawableBuilder(textView, typedArray, STYLEABLE);
+        TextColorBuilder textColorBuilder = new TextColorBuilder(textView, typedArray, STYLEABLE);
+        typedArray.recycle();
+
+        shapeDrawableBuilder.buildBackgroundDrawable();
+        textColorBuilder.buildColorState();
+    }
+}
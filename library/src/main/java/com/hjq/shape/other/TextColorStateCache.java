@@ -0,0 +1,204 @@
+package com.hjq.shape.other;
+
+import android.content.res.ColorStateList;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+import java.util.Arrays;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 文本颜色缓存，相同颜色配置的 View 共用同一个 ColorStateList 对象
+ */
+public final class TextColorStateCache {
+
+    /** 默认最大缓存个数 */
+    private static final int DEFAULT_MAX_SIZE = 64;
+
+    /** 共用的状态数组（ColorStateList 不会修改传入的状态数组） */
+    private static final int[] STATE_PRESSED = new int[]{android.R.attr.state_pressed};
+    private static final int[] STATE_CHECKED = new int[]{android.R.attr.state_checked};
+    private static final int[] STATE_DISABLED = new int[]{-android.R.attr.state_enabled};
+    private static final int[] STATE_FOCUSED = new int[]{android.R.attr.state_focused};
+    private static final int[] STATE_SELECTED = new int[]{android.R.attr.state_selected};
+    private static final int[] STATE_DEFAULT = new int[]{};
+
+    private static LruCache<ColorStateKey, ColorStateList> sCache = new LruCache<>(DEFAULT_MAX_SIZE);
+
+    /** 用于查询缓存的 Key（查询时复用，放入缓存时再拷贝一份） */
+    private static final ColorStateKey LOOKUP_KEY = new ColorStateKey();
+
+    private TextColorStateCache() {}
+
+    /**
+     * 设置最大缓存个数（会清空当前缓存的内容）
+     */
+    public static synchronized void setMaxSize(int maxSize) {
+        sCache = new LruCache<>(maxSize);
+    }
+
+    /**
+     * 根据颜色配置获取 ColorStateList 对象，没有缓存则创建一个新的
+     */
+    @NonNull
+    public static synchronized ColorStateList obtain(int defaultColor, @Nullable Integer pressedColor,
+                                                     @Nullable Integer checkedColor, @Nullable Integer disabledColor,
+                                                     @Nullable Integer focusedColor, @Nullable Integer selectedColor) {
+        LOOKUP_KEY.set(defaultColor, pressedColor, checkedColor, disabledColor, focusedColor, selectedColor);
+        ColorStateList colorStateList = sCache.get(LOOKUP_KEY);
+        if (colorStateList != null) {
+            return colorStateList;
+        }
+        colorStateList = create(defaultColor, pressedColor, checkedColor, disabledColor, focusedColor, selectedColor);
+        sCache.put(LOOKUP_KEY.copy(), colorStateList);
+        return colorStateList;
+    }
+
+    @NonNull
+    private static ColorStateList create(int defaultColor, Integer pressedColor, Integer checkedColor,
+                                         Integer disabledColor, Integer focusedColor, Integer selectedColor) {
+        if (pressedColor == null && checkedColor == null && disabledColor == null &&
+                focusedColor == null && selectedColor == null) {
+            return ColorStateList.valueOf(defaultColor);
+        }
+
+        int arraySize = 1;
+        arraySize += pressedColor != null ? 1 : 0;
+        arraySize += checkedColor != null ? 1 : 0;
+        arraySize += disabledColor != null ? 1 : 0;
+        arraySize += focusedColor != null ? 1 : 0;
+        arraySize += selectedColor != null ? 1 : 0;
+
+        int[][] states = new int[arraySize][];
+        int[] colors = new int[arraySize];
+        int index = 0;
+
+        if (pressedColor != null) {
+            states[index] = STATE_PRESSED;
+            colors[index] = pressedColor;
+            index++;
+        }
+        if (checkedColor != null) {
+            states[index] = STATE_CHECKED;
+            colors[index] = checkedColor;
+            index++;
+        }
+        if (disabledColor != null) {
+            states[index] = STATE_DISABLED;
+            colors[index] = disabledColor;
+            index++;
+        }
+        if (focusedColor != null) {
+            states[index] = STATE_FOCUSED;
+            colors[index] = focusedColor;
+            index++;
+        }
+        if (selectedColor != null) {
+            states[index] = STATE_SELECTED;
+            colors[index] = selectedColor;
+            index++;
+        }
+
+        states[index] = STATE_DEFAULT;
+        colors[index] = defaultColor;
+        return new ColorStateList(states, colors);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public static synchronized void clear() {
+        sCache.evictAll();
+    }
+
+    /**
+     * 获取缓存命中次数
+     */
+    public static synchronized int getHitCount() {
+        return sCache.hitCount();
+    }
+
+    /**
+     * 获取缓存未命中次数
+     */
+    public static synchronized int getMissCount() {
+        return sCache.missCount();
+    }
+
+    /**
+     * 获取缓存被淘汰的次数
+     */
+    public static synchronized int getEvictionCount() {
+        return sCache.evictionCount();
+    }
+
+    /**
+     * 获取当前缓存的个数
+     */
+    public static synchronized int getSize() {
+        return sCache.size();
+    }
+
+    private static final class ColorStateKey {
+
+        /** 颜色数组的下标 */
+        private static final int INDEX_DEFAULT = 0;
+        private static final int INDEX_PRESSED = 1;
+        private static final int INDEX_CHECKED = 2;
+        private static final int INDEX_DISABLED = 3;
+        private static final int INDEX_FOCUSED = 4;
+        private static final int INDEX_SELECTED = 5;
+
+        private final int[] mColors = new int[6];
+        /** 设置了哪些状态的颜色（按照颜色数组的下标） */
+        private int mColorFlags;
+
+        void set(int defaultColor, Integer pressedColor, Integer checkedColor,
+                 Integer disabledColor, Integer focusedColor, Integer selectedColor) {
+            mColorFlags = 1 << INDEX_DEFAULT;
+            mColors[INDEX_DEFAULT] = defaultColor;
+            setColor(INDEX_PRESSED, pressedColor);
+            setColor(INDEX_CHECKED, checkedColor);
+            setColor(INDEX_DISABLED, disabledColor);
+            setColor(INDEX_FOCUSED, focusedColor);
+            setColor(INDEX_SELECTED, selectedColor);
+        }
+
+        private void setColor(int index, Integer color) {
+            if (color == null) {
+                mColors[index] = 0;
+                return;
+            }
+            mColors[index] = color;
+            mColorFlags |= 1 << index;
+        }
+
+        ColorStateKey copy() {
+            ColorStateKey key = new ColorStateKey();
+            System.arraycopy(mColors, 0, key.mColors, 0, mColors.length);
+            key.mColorFlags = mColorFlags;
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ColorStateKey)) {
+                return false;
+            }
+            ColorStateKey key = (ColorStateKey) o;
+            return mColorFlags == key.mColorFlags &&
+                    Arrays.equals(mColors, key.mColors);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mColorFlags + Arrays.hashCode(mColors);
+        }
+    }
+}
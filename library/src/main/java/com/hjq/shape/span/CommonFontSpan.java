@@ -55,4 +55,11 @@ public abstract class CommonFontSpan extends ReplacementSpan {
     public float getMeasureTextWidth() {
         return mMeasureTextWidth;
     }
+
+    /**
+     * 设置测量的文本宽度（组合 Span 测量一次之后共享给其他图层）
+     */
+    void setMeasureTextWidth(float width) {
+        mMeasureTextWidth = width;
+    }
 }
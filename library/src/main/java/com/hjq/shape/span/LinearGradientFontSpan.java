@@ -2,6 +2,7 @@ package com.hjq.shape.span;
 
 import android.graphics.Canvas;
 import android.graphics.LinearGradient;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Shader;
 import android.support.annotation.NonNull;
@@ -42,32 +43,56 @@ public class LinearGradientFontSpan extends CommonFontSpan {
     /** 文字渐变位置组 */
     private float[] mTextGradientPositions;
 
+    /** 缓存的渐变着色器（从原点开始，绘制时通过矩阵平移到文本所在的位置） */
+    private LinearGradient mLinearGradient;
+    /** 着色器对应的渐变长度 */
+    private float mLinearGradientSize;
+    /** 着色器的平移距离 */
+    private float mLinearGradientOffset;
+    /** 着色器的平移矩阵 */
+    private final Matrix mLinearGradientMatrix = new Matrix();
+
     @Override
     public void onDraw(@NonNull Canvas canvas, @NonNull Paint paint, CharSequence text, int start, int end, float x, int top, int y, int bottom) {
-        LinearGradient linearGradient;
-        if (mTextGradientOrientation == GRADIENT_ORIENTATION_VERTICAL) {
-            linearGradient = new LinearGradient(0, 0, 0, paint.descent() - paint.ascent(),
-                    mTextGradientColor, mTextGradientPositions, Shader.TileMode.REPEAT);
-        } else {
-            linearGradient = new LinearGradient(x, 0, x + getMeasureTextWidth(), 0,
-                    mTextGradientColor, mTextGradientPositions, Shader.TileMode.REPEAT);
+        boolean vertical = mTextGradientOrientation == GRADIENT_ORIENTATION_VERTICAL;
+        float gradientSize = vertical ? paint.descent() - paint.ascent() : getMeasureTextWidth();
+        float gradientOffset = vertical ? 0 : x;
+        if (mLinearGradient == null || mLinearGradientSize != gradientSize) {
+            if (vertical) {
+                mLinearGradient = new LinearGradient(0, 0, 0, gradientSize,
+                        mTextGradientColor, mTextGradientPositions, Shader.TileMode.REPEAT);
+            } else {
+                mLinearGradient = new LinearGradient(0, 0, gradientSize, 0,
+                        mTextGradientColor, mTextGradientPositions, Shader.TileMode.REPEAT);
+            }
+            mLinearGradientSize = gradientSize;
+            mLinearGradientOffset = 0;
+        }
+        if (mLinearGradientOffset != gradientOffset) {
+            // 水平渐变需要跟随文本的起始位置
+            mLinearGradientMatrix.setTranslate(gradientOffset, 0);
+            mLinearGradient.setLocalMatrix(mLinearGradientMatrix);
+            mLinearGradientOffset = gradientOffset;
         }
-        paint.setShader(linearGradient);
+        paint.setShader(mLinearGradient);
         canvas.drawText(text, start, end, x, y, paint);
     }
 
     public LinearGradientFontSpan setTextGradientOrientation(int orientation) {
         mTextGradientOrientation = orientation;
+        mLinearGradient = null;
         return this;
     }
 
     public LinearGradientFontSpan setTextGradientColor(int[] colors) {
         mTextGradientColor = colors;
+        mLinearGradient = null;
         return this;
     }
 
     public LinearGradientFontSpan setTextGradientPositions(float[] positions) {
         mTextGradientPositions = positions;
+        mLinearGradient = null;
         return this;
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.hjq.shape.span;
+
+import android.graphics.LinearGradient;
+import android.graphics.Shader;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.TextPaint;
+import android.text.style.CharacterStyle;
+import android.text.style.UpdateAppearance;
+import android.widget.TextView;
+
+import java.lang.ref.WeakReference;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 支持多行文本的渐变色 Span（只修改画笔的着色器，不替换文本的绘制，所以文本可以正常换行）
+ */
+public class LinearGradientTextSpan extends CharacterStyle implements UpdateAppearance {
+
+    /** 文本所在的 View（用于获取文本的排版） */
+    private final WeakReference<TextView> mTextViewReference;
+
+    /** 文字渐变方向 */
+    private int mTextGradientOrientation;
+    /** 文字渐变颜色组 */
+    private int[] mTextGradientColor;
+    /** 文字渐变位置组 */
+    private float[] mTextGradientPositions;
+
+    /** 缓存的渐变着色器 */
+    private LinearGradient mLinearGradient;
+    /** 着色器对应的排版（排版发生变化需要重新计算渐变区域） */
+    private Layout mLinearGradientLayout;
+    /** 着色器对应的文本区间 */
+    private int mLinearGradientStart;
+    private int mLinearGradientEnd;
+    /** 着色器对应的文本行数 */
+    private int mLinearGradientLineCount;
+
+    public LinearGradientTextSpan(@NonNull TextView textView) {
+        mTextViewReference = new WeakReference<>(textView);
+    }
+
+    @Override
+    public void updateDrawState(TextPaint textPaint) {
+        TextView textView = mTextViewReference.get();
+        if (textView == null || mTextGradientColor == null) {
+            return;
+        }
+        Layout layout = textView.getLayout();
+        if (layout == null) {
+            // 还没有排版（例如正在测量），这个时候不需要着色器
+            return;
+        }
+
+        CharSequence text = layout.getText();
+        int start = -1;
+        int end = -1;
+        if (text instanceof Spanned) {
+            start = ((Spanned) text).getSpanStart(this);
+            end = ((Spanned) text).getSpanEnd(this);
+        }
+        if (start < 0 || end < start) {
+            // 排版的文本经过了转换（例如密码、全大写），找不到当前 Span 的时候按照整段文本计算
+            start = 0;
+            end = text.length();
+        }
+
+        if (mLinearGradient == null || mLinearGradientLayout != layout ||
+                mLinearGradientStart != start || mLinearGradientEnd != end ||
+                mLinearGradientLineCount != layout.getLineCount()) {
+            mLinearGradient = createLinearGradient(layout, start, end);
+            mLinearGradientLayout = layout;
+            mLinearGradientStart = start;
+            mLinearGradientEnd = end;
+            mLinearGradientLineCount = layout.getLineCount();
+        }
+
+        if (mLinearGradient != null) {
+            textPaint.setShader(mLinearGradient);
+        }
+    }
+
+    /**
+     * 根据文本区间在排版中占用的区域创建渐变着色器（坐标和排版的坐标一致）
+     */
+    @Nullable
+    private LinearGradient createLinearGradient(Layout layout, int start, int end) {
+        int firstLine = layout.getLineForOffset(start);
+        int lastLine = layout.getLineForOffset(Math.max(start, end - 1));
+
+        if (mTextGradientOrientation == LinearGradientFontSpan.GRADIENT_ORIENTATION_VERTICAL) {
+            int top = layout.getLineTop(firstLine);
+            int bottom = layout.getLineBottom(lastLine);
+            if (bottom <= top) {
+                return null;
+            }
+            return new LinearGradient(0, top, 0, bottom,
+                    mTextGradientColor, mTextGradientPositions, Shader.TileMode.CLAMP);
+        }
+
+        float left = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        for (int line = firstLine; line <= lastLine; line++) {
+            left = Math.min(left, layout.getLineLeft(line));
+            right = Math.max(right, layout.getLineRight(line));
+        }
+        if (right <= left) {
+            return null;
+        }
+        return new LinearGradient(left, 0, right, 0,
+                mTextGradientColor, mTextGradientPositions, Shader.TileMode.CLAMP);
+    }
+
+    public LinearGradientTextSpan setTextGradientOrientation(int orientation) {
+        mTextGradientOrientation = orientation;
+        mLinearGradient = null;
+        return this;
+    }
+
+    public LinearGradientTextSpan setTextGradientColor(int[] colors) {
+        mTextGradientColor = colors;
+        mLinearGradient = null;
+        return this;
+    }
+
+    public LinearGradientTextSpan setTextGradientPositions(float[] positions) {
+        mTextGradientPositions = positions;
+        mLinearGradient = null;
+        return this;
+    }
+}
@@ -22,10 +22,25 @@ public class MultiFontSpan extends ReplacementSpan {
 
     @Override
     public int getSize(@NonNull Paint paint, CharSequence text, int start, int end, Paint.FontMetricsInt fm) {
+        // 每次测量都重新计算，避免文本变短之后宽度还是之前的
+        float measureTextWidth = 0;
+        CommonFontSpan measuredSpan = null;
         for (ReplacementSpan replacementSpan : mReplacementSpans) {
-            int size = replacementSpan.getSize(paint, text, start, end, fm);
-            mMeasureTextWidth = Math.max(mMeasureTextWidth, size);
+            if (replacementSpan instanceof CommonFontSpan) {
+                CommonFontSpan commonFontSpan = (CommonFontSpan) replacementSpan;
+                if (measuredSpan == null) {
+                    // 所有图层绘制的都是同一段文本，只需要测量一次
+                    commonFontSpan.getSize(paint, text, start, end, fm);
+                    measuredSpan = commonFontSpan;
+                } else {
+                    commonFontSpan.setMeasureTextWidth(measuredSpan.getMeasureTextWidth());
+                }
+                measureTextWidth = Math.max(measureTextWidth, measuredSpan.getMeasureTextWidth());
+                continue;
+            }
+            measureTextWidth = Math.max(measureTextWidth, replacementSpan.getSize(paint, text, start, end, fm));
         }
+        mMeasureTextWidth = measureTextWidth;
         return (int) mMeasureTextWidth;
     }
 
@@ -2,7 +2,11 @@ package com.hjq.shape.span;
 
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Typeface;
+import android.os.Build;
 import android.support.annotation.NonNull;
+import android.text.TextUtils;
 
 public class StrokeFontSpan extends CommonFontSpan {
 
@@ -12,9 +16,67 @@ public class StrokeFontSpan extends CommonFontSpan {
     private int mTextStrokeColor;
     private int mTextStrokeSize;
 
+    /** 描边画笔的属性是否需要重新同步 */
+    private boolean mStrokePaintDirty = true;
+
+    /** 上次同步时源画笔的属性（用于判断源画笔是否发生了变化） */
+    private float mSyncTextSize;
+    private Typeface mSyncTypeface;
+    private int mSyncFlags;
+    private float mSyncTextScaleX;
+    private float mSyncTextSkewX;
+    private float mSyncLetterSpacing;
+
+    /** 是否缓存文字轮廓路径（适合内容不变的长文本） */
+    private boolean mTextPathCacheEnabled;
+    /** 缓存的文字轮廓路径（以原点为基准） */
+    private final Path mTextPath = new Path();
+    /** 文字轮廓路径对应的文本（描边画笔重新同步之后需要重新生成） */
+    private String mTextPathText;
+
     @Override
     public void onDraw(@NonNull Canvas canvas, @NonNull Paint paint, CharSequence text, int start, int end, float x, int top, int y, int bottom) {
+        syncStrokePaint(paint);
+
+        if (!mTextPathCacheEnabled) {
+            canvas.drawText(text, start, end, x, y, mStrokePaint);
+            return;
+        }
+
+        if (!isTextPathValid(text, start, end)) {
+            String pathText = text.subSequence(start, end).toString();
+            mTextPath.reset();
+            mStrokePaint.getTextPath(pathText, 0, pathText.length(), 0, 0, mTextPath);
+            mTextPathText = pathText;
+        }
+
+        int saveCount = canvas.save();
+        canvas.translate(x, y);
+        canvas.drawPath(mTextPath, mStrokePaint);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * 只有在源画笔或者描边属性发生变化时才同步描边画笔，避免每次绘制都拷贝整个画笔
+     */
+    private void syncStrokePaint(Paint paint) {
+        float letterSpacing = 0;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            letterSpacing = paint.getLetterSpacing();
+        }
+        if (!mStrokePaintDirty &&
+                mSyncTextSize == paint.getTextSize() &&
+                mSyncTypeface == paint.getTypeface() &&
+                mSyncFlags == paint.getFlags() &&
+                mSyncTextScaleX == paint.getTextScaleX() &&
+                mSyncTextSkewX == paint.getTextSkewX() &&
+                mSyncLetterSpacing == letterSpacing) {
+            return;
+        }
+
         mStrokePaint.set(paint);
+        // 描边使用纯色绘制，不需要源画笔的着色器
+        mStrokePaint.setShader(null);
         // 设置抗锯齿
         mStrokePaint.setAntiAlias(true);
         // 设置防抖动
@@ -26,16 +88,47 @@ public class StrokeFontSpan extends CommonFontSpan {
         // 设置粗体
         //mStrokePaint.setFakeBoldText(true);
         mStrokePaint.setColor(mTextStrokeColor);
-        canvas.drawText(text, start, end, x, y, mStrokePaint);
+
+        mSyncTextSize = paint.getTextSize();
+        mSyncTypeface = paint.getTypeface();
+        mSyncFlags = paint.getFlags();
+        mSyncTextScaleX = paint.getTextScaleX();
+        mSyncTextSkewX = paint.getTextSkewX();
+        mSyncLetterSpacing = letterSpacing;
+        mStrokePaintDirty = false;
+        mTextPathText = null;
+    }
+
+    /**
+     * 判断缓存的文字轮廓路径是否还能使用
+     */
+    private boolean isTextPathValid(CharSequence text, int start, int end) {
+        return mTextPathText != null &&
+                mTextPathText.length() == end - start &&
+                TextUtils.regionMatches(text, start, mTextPathText, 0, end - start);
     }
 
     public StrokeFontSpan setTextStrokeColor(int color) {
         mTextStrokeColor = color;
+        mStrokePaintDirty = true;
         return this;
     }
 
     public StrokeFontSpan setTextStrokeSize(int size) {
         mTextStrokeSize = size;
+        mStrokePaintDirty = true;
+        return this;
+    }
+
+    /**
+     * 设置是否缓存文字轮廓路径（适合内容不变的长文本，开启后描边通过绘制路径实现）
+     */
+    public StrokeFontSpan setTextPathCacheEnabled(boolean enabled) {
+        mTextPathCacheEnabled = enabled;
+        if (!enabled) {
+            mTextPath.reset();
+            mTextPathText = null;
+        }
         return this;
     }
 }
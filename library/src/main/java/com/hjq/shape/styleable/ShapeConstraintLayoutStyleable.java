@@ -1,247 +0,0 @@
-package com.hjq.shape.styleable;
-
-import com.hjq.shape.R;
-import com.hjq.shape.config.IShapeDrawableStyleable;
-
-/**
- *    author : Android 轮子哥
- *    github : https://github.com/getActivity/ShapeView
- *    time   : 2021/08/28
- *    desc   : ConstraintLayout 的 Shape 属性值
- */
-public final class ShapeConstraintLayoutStyleable implements IShapeDrawableStyleable {
-
-    /**
-     * {@link IShapeDrawableStyleable}
-     */
-
-    @Override
-    public int getShapeTypeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_type;
-    }
-
-    @Override
-    public int getShapeWidthStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_width;
-    }
-
-    @Override
-    public int getShapeHeightStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_height;
-    }
-
-    @Override
-    public int getRadiusStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radius;
-    }
-
-    @Override
-    public int getRadiusInTopLeftStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInTopLeft;
-    }
-
-    @Override
-    public int getRadiusInTopStartStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInTopStart;
-    }
-
-    @Override
-    public int getRadiusInTopRightStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInTopRight;
-    }
-
-    @Override
-    public int getRadiusInTopEndStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInTopEnd;
-    }
-
-    @Override
-    public int getRadiusInBottomLeftStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInBottomLeft;
-    }
-
-    @Override
-    public int getRadiusInBottomStartStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInBottomStart;
-    }
-
-    @Override
-    public int getRadiusInBottomRightStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInBottomRight;
-    }
-
-    @Override
-    public int getRadiusInBottomEndStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_radiusInBottomEnd;
-    }
-
-    @Override
-    public int getSolidColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidColor;
-    }
-
-    @Override
-    public int getSolidPressedColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidPressedColor;
-    }
-
-    @Override
-    public int getSolidDisabledColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidDisabledColor;
-    }
-
-    @Override
-    public int getSolidFocusedColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidFocusedColor;
-    }
-
-    @Override
-    public int getSolidSelectedColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidSelectedColor;
-    }
-
-    @Override
-    public int getSolidGradientStartColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientStartColor;
-    }
-
-    @Override
-    public int getSolidGradientCenterColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientCenterColor;
-    }
-
-    @Override
-    public int getSolidGradientEndColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientEndColor;
-    }
-
-    @Override
-    public int getSolidGradientOrientationStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientOrientation;
-    }
-
-    @Override
-    public int getSolidGradientTypeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientType;
-    }
-
-    @Override
-    public int getSolidGradientCenterXStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientCenterX;
-    }
-
-    @Override
-    public int getSolidGradientCenterYStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientCenterY;
-    }
-
-    @Override
-    public int getSolidGradientRadiusStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_solidGradientRadius;
-    }
-
-    @Override
-    public int getStrokeColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeColor;
-    }
-
-    @Override
-    public int getStrokePressedColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokePressedColor;
-    }
-
-    @Override
-    public int getStrokeDisabledColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeDisabledColor;
-    }
-
-    @Override
-    public int getStrokeFocusedColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeFocusedColor;
-    }
-
-    @Override
-    public int getStrokeSelectedColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeSelectedColor;
-    }
-
-    @Override
-    public int getStrokeGradientStartColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeGradientStartColor;
-    }
-
-    @Override
-    public int getStrokeGradientCenterColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeGradientCenterColor;
-    }
-
-    @Override
-    public int getStrokeGradientEndColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeGradientColor;
-    }
-
-    @Override
-    public int getStrokeGradientOrientationStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeGradientOrientation;
-    }
-
-    @Override
-    public int getStrokeSizeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeSize;
-    }
-
-    @Override
-    public int getStrokeDashSizeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeDashSize;
-    }
-
-    @Override
-    public int getStrokeDashGapStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_strokeDashGap;
-    }
-
-    @Override
-    public int getShadowSizeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_shadowSize;
-    }
-
-    @Override
-    public int getShadowColorStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_shadowColor;
-    }
-
-    @Override
-    public int getShadowOffsetXStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_shadowOffsetX;
-    }
-
-    @Override
-    public int getShadowOffsetYStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_shadowOffsetY;
-    }
-
-    @Override
-    public int getRingInnerRadiusSizeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_ringInnerRadiusSize;
-    }
-
-    @Override
-    public int getRingInnerRadiusRatioStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_ringInnerRadiusRatio;
-    }
-
-    @Override
-    public int getRingThicknessSizeStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_ringThicknessSize;
-    }
-
-    @Override
-    public int getRingThicknessRatioStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_ringThicknessRatio;
-    }
-
-    @Override
-    public int getLineGravityStyleable() {
-        return R.styleable.ShapeConstraintLayout_shape_lineGravity;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,398 @@
+package com.hjq.shape.styleable;
+
+import android.support.annotation.NonNull;
+
+import com.hjq.shape.config.ICompoundButtonStyleable;
+import com.hjq.shape.config.IShapeDrawableStyleable;
+import com.hjq.shape.config.ITextColorStyleable;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 通用的 Shape 属性值（属性下标来自 attrs.xml 自动生成的 {@link ShapeStyleableTable}）
+ */
+public final class ShapeStyleable implements IShapeDrawableStyleable,
+        ITextColorStyleable, ICompoundButtonStyleable {
+
+    /** 属性下标表（数组下标为 {@link ShapeStyleableTable} 中的属性常量，数组的值为 TypedArray 中的属性下标） */
+    private final int[] mIndexes;
+
+    public ShapeStyleable(@NonNull int[] indexes) {
+        mIndexes = indexes;
+    }
+
+    /**
+     * 属性下标表相同的对象是等价的（属性索引表等缓存以属性对象作为 key，临时创建的对象也能命中缓存）
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ShapeStyleable)) {
+            return false;
+        }
+        return mIndexes == ((ShapeStyleable) obj).mIndexes;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(mIndexes);
+    }
+
+    /**
+     * 获取可选属性的下标（没有声明这个属性则返回 0，和接口的默认实现保持一致）
+     */
+    private int getOptionalIndex(int attr) {
+        int index = mIndexes[attr];
+        return index == ShapeStyleableTable.NONE ? 0 : index;
+    }
+
+    /**
+     * {@link IShapeDrawableStyleable}
+     */
+
+    @Override
+    public int getShapeTypeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TYPE];
+    }
+
+    @Override
+    public int getShapeWidthStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_WIDTH];
+    }
+
+    @Override
+    public int getShapeHeightStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_HEIGHT];
+    }
+
+    @Override
+    public int getRadiusStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS];
+    }
+
+    @Override
+    public int getRadiusInTopLeftStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_TOP_LEFT];
+    }
+
+    @Override
+    public int getRadiusInTopStartStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_TOP_START];
+    }
+
+    @Override
+    public int getRadiusInTopRightStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_TOP_RIGHT];
+    }
+
+    @Override
+    public int getRadiusInTopEndStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_TOP_END];
+    }
+
+    @Override
+    public int getRadiusInBottomLeftStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_BOTTOM_LEFT];
+    }
+
+    @Override
+    public int getRadiusInBottomStartStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_BOTTOM_START];
+    }
+
+    @Override
+    public int getRadiusInBottomRightStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_BOTTOM_RIGHT];
+    }
+
+    @Override
+    public int getRadiusInBottomEndStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RADIUS_IN_BOTTOM_END];
+    }
+
+    @Override
+    public int getSolidColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_COLOR];
+    }
+
+    @Override
+    public int getSolidPressedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_PRESSED_COLOR];
+    }
+
+    @Override
+    public int getSolidCheckedColorStyleable() {
+        return getOptionalIndex(ShapeStyleableTable.SHAPE_SOLID_CHECKED_COLOR);
+    }
+
+    @Override
+    public int getSolidDisabledColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_DISABLED_COLOR];
+    }
+
+    @Override
+    public int getSolidFocusedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_FOCUSED_COLOR];
+    }
+
+    @Override
+    public int getSolidSelectedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_SELECTED_COLOR];
+    }
+
+    @Override
+    public int getSolidGradientStartColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_START_COLOR];
+    }
+
+    @Override
+    public int getSolidGradientCenterColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_CENTER_COLOR];
+    }
+
+    @Override
+    public int getSolidGradientEndColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_END_COLOR];
+    }
+
+    @Override
+    public int getSolidGradientOrientationStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_ORIENTATION];
+    }
+
+    @Override
+    public int getSolidGradientTypeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_TYPE];
+    }
+
+    @Override
+    public int getSolidGradientCenterXStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_CENTER_X];
+    }
+
+    @Override
+    public int getSolidGradientCenterYStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_CENTER_Y];
+    }
+
+    @Override
+    public int getSolidGradientRadiusStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SOLID_GRADIENT_RADIUS];
+    }
+
+    @Override
+    public int getStrokeColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_COLOR];
+    }
+
+    @Override
+    public int getStrokePressedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_PRESSED_COLOR];
+    }
+
+    @Override
+    public int getStrokeCheckedColorStyleable() {
+        return getOptionalIndex(ShapeStyleableTable.SHAPE_STROKE_CHECKED_COLOR);
+    }
+
+    @Override
+    public int getStrokeDisabledColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_DISABLED_COLOR];
+    }
+
+    @Override
+    public int getStrokeFocusedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_FOCUSED_COLOR];
+    }
+
+    @Override
+    public int getStrokeSelectedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_SELECTED_COLOR];
+    }
+
+    @Override
+    public int getStrokeGradientStartColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_GRADIENT_START_COLOR];
+    }
+
+    @Override
+    public int getStrokeGradientCenterColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_GRADIENT_CENTER_COLOR];
+    }
+
+    @Override
+    public int getStrokeGradientEndColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_GRADIENT_COLOR];
+    }
+
+    @Override
+    public int getStrokeGradientOrientationStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_GRADIENT_ORIENTATION];
+    }
+
+    @Override
+    public int getStrokeSizeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_SIZE];
+    }
+
+    @Override
+    public int getStrokeDashSizeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_DASH_SIZE];
+    }
+
+    @Override
+    public int getStrokeDashGapStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_STROKE_DASH_GAP];
+    }
+
+    @Override
+    public int getShadowSizeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SHADOW_SIZE];
+    }
+
+    @Override
+    public int getShadowColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SHADOW_COLOR];
+    }
+
+    @Override
+    public int getShadowOffsetXStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SHADOW_OFFSET_X];
+    }
+
+    @Override
+    public int getShadowOffsetYStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_SHADOW_OFFSET_Y];
+    }
+
+    @Override
+    public int getRingInnerRadiusSizeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RING_INNER_RADIUS_SIZE];
+    }
+
+    @Override
+    public int getRingInnerRadiusRatioStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RING_INNER_RADIUS_RATIO];
+    }
+
+    @Override
+    public int getRingThicknessSizeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RING_THICKNESS_SIZE];
+    }
+
+    @Override
+    public int getRingThicknessRatioStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_RING_THICKNESS_RATIO];
+    }
+
+    @Override
+    public int getLineGravityStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_LINE_GRAVITY];
+    }
+
+    @Override
+    public int getClipToShapeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_CLIP_TO_SHAPE];
+    }
+
+    /**
+     * {@link ITextColorStyleable}
+     */
+
+    @Override
+    public int getTextColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_COLOR];
+    }
+
+    @Override
+    public int getTextPressedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_PRESSED_COLOR];
+    }
+
+    @Override
+    public int getTextCheckedColorStyleable() {
+        return getOptionalIndex(ShapeStyleableTable.SHAPE_TEXT_CHECKED_COLOR);
+    }
+
+    @Override
+    public int getTextDisabledColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_DISABLED_COLOR];
+    }
+
+    @Override
+    public int getTextFocusedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_FOCUSED_COLOR];
+    }
+
+    @Override
+    public int getTextSelectedColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_SELECTED_COLOR];
+    }
+
+    @Override
+    public int getTextStartColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_START_COLOR];
+    }
+
+    @Override
+    public int getTextCenterColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_CENTER_COLOR];
+    }
+
+    @Override
+    public int getTextEndColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_END_COLOR];
+    }
+
+    @Override
+    public int getTextGradientOrientationStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_GRADIENT_ORIENTATION];
+    }
+
+    /**
+     * {@link ICompoundButtonStyleable}
+     */
+
+    @Override
+    public int getButtonDrawableStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_BUTTON_DRAWABLE];
+    }
+
+    @Override
+    public int getButtonPressedDrawableStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_BUTTON_PRESSED_DRAWABLE];
+    }
+
+    @Override
+    public int getButtonCheckedDrawableStyleable() {
+        return getOptionalIndex(ShapeStyleableTable.SHAPE_BUTTON_CHECKED_DRAWABLE);
+    }
+
+    @Override
+    public int getButtonDisabledDrawableStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_BUTTON_DISABLED_DRAWABLE];
+    }
+
+    @Override
+    public int getButtonFocusedDrawableStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_BUTTON_FOCUSED_DRAWABLE];
+    }
+
+    @Override
+    public int getButtonSelectedDrawableStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_BUTTON_SELECTED_DRAWABLE];
+    }
+
+    @Override
+    public int getTextStrokeColorStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_STROKE_COLOR];
+    }
+
+    @Override
+    public int getTextStrokeSizeStyleable() {
+        return mIndexes[ShapeStyleableTable.SHAPE_TEXT_STROKE_SIZE];
+    }
+}
\ No newline at end of file
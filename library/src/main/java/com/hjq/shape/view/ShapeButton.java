@@ -10,7 +10,8 @@ import com.hjq.shape.builder.ShapeDrawableBuilder;
 import com.hjq.shape.builder.TextColorBuilder;
 import com.hjq.shape.config.IGetShapeDrawableBuilder;
 import com.hjq.shape.config.IGetTextColorBuilder;
-import com.hjq.shape.styleable.ShapeButtonStyleable;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
 
 /**
  *    author : Android 轮子哥
@@ -21,7 +22,7 @@ import com.hjq.shape.styleable.ShapeButtonStyleable;
 public class ShapeButton extends AppCompatButton implements
         IGetShapeDrawableBuilder, IGetTextColorBuilder {
 
-    private static final ShapeButtonStyleable STYLEABLE = new ShapeButtonStyleable();
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_BUTTON);
 
     private final ShapeDrawableBuilder mShapeDrawableBuilder;
     private final TextColorBuilder mTextColorBuilder;
@@ -70,6 +71,22 @@ public class ShapeButton extends AppCompatButton implements
         }
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mShapeDrawableBuilder.onAttachedToWindow();
+        mTextColorBuilder.onAttachedToWindow();
+    }
+
+    @Override
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        super.onRtlPropertiesChanged(layoutDirection);
+        if (mShapeDrawableBuilder == null) {
+            return;
+        }
+        mShapeDrawableBuilder.onRtlPropertiesChanged(layoutDirection);
+    }
+
     @Override
     public ShapeDrawableBuilder getShapeDrawableBuilder() {
         return mShapeDrawableBuilder;
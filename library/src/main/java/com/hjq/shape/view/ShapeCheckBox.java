@@ -13,7 +13,8 @@ import com.hjq.shape.builder.TextColorBuilder;
 import com.hjq.shape.config.IGetButtonDrawableBuilder;
 import com.hjq.shape.config.IGetShapeDrawableBuilder;
 import com.hjq.shape.config.IGetTextColorBuilder;
-import com.hjq.shape.styleable.ShapeCheckBoxStyleable;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
 
 /**
  *    author : Android 轮子哥
@@ -24,7 +25,7 @@ import com.hjq.shape.styleable.ShapeCheckBoxStyleable;
 public class ShapeCheckBox extends AppCompatCheckBox implements
         IGetShapeDrawableBuilder, IGetTextColorBuilder, IGetButtonDrawableBuilder {
 
-    private static final ShapeCheckBoxStyleable STYLEABLE = new ShapeCheckBoxStyleable();
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_CHECK_BOX);
 
     private final ShapeDrawableBuilder mShapeDrawableBuilder;
     private final TextColorBuilder mTextColorBuilder;
@@ -86,6 +87,23 @@ public class ShapeCheckBox extends AppCompatCheckBox implements
         mButtonDrawableBuilder.setButtonDrawable(drawable);
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mShapeDrawableBuilder.onAttachedToWindow();
+        mTextColorBuilder.onAttachedToWindow();
+        mButtonDrawableBuilder.onAttachedToWindow();
+    }
+
+    @Override
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        super.onRtlPropertiesChanged(layoutDirection);
+        if (mShapeDrawableBuilder == null) {
+            return;
+        }
+        mShapeDrawableBuilder.onRtlPropertiesChanged(layoutDirection);
+    }
+
     @Override
     public ShapeDrawableBuilder getShapeDrawableBuilder() {
         return mShapeDrawableBuilder;
@@ -2,26 +2,33 @@ package com.hjq.shape.view;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
 import android.support.v7.widget.AppCompatImageView;
 import android.util.AttributeSet;
 
 import com.hjq.shape.R;
 import com.hjq.shape.builder.ShapeDrawableBuilder;
 import com.hjq.shape.config.IGetShapeDrawableBuilder;
-import com.hjq.shape.styleable.ShapeImageViewStyleable;
+import com.hjq.shape.other.ShapeImageRenderer;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
 
 /**
  *    author : Android 轮子哥
  *    github : https://github.com/getActivity/ShapeView
  *    time   : 2021/07/17
- *    desc   : 支持直接定义 Shape 背景的 ImageView
+ *    desc   : 支持直接定义 Shape 背景的 ImageView（开启 shape_clipToShape 之后图片也会按照图形绘制）
  */
 public class ShapeImageView extends AppCompatImageView implements IGetShapeDrawableBuilder {
 
-    private static final ShapeImageViewStyleable STYLEABLE = new ShapeImageViewStyleable();
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_IMAGE_VIEW);
 
     private final ShapeDrawableBuilder mShapeDrawableBuilder;
 
+    /** 按照图形绘制图片（开启 shape_clipToShape 之后才会创建） */
+    private ShapeImageRenderer mImageRenderer;
+
     public ShapeImageView(Context context) {
         this(context, null);
     }
@@ -40,6 +47,69 @@ public class ShapeImageView extends AppCompatImageView implements IGetShapeDrawa
         mShapeDrawableBuilder.intoBackground();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mShapeDrawableBuilder.onAttachedToWindow();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (!mShapeDrawableBuilder.isClipToShapeEnabled()) {
+            super.onDraw(canvas);
+            return;
+        }
+        if (mImageRenderer == null) {
+            mImageRenderer = new ShapeImageRenderer();
+        }
+        if (!mImageRenderer.draw(canvas, this, mShapeDrawableBuilder)) {
+            super.onDraw(canvas);
+        }
+    }
+
+    @Override
+    public void setScaleType(ScaleType scaleType) {
+        super.setScaleType(scaleType);
+        invalidateImageMatrix();
+    }
+
+    @Override
+    public void setImageMatrix(Matrix matrix) {
+        super.setImageMatrix(matrix);
+        invalidateImageMatrix();
+    }
+
+    @Override
+    public void setPadding(int left, int top, int right, int bottom) {
+        super.setPadding(left, top, right, bottom);
+        invalidateImageMatrix();
+    }
+
+    @Override
+    public void setPaddingRelative(int start, int top, int end, int bottom) {
+        super.setPaddingRelative(start, top, end, bottom);
+        invalidateImageMatrix();
+    }
+
+    /**
+     * 图片的显示位置发生了变化，需要重新计算着色器矩阵（图片和尺寸的变化在绘制时会自动检查）
+     */
+    private void invalidateImageMatrix() {
+        if (mImageRenderer == null) {
+            return;
+        }
+        mImageRenderer.invalidateMatrix();
+    }
+
+    @Override
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        super.onRtlPropertiesChanged(layoutDirection);
+        if (mShapeDrawableBuilder == null) {
+            return;
+        }
+        mShapeDrawableBuilder.onRtlPropertiesChanged(layoutDirection);
+    }
+
     @Override
     public ShapeDrawableBuilder getShapeDrawableBuilder() {
         return mShapeDrawableBuilder;
@@ -2,7 +2,14 @@ package com.hjq.shape.view;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.os.AsyncTask;
+import android.os.Build;
+import android.support.annotation.Nullable;
+import android.support.v4.text.PrecomputedTextCompat;
+import android.support.v4.widget.TextViewCompat;
 import android.support.v7.widget.AppCompatTextView;
+import android.text.PrecomputedText;
+import android.text.TextUtils;
 import android.util.AttributeSet;
 
 import com.hjq.shape.R;
@@ -10,7 +17,12 @@ import com.hjq.shape.builder.ShapeDrawableBuilder;
 import com.hjq.shape.builder.TextColorBuilder;
 import com.hjq.shape.config.IGetShapeDrawableBuilder;
 import com.hjq.shape.config.IGetTextColorBuilder;
-import com.hjq.shape.styleable.ShapeTextViewStyleable;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  *    author : Android 轮子哥
@@ -21,11 +33,15 @@ import com.hjq.shape.styleable.ShapeTextViewStyleable;
 public class ShapeTextView extends AppCompatTextView implements
         IGetShapeDrawableBuilder, IGetTextColorBuilder {
 
-    private static final ShapeTextViewStyleable STYLEABLE = new ShapeTextViewStyleable();
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_TEXT_VIEW);
 
     private final ShapeDrawableBuilder mShapeDrawableBuilder;
     private final TextColorBuilder mTextColorBuilder;
 
+    /** 还没有设置到 View 上的异步文本任务 */
+    @Nullable
+    private Future<PrecomputedTextCompat> mTextFuture;
+
     public ShapeTextView(Context context) {
         this(context, null);
     }
@@ -62,7 +78,18 @@ public class ShapeTextView extends AppCompatTextView implements
 
     @Override
     public void setText(CharSequence text, BufferType type) {
-        if (mTextColorBuilder != null &&
+        if (isTextFutureResult(text)) {
+            // 异步文本任务的结果已经被取出来设置了
+            mTextFuture = null;
+        } else {
+            // 直接设置的文本会覆盖之前还没有应用的异步文本，否则下次测量时又会被旧的异步文本替换掉
+            cancelTextFuture();
+        }
+
+        if (isPrecomputedText(text)) {
+            // 预先计算好的文本已经构建过文本样式了，这里不能再包装一次，否则会丢失测量结果
+            super.setText(text, type);
+        } else if (mTextColorBuilder != null &&
                 (mTextColorBuilder.isTextGradientColorsEnable() || mTextColorBuilder.isTextStrokeColorEnable())) {
             super.setText(mTextColorBuilder.buildTextSpannable(text), type);
         } else {
@@ -70,6 +97,103 @@ public class ShapeTextView extends AppCompatTextView implements
         }
     }
 
+    /**
+     * 在后台线程中构建文本样式并测量排版，等到下次测量时再一次性设置到 View 上（适用于 RecyclerView 绑定数据）
+     */
+    public void setTextAsync(CharSequence text) {
+        setTextAsync(text, null);
+    }
+
+    /**
+     * 在后台线程中构建文本样式并测量排版，等到下次测量时再一次性设置到 View 上（适用于 RecyclerView 绑定数据）
+     *
+     * @param executor          执行构建和测量的线程池，为空则使用 {@link AsyncTask#THREAD_POOL_EXECUTOR}
+     */
+    public void setTextAsync(CharSequence text, @Nullable Executor executor) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP || TextUtils.isEmpty(text)) {
+            // 低版本的 PrecomputedTextCompat 没有测量结果可以复用，直接走同步的流程
+            setText(text);
+            return;
+        }
+
+        // 测量参数必须在主线程中获取，设置的时候会校验参数是否和当前 View 的一致
+        final PrecomputedTextCompat.Params params = TextViewCompat.getTextMetricsParams(this);
+        final boolean textStyleEnable = mTextColorBuilder.isTextGradientColorsEnable() ||
+                mTextColorBuilder.isTextStrokeColorEnable();
+
+        FutureTask<PrecomputedTextCompat> future = new FutureTask<>(() -> {
+            CharSequence source = textStyleEnable ? mTextColorBuilder.prepareTextSpannable(text) : text;
+            return PrecomputedTextCompat.create(source, params);
+        });
+        (executor != null ? executor : AsyncTask.THREAD_POOL_EXECUTOR).execute(future);
+        setTextFuture(future);
+    }
+
+    @Override
+    public void setTextFuture(@Nullable Future<PrecomputedTextCompat> future) {
+        if (mTextFuture != null && mTextFuture != future) {
+            // 新的异步文本会替换掉旧的，旧的任务还没有执行的话就不需要再执行了
+            mTextFuture.cancel(false);
+        }
+        mTextFuture = future;
+        super.setTextFuture(future);
+    }
+
+    /**
+     * 取消还没有应用的异步文本任务
+     */
+    private void cancelTextFuture() {
+        if (mTextFuture == null) {
+            return;
+        }
+        mTextFuture.cancel(false);
+        mTextFuture = null;
+        // AppCompatTextView 在测量时才会取出任务的结果，已经取消的任务取结果会抛出异常，所以这里要一起清空
+        super.setTextFuture(null);
+    }
+
+    /**
+     * 判断文本是否是当前异步文本任务的结果
+     */
+    private boolean isTextFutureResult(CharSequence text) {
+        if (mTextFuture == null || !mTextFuture.isDone() || mTextFuture.isCancelled() || !isPrecomputedText(text)) {
+            return false;
+        }
+        try {
+            // Android 9.0 及以上设置的是 PrecomputedTextCompat 包装的系统 PrecomputedText，所以这里比较的是文本内容
+            PrecomputedTextCompat result = mTextFuture.get();
+            return result == text || TextUtils.equals(result, text);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 判断文本是否是预先计算好的文本
+     */
+    private static boolean isPrecomputedText(CharSequence text) {
+        if (text instanceof PrecomputedTextCompat) {
+            return true;
+        }
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.P && text instanceof PrecomputedText;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mShapeDrawableBuilder.onAttachedToWindow();
+        mTextColorBuilder.onAttachedToWindow();
+    }
+
+    @Override
+    public void onRtlPropertiesChanged(int layoutDirection) {
+        super.onRtlPropertiesChanged(layoutDirection);
+        if (mShapeDrawableBuilder == null) {
+            return;
+        }
+        mShapeDrawableBuilder.onRtlPropertiesChanged(layoutDirection);
+    }
+
     @Override
     public ShapeDrawableBuilder getShapeDrawableBuilder() {
         return mShapeDrawableBuilder;
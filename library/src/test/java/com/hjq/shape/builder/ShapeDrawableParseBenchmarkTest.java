@@ -0,0 +1,142 @@
+package com.hjq.shape.builder;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.R;
+import com.hjq.shape.styleable.ShapeStyleable;
+import com.hjq.shape.styleable.ShapeStyleableTable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawableBuilder 属性解析的基准测试，对比单次遍历解析和逐个属性调用 hasValue 探测的耗时和内存分配（两种方式读取的属性值相同，只有遍历方式不同）
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeDrawableParseBenchmarkTest {
+
+    private static final ShapeStyleable STYLEABLE = new ShapeStyleable(ShapeStyleableTable.SHAPE_TEXT_VIEW);
+
+    private static final int WARM_UP_COUNT = 2000;
+    private static final int MEASURE_COUNT = 20000;
+
+    private View mView;
+    private TypedArray mTypedArray;
+
+    @Before
+    public void setUp() {
+        Context context = RuntimeEnvironment.application;
+        AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.shape_type, "rectangle")
+                .addAttribute(R.attr.shape_radius, "10dp")
+                .addAttribute(R.attr.shape_radiusInTopStart, "4dp")
+                .addAttribute(R.attr.shape_solidColor, "#FFFFFFFF")
+                .addAttribute(R.attr.shape_solidPressedColor, "#FFEEEEEE")
+                .addAttribute(R.attr.shape_solidDisabledColor, "#FFCCCCCC")
+                .addAttribute(R.attr.shape_strokeColor, "#FF000000")
+                .addAttribute(R.attr.shape_strokePressedColor, "#FF333333")
+                .addAttribute(R.attr.shape_strokeSize, "1dp")
+                .addAttribute(R.attr.shape_shadowSize, "6dp")
+                .addAttribute(R.attr.shape_shadowColor, "#22000000")
+                .build();
+        mView = new View(context);
+        mTypedArray = context.obtainStyledAttributes(attrs, R.styleable.ShapeTextView);
+    }
+
+    @Test
+    public void parseAttributes() {
+        ShapeDrawableBuilder builder = new ShapeDrawableBuilder(mView, mTypedArray, STYLEABLE);
+        assertEquals(0xFFFFFFFF, builder.getSolidColor());
+        assertNotNull(builder.getSolidPressedColor());
+        assertEquals(0xFFEEEEEE, (int) builder.getSolidPressedColor());
+        assertNotNull(builder.getStrokePressedColor());
+
+        int[] table = ShapeDrawableAttrTable.obtain(STYLEABLE);
+        TypedValue typedValue = new TypedValue();
+
+        for (int i = 0; i < WARM_UP_COUNT; i++) {
+            new ShapeDrawableBuilder(mView, mTypedArray, STYLEABLE);
+            walkAttributes(table, typedValue);
+            probeAttributes(table, typedValue);
+        }
+
+        long builderBytes = AllocationMeter.getAllocatedBytes();
+        long builderTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_COUNT; i++) {
+            new ShapeDrawableBuilder(mView, mTypedArray, STYLEABLE);
+        }
+        builderTime = System.nanoTime() - builderTime;
+        builderBytes = AllocationMeter.getAllocatedBytes() - builderBytes;
+
+        long singlePassBytes = AllocationMeter.getAllocatedBytes();
+        long singlePassTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_COUNT; i++) {
+            walkAttributes(table, typedValue);
+        }
+        singlePassTime = System.nanoTime() - singlePassTime;
+        singlePassBytes = AllocationMeter.getAllocatedBytes() - singlePassBytes;
+
+        long probeBytes = AllocationMeter.getAllocatedBytes();
+        long probeTime = System.nanoTime();
+        for (int i = 0; i < MEASURE_COUNT; i++) {
+            probeAttributes(table, typedValue);
+        }
+        probeTime = System.nanoTime() - probeTime;
+        probeBytes = AllocationMeter.getAllocatedBytes() - probeBytes;
+
+        AllocationMeter.report("builder constructor", formatResult(builderTime, builderBytes));
+        AllocationMeter.report("single-pass attribute walk", formatResult(singlePassTime, singlePassBytes));
+        AllocationMeter.report("hasValue probe of every attribute", formatResult(probeTime, probeBytes));
+    }
+
+    /**
+     * 单次遍历的解析方式（和 ShapeDrawableBuilder 的构造函数一致）：只遍历布局中实际设置了的属性
+     */
+    private void walkAttributes(int[] table, TypedValue typedValue) {
+        int indexCount = mTypedArray.getIndexCount();
+        for (int i = 0; i < indexCount; i++) {
+            int index = mTypedArray.getIndex(i);
+            if (index >= table.length || table[index] == ShapeDrawableAttrTable.ATTR_NONE) {
+                continue;
+            }
+            mTypedArray.getValue(index, typedValue);
+        }
+    }
+
+    /**
+     * 单次遍历之前的解析方式：每个属性都调用一次 hasValue，有值的属性再读取一次
+     */
+    private void probeAttributes(int[] table, TypedValue typedValue) {
+        for (int index = 0; index < table.length; index++) {
+            if (table[index] == ShapeDrawableAttrTable.ATTR_NONE) {
+                continue;
+            }
+            if (mTypedArray.hasValue(index)) {
+                mTypedArray.getValue(index, typedValue);
+            }
+        }
+    }
+
+    private static String formatResult(long timeNanos, long allocatedBytes) {
+        String result = (timeNanos / MEASURE_COUNT) + " ns per view";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + (allocatedBytes / MEASURE_COUNT) + " bytes per view";
+        }
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hjq.shape.builder;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.view.View;
+import android.widget.LinearLayout;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.layout.ShapeLinearLayout;
+import com.hjq.shape.view.ShapeButton;
+import com.hjq.shape.view.ShapeTextView;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 延迟创建背景的测试用例，统计一个示例界面在开启和关闭延迟创建时创建背景的次数
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeLazyBackgroundTest {
+
+    /** 当前显示的页面中 View 的个数（包括页面的根布局） */
+    private static final int VISIBLE_ITEM_COUNT = 10;
+    /** 还没有切换到的页面中 View 的个数（包括页面的根布局） */
+    private static final int HIDDEN_ITEM_COUNT = 20;
+
+    @After
+    public void tearDown() {
+        ShapeDrawableBuilder.setDefaultLazyBackgroundEnabled(false);
+    }
+
+    @Test
+    public void lazyBackgroundDisabled() {
+        ShapeDrawableBuilder.setDefaultLazyBackgroundEnabled(false);
+        int createCount = inflateSampleScreen();
+        AllocationMeter.report("sample screen without lazy background", createCount + " backgrounds created");
+        assertEquals(VISIBLE_ITEM_COUNT + HIDDEN_ITEM_COUNT, createCount);
+    }
+
+    @Test
+    public void lazyBackgroundEnabled() {
+        ShapeDrawableBuilder.setDefaultLazyBackgroundEnabled(true);
+        int createCount = inflateSampleScreen();
+        AllocationMeter.report("sample screen with lazy background", createCount + " backgrounds created");
+        // 还没有切换到的页面没有附加到窗口上，不会创建背景
+        assertEquals(VISIBLE_ITEM_COUNT, createCount);
+    }
+
+    @Test
+    public void lazyBackgroundCreatedWhenAttached() {
+        ShapeDrawableBuilder.setDefaultLazyBackgroundEnabled(true);
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        ShapeLinearLayout page = createPage(activity, HIDDEN_ITEM_COUNT);
+        assertNull(page.getBackground());
+
+        // 切换到这个页面的时候才创建背景
+        ShapeDrawableBuilder.resetBackgroundCreateCount();
+        activity.setContentView(page);
+        assertNotNull(page.getBackground());
+        assertEquals(HIDDEN_ITEM_COUNT, ShapeDrawableBuilder.getBackgroundCreateCount());
+    }
+
+    /**
+     * 创建一个示例界面：当前显示的页面添加到窗口上，另外一个页面已经创建但还没有切换过去（例如 ViewPager 中的下一页）
+     *
+     * @return          创建背景的次数
+     */
+    private static int inflateSampleScreen() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        // 计数是整个进程共用的，统计之前先清零
+        ShapeDrawableBuilder.resetBackgroundCreateCount();
+        ShapeLinearLayout visiblePage = createPage(activity, VISIBLE_ITEM_COUNT);
+        ShapeLinearLayout hiddenPage = createPage(activity, HIDDEN_ITEM_COUNT);
+        activity.setContentView(visiblePage);
+        assertNotNull(visiblePage.getBackground());
+        assertNotNull(hiddenPage);
+        return ShapeDrawableBuilder.getBackgroundCreateCount();
+    }
+
+    /**
+     * 创建一个页面（根布局和里面的 View 都设置了 Shape 背景）
+     */
+    private static ShapeLinearLayout createPage(Activity activity, int itemCount) {
+        ShapeLinearLayout page = new ShapeLinearLayout(activity);
+        page.setOrientation(LinearLayout.VERTICAL);
+        page.getShapeDrawableBuilder()
+                .setSolidColor(Color.WHITE)
+                .intoBackground();
+        for (int i = 1; i < itemCount; i++) {
+            View item;
+            if (i % 2 == 0) {
+                ShapeTextView textView = new ShapeTextView(activity);
+                textView.getShapeDrawableBuilder()
+                        .setSolidColor(Color.LTGRAY)
+                        .setRadius(10)
+                        .intoBackground();
+                item = textView;
+            } else {
+                ShapeButton button = new ShapeButton(activity);
+                button.getShapeDrawableBuilder()
+                        .setSolidColor(Color.BLUE)
+                        .setSolidPressedColor(Color.GRAY)
+                        .setRadius(20)
+                        .intoBackground();
+                item = button;
+            }
+            page.addView(item);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,103 @@
+package com.hjq.shape.builder;
+
+import android.content.Context;
+import android.graphics.Color;
+
+import com.hjq.shape.view.ShapeTextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeTransaction 测试用例，统计修改背景和文本颜色时触发的重绘和重新布局次数
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeTransactionTest {
+
+    private CountingTextView mView;
+
+    @Before
+    public void setUp() {
+        mView = new CountingTextView(RuntimeEnvironment.application);
+        mView.setText("ShapeView");
+        // 先把背景和渐变文本构建好，后面的修改都会走原地更新的逻辑
+        mView.getShapeDrawableBuilder().setSolidColor(Color.RED).intoBackground();
+        mView.getTextColorBuilder().setTextGradientColors(Color.RED, Color.BLUE).intoTextColor();
+        mView.resetCount();
+    }
+
+    @Test
+    public void separateApplyInvalidatesTwice() {
+        mView.getShapeDrawableBuilder().setSolidColor(Color.GREEN).intoBackground();
+        mView.getTextColorBuilder().setTextGradientColors(Color.GREEN, Color.YELLOW).intoTextColor();
+
+        assertEquals(2, mView.mInvalidateCount);
+        assertEquals(0, mView.mRequestLayoutCount);
+    }
+
+    @Test
+    public void transactionInvalidatesOnce() {
+        ShapeTransaction transaction = ShapeTransaction.begin(mView);
+        transaction.getShapeDrawableBuilder().setSolidColor(Color.GREEN);
+        transaction.getTextColorBuilder().setTextGradientColors(Color.GREEN, Color.YELLOW);
+        transaction.commit();
+
+        assertEquals(1, mView.mInvalidateCount);
+        assertEquals(0, mView.mRequestLayoutCount);
+    }
+
+    @Test
+    public void backgroundColorChangeDoesNotRequestLayout() {
+        ShapeTransaction transaction = ShapeTransaction.begin(mView);
+        transaction.getShapeDrawableBuilder().setSolidColor(Color.BLACK);
+        transaction.commit();
+
+        assertEquals(1, mView.mInvalidateCount);
+        assertEquals(0, mView.mRequestLayoutCount);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void commitTwiceThrows() {
+        ShapeTransaction transaction = ShapeTransaction.begin(mView);
+        transaction.commit();
+        transaction.commit();
+    }
+
+    /**
+     * 统计外部调用 invalidate 和 requestLayout 次数的 ShapeTextView
+     */
+    private static final class CountingTextView extends ShapeTextView {
+
+        int mInvalidateCount;
+        int mRequestLayoutCount;
+
+        CountingTextView(Context context) {
+            super(context);
+        }
+
+        void resetCount() {
+            mInvalidateCount = 0;
+            mRequestLayoutCount = 0;
+        }
+
+        @Override
+        public void invalidate() {
+            mInvalidateCount++;
+            super.invalidate();
+        }
+
+        @Override
+        public void requestLayout() {
+            mRequestLayoutCount++;
+            super.requestLayout();
+        }
+    }
+}
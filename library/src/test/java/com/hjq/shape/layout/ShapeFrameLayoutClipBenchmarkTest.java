@@ -0,0 +1,125 @@
+package com.hjq.shape.layout;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.view.ShapeView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 裁剪子 View 的基准测试，对比轮廓裁剪和 canvas.clipPath 裁剪时每一帧绘制的耗时
+ *             （轮廓裁剪在 RenderThread 中完成，这里统计的是主线程上 draw 的耗时）
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeFrameLayoutClipBenchmarkTest {
+
+    private static final int SIZE = 300;
+    private static final int CHILD_COUNT = 10;
+    private static final int DRAW_COUNT = 2000;
+
+    @Test
+    public void outlineClipForUniformRadius() {
+        ShapeFrameLayout layout = createLayout(RuntimeEnvironment.application);
+        layout.getShapeDrawableBuilder()
+                .setRadius(30)
+                .intoBackground();
+
+        // 四个圆角一样大，通过轮廓裁剪，不需要路径裁剪
+        assertTrue(layout.getClipToOutline());
+        assertNull(layout.getShapeDrawableBuilder().getClipPath());
+    }
+
+    @Test
+    public void pathClipForDifferentRadius() {
+        ShapeFrameLayout layout = createLayout(RuntimeEnvironment.application);
+        layout.getShapeDrawableBuilder()
+                .setRadius(30, 30, 0, 0)
+                .intoBackground();
+
+        // 四个圆角不一样大，不能开启轮廓裁剪，否则在 Android 13 及以上会和路径裁剪重复
+        assertFalse(layout.getClipToOutline());
+        assertNotNull(layout.getShapeDrawableBuilder().getClipPath());
+    }
+
+    @Test
+    public void drawCost() {
+        Context context = RuntimeEnvironment.application;
+        Canvas canvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+
+        ShapeFrameLayout outlineLayout = createLayout(context);
+        outlineLayout.getShapeDrawableBuilder()
+                .setRadius(30)
+                .intoBackground();
+
+        ShapeFrameLayout pathLayout = createLayout(context);
+        pathLayout.getShapeDrawableBuilder()
+                .setRadius(30, 30, 0, 0)
+                .intoBackground();
+
+        ShapeFrameLayout noClipLayout = createLayout(context);
+        noClipLayout.getShapeDrawableBuilder()
+                .setClipToShapeEnabled(false)
+                .setRadius(30, 30, 0, 0)
+                .intoBackground();
+
+        // 预热，让类加载和 JIT 不计入统计
+        drawTimes(noClipLayout, canvas, DRAW_COUNT);
+        drawTimes(outlineLayout, canvas, DRAW_COUNT);
+        drawTimes(pathLayout, canvas, DRAW_COUNT);
+
+        long noClipTime = drawTimes(noClipLayout, canvas, DRAW_COUNT);
+        long outlineTime = drawTimes(outlineLayout, canvas, DRAW_COUNT);
+        long pathTime = drawTimes(pathLayout, canvas, DRAW_COUNT);
+
+        AllocationMeter.report("draw without clipping", formatTime(noClipTime));
+        AllocationMeter.report("draw with outline clipping", formatTime(outlineTime));
+        AllocationMeter.report("draw with canvas.clipPath", formatTime(pathTime));
+    }
+
+    private static ShapeFrameLayout createLayout(Context context) {
+        ShapeFrameLayout layout = new ShapeFrameLayout(context);
+        for (int i = 0; i < CHILD_COUNT; i++) {
+            ShapeView child = new ShapeView(context);
+            child.getShapeDrawableBuilder()
+                    .setSolidColor(Color.GRAY)
+                    .intoBackground();
+            layout.addView(child, new ViewGroup.LayoutParams(SIZE, SIZE / CHILD_COUNT));
+        }
+        layout.getShapeDrawableBuilder()
+                .setSolidColor(Color.WHITE)
+                .setClipToShapeEnabled(true);
+        layout.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+        layout.layout(0, 0, SIZE, SIZE);
+        return layout;
+    }
+
+    private static long drawTimes(View view, Canvas canvas, int count) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            view.draw(canvas);
+        }
+        return (System.nanoTime() - startTime) / count;
+    }
+
+    private static String formatTime(long timeNanos) {
+        return timeNanos + " ns per frame (" + CHILD_COUNT + " children, " + DRAW_COUNT + " frames)";
+    }
+}
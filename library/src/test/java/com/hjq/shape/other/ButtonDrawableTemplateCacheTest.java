@@ -0,0 +1,61 @@
+package com.hjq.shape.other;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.view.ContextThemeWrapper;
+
+import com.hjq.shape.R;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ButtonDrawableTemplateCache 测试用例，不同的主题对象不能共用同一个模板
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ButtonDrawableTemplateCacheTest {
+
+    @Before
+    public void setUp() {
+        ButtonDrawableTemplateCache.clear();
+    }
+
+    private static Drawable obtain(Context context) {
+        return ButtonDrawableTemplateCache.obtain(context, R.drawable.shape_view_placeholder,
+                R.drawable.shape_view_placeholder, 0, 0, 0, 0);
+    }
+
+    @Test
+    public void sameThemeHitsCache() {
+        Context context = new ContextThemeWrapper(RuntimeEnvironment.application, android.R.style.Theme_DeviceDefault);
+        Drawable first = obtain(context);
+        int hitCount = ButtonDrawableTemplateCache.getHitCount();
+        Drawable second = obtain(context);
+
+        assertNotNull(first);
+        assertTrue(second instanceof ExtendStateListDrawable);
+        assertEquals(hitCount + 1, ButtonDrawableTemplateCache.getHitCount());
+        assertEquals(1, ButtonDrawableTemplateCache.getSize());
+    }
+
+    @Test
+    public void differentThemeObjectsDoNotShareTemplate() {
+        // 两个主题对象的资源相同，但是主题对象不同（可能在运行时被修改过），不能共用模板
+        Context firstContext = new ContextThemeWrapper(RuntimeEnvironment.application, android.R.style.Theme_DeviceDefault);
+        Context secondContext = new ContextThemeWrapper(RuntimeEnvironment.application, android.R.style.Theme_DeviceDefault);
+        obtain(firstContext);
+        obtain(secondContext);
+
+        assertEquals(2, ButtonDrawableTemplateCache.getSize());
+    }
+}
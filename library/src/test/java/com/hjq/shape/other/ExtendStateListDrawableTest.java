@@ -0,0 +1,232 @@
+package com.hjq.shape.other;
+
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.StateListDrawable;
+
+import com.hjq.shape.AllocationMeter;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ExtendStateListDrawable 测试用例
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ExtendStateListDrawableTest {
+
+    private static final int[] STATE_PRESSED = {android.R.attr.state_enabled, android.R.attr.state_pressed};
+    private static final int[] STATE_ENABLED = {android.R.attr.state_enabled};
+
+    @Test
+    public void setStateDrawableReplacesInPlace() {
+        ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+        ColorDrawable oldPressed = new ColorDrawable(0xFFFF0000);
+        ColorDrawable newPressed = new ColorDrawable(0xFF00FF00);
+        drawable.setDefaultDrawable(new ColorDrawable(0xFF000000));
+        drawable.setPressedDrawable(oldPressed);
+        drawable.setBounds(0, 0, 100, 50);
+        drawable.setState(STATE_PRESSED);
+        assertSame(oldPressed, drawable.getCurrent());
+
+        // 默认状态的图片已经设置过了，替换按下状态的图片仍然要生效
+        assertTrue(drawable.setStateDrawable(ExtendStateListDrawable.STATE_PRESSED, newPressed));
+        assertSame(newPressed, drawable.getPressedDrawable());
+        assertSame(newPressed, drawable.getCurrent());
+        assertNull(oldPressed.getCallback());
+        assertSame(drawable, newPressed.getCallback());
+        assertEquals(drawable.getBounds(), newPressed.getBounds());
+    }
+
+    @Test
+    public void matchStateInPriorityOrder() {
+        ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+        ColorDrawable defaultDrawable = new ColorDrawable(0xFF000000);
+        ColorDrawable pressedDrawable = new ColorDrawable(0xFFFF0000);
+        ColorDrawable disabledDrawable = new ColorDrawable(0xFF888888);
+        drawable.setDefaultDrawable(defaultDrawable);
+        drawable.setPressedDrawable(pressedDrawable);
+        drawable.setDisabledDrawable(disabledDrawable);
+
+        drawable.setState(STATE_ENABLED);
+        assertSame(defaultDrawable, drawable.getCurrent());
+        drawable.setState(STATE_PRESSED);
+        assertSame(pressedDrawable, drawable.getCurrent());
+        drawable.setState(new int[]{android.R.attr.state_focused});
+        assertSame(disabledDrawable, drawable.getCurrent());
+
+        // 移除禁用状态的图片之后回退到默认状态的图片
+        drawable.setDisabledDrawable(null);
+        assertSame(defaultDrawable, drawable.getCurrent());
+    }
+
+    @Test
+    public void addStateKeepsStateListDrawableContract() {
+        ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+        assertTrue(drawable instanceof StateListDrawable);
+        ColorDrawable defaultDrawable = new ColorDrawable(0xFF000000);
+        ColorDrawable pressedDrawable = new ColorDrawable(0xFFFF0000);
+        ColorDrawable activatedDrawable = new ColorDrawable(0xFF0000FF);
+        drawable.addState(new int[]{android.R.attr.state_pressed}, pressedDrawable);
+        // 不是内置的状态集合，交给 StateListDrawable 处理
+        drawable.addState(new int[]{android.R.attr.state_activated}, activatedDrawable);
+        drawable.addState(new int[]{}, defaultDrawable);
+        assertSame(pressedDrawable, drawable.getPressedDrawable());
+        assertSame(defaultDrawable, drawable.getDefaultDrawable());
+
+        drawable.setState(new int[]{android.R.attr.state_enabled, android.R.attr.state_activated});
+        assertSame(activatedDrawable, drawable.getCurrent());
+        drawable.setState(new int[]{android.R.attr.state_activated, android.R.attr.state_pressed});
+        assertSame(pressedDrawable, drawable.getCurrent());
+        drawable.setState(STATE_ENABLED);
+        assertSame(defaultDrawable, drawable.getCurrent());
+
+        Drawable.ConstantState constantState = drawable.getConstantState();
+        assertNotNull(constantState);
+        Drawable newDrawable = constantState.newDrawable();
+        newDrawable.setState(new int[]{android.R.attr.state_enabled, android.R.attr.state_activated});
+        assertTrue(newDrawable.getCurrent() instanceof ColorDrawable);
+        assertEquals(0xFF0000FF, ((ColorDrawable) newDrawable.getCurrent()).getColor());
+    }
+
+    @Test
+    public void constantStateKeepsType() {
+        ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+        drawable.setDefaultDrawable(new ColorDrawable(0xFF000000));
+        drawable.setPressedDrawable(new ColorDrawable(0xFFFF0000));
+
+        Drawable.ConstantState constantState = drawable.getConstantState();
+        assertNotNull(constantState);
+        Drawable newDrawable = constantState.newDrawable();
+        assertTrue(newDrawable instanceof ExtendStateListDrawable);
+        assertNotSame(drawable, newDrawable);
+
+        ExtendStateListDrawable stateListDrawable = (ExtendStateListDrawable) newDrawable;
+        assertNotNull(stateListDrawable.getDefaultDrawable());
+        assertNotNull(stateListDrawable.getPressedDrawable());
+        assertNull(stateListDrawable.getCheckDrawable());
+    }
+
+    /**
+     * 对比每个对象占用的内存：固定槽位的实现不需要往 StateListDrawable 添加状态，也不需要额外的 HashMap
+     */
+    @Test
+    public void memoryPerInstanceIsLowerThanStateListDrawable() {
+        if (!AllocationMeter.isSupported()) {
+            return;
+        }
+        Drawable[] children = new Drawable[6];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = new ColorDrawable(0xFF000000 | i);
+        }
+        int count = 1000;
+
+        // 预热，让类加载和 Robolectric 的字节码处理不计入统计
+        createExtendStateListDrawables(children, count);
+        createStateListDrawables(children, count);
+        createLegacyStateListDrawables(children, count);
+
+        long start = AllocationMeter.getAllocatedBytes();
+        Object[] extendDrawables = createExtendStateListDrawables(children, count);
+        long extendBytes = (AllocationMeter.getAllocatedBytes() - start) / count;
+
+        start = AllocationMeter.getAllocatedBytes();
+        Object[] stateListDrawables = createStateListDrawables(children, count);
+        long stateListBytes = (AllocationMeter.getAllocatedBytes() - start) / count;
+
+        start = AllocationMeter.getAllocatedBytes();
+        Object[] legacyDrawables = createLegacyStateListDrawables(children, count);
+        long legacyBytes = (AllocationMeter.getAllocatedBytes() - start) / count;
+
+        AllocationMeter.report("ExtendStateListDrawable", extendBytes + " bytes per instance (" +
+                extendDrawables.length + " instances)");
+        AllocationMeter.report("StateListDrawable", stateListBytes + " bytes per instance (" +
+                stateListDrawables.length + " instances)");
+        AllocationMeter.report("ExtendStateListDrawable (HashMap)", legacyBytes + " bytes per instance (" +
+                legacyDrawables.length + " instances)");
+        assertTrue(extendBytes < stateListBytes);
+        assertTrue(extendBytes < legacyBytes);
+    }
+
+    private static Object[] createExtendStateListDrawables(Drawable[] children, int count) {
+        Object[] drawables = new Object[count];
+        for (int i = 0; i < count; i++) {
+            ExtendStateListDrawable drawable = new ExtendStateListDrawable();
+            drawable.setPressedDrawable(children[0]);
+            drawable.setCheckDrawable(children[1]);
+            drawable.setDisabledDrawable(children[2]);
+            drawable.setFocusedDrawable(children[3]);
+            drawable.setSelectDrawable(children[4]);
+            drawable.setDefaultDrawable(children[5]);
+            drawables[i] = drawable;
+        }
+        return drawables;
+    }
+
+    private static Object[] createStateListDrawables(Drawable[] children, int count) {
+        Object[] drawables = new Object[count];
+        for (int i = 0; i < count; i++) {
+            StateListDrawable drawable = new StateListDrawable();
+            drawable.addState(new int[]{android.R.attr.state_pressed}, children[0]);
+            drawable.addState(new int[]{android.R.attr.state_checked}, children[1]);
+            drawable.addState(new int[]{-android.R.attr.state_enabled}, children[2]);
+            drawable.addState(new int[]{android.R.attr.state_focused}, children[3]);
+            drawable.addState(new int[]{android.R.attr.state_selected}, children[4]);
+            drawable.addState(new int[]{}, children[5]);
+            drawables[i] = drawable;
+        }
+        return drawables;
+    }
+
+    private static Object[] createLegacyStateListDrawables(Drawable[] children, int count) {
+        Object[] drawables = new Object[count];
+        for (int i = 0; i < count; i++) {
+            LegacyStateListDrawable drawable = new LegacyStateListDrawable();
+            drawable.addState(LegacyStateListDrawable.STATE_PRESSED, children[0]);
+            drawable.addState(LegacyStateListDrawable.STATE_CHECKED, children[1]);
+            drawable.addState(LegacyStateListDrawable.STATE_DISABLED, children[2]);
+            drawable.addState(LegacyStateListDrawable.STATE_FOCUSED, children[3]);
+            drawable.addState(LegacyStateListDrawable.STATE_SELECTED, children[4]);
+            drawable.addState(LegacyStateListDrawable.STATE_DEFAULT, children[5]);
+            drawables[i] = drawable;
+        }
+        return drawables;
+    }
+
+    /**
+     * 之前基于 HashMap 记录每种状态图片的实现，只用来对比内存占用
+     */
+    private static final class LegacyStateListDrawable extends StateListDrawable {
+
+        private static final int[] STATE_DEFAULT = new int[]{};
+        private static final int[] STATE_PRESSED = new int[]{android.R.attr.state_pressed};
+        private static final int[] STATE_CHECKED = new int[]{android.R.attr.state_checked};
+        private static final int[] STATE_DISABLED = new int[]{-android.R.attr.state_enabled};
+        private static final int[] STATE_FOCUSED = new int[]{android.R.attr.state_focused};
+        private static final int[] STATE_SELECTED = new int[]{android.R.attr.state_selected};
+
+        private final HashMap<int[], Drawable> mDrawableMap = new HashMap<>();
+
+        @Override
+        public void addState(int[] stateSet, Drawable drawable) {
+            super.addState(stateSet, drawable);
+            if (drawable == null) {
+                return;
+            }
+            mDrawableMap.put(stateSet, drawable);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.hjq.shape.other;
+
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+import com.hjq.shape.builder.ShapeDrawableBuilder;
+import com.hjq.shape.graphics.ShapeDrawable;
+import com.hjq.shape.graphics.ShapeType;
+import com.hjq.shape.view.ShapeTextView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeDrawableSpecCache 测试用例，缓存命中之后背景的类型要和直接创建的保持一致
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeDrawableSpecCacheTest {
+
+    @Before
+    public void setUp() {
+        ShapeDrawableSpecCache.setEnabled(true);
+        ShapeDrawableSpecCache.clear();
+    }
+
+    @After
+    public void tearDown() {
+        ShapeDrawableSpecCache.setEnabled(false);
+    }
+
+    @Test
+    public void cacheHitKeepsStateListType() {
+        ShapeTextView firstView = createStateListView();
+        assertTrue(firstView.getBackground() instanceof ExtendStateListDrawable);
+        assertEquals(1, ShapeDrawableSpecCache.getSize());
+
+        int hitCount = ShapeDrawableSpecCache.getHitCount();
+        ShapeTextView secondView = createStateListView();
+        assertEquals(hitCount + 1, ShapeDrawableSpecCache.getHitCount());
+
+        Drawable background = secondView.getBackground();
+        assertTrue(background instanceof ExtendStateListDrawable);
+        assertNotSame(firstView.getBackground(), background);
+
+        ExtendStateListDrawable stateListDrawable = (ExtendStateListDrawable) background;
+        assertNotNull(stateListDrawable.getPressedDrawable());
+        assertNotNull(stateListDrawable.getDefaultDrawable());
+    }
+
+    @Test
+    public void hardwareBackgroundIsCached() {
+        ShapeTextView firstView = createHardwareView();
+        assertTrue(firstView.getBackground() instanceof ShapeHardwareDrawable);
+        assertEquals(1, ShapeDrawableSpecCache.getSize());
+
+        int hitCount = ShapeDrawableSpecCache.getHitCount();
+        ShapeTextView secondView = createHardwareView();
+        assertEquals(hitCount + 1, ShapeDrawableSpecCache.getHitCount());
+        assertTrue(secondView.getBackground() instanceof ShapeHardwareDrawable);
+        assertNotSame(firstView.getBackground(), secondView.getBackground());
+    }
+
+    @Test
+    public void softwareRectangleShadowUsesShadowCache() {
+        ShapeTextView view = new ShapeTextView(RuntimeEnvironment.application);
+        view.getShapeDrawableBuilder()
+                .setSolidColor(Color.WHITE)
+                .setShadowColor(0x33000000)
+                .setShadowSize(20)
+                .setRadius(20)
+                .intoBackground();
+        // 默认的软件渲染模式下，矩形的阴影也用缓存的位图绘制，不需要关闭硬件加速
+        assertTrue(view.getBackground() instanceof ShapeHardwareDrawable);
+        assertNotEquals(View.LAYER_TYPE_SOFTWARE, view.getLayerType());
+
+        // 增量刷新之后仍然是位图阴影
+        Drawable background = view.getBackground();
+        view.getShapeDrawableBuilder()
+                .setShadowSize(30)
+                .intoBackground();
+        assertTrue(view.getBackground() instanceof ShapeHardwareDrawable);
+        assertNotEquals(View.LAYER_TYPE_SOFTWARE, view.getLayerType());
+        assertSame(background, view.getBackground());
+
+        // 换成椭圆之后回退到 ShapeDrawable 自己绘制阴影
+        view.getShapeDrawableBuilder()
+                .setType(ShapeType.OVAL)
+                .intoBackground();
+        assertFalse(view.getBackground() instanceof ShapeHardwareDrawable);
+        assertEquals(View.LAYER_TYPE_SOFTWARE, view.getLayerType());
+    }
+
+    @Test
+    public void buildBackgroundDrawableReturnsMutatedDrawable() {
+        createStateListView();
+        ShapeTextView view = createStateListView();
+
+        ExtendStateListDrawable firstDrawable = (ExtendStateListDrawable)
+                view.getShapeDrawableBuilder().buildBackgroundDrawable();
+        ((ShapeDrawable) firstDrawable.getDefaultDrawable()).setSolidColor(Color.RED);
+
+        // 修改构建出来的背景不能影响到缓存，也不能影响到其他 View 的背景
+        ExtendStateListDrawable secondDrawable = (ExtendStateListDrawable)
+                view.getShapeDrawableBuilder().buildBackgroundDrawable();
+        assertEquals(Color.WHITE, ((ShapeDrawable) secondDrawable.getDefaultDrawable()).getSolidColor());
+        ExtendStateListDrawable viewBackground = (ExtendStateListDrawable) view.getBackground();
+        assertEquals(Color.WHITE, ((ShapeDrawable) viewBackground.getDefaultDrawable()).getSolidColor());
+    }
+
+    @Test
+    public void differentStateColorsMiss() {
+        createStateListView();
+        ShapeTextView view = new ShapeTextView(RuntimeEnvironment.application);
+        view.getShapeDrawableBuilder()
+                .setSolidColor(Color.WHITE)
+                .setSolidPressedColor(Color.BLUE)
+                .intoBackground();
+        assertEquals(2, ShapeDrawableSpecCache.getSize());
+    }
+
+    private static ShapeTextView createStateListView() {
+        ShapeTextView view = new ShapeTextView(RuntimeEnvironment.application);
+        view.getShapeDrawableBuilder()
+                .setSolidColor(Color.WHITE)
+                .setSolidPressedColor(Color.GRAY)
+                .setRadius(20)
+                .intoBackground();
+        return view;
+    }
+
+    private static ShapeTextView createHardwareView() {
+        ShapeTextView view = new ShapeTextView(RuntimeEnvironment.application);
+        ShapeDrawableBuilder builder = view.getShapeDrawableBuilder();
+        builder.setRenderMode(ShapeRenderMode.HARDWARE)
+                .setSolidColor(Color.WHITE)
+                .setShadowColor(0x33000000)
+                .setShadowSize(20)
+                .setRadius(20)
+                .intoBackground();
+        return view;
+    }
+}
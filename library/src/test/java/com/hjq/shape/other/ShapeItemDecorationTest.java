@@ -0,0 +1,246 @@
+package com.hjq.shape.other;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.NoOpCanvas;
+import com.hjq.shape.view.ShapeView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeItemDecoration 测试用例，检查阴影的间距，并对比 10000 个条目的列表滚动时统一绘制卡片和每个条目单独设置背景的单帧耗时
+ *             （画布不执行真正的绘制，统计的是背景自身的开销）
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeItemDecorationTest {
+
+    private static final int ITEM_COUNT = 10000;
+    private static final int ITEM_HEIGHT = 120;
+    /** 每个分组的条目数量 */
+    private static final int GROUP_SIZE = 5;
+
+    private static final int LIST_WIDTH = 1080;
+    private static final int LIST_HEIGHT = 1920;
+    private static final int SCROLL_STEP = 240;
+
+    private static final int SHADOW_SIZE = 12;
+    private static final int SHADOW_OFFSET_Y = 4;
+
+    private Activity mActivity;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().visible().get();
+    }
+
+    @Test
+    public void itemOffsetsLeaveRoomForShadow() {
+        RecyclerView recyclerView = createRecyclerView(new ItemAdapter(false), false);
+        ShapeItemDecoration decoration = createDecoration();
+        recyclerView.addItemDecoration(decoration);
+        layout(recyclerView);
+
+        Rect first = getItemOffsets(decoration, recyclerView, 0);
+        assertEquals(SHADOW_SIZE, first.left);
+        assertEquals(SHADOW_SIZE, first.right);
+        assertEquals(SHADOW_SIZE - SHADOW_OFFSET_Y, first.top);
+        assertEquals(0, first.bottom);
+
+        Rect middle = getItemOffsets(decoration, recyclerView, 1);
+        assertEquals(0, middle.top);
+        assertEquals(0, middle.bottom);
+
+        Rect last = getItemOffsets(decoration, recyclerView, GROUP_SIZE - 1);
+        assertEquals(0, last.top);
+        assertEquals(SHADOW_SIZE + SHADOW_OFFSET_Y, last.bottom);
+    }
+
+    @Test
+    public void reverseLayoutSwapsVerticalOffsets() {
+        RecyclerView recyclerView = createRecyclerView(new ItemAdapter(false), true);
+        ShapeItemDecoration decoration = createDecoration();
+        recyclerView.addItemDecoration(decoration);
+        layout(recyclerView);
+
+        // 反向布局时分组的第一个条目在下面
+        Rect first = getItemOffsets(decoration, recyclerView, 0);
+        assertEquals(0, first.top);
+        assertEquals(SHADOW_SIZE + SHADOW_OFFSET_Y, first.bottom);
+
+        Rect last = getItemOffsets(decoration, recyclerView, GROUP_SIZE - 1);
+        assertEquals(SHADOW_SIZE - SHADOW_OFFSET_Y, last.top);
+        assertEquals(0, last.bottom);
+    }
+
+    @Test
+    public void scrollBenchmark() {
+        RecyclerView decorationList = createRecyclerView(new ItemAdapter(false), false);
+        decorationList.addItemDecoration(createDecoration());
+        layout(decorationList);
+
+        RecyclerView backgroundList = createRecyclerView(new ItemAdapter(true), false);
+        layout(backgroundList);
+
+        // 预热
+        scroll(decorationList, 200);
+        scroll(backgroundList, 200);
+        decorationList.scrollToPosition(0);
+        backgroundList.scrollToPosition(0);
+        layout(decorationList);
+        layout(backgroundList);
+
+        int frameCount = ITEM_COUNT * ITEM_HEIGHT / SCROLL_STEP;
+
+        long decorationBytes = AllocationMeter.getAllocatedBytes();
+        long decorationTime = System.nanoTime();
+        scroll(decorationList, frameCount);
+        decorationTime = System.nanoTime() - decorationTime;
+        decorationBytes = AllocationMeter.getAllocatedBytes() - decorationBytes;
+
+        long backgroundBytes = AllocationMeter.getAllocatedBytes();
+        long backgroundTime = System.nanoTime();
+        scroll(backgroundList, frameCount);
+        backgroundTime = System.nanoTime() - backgroundTime;
+        backgroundBytes = AllocationMeter.getAllocatedBytes() - backgroundBytes;
+
+        // 两个列表都滚动到了最后一个条目
+        assertNotNull(decorationList.getLayoutManager().findViewByPosition(ITEM_COUNT - 1));
+        assertNotNull(backgroundList.getLayoutManager().findViewByPosition(ITEM_COUNT - 1));
+
+        AllocationMeter.report("ShapeItemDecoration scroll frame", formatResult(decorationTime, decorationBytes, frameCount));
+        AllocationMeter.report("per-item background scroll frame", formatResult(backgroundTime, backgroundBytes, frameCount));
+    }
+
+    private ShapeItemDecoration createDecoration() {
+        return new ShapeItemDecoration(mActivity)
+                .setSolidColor(Color.WHITE)
+                .setStrokeColor(0xFFEEEEEE)
+                .setStrokeSize(2)
+                .setRadius(24)
+                .setShadowColor(0x22000000)
+                .setShadowSize(SHADOW_SIZE)
+                .setShadowOffsetY(SHADOW_OFFSET_Y);
+    }
+
+    private RecyclerView createRecyclerView(ItemAdapter adapter, boolean reverseLayout) {
+        RecyclerView recyclerView = new RecyclerView(mActivity);
+        recyclerView.setLayoutManager(new LinearLayoutManager(mActivity, LinearLayoutManager.VERTICAL, reverseLayout));
+        recyclerView.setAdapter(adapter);
+        return recyclerView;
+    }
+
+    private static void layout(RecyclerView recyclerView) {
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(LIST_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(LIST_HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, LIST_WIDTH, LIST_HEIGHT);
+    }
+
+    private static Rect getItemOffsets(ShapeItemDecoration decoration, RecyclerView recyclerView, int position) {
+        View child = recyclerView.getLayoutManager().findViewByPosition(position);
+        assertNotNull(child);
+        Rect outRect = new Rect();
+        decoration.getItemOffsets(outRect, child, recyclerView, new RecyclerView.State());
+        return outRect;
+    }
+
+    /**
+     * 每一帧滚动一段距离并绘制整个列表
+     */
+    private static void scroll(RecyclerView recyclerView, int frameCount) {
+        NoOpCanvas canvas = new NoOpCanvas();
+        for (int frame = 0; frame < frameCount; frame++) {
+            recyclerView.scrollBy(0, SCROLL_STEP);
+            recyclerView.draw(canvas);
+        }
+    }
+
+    private static String formatResult(long timeNanos, long allocatedBytes, int frameCount) {
+        String result = (timeNanos / frameCount / 1000) + " us per frame";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + (allocatedBytes / frameCount) + " bytes per frame";
+        }
+        return result + " (" + ITEM_COUNT + " items, " + frameCount + " frames)";
+    }
+
+    /**
+     * 每 5 个条目为一个分组的适配器
+     */
+    private static final class ItemAdapter extends RecyclerView.Adapter<ItemHolder>
+            implements ShapeItemDecoration.RoleProvider {
+
+        /** 是否每个条目单独设置背景（不使用 ShapeItemDecoration 时的做法） */
+        private final boolean mItemBackground;
+
+        private ItemAdapter(boolean itemBackground) {
+            mItemBackground = itemBackground;
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+
+        @NonNull
+        @Override
+        public ItemHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View view;
+            if (mItemBackground) {
+                ShapeView shapeView = new ShapeView(parent.getContext());
+                shapeView.getShapeDrawableBuilder()
+                        .setSolidColor(Color.WHITE)
+                        .setStrokeColor(0xFFEEEEEE)
+                        .setStrokeSize(2)
+                        .setRadius(24)
+                        .setShadowColor(0x22000000)
+                        .setShadowSize(SHADOW_SIZE)
+                        .setShadowOffsetY(SHADOW_OFFSET_Y)
+                        .intoBackground();
+                view = shapeView;
+            } else {
+                view = new View(parent.getContext());
+            }
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ITEM_HEIGHT));
+            return new ItemHolder(view);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ItemHolder holder, int position) {}
+
+        @Override
+        public int getItemShapeRole(int position) {
+            int index = position % GROUP_SIZE;
+            if (index == 0) {
+                return ShapeItemDecoration.ROLE_FIRST;
+            }
+            if (index == GROUP_SIZE - 1) {
+                return ShapeItemDecoration.ROLE_LAST;
+            }
+            return ShapeItemDecoration.ROLE_MIDDLE;
+        }
+    }
+
+    private static final class ItemHolder extends RecyclerView.ViewHolder {
+
+        private ItemHolder(View itemView) {
+            super(itemView);
+        }
+    }
+}
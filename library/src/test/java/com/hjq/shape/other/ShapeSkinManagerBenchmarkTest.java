@@ -0,0 +1,105 @@
+package com.hjq.shape.other;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.widget.FrameLayout;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.view.ShapeTextView;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeSkinManager 的基准测试，对比通过颜色标识给 5000 个正在显示的 View 换肤和逐个重新构建背景的耗时
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeSkinManagerBenchmarkTest {
+
+    private static final String TOKEN_SOLID = "benchmark_solid";
+    private static final String TOKEN_STROKE = "benchmark_stroke";
+
+    private static final int VIEW_COUNT = 5000;
+
+    private ShapeTextView[] mViews;
+
+    @Before
+    public void setUp() {
+        ShapeSkinManager.setColor(TOKEN_SOLID, Color.WHITE);
+        ShapeSkinManager.setColor(TOKEN_STROKE, Color.BLACK);
+
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().visible().get();
+        FrameLayout container = new FrameLayout(activity);
+        mViews = new ShapeTextView[VIEW_COUNT];
+        for (int i = 0; i < VIEW_COUNT; i++) {
+            ShapeTextView view = new ShapeTextView(activity);
+            view.getShapeDrawableBuilder()
+                    .setRadius(20)
+                    .setStrokeSize(2)
+                    .setSolidColorToken(ExtendStateListDrawable.STATE_DEFAULT, TOKEN_SOLID)
+                    .setStrokeColorToken(ExtendStateListDrawable.STATE_DEFAULT, TOKEN_STROKE)
+                    .intoBackground();
+            container.addView(view);
+            mViews[i] = view;
+        }
+        activity.setContentView(container);
+    }
+
+    @Test
+    public void reskinVisibleViews() {
+        assertTrue(mViews[0].isShown());
+
+        // 预热
+        ShapeSkinManager.setColor(TOKEN_SOLID, Color.GRAY);
+        rebuildBackgrounds(Color.GRAY, Color.BLACK);
+
+        long skinBytes = AllocationMeter.getAllocatedBytes();
+        long skinTime = System.nanoTime();
+        ShapeSkinManager.setColor(TOKEN_SOLID, Color.BLUE);
+        skinTime = System.nanoTime() - skinTime;
+        skinBytes = AllocationMeter.getAllocatedBytes() - skinBytes;
+
+        // 正在显示的 View 要在切换皮肤的时候马上更新
+        for (ShapeTextView view : mViews) {
+            assertEquals(Color.BLUE, view.getShapeDrawableBuilder().getSolidColor());
+        }
+
+        long rebuildBytes = AllocationMeter.getAllocatedBytes();
+        long rebuildTime = System.nanoTime();
+        rebuildBackgrounds(Color.RED, Color.BLACK);
+        rebuildTime = System.nanoTime() - rebuildTime;
+        rebuildBytes = AllocationMeter.getAllocatedBytes() - rebuildBytes;
+
+        AllocationMeter.report("ShapeSkinManager.setColor", formatResult(skinTime, skinBytes));
+        AllocationMeter.report("rebuild every background", formatResult(rebuildTime, rebuildBytes));
+    }
+
+    /**
+     * 不使用颜色标识的换肤方式：逐个设置颜色并重新构建背景
+     */
+    private void rebuildBackgrounds(int solidColor, int strokeColor) {
+        for (ShapeTextView view : mViews) {
+            view.getShapeDrawableBuilder()
+                    .setSolidColor(solidColor)
+                    .setStrokeColor(strokeColor)
+                    .intoBackground();
+        }
+    }
+
+    private static String formatResult(long timeNanos, long allocatedBytes) {
+        String result = (timeNanos / 1000000) + " ms for " + VIEW_COUNT + " views";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + (allocatedBytes / VIEW_COUNT) + " bytes per view";
+        }
+        return result;
+    }
+}
@@ -0,0 +1,218 @@
+package com.hjq.shape.other;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.hjq.shape.NoOpCanvas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeSnapshotDrawable 测试用例，使用假的录制器检查边界、状态、等级、透明度发生变化时快照是否失效
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeSnapshotDrawableTest {
+
+    private static final int[] STATE_PRESSED = {android.R.attr.state_enabled, android.R.attr.state_pressed};
+    private static final int[] STATE_ENABLED = {android.R.attr.state_enabled};
+    private static final int[] STATE_FOCUSED = {android.R.attr.state_enabled, android.R.attr.state_focused};
+
+    private FakeRecorder mRecorder;
+    private FakeDrawable mFakeDrawable;
+    private ShapeSnapshotDrawable mDrawable;
+    private NoOpCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mRecorder = new FakeRecorder();
+        mFakeDrawable = new FakeDrawable();
+        mDrawable = new ShapeSnapshotDrawable(mFakeDrawable, mRecorder);
+        mDrawable.setBounds(0, 0, 200, 100);
+        mDrawable.setState(STATE_ENABLED);
+        mCanvas = new NoOpCanvas();
+        mDrawable.draw(mCanvas);
+    }
+
+    @Test
+    public void replayWithoutChanges() {
+        mDrawable.draw(mCanvas);
+        mDrawable.draw(mCanvas);
+
+        assertEquals(1, mRecorder.mRecordCount);
+        assertEquals(1, mFakeDrawable.mDrawCount);
+        assertEquals(3, mRecorder.mReplayCount);
+        assertTrue(mDrawable.isSnapshotValid());
+    }
+
+    @Test
+    public void boundsChangeInvalidatesSnapshot() {
+        mDrawable.setBounds(0, 0, 200, 100);
+        assertTrue(mDrawable.isSnapshotValid());
+
+        mDrawable.setBounds(0, 0, 300, 100);
+        assertFalse(mDrawable.isSnapshotValid());
+        assertEquals(1, mRecorder.mDiscardCount);
+
+        mDrawable.draw(mCanvas);
+        assertEquals(2, mRecorder.mRecordCount);
+        assertEquals(300, mRecorder.mRecordBounds.width());
+    }
+
+    @Test
+    public void stateChangeInvalidatesSnapshot() {
+        // 没有影响到背景的状态继续使用之前的快照
+        mDrawable.setState(STATE_FOCUSED);
+        assertTrue(mDrawable.isSnapshotValid());
+
+        mDrawable.setState(STATE_PRESSED);
+        assertFalse(mDrawable.isSnapshotValid());
+
+        mDrawable.draw(mCanvas);
+        assertEquals(2, mRecorder.mRecordCount);
+    }
+
+    @Test
+    public void levelChangeInvalidatesSnapshot() {
+        mDrawable.setLevel(5000);
+        assertFalse(mDrawable.isSnapshotValid());
+
+        mDrawable.draw(mCanvas);
+        assertEquals(2, mRecorder.mRecordCount);
+    }
+
+    @Test
+    public void alphaChangeInvalidatesSnapshot() {
+        mDrawable.setAlpha(0x80);
+        assertFalse(mDrawable.isSnapshotValid());
+        assertEquals(0x80, mFakeDrawable.mAlpha);
+
+        mDrawable.draw(mCanvas);
+        assertEquals(2, mRecorder.mRecordCount);
+    }
+
+    @Test
+    public void drawDirectlyWhenCanvasCannotReplay() {
+        mRecorder.mCanReplay = false;
+        mDrawable.setBounds(0, 0, 300, 100);
+        mDrawable.draw(mCanvas);
+
+        assertEquals(1, mRecorder.mRecordCount);
+        assertEquals(2, mFakeDrawable.mDrawCount);
+    }
+
+    /**
+     * 只记录调用次数的录制器
+     */
+    private static final class FakeRecorder implements ShapeSnapshotRecorder {
+
+        private final Canvas mRecordingCanvas = new NoOpCanvas();
+        private final Rect mRecordBounds = new Rect();
+
+        private boolean mCanReplay = true;
+        private boolean mRecording;
+
+        private int mRecordCount;
+        private int mReplayCount;
+        private int mDiscardCount;
+
+        @Override
+        public boolean canReplay(@NonNull Canvas canvas) {
+            return mCanReplay;
+        }
+
+        @NonNull
+        @Override
+        public Canvas beginRecording(@NonNull Rect bounds) {
+            mRecording = true;
+            mRecordBounds.set(bounds);
+            return mRecordingCanvas;
+        }
+
+        @Override
+        public void endRecording() {
+            assertTrue(mRecording);
+            mRecording = false;
+            mRecordCount++;
+        }
+
+        @Override
+        public void replay(@NonNull Canvas canvas) {
+            assertFalse(mRecording);
+            mReplayCount++;
+        }
+
+        @Override
+        public void discard() {
+            mDiscardCount++;
+        }
+    }
+
+    /**
+     * 只有按下状态和等级会影响绘制的背景
+     */
+    private static final class FakeDrawable extends Drawable {
+
+        private boolean mPressed;
+        private int mAlpha = 0xFF;
+        private int mDrawCount;
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+            mDrawCount++;
+        }
+
+        @Override
+        public boolean isStateful() {
+            return true;
+        }
+
+        @Override
+        protected boolean onStateChange(int[] state) {
+            boolean pressed = false;
+            for (int item : state) {
+                if (item == android.R.attr.state_pressed) {
+                    pressed = true;
+                    break;
+                }
+            }
+            if (pressed == mPressed) {
+                return false;
+            }
+            mPressed = pressed;
+            return true;
+        }
+
+        @Override
+        protected boolean onLevelChange(int level) {
+            return true;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            mAlpha = alpha;
+        }
+
+        @Override
+        public void setColorFilter(@Nullable ColorFilter colorFilter) {}
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
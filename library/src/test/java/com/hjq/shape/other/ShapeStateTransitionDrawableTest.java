@@ -0,0 +1,175 @@
+package com.hjq.shape.other;
+
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.StateListDrawable;
+import android.support.annotation.NonNull;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.NoOpCanvas;
+import com.hjq.shape.graphics.ShapeDrawable;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeStateTransitionDrawable 测试用例，过渡动画在不可见的时候要停止，并对比渐变切换的 StateListDrawable 的单帧耗时
+ *             （画布不执行真正的绘制，统计的是 Drawable 自身的开销）
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeStateTransitionDrawableTest {
+
+    private static final int[] STATE_PRESSED = {android.R.attr.state_enabled, android.R.attr.state_pressed};
+    private static final int[] STATE_ENABLED = {android.R.attr.state_enabled};
+
+    private static final int DURATION = 150;
+    private static final int FRAME_COUNT = 10000;
+    private static final long FRAME_INTERVAL_NANOS = 16666667;
+
+    private final Drawable.Callback mCallback = new Drawable.Callback() {
+
+        @Override
+        public void invalidateDrawable(@NonNull Drawable who) {}
+
+        @Override
+        public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {}
+
+        @Override
+        public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {}
+    };
+
+    private NoOpCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mCanvas = new NoOpCanvas();
+    }
+
+    private static ShapeDrawable createShapeDrawable(int solidColor, int strokeColor) {
+        return new ShapeDrawable()
+                .setRadius(20)
+                .setSolidColor(solidColor)
+                .setStrokeColor(strokeColor)
+                .setStrokeSize(2);
+    }
+
+    private ShapeStateTransitionDrawable createTransitionDrawable() {
+        ShapeStateTransitionDrawable drawable = new ShapeStateTransitionDrawable(createShapeDrawable(0xFFFFFFFF, 0xFF000000))
+                .setDuration(DURATION)
+                .setDefaultState(0xFFFFFFFF, 0xFF000000, 2)
+                .setStateSolidColor(ExtendStateListDrawable.STATE_PRESSED, 0xFFCCCCCC)
+                .setStateStrokeSize(ExtendStateListDrawable.STATE_PRESSED, 4);
+        drawable.setBounds(0, 0, 300, 100);
+        drawable.setCallback(mCallback);
+        drawable.setState(STATE_ENABLED);
+        return drawable;
+    }
+
+    @Test
+    public void hiddenDrawableCancelsTransition() {
+        ShapeStateTransitionDrawable drawable = createTransitionDrawable();
+        int runningCount = ShapeStateAnimator.getRunningCount();
+
+        drawable.setState(STATE_PRESSED);
+        assertTrue(drawable.isTransitionRunning());
+        assertEquals(runningCount + 1, ShapeStateAnimator.getRunningCount());
+
+        // 隐藏之后要从帧回调中移除，不能继续持有 Drawable
+        drawable.setVisible(false, false);
+        assertFalse(drawable.isTransitionRunning());
+        assertEquals(runningCount, ShapeStateAnimator.getRunningCount());
+    }
+
+    @Test
+    public void detachedDrawableStopsOnNextFrame() {
+        ShapeStateTransitionDrawable drawable = createTransitionDrawable();
+        drawable.setState(STATE_PRESSED);
+        assertTrue(drawable.isTransitionRunning());
+
+        // 从 View 上移除之后，下一帧直接结束过渡
+        drawable.setCallback(null);
+        assertFalse(drawable.doAnimationFrame(0));
+        assertFalse(drawable.isTransitionRunning());
+        ShapeStateAnimator.cancel(drawable);
+    }
+
+    /**
+     * 对比过渡期间每一帧的耗时：插值方式只绘制一个 Drawable，渐变方式需要同时绘制新旧两个 Drawable
+     */
+    @Test
+    public void frameTimeAgainstFadeStateListDrawable() {
+        ShapeStateTransitionDrawable transitionDrawable = createTransitionDrawable();
+
+        StateListDrawable fadeDrawable = new StateListDrawable();
+        fadeDrawable.addState(STATE_PRESSED, createShapeDrawable(0xFFCCCCCC, 0xFF000000).setStrokeSize(4));
+        fadeDrawable.addState(new int[]{}, createShapeDrawable(0xFFFFFFFF, 0xFF000000));
+        fadeDrawable.setEnterFadeDuration(DURATION);
+        fadeDrawable.setExitFadeDuration(DURATION);
+        fadeDrawable.setBounds(0, 0, 300, 100);
+        fadeDrawable.setCallback(mCallback);
+        fadeDrawable.setState(STATE_ENABLED);
+
+        // 预热
+        drawTransitionFrames(transitionDrawable, 200);
+        drawFadeFrames(fadeDrawable, 200);
+
+        long transitionBytes = AllocationMeter.getAllocatedBytes();
+        long transitionTime = System.nanoTime();
+        drawTransitionFrames(transitionDrawable, FRAME_COUNT);
+        transitionTime = System.nanoTime() - transitionTime;
+        transitionBytes = AllocationMeter.getAllocatedBytes() - transitionBytes;
+
+        long fadeBytes = AllocationMeter.getAllocatedBytes();
+        long fadeTime = System.nanoTime();
+        drawFadeFrames(fadeDrawable, FRAME_COUNT);
+        fadeTime = System.nanoTime() - fadeTime;
+        fadeBytes = AllocationMeter.getAllocatedBytes() - fadeBytes;
+
+        ShapeStateAnimator.cancel(transitionDrawable);
+
+        AllocationMeter.report("ShapeStateTransitionDrawable frame", formatResult(transitionTime, transitionBytes));
+        AllocationMeter.report("fade StateListDrawable frame", formatResult(fadeTime, fadeBytes));
+    }
+
+    /**
+     * 来回切换按下状态，每一帧都处在过渡的中间
+     */
+    private void drawTransitionFrames(ShapeStateTransitionDrawable drawable, int frameCount) {
+        int framesPerTransition = (int) (DURATION * 1000000L / FRAME_INTERVAL_NANOS);
+        long frameTimeNanos = 0;
+        for (int frame = 0; frame < frameCount; frame++) {
+            if (frame % framesPerTransition == 0) {
+                drawable.setState((frame / framesPerTransition) % 2 == 0 ? STATE_PRESSED : STATE_ENABLED);
+            }
+            drawable.doAnimationFrame(frameTimeNanos);
+            drawable.draw(mCanvas);
+            frameTimeNanos += FRAME_INTERVAL_NANOS;
+        }
+    }
+
+    private void drawFadeFrames(StateListDrawable drawable, int frameCount) {
+        int framesPerTransition = (int) (DURATION * 1000000L / FRAME_INTERVAL_NANOS);
+        for (int frame = 0; frame < frameCount; frame++) {
+            if (frame % framesPerTransition == 0) {
+                drawable.setState((frame / framesPerTransition) % 2 == 0 ? STATE_PRESSED : STATE_ENABLED);
+            }
+            drawable.draw(mCanvas);
+        }
+    }
+
+    private static String formatResult(long timeNanos, long allocatedBytes) {
+        String result = (timeNanos / FRAME_COUNT) + " ns per frame";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + (allocatedBytes / FRAME_COUNT) + " bytes per frame";
+        }
+        return result + " (" + FRAME_COUNT + " frames)";
+    }
+}
@@ -0,0 +1,51 @@
+package com.hjq.shape.other;
+
+import android.content.Context;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.view.ShapeTextView;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : {@link ShapeWarmUpBenchmarkTest} 的对照组，没有预热时创建第一批 ShapeTextView 的耗时
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeWarmUpBaselineBenchmarkTest {
+
+    @After
+    public void tearDown() {
+        ShapeDrawableSpecCache.setEnabled(false);
+        ShapeDrawableSpecCache.clear();
+    }
+
+    @Test
+    public void firstViewsWithoutWarmUp() {
+        Context context = RuntimeEnvironment.application;
+        ShapeDrawableSpecCache.setEnabled(true);
+        int hitCount = ShapeDrawableSpecCache.getHitCount();
+
+        long startTime = System.nanoTime();
+        ShapeTextView[] views = ShapeWarmUpBenchmarkTest.createViews(context);
+        long firstViewsTime = System.nanoTime() - startTime;
+
+        for (ShapeTextView view : views) {
+            assertNotNull(view.getBackground());
+        }
+        int viewHitCount = ShapeDrawableSpecCache.getHitCount() - hitCount;
+        AllocationMeter.report("first ShapeTextViews without warm-up",
+                ShapeWarmUpBenchmarkTest.formatTime(firstViewsTime) + ", " + viewHitCount + "/" +
+                        views.length + " backgrounds from cache");
+        assertEquals(0, viewHitCount);
+    }
+}
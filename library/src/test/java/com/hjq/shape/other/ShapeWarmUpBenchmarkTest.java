@@ -0,0 +1,85 @@
+package com.hjq.shape.other;
+
+import android.content.Context;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.R;
+import com.hjq.shape.view.ShapeTextView;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeWarmUp 的冷启动基准测试，预热之后创建第一批 ShapeTextView 的耗时
+ *             （没有预热的对照组是 {@link ShapeWarmUpBaselineBenchmarkTest}，每个测试类在单独的进程中运行，都是从类还没有加载的状态开始统计的）
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeWarmUpBenchmarkTest {
+
+    /** 预热和创建 View 使用的样式 */
+    static final int[] STYLE_IDS = {R.style.ShapeWarmUpTestPrimaryStyle, R.style.ShapeWarmUpTestOutlineStyle};
+    static final String[] STYLE_NAMES = {"@style/ShapeWarmUpTestPrimaryStyle", "@style/ShapeWarmUpTestOutlineStyle"};
+
+    @After
+    public void tearDown() {
+        ShapeDrawableSpecCache.setEnabled(false);
+        ShapeDrawableSpecCache.clear();
+    }
+
+    @Test
+    public void firstViewsAfterWarmUp() {
+        Context context = RuntimeEnvironment.application;
+        ShapeDrawableSpecCache.setEnabled(true);
+
+        // 实际使用时预热是在子线程中执行的，这部分耗时不在主线程上
+        long startTime = System.nanoTime();
+        ShapeWarmUp.warmUp(context, STYLE_IDS);
+        long warmUpTime = System.nanoTime() - startTime;
+        int prefillSize = ShapeDrawableSpecCache.getSize();
+        int hitCount = ShapeDrawableSpecCache.getHitCount();
+
+        startTime = System.nanoTime();
+        ShapeTextView[] views = createViews(context);
+        long firstViewsTime = System.nanoTime() - startTime;
+
+        for (ShapeTextView view : views) {
+            assertNotNull(view.getBackground());
+        }
+        int viewHitCount = ShapeDrawableSpecCache.getHitCount() - hitCount;
+        AllocationMeter.report("ShapeWarmUp.warmUp (worker thread)", formatTime(warmUpTime) +
+                ", " + prefillSize + " backgrounds prefilled");
+        AllocationMeter.report("first ShapeTextViews after warm-up", formatTime(firstViewsTime) +
+                ", " + viewHitCount + "/" + views.length + " backgrounds from cache");
+        // 预热解析的样式和 View 的样式一样，背景要直接从缓存中获取
+        assertTrue(prefillSize >= STYLE_IDS.length);
+        assertTrue(viewHitCount >= STYLE_IDS.length);
+    }
+
+    /**
+     * 使用预热的样式创建 View（和布局文件中通过 style 属性设置样式是一样的）
+     */
+    static ShapeTextView[] createViews(Context context) {
+        ShapeTextView[] views = new ShapeTextView[STYLE_NAMES.length];
+        for (int i = 0; i < STYLE_NAMES.length; i++) {
+            views[i] = new ShapeTextView(context, Robolectric.buildAttributeSet()
+                    .setStyleAttribute(STYLE_NAMES[i])
+                    .build());
+            views[i].setText("ShapeView");
+        }
+        return views;
+    }
+
+    static String formatTime(long timeNanos) {
+        return (timeNanos / 1000) + " us";
+    }
+}
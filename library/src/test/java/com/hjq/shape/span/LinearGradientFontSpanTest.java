@@ -0,0 +1,113 @@
+package com.hjq.shape.span;
+
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.NoOpCanvas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : LinearGradientFontSpan 测试用例，重复绘制时不能再创建新的着色器
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class LinearGradientFontSpanTest {
+
+    private static final String TEXT = "ShapeView";
+    private static final int DRAW_COUNT = 10000;
+
+    /** 每次绘制允许分配的字节数（给 Robolectric 影子类的少量分配留出余量） */
+    private static final long MAX_BYTES_PER_DRAW = 16;
+
+    private Paint mPaint;
+    private NoOpCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mPaint.setTextSize(40);
+        mCanvas = new NoOpCanvas();
+    }
+
+    private static LinearGradientFontSpan createSpan(int orientation) {
+        return new LinearGradientFontSpan()
+                .setTextGradientColor(new int[]{0xFFFF0000, 0xFF0000FF})
+                .setTextGradientOrientation(orientation);
+    }
+
+    private void draw(LinearGradientFontSpan span, float x) {
+        span.draw(mCanvas, TEXT, 0, TEXT.length(), x, 0, 40, 50, mPaint);
+    }
+
+    @Test
+    public void shaderIsReusedAcrossDraws() {
+        LinearGradientFontSpan span = createSpan(LinearGradientFontSpan.GRADIENT_ORIENTATION_HORIZONTAL);
+        span.getSize(mPaint, TEXT, 0, TEXT.length(), null);
+
+        draw(span, 0);
+        Shader shader = mPaint.getShader();
+        assertNotNull(shader);
+
+        // 只有文本的起始位置发生变化，着色器只需要平移，不需要重新创建
+        draw(span, 20);
+        assertSame(shader, mPaint.getShader());
+
+        // 文本宽度发生变化之后才重新创建着色器
+        mPaint.setTextSize(60);
+        span.getSize(mPaint, TEXT, 0, TEXT.length(), null);
+        draw(span, 20);
+        assertNotSame(shader, mPaint.getShader());
+    }
+
+    @Test
+    public void horizontalDrawDoesNotAllocate() {
+        assertDrawDoesNotAllocate(createSpan(LinearGradientFontSpan.GRADIENT_ORIENTATION_HORIZONTAL));
+    }
+
+    @Test
+    public void verticalDrawDoesNotAllocate() {
+        assertDrawDoesNotAllocate(createSpan(LinearGradientFontSpan.GRADIENT_ORIENTATION_VERTICAL));
+    }
+
+    private void assertDrawDoesNotAllocate(LinearGradientFontSpan span) {
+        span.getSize(mPaint, TEXT, 0, TEXT.length(), null);
+        // 预热：创建着色器，并让类加载和 Robolectric 的字节码处理不计入统计
+        for (int i = 0; i < 100; i++) {
+            draw(span, 10);
+        }
+        Shader shader = mPaint.getShader();
+        mCanvas.mDrawTextCount = 0;
+
+        long startBytes = AllocationMeter.getAllocatedBytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < DRAW_COUNT; i++) {
+            draw(span, 10);
+        }
+        long time = System.nanoTime() - startTime;
+        long bytes = AllocationMeter.getAllocatedBytes() - startBytes;
+
+        assertEquals(DRAW_COUNT, mCanvas.mDrawTextCount);
+        assertSame(shader, mPaint.getShader());
+
+        String result = (time / DRAW_COUNT) + " ns per draw";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + bytes + " bytes in " + DRAW_COUNT + " draws";
+            assertTrue("allocated " + bytes + " bytes in " + DRAW_COUNT + " draws",
+                    bytes <= MAX_BYTES_PER_DRAW * DRAW_COUNT);
+        }
+        AllocationMeter.report("LinearGradientFontSpan.draw", result);
+    }
+}
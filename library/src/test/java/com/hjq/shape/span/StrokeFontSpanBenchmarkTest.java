@@ -0,0 +1,135 @@
+package com.hjq.shape.span;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.NoOpCanvas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : StrokeFontSpan 的基准测试，对比 1000 个描边文本每帧都同步画笔、按需同步画笔、缓存文字轮廓路径三种方式的绘制耗时
+ *             （画布不执行真正的绘制，统计的是 Span 自身的开销）
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class StrokeFontSpanBenchmarkTest {
+
+    private static final int LABEL_COUNT = 1000;
+    private static final int FRAME_COUNT = 20;
+
+    private String[] mLabels;
+    private Paint mPaint;
+    private NoOpCanvas mCanvas;
+
+    @Before
+    public void setUp() {
+        mLabels = new String[LABEL_COUNT];
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            mLabels[i] = "Stroked label " + i;
+        }
+        mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        mPaint.setTextSize(40);
+        mCanvas = new NoOpCanvas();
+    }
+
+    @Test
+    public void drawStrokedLabels() {
+        StrokeFontSpan[] spans = createSpans(false);
+        StrokeFontSpan[] pathCacheSpans = createSpans(true);
+        LegacyStrokeSpan[] legacySpans = new LegacyStrokeSpan[LABEL_COUNT];
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            legacySpans[i] = new LegacyStrokeSpan(0xFF000000, 4);
+        }
+
+        // 预热
+        drawFrames(legacySpans, 2);
+        drawFrames(spans, 2);
+        drawFrames(pathCacheSpans, 2);
+
+        long[] legacy = measure(legacySpans);
+        long[] sync = measure(spans);
+        mCanvas.mDrawPathCount = 0;
+        long[] pathCache = measure(pathCacheSpans);
+
+        assertEquals(LABEL_COUNT * FRAME_COUNT, mCanvas.mDrawPathCount);
+
+        AllocationMeter.report("stroke paint copied on every draw", formatResult(legacy));
+        AllocationMeter.report("StrokeFontSpan (paint synced on change)", formatResult(sync));
+        AllocationMeter.report("StrokeFontSpan (cached glyph path)", formatResult(pathCache));
+    }
+
+    private StrokeFontSpan[] createSpans(boolean textPathCacheEnabled) {
+        StrokeFontSpan[] spans = new StrokeFontSpan[LABEL_COUNT];
+        for (int i = 0; i < LABEL_COUNT; i++) {
+            spans[i] = new StrokeFontSpan()
+                    .setTextStrokeColor(0xFF000000)
+                    .setTextStrokeSize(4)
+                    .setTextPathCacheEnabled(textPathCacheEnabled);
+        }
+        return spans;
+    }
+
+    /**
+     * @return          耗时（纳秒）和分配的字节数
+     */
+    private long[] measure(CommonFontSpan[] spans) {
+        long startBytes = AllocationMeter.getAllocatedBytes();
+        long startTime = System.nanoTime();
+        drawFrames(spans, FRAME_COUNT);
+        return new long[]{System.nanoTime() - startTime, AllocationMeter.getAllocatedBytes() - startBytes};
+    }
+
+    private void drawFrames(CommonFontSpan[] spans, int frameCount) {
+        for (int frame = 0; frame < frameCount; frame++) {
+            for (int i = 0; i < LABEL_COUNT; i++) {
+                String label = mLabels[i];
+                spans[i].draw(mCanvas, label, 0, label.length(), 0, 0, 40, 50, mPaint);
+            }
+        }
+    }
+
+    private static String formatResult(long[] result) {
+        int drawCount = LABEL_COUNT * FRAME_COUNT;
+        String text = (result[0] / drawCount) + " ns per label";
+        if (AllocationMeter.isSupported()) {
+            text += ", " + (result[1] / drawCount) + " bytes per label";
+        }
+        return text + " (" + LABEL_COUNT + " labels x " + FRAME_COUNT + " frames)";
+    }
+
+    /**
+     * 按需同步之前的描边方式：每次绘制都拷贝一次源画笔并重新设置描边属性
+     */
+    private static final class LegacyStrokeSpan extends CommonFontSpan {
+
+        private final Paint mStrokePaint = new Paint();
+        private final int mStrokeColor;
+        private final int mStrokeSize;
+
+        LegacyStrokeSpan(int strokeColor, int strokeSize) {
+            mStrokeColor = strokeColor;
+            mStrokeSize = strokeSize;
+        }
+
+        @Override
+        public void onDraw(Canvas canvas, Paint paint, CharSequence text, int start, int end, float x, int top, int y, int bottom) {
+            mStrokePaint.set(paint);
+            mStrokePaint.setAntiAlias(true);
+            mStrokePaint.setDither(true);
+            mStrokePaint.setTextSize(paint.getTextSize());
+            mStrokePaint.setStrokeWidth(mStrokeSize);
+            mStrokePaint.setStyle(Paint.Style.STROKE);
+            mStrokePaint.setColor(mStrokeColor);
+            canvas.drawText(text, start, end, x, y, mStrokePaint);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hjq.shape.view;
+
+import android.content.Context;
+import android.util.AttributeSet;
+
+import com.hjq.shape.AllocationMeter;
+import com.hjq.shape.R;
+import com.hjq.shape.other.ButtonDrawableTemplateCache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 创建 500 个 ShapeCheckBox 的基准测试，对比按钮图片模板缓存命中和每次都从资源加载时的耗时和内存分配
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeCheckBoxInflateBenchmarkTest {
+
+    private static final int VIEW_COUNT = 500;
+
+    private Context mContext;
+    private AttributeSet mAttrs;
+
+    @Before
+    public void setUp() {
+        mContext = RuntimeEnvironment.application;
+        // 和布局文件中设置了默认和选中状态的按钮图片是一样的
+        mAttrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.shape_buttonDrawable, "@drawable/shape_view_placeholder")
+                .addAttribute(R.attr.shape_buttonCheckedDrawable, "@drawable/shape_view_placeholder")
+                .build();
+        ButtonDrawableTemplateCache.clear();
+    }
+
+    @Test
+    public void inflateCheckBoxes() {
+        // 预热，让类加载和 Robolectric 的字节码处理不计入统计
+        inflate(VIEW_COUNT / 10, false);
+        inflate(VIEW_COUNT / 10, true);
+
+        ButtonDrawableTemplateCache.clear();
+        long startTime = System.nanoTime();
+        long startBytes = AllocationMeter.getAllocatedBytes();
+        int missCount = ButtonDrawableTemplateCache.getMissCount();
+        inflate(VIEW_COUNT, true);
+        long uncachedTime = System.nanoTime() - startTime;
+        long uncachedBytes = AllocationMeter.getAllocatedBytes() - startBytes;
+        assertEquals(missCount + VIEW_COUNT, ButtonDrawableTemplateCache.getMissCount());
+
+        ButtonDrawableTemplateCache.clear();
+        startTime = System.nanoTime();
+        startBytes = AllocationMeter.getAllocatedBytes();
+        int hitCount = ButtonDrawableTemplateCache.getHitCount();
+        inflate(VIEW_COUNT, false);
+        long cachedTime = System.nanoTime() - startTime;
+        long cachedBytes = AllocationMeter.getAllocatedBytes() - startBytes;
+        // 只有第一个 View 需要加载资源，其他的都直接使用模板
+        assertEquals(hitCount + VIEW_COUNT - 1, ButtonDrawableTemplateCache.getHitCount());
+
+        AllocationMeter.report("500 ShapeCheckBox, template loaded from resources every time",
+                formatResult(uncachedTime, uncachedBytes));
+        AllocationMeter.report("500 ShapeCheckBox, template cache",
+                formatResult(cachedTime, cachedBytes));
+    }
+
+    /**
+     * 创建 View
+     *
+     * @param clearCache        每次创建之前是否清空模板缓存（模拟没有模板缓存时每个 View 都要加载资源）
+     */
+    private void inflate(int count, boolean clearCache) {
+        for (int i = 0; i < count; i++) {
+            if (clearCache) {
+                ButtonDrawableTemplateCache.clear();
+            }
+            ShapeCheckBox checkBox = new ShapeCheckBox(mContext, mAttrs);
+            assertNotNull(checkBox.getButtonDrawableBuilder());
+        }
+    }
+
+    private static String formatResult(long timeNanos, long bytes) {
+        String result = (timeNanos / VIEW_COUNT / 1000) + " us per view";
+        if (AllocationMeter.isSupported()) {
+            result += ", " + (bytes / VIEW_COUNT) + " bytes per view";
+        }
+        return result;
+    }
+}
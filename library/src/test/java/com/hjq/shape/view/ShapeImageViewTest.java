@@ -0,0 +1,93 @@
+package com.hjq.shape.view;
+
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.RectF;
+import android.support.v4.widget.ImageViewCompat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeImageView 按照图形绘制图片的测试用例，ImageView 的着色不能丢失
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeImageViewTest {
+
+    private ShapeImageView mView;
+
+    @Before
+    public void setUp() {
+        mView = new ShapeImageView(RuntimeEnvironment.application);
+        mView.getShapeDrawableBuilder()
+                .setRadius(20)
+                .setClipToShapeEnabled(true)
+                .intoBackground();
+        mView.setImageBitmap(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+        mView.layout(0, 0, 200, 200);
+    }
+
+    @Test
+    public void drawWithoutTint() {
+        PaintCanvas canvas = new PaintCanvas();
+        mView.onDraw(canvas);
+
+        assertNotNull(canvas.mPaint);
+        assertNotNull(canvas.mPaint.getShader());
+        assertNull(canvas.mPaint.getColorFilter());
+    }
+
+    @Test
+    public void drawKeepsImageTint() {
+        ImageViewCompat.setImageTintList(mView, ColorStateList.valueOf(Color.RED));
+
+        PaintCanvas canvas = new PaintCanvas();
+        mView.onDraw(canvas);
+        assertNotNull(canvas.mPaint);
+        assertTrue(canvas.mPaint.getColorFilter() instanceof PorterDuffColorFilter);
+
+        // 着色没有变化的时候不会重新创建颜色过滤
+        PaintCanvas secondCanvas = new PaintCanvas();
+        mView.onDraw(secondCanvas);
+        assertSame(canvas.mPaint.getColorFilter(), secondCanvas.mPaint.getColorFilter());
+    }
+
+    /**
+     * 记录绘制图片时使用的画笔的画布
+     */
+    private static final class PaintCanvas extends Canvas {
+
+        private Paint mPaint;
+
+        @Override
+        public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+            record(paint);
+        }
+
+        @Override
+        public void drawRect(RectF rect, Paint paint) {
+            record(paint);
+        }
+
+        private void record(Paint paint) {
+            if (mPaint == null && paint.getShader() != null) {
+                mPaint = paint;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hjq.shape.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : ShapeTextView 异步设置文本的测试用例
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeTextViewTest {
+
+    /** 只记录任务、不执行任务的线程池（模拟还没有执行完的后台任务） */
+    private final List<Runnable> mPendingTasks = new ArrayList<>();
+    private final Executor mExecutor = mPendingTasks::add;
+
+    private ShapeTextView mView;
+
+    @Before
+    public void setUp() {
+        mView = new ShapeTextView(RuntimeEnvironment.application);
+    }
+
+    @Test
+    public void setTextCancelsPendingAsyncText() {
+        mView.setTextAsync("async", mExecutor);
+        Future<?> future = (Future<?>) mPendingTasks.get(0);
+
+        mView.setText("sync");
+
+        assertTrue(future.isCancelled());
+        // 还没有执行的异步任务已经被清空，获取文本时不会再等待它的结果
+        assertEquals("sync", mView.getText().toString());
+    }
+
+    @Test
+    public void newAsyncTextCancelsPreviousOne() {
+        mView.setTextAsync("first", mExecutor);
+        mView.setTextAsync("second", mExecutor);
+        Future<?> firstFuture = (Future<?>) mPendingTasks.get(0);
+        Future<?> secondFuture = (Future<?>) mPendingTasks.get(1);
+
+        assertTrue(firstFuture.isCancelled());
+        assertFalse(secondFuture.isCancelled());
+
+        mPendingTasks.get(1).run();
+        assertEquals("second", mView.getText().toString());
+    }
+}
@@ -0,0 +1,119 @@
+package com.hjq.shape.view;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+
+import com.hjq.shape.other.ExtendStateListDrawable;
+import com.hjq.shape.other.ShapeDrawableSpecCache;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 多线程同时创建 Shape 系列 View 的测试用例（模拟异步布局加载），子线程中只构建不应用，附加到窗口之后才应用到 View 上
+ */
+@RunWith(RobolectricTestRunner.class)
+public final class ShapeViewAsyncInflateTest {
+
+    private static final int[] STATE_PRESSED = {android.R.attr.state_enabled, android.R.attr.state_pressed};
+
+    private static final int THREAD_COUNT = 4;
+    private static final int VIEW_COUNT_PER_THREAD = 50;
+
+    private ExecutorService mExecutor;
+
+    @Before
+    public void setUp() {
+        // 开启缓存，让多个线程同时读写同一个缓存项
+        ShapeDrawableSpecCache.setEnabled(true);
+        ShapeDrawableSpecCache.clear();
+        mExecutor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @After
+    public void tearDown() {
+        mExecutor.shutdownNow();
+        ShapeDrawableSpecCache.setEnabled(false);
+    }
+
+    @Test
+    public void inflateOnWorkerThreads() throws Exception {
+        Context context = RuntimeEnvironment.application;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<List<ShapeTextView>>> futures = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            futures.add(mExecutor.submit(new Callable<List<ShapeTextView>>() {
+                @Override
+                public List<ShapeTextView> call() throws Exception {
+                    // 所有线程同时开始，尽量让它们交错执行
+                    startLatch.await();
+                    List<ShapeTextView> views = new ArrayList<>();
+                    for (int j = 0; j < VIEW_COUNT_PER_THREAD; j++) {
+                        views.add(createView(context));
+                    }
+                    return views;
+                }
+            }));
+        }
+        startLatch.countDown();
+
+        List<ShapeTextView> views = new ArrayList<>();
+        for (Future<List<ShapeTextView>> future : futures) {
+            views.addAll(future.get());
+        }
+        assertEquals(THREAD_COUNT * VIEW_COUNT_PER_THREAD, views.size());
+
+        Set<Drawable> backgrounds = new HashSet<>();
+        for (ShapeTextView view : views) {
+            // 子线程中不能修改 View，背景要等到附加到窗口时再设置
+            assertNull(view.getBackground());
+
+            view.onAttachedToWindow();
+
+            Drawable background = view.getBackground();
+            assertTrue(background instanceof ExtendStateListDrawable);
+            assertTrue(((ExtendStateListDrawable) background).getPressedDrawable() != null);
+            assertEquals(Color.RED, view.getTextColors().getColorForState(STATE_PRESSED, Color.TRANSPARENT));
+            backgrounds.add(background);
+        }
+        // 缓存命中的时候返回的是新的 Drawable 对象，不能多个 View 共用同一个
+        assertEquals(views.size(), backgrounds.size());
+        assertEquals(1, ShapeDrawableSpecCache.getSize());
+    }
+
+    private static ShapeTextView createView(Context context) {
+        ShapeTextView view = new ShapeTextView(context);
+        view.getShapeDrawableBuilder()
+                .setSolidColor(Color.WHITE)
+                .setSolidPressedColor(Color.GRAY)
+                .setRadius(20)
+                .intoBackground();
+        view.getTextColorBuilder()
+                .setTextColor(Color.BLACK)
+                .setTextPressedColor(Color.RED)
+                .intoTextColor();
+        return view;
+    }
+}
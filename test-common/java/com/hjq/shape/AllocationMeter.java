@@ -0,0 +1,43 @@
+package com.hjq.shape;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 统计当前线程分配的内存（基准测试用，JVM 不支持统计时返回 -1）
+ */
+public final class AllocationMeter {
+
+    private AllocationMeter() {}
+
+    /**
+     * 当前 JVM 是否支持统计线程分配的内存
+     */
+    public static boolean isSupported() {
+        return getAllocatedBytes() >= 0;
+    }
+
+    /**
+     * 获取当前线程累计分配的内存字节数
+     */
+    public static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!sunThreadBean.isThreadAllocatedMemorySupported() || !sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return sunThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 打印基准测试的结果
+     */
+    public static void report(String name, String message) {
+        System.out.println("[benchmark] " + name + ": " + message);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hjq.shape;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ *    author : agent
+ *    github : https://github.com/getActivity/ShapeView
+ *    time   : 2026/10/18
+ *    desc   : 不执行绘制的画布（基准测试用，避免 Robolectric 记录绘制操作时分配的内存计入统计），
+ *             library 和 drawable 模块的单元测试共用
+ */
+public class NoOpCanvas extends Canvas {
+
+    /** 绘制文本的次数 */
+    public int mDrawTextCount;
+    /** 绘制路径的次数 */
+    public int mDrawPathCount;
+    /** 绘制矩形、圆角矩形、椭圆、线条和位图的次数 */
+    public int mDrawShapeCount;
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        mDrawTextCount++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mDrawTextCount++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        mDrawPathCount++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        mDrawShapeCount++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        mDrawShapeCount++;
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        mDrawShapeCount++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        mDrawShapeCount++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        mDrawShapeCount++;
+    }
+
+    /**
+     * 绘制图形的总次数（路径也算在内）
+     */
+    public int getDrawCount() {
+        return mDrawPathCount + mDrawShapeCount;
+    }
+
+    /**
+     * 清空绘制的次数
+     */
+    public void resetDrawCount() {
+        mDrawTextCount = 0;
+        mDrawPathCount = 0;
+        mDrawShapeCount = 0;
+    }
+
+    /* 不执行绘制，也就不需要保存和恢复画布的状态，成对调用 save 和 restore 的代码不会受到影响 */
+
+    @Override
+    public int save() {
+        return 1;
+    }
+
+    @Override
+    public void restore() {}
+
+    @Override
+    public void restoreToCount(int saveCount) {}
+
+    @Override
+    public void translate(float dx, float dy) {}
+}